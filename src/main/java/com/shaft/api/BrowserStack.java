@@ -1,6 +1,7 @@
 package com.shaft.api;
 
 import com.shaft.cli.FileActions;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.ReportManager;
 import org.testng.Assert;
 
@@ -96,11 +97,11 @@ public class BrowserStack {
     }
   
     private static void passAction(String testData) {
-        reportActionResult(Thread.currentThread().getStackTrace()[2].getMethodName(), testData, true);
+        reportActionResult(ActionContext.getCallerMethodName(), testData, true);
     }
 
     private static void failAction(String testData, Throwable... rootCauseException) {
-        String message = reportActionResult(Thread.currentThread().getStackTrace()[2].getMethodName(), testData, false);
+        String message = reportActionResult(ActionContext.getCallerMethodName(), testData, false);
         if (rootCauseException != null && rootCauseException.length >= 1) {
             Assert.fail(message, rootCauseException[0]);
         } else {
@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.shaft.driver.ShaftDriver;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
@@ -90,17 +91,17 @@ public class RestActions implements ShaftDriver {
     }
 
     protected static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(actionName, testData, null, null, true, null);
     }
 
     protected static void passAction(String testData, List<Object> expectedFileBodyAttachment) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(actionName, testData, null, null, true, expectedFileBodyAttachment);
     }
 
     static void passAction(String testData, Object requestBody, Response response) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(actionName, testData, requestBody, response, false, null);
     }
 
@@ -403,12 +404,12 @@ public class RestActions implements ShaftDriver {
 
     protected static void failAction(String testData, Object requestBody, Response response,
                                      Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(actionName, testData, requestBody, response, rootCauseException);
     }
 
     protected static void failAction(String testData, Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(actionName, testData, null, null, rootCauseException);
     }
 
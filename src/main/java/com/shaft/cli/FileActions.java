@@ -1,6 +1,7 @@
 package com.shaft.cli;
 
 import com.google.common.hash.Hashing;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
@@ -553,23 +554,23 @@ public class FileActions {
     }
 
     private static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         reportActionResult(actionName, testData, null, true);
     }
 
     private static void passAction(String testData, String log) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         reportActionResult(actionName, testData, log, true);
     }
 
     private static void failAction(String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(actionName, testData, rootCauseException);
 
     }
 
     private static void failAction(Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(actionName, null, rootCauseException);
     }
 
@@ -606,9 +607,8 @@ public class FileActions {
 
         // Minimize File Action log steps and move them to discrete logs if called
         // within SHAFT_Engine itself
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        StackTraceElement parentMethod = stackTrace[4];
-        if (parentMethod.getClassName().contains("com.shaft")) {
+        // [1] passAction, [2] the file action, [3] the method that called it
+        if (ActionContext.getCallerClassName(3).contains("com.shaft")) {
             ReportManager.logDiscrete(message);
         } else {
             if (!attachments.equals(new ArrayList<>())) {
@@ -5,6 +5,7 @@ import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 import com.shaft.driver.ShaftDriver;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
@@ -235,7 +236,7 @@ public class TerminalActions implements ShaftDriver {
     }
 
     private void passAction(String testData, String log) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(actionName, testData, log);
     }
 
@@ -249,7 +250,7 @@ public class TerminalActions implements ShaftDriver {
     }
 
     private void failAction(String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(actionName, testData, rootCauseException);
     }
 
@@ -1,6 +1,7 @@
 package com.shaft.db;
 
 import com.shaft.driver.ShaftDriver;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
@@ -168,17 +169,17 @@ public class DatabaseActions implements ShaftDriver {
     }
 
     private static void passAction(String testData, String queryResult) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(actionName, testData, queryResult);
     }
 
     private static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(actionName, testData, null);
     }
 
     private static void passAction() {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(actionName, null, null);
     }
 
@@ -192,12 +193,12 @@ public class DatabaseActions implements ShaftDriver {
     }
 
     private static void failAction(String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(actionName, testData, rootCauseException);
     }
 
     private static void failAction(Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(actionName, null, rootCauseException);
     }
 
@@ -13,6 +13,7 @@ import com.shaft.db.DatabaseActions.DatabaseType;
 import com.shaft.driver.DriverFactory.DriverType;
 import com.shaft.gui.browser.BrowserActions;
 import com.shaft.gui.element.JavaScriptWaitManager;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
@@ -39,7 +40,7 @@ import org.openqa.selenium.safari.SafariOptions;
 import org.sikuli.script.App;
 import org.testng.Assert;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -284,7 +285,7 @@ public class DriverFactoryHelper {
     }
 
     private static void failAction(String testData, Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         String message = "Driver Factory Action [" + actionName + "] failed.";
         if (testData != null) {
             message = message + " With the following test data [" + testData + "].";
@@ -930,10 +931,11 @@ private static void setValueToRemoteDriverInstance(String driverName, DriverType
             ReportManager.log("Successfully Closed PlayWright Driver.");
 
             if (!"".equals(videoPath)) {
-                try {
-                    ReportManagerHelper.attach("Video Recording", ReportManagerHelper.getTestMethodName(), new FileInputStream(videoPath));
-                } catch (FileNotFoundException e) {
-                    ReportManagerHelper.log(e);
+                var videoFile = new File(videoPath);
+                if (videoFile.exists()) {
+                    ReportManagerHelper.attach("Video Recording", ReportManagerHelper.getTestMethodName(), videoFile);
+                } else {
+                    ReportManagerHelper.log(new FileNotFoundException(videoPath));
                 }
             }
         }
@@ -7,6 +7,7 @@ import com.microsoft.playwright.options.ViewportSize;
 import com.shaft.driver.DriverFactoryHelper;
 import com.shaft.gui.element.PlayWrightElementActions;
 import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
 import com.shaft.tools.support.JavaScriptHelper;
@@ -440,12 +441,12 @@ public class PlayWrightBrowserActions {
     }
 
     private static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(null, actionName, testData);
     }
 
     private static void passAction(Page page, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(page, actionName, testData);
     }
 
@@ -454,7 +455,7 @@ public class PlayWrightBrowserActions {
     }
 
     private static void failAction(Page page, String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(page, actionName, testData, rootCauseException);
     }
 
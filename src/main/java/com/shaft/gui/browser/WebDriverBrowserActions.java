@@ -2,9 +2,11 @@ package com.shaft.gui.browser;
 
 import com.shaft.driver.DriverFactoryHelper;
 import com.shaft.gui.element.JavaScriptWaitManager;
+import com.shaft.gui.element.WaitManager;
 import com.shaft.gui.element.WebDriverElementActions;
 import com.shaft.gui.image.ScreenshotManager;
 import com.shaft.gui.video.RecordManager;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
 import com.shaft.tools.support.JavaScriptHelper;
@@ -12,7 +14,6 @@ import org.openqa.selenium.Dimension;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 
 import java.awt.*;
@@ -25,10 +26,10 @@ public class WebDriverBrowserActions {
     private static final int NAVIGATION_TIMEOUT_INTEGER = Integer
             .parseInt(System.getProperty("browserNavigationTimeout").trim());
     
-    private static WebDriver lastUsedDriver;
+    private final WebDriver lastUsedDriver;
 
     protected WebDriverBrowserActions(WebDriver driver) {
-        lastUsedDriver=driver;
+        this.lastUsedDriver = driver;
     }
     
     /**
@@ -327,7 +328,7 @@ public class WebDriverBrowserActions {
             initialURL = driver.getCurrentUrl();
             driver.navigate().back();
             JavaScriptWaitManager.waitForLazyLoading();
-            (new WebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER))
+            WaitManager.createWebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER)
                     .until(ExpectedConditions.not(ExpectedConditions.urlToBe(initialURL)));
             newURL = driver.getCurrentUrl();
             if (!newURL.equals(initialURL)) {
@@ -362,7 +363,7 @@ public class WebDriverBrowserActions {
             initialURL = driver.getCurrentUrl();
             driver.navigate().forward();
             JavaScriptWaitManager.waitForLazyLoading();
-            (new WebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER))
+            WaitManager.createWebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER)
                     .until(ExpectedConditions.not(ExpectedConditions.urlToBe(initialURL)));
             newURL = driver.getCurrentUrl();
             if (!newURL.equals(initialURL)) {
@@ -580,12 +581,12 @@ public class WebDriverBrowserActions {
     }
 
     private static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(null, actionName, testData);
     }
 
     private static void passAction(WebDriver driver, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(driver, actionName, testData);
     }
 
@@ -594,12 +595,12 @@ public class WebDriverBrowserActions {
     }
 
     private static void failAction(Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(null, actionName, "", rootCauseException);
     }
 
     private static void failAction(WebDriver driver, String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(driver, actionName, testData, rootCauseException);
     }
 
@@ -671,16 +672,16 @@ public class WebDriverBrowserActions {
     private static void checkNavigationWasSuccesssful(WebDriver driver, String initialURL, String targetUrl, String targetUrlAfterRedirection) {
         if (!targetUrl.equals(targetUrlAfterRedirection)) {
             try {
-                (new WebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER))
+                WaitManager.createWebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER)
                         .until(ExpectedConditions.not(ExpectedConditions.urlToBe(initialURL)));
             } catch (TimeoutException rootCauseException) {
                 failAction(driver, "Waited for " + NAVIGATION_TIMEOUT_INTEGER + " seconds to navigate away from [" + initialURL + "] but didn't.", rootCauseException);
             }
         } else {
             try {
-                (new WebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER))
+                WaitManager.createWebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER)
                         .until(ExpectedConditions.not(ExpectedConditions.urlToBe(initialURL)));
-                (new WebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER))
+                WaitManager.createWebDriverWait(driver, NAVIGATION_TIMEOUT_INTEGER)
                         .until(ExpectedConditions.urlContains(targetUrlAfterRedirection));
 
             } catch (TimeoutException rootCauseException) {
@@ -260,6 +260,22 @@ public class ElementActions {
 		return WebDriverElementActions.getElementsCount(driver, elementLocator, numberOfAttempts);
 	}
 
+	/**
+	 * Returns the number of elements that match a certain elementLocator, when
+	 * none is expected. Instead of waiting for the element to appear, the page is
+	 * checked once it's ready, then confirmed again after the
+	 * elementAbsenceStabilityWindow
+	 *
+	 * @param driver         the current instance of Selenium webdriver
+	 * @param elementLocator the locator of the webElement under test (By xpath, id,
+	 *                       selector, name ...etc)
+	 * @return integer value that represents the number of elements that match the
+	 *         desired elementLocator
+	 */
+	public static int getElementsCountExpectingAbsence(WebDriver driver, By elementLocator) {
+		return WebDriverElementActions.getElementsCountExpectingAbsence(driver, elementLocator);
+	}
+
 	/**
 	 * Retrieves the selected text from the target drop-down list element and
 	 * returns it as a string value.
@@ -8,23 +8,35 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.interactions.Locatable;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.FluentWait;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 class ElementActionsHelper {
     private static final int DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER = Integer
             .parseInt(System.getProperty("defaultElementIdentificationTimeout").trim());
     private static final int ATTEMPTS_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION = Integer
             .parseInt(System.getProperty("attemptsBeforeThrowingElementNotFoundException").trim());
-    private static final int ELEMENT_IDENTIFICATION_POLLING_DELAY = 1; // seconds
     private static final boolean FORCE_CHECK_FOR_ELEMENT_VISIBILITY = Boolean
             .parseBoolean(System.getProperty("forceCheckForElementVisibility").trim());
 
+    // from the shortest xpath to the most specific one, the first one that is unique is suggested
+    private static final List<Map<String, Object>> XPATH_SUGGESTION_STRATEGIES = List.of(
+            xpathSuggestionStrategy(1, false, false, false, false, false),
+            xpathSuggestionStrategy(1, true, true, false, true, false),
+            xpathSuggestionStrategy(2, true, true, false, true, false),
+            xpathSuggestionStrategy(3, true, true, true, true, false),
+            xpathSuggestionStrategy(4, true, true, true, true, false),
+            xpathSuggestionStrategy(5, true, true, true, true, true));
+
+    // drivers that can't run asynchronous scripts are only asked once, then their elements are polled for
+    private static final Set<WebDriver> driversWithoutPushBasedWaits = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
     private ElementActionsHelper() {
         throw new IllegalStateException("Utility class");
     }
@@ -47,15 +59,42 @@ class ElementActionsHelper {
         expectedExceptions.add(org.openqa.selenium.StaleElementReferenceException.class);
         expectedExceptions.add(org.openqa.selenium.ElementNotInteractableException.class);
 
+        // forget any element that was previously resolved using this locator
+        ResolvedElement.store(driver, elementLocator, null);
+        var timeout = Duration.ofSeconds((long) DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER * numberOfAttempts);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        if (isPushBasedWaitSupported(driver)) {
+            try {
+                ResolvedElement.countCommand();
+                List<WebElement> matchingElements = driver.findElements(elementLocator);
+                if (matchingElements.isEmpty()) {
+                    // the element renders late, so wait for the page to report it instead of polling for it
+                    matchingElements = waitForElementToBeAttached(driver, elementLocator, timeout);
+                }
+                if (matchingElements != null) {
+                    if (!matchingElements.isEmpty()) {
+                        // keep the first match to be reused by the rest of the current action
+                        ResolvedElement.store(driver, elementLocator, matchingElements.get(0));
+                    }
+                    return matchingElements.size();
+                }
+            } catch (org.openqa.selenium.NoSuchElementException | StaleElementReferenceException e) {
+                // poll for the element instead
+            }
+        }
         try {
-            return new FluentWait<>(driver)
-                    .withTimeout(Duration.ofSeconds(
-                            (long) DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER * numberOfAttempts))
-                    .pollingEvery(Duration.ofSeconds(ELEMENT_IDENTIFICATION_POLLING_DELAY))
+            return WaitManager.createWait(driver, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())))
                     .ignoreAll(expectedExceptions)
                     .until(nestedDriver -> {
-                        nestedDriver.findElement(elementLocator);
-                        return nestedDriver.findElements(elementLocator).size();
+                        ResolvedElement.countCommand();
+                        List<WebElement> matchingElements = nestedDriver.findElements(elementLocator);
+                        if (matchingElements.isEmpty()) {
+                            // keep polling until the element is present
+                            return null;
+                        }
+                        // keep the first match to be reused by the rest of the current action
+                        ResolvedElement.store(driver, elementLocator, matchingElements.get(0));
+                        return matchingElements.size();
                     });
         } catch (org.openqa.selenium.TimeoutException e) {
             // In case the element was not found and the timeout expired
@@ -63,6 +102,89 @@ class ElementActionsHelper {
         }
     }
 
+    /**
+     * Counts the matches of a locator that isn't expected to match, from one look at the page, confirmed by a second
+     * look after the elementAbsenceStabilityWindow if the first one found nothing
+     */
+    protected static int waitForElementAbsence(WebDriver driver, By elementLocator) {
+        // forget any element that was previously resolved using this locator
+        ResolvedElement.store(driver, elementLocator, null);
+        int matchingElementsCount = countMatchingElements(driver, elementLocator);
+        var stabilityWindow = Duration.ofMillis(Long.parseLong(System.getProperty("elementAbsenceStabilityWindow", "200").trim()));
+        if (matchingElementsCount == 0 && !stabilityWindow.isZero()) {
+            WaitManager.sleep(stabilityWindow);
+            matchingElementsCount = countMatchingElements(driver, elementLocator);
+        }
+        if (matchingElementsCount == 0) {
+            // so that reporting this check doesn't wait for the element to highlight it
+            ResolvedElement.storeAbsence(driver, elementLocator);
+        }
+        return matchingElementsCount;
+    }
+
+    private static int countMatchingElements(WebDriver driver, By elementLocator) {
+        ResolvedElement.countCommand();
+        List<WebElement> matchingElements = driver.findElements(elementLocator);
+        if (!matchingElements.isEmpty()) {
+            ResolvedElement.store(driver, elementLocator, matchingElements.get(0));
+        }
+        return matchingElements.size();
+    }
+
+    private static boolean isPushBasedWaitSupported(WebDriver driver) {
+        return driver instanceof JavascriptExecutor && !DriverFactoryHelper.isMobileNativeExecution()
+                && !driversWithoutPushBasedWaits.contains(driver);
+    }
+
+    /**
+     * Waits within the page for a match of the locator to be attached, reported by a MutationObserver the moment it
+     * happens
+     *
+     * @return the matching elements, an empty list if none was attached before the timeout, or null if the locator
+     * or the driver don't support waiting this way
+     */
+    @SuppressWarnings("unchecked")
+    private static List<WebElement> waitForElementToBeAttached(WebDriver driver, By elementLocator, Duration timeout) {
+        String locator = elementLocator.toString();
+        String selectorType = null;
+        String selector = null;
+        if (locator.startsWith("By.xpath: ")) {
+            selectorType = "xpath";
+            selector = locator.substring("By.xpath: ".length());
+        } else if (locator.startsWith("By.cssSelector: ")) {
+            selector = locator.substring("By.cssSelector: ".length());
+        } else if (locator.startsWith("By.id: ")) {
+            selector = "[id=\"" + escapeCssString(locator.substring("By.id: ".length())) + "\"]";
+        } else if (locator.startsWith("By.name: ")) {
+            selector = "[name=\"" + escapeCssString(locator.substring("By.name: ".length())) + "\"]";
+        } else if (locator.startsWith("By.tagName: ")) {
+            selector = locator.substring("By.tagName: ".length());
+        }
+        if (selector == null) {
+            return null;
+        }
+        try {
+            ResolvedElement.countCommand();
+            Object matchingElements = ((JavascriptExecutor) driver).executeAsyncScript(JavaScriptHelper.ELEMENT_WAIT_FOR_PRESENCE.getValue(),
+                    selectorType == null ? "css" : selectorType, selector, timeout.toMillis());
+            if (matchingElements instanceof List) {
+                return (List<WebElement>) matchingElements;
+            }
+            if (matchingElements == null) {
+                driversWithoutPushBasedWaits.add(driver);
+            }
+        } catch (ScriptTimeoutException | JavascriptException e) {
+            // the script timeout is shorter than the element identification timeout, or the locator is invalid
+        } catch (UnsupportedCommandException e) {
+            driversWithoutPushBasedWaits.add(driver);
+        }
+        return null;
+    }
+
+    private static String escapeCssString(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
     protected static boolean waitForElementToBeVisible(WebDriver driver, By elementLocator) {
         if (FORCE_CHECK_FOR_ELEMENT_VISIBILITY && !DriverFactoryHelper.isMobileNativeExecution()) {
             ArrayList<Class<? extends Exception>> expectedExceptions = new ArrayList<>();
@@ -73,23 +195,20 @@ class ElementActionsHelper {
             // UnsupportedCommandException getElementLocationOnceScrolledIntoView
             // TODO: appium -> swipe element into view
 
+            var resolvedElement = ResolvedElement.of(driver, elementLocator);
             try {
-                new FluentWait<>(driver)
-                        .withTimeout(Duration.ofSeconds(
-                                (long) DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER * ATTEMPTS_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION))
-                        .pollingEvery(Duration.ofSeconds(ELEMENT_IDENTIFICATION_POLLING_DELAY))
+                WaitManager.createWait(driver,
+                                Duration.ofSeconds((long) DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER * ATTEMPTS_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION))
                         .ignoreAll(expectedExceptions)
-                        .until(nestedDriver -> {
-                            ((Locatable) driver.findElement(elementLocator)).getCoordinates().inViewPort();
-                            return true;
-                        });
+                        .until(nestedDriver -> resolvedElement.perform(element -> ((Locatable) element).getCoordinates().inViewPort() != null));
             } catch (org.openqa.selenium.TimeoutException e) {
                 // In case the element was not visible and the timeout expired
                 ReportManagerHelper.logDiscrete(e);
             }
-            if (Boolean.FALSE.equals(driver.findElement(elementLocator).isDisplayed())) {
+            if (Boolean.FALSE.equals(resolvedElement.perform(WebElement::isDisplayed))) {
                 try {
-                    new WebDriverWait(driver, (long) DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER * ATTEMPTS_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION).until(ExpectedConditions.visibilityOfElementLocated(elementLocator));
+                    WaitManager.createWebDriverWait(driver, (long) DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER * ATTEMPTS_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION)
+                            .until(nestedDriver -> resolvedElement.perform(WebElement::isDisplayed));
                 } catch (org.openqa.selenium.TimeoutException e) {
                     ReportManagerHelper.logDiscrete(e);
                     return false;
@@ -102,8 +221,9 @@ class ElementActionsHelper {
     protected static boolean waitForElementToBeClickable(WebDriver driver, By elementLocator) {
         if (!DriverFactoryHelper.isMobileNativeExecution()) {
             try {
-                (new WebDriverWait(driver, DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER))
-                        .until(ExpectedConditions.elementToBeClickable(elementLocator));
+                var resolvedElement = ResolvedElement.of(driver, elementLocator);
+                WaitManager.createWebDriverWait(driver, DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER)
+                        .until(nestedDriver -> resolvedElement.perform(element -> element.isDisplayed() && element.isEnabled()));
             } catch (org.openqa.selenium.TimeoutException e) {
                 ReportManagerHelper.logDiscrete(e);
                 return false;
@@ -114,7 +234,7 @@ class ElementActionsHelper {
 
     protected static boolean waitForElementTextToBeNot(WebDriver driver, By elementLocator, String textShouldNotBe) {
         try {
-            (new WebDriverWait(driver, DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER))
+            WaitManager.createWebDriverWait(driver, DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT_INTEGER)
                     .until(ExpectedConditions.not(ExpectedConditions.textToBe(elementLocator, textShouldNotBe)));
         } catch (org.openqa.selenium.TimeoutException e) {
             ReportManagerHelper.logDiscrete(e);
@@ -139,7 +259,7 @@ class ElementActionsHelper {
     
     protected static void clickUsingJavascript(WebDriver driver, By elementLocator) {
     	if (DriverFactoryHelper.isWebExecution()) {
-    	((JavascriptExecutor) driver).executeScript("arguments[arguments.length - 1].click();", driver.findElement(elementLocator));
+    	ResolvedElement.of(driver, elementLocator).execute(element -> ((JavascriptExecutor) driver).executeScript("arguments[arguments.length - 1].click();", element));
     	}
     }
     
@@ -150,7 +270,7 @@ class ElementActionsHelper {
         js.executeAsyncScript(jQueryLoader /* , http://localhost:8080/jquery-1.7.2.js */);
         String dragAndDropHelper = JavaScriptHelper.ELEMENT_DRAG_AND_DROP.getValue();
         dragAndDropHelper = dragAndDropHelper + "$(arguments[0]).simulateDragDrop({dropTarget:arguments[1]});";
-        ((JavascriptExecutor) driver).executeScript(dragAndDropHelper, driver.findElement(sourceElementLocator), driver.findElement(destinationElementLocator));
+        ((JavascriptExecutor) driver).executeScript(dragAndDropHelper, ResolvedElement.of(driver, sourceElementLocator).get(), ResolvedElement.of(driver, destinationElementLocator).get());
     	}
     }
     
@@ -160,8 +280,7 @@ class ElementActionsHelper {
     
     protected static void submitFormUsingJavascript(WebDriver driver, By elementLocator) {
     	if (DriverFactoryHelper.isWebExecution()) {
-        ((JavascriptExecutor) driver).executeScript("arguments[0].submit();",
-                driver.findElement(elementLocator));
+        ResolvedElement.of(driver, elementLocator).execute(element -> ((JavascriptExecutor) driver).executeScript("arguments[0].submit();", element));
     	}
     }
     
@@ -169,9 +288,9 @@ class ElementActionsHelper {
     	if (DriverFactoryHelper.isWebExecution()) {
 
     	if (Boolean.TRUE.equals(desiredIsVisibleState)) {
-    		((JavascriptExecutor) driver).executeScript("arguments[0].setAttribute('style', 'display:block !important;');", driver.findElement(elementLocator));
+    		ResolvedElement.of(driver, elementLocator).execute(element -> ((JavascriptExecutor) driver).executeScript("arguments[0].setAttribute('style', 'display:block !important;');", element));
     	}else {
-    		((JavascriptExecutor) driver).executeScript("arguments[0].setAttribute('style', 'display:none');",driver.findElement(elementLocator));
+    		ResolvedElement.of(driver, elementLocator).execute(element -> ((JavascriptExecutor) driver).executeScript("arguments[0].setAttribute('style', 'display:none');", element));
     	}
     	}
     }
@@ -179,7 +298,7 @@ class ElementActionsHelper {
     protected static boolean setValueUsingJavascript(WebDriver driver, By elementLocator, String value) {
         try {
         	if (DriverFactoryHelper.isWebExecution()) {
-            ((JavascriptExecutor) driver).executeScript("arguments[0].value='" + value + "';", driver.findElement(elementLocator));
+            ResolvedElement.of(driver, elementLocator).execute(element -> ((JavascriptExecutor) driver).executeScript("arguments[0].value='" + value + "';", element));
         	}
             return true;
         } catch (Exception e) {
@@ -196,75 +315,31 @@ class ElementActionsHelper {
     		var mouseEventFirstHalf = "evObj.initMouseEvent(\"";
     		var mouseEventSecondHalf = "\", true, false, window, 0, 0, 0, 0, 0, false, false, false, false, 0, null);";
 
-            String javaScript = createMouseEvent + mouseEventFirstHalf + "mousemove" + mouseEventSecondHalf
-                    + dispatchMouseEvent;
-            ((JavascriptExecutor) driver).executeScript(javaScript, driver.findElement(elementLocator));
-
-            javaScript = createMouseEvent + mouseEventFirstHalf + "mouseenter" + mouseEventSecondHalf + dispatchMouseEvent;
-            ((JavascriptExecutor) driver).executeScript(javaScript, driver.findElement(elementLocator));
-
-            javaScript = createMouseEvent + mouseEventFirstHalf + "mouseover" + mouseEventSecondHalf + dispatchMouseEvent;
-            ((JavascriptExecutor) driver).executeScript(javaScript, driver.findElement(elementLocator));
+            // dispatch all three mouse events in a single round trip
+            String javaScript = createMouseEvent + mouseEventFirstHalf + "mousemove" + mouseEventSecondHalf + dispatchMouseEvent
+                    + createMouseEvent + mouseEventFirstHalf + "mouseenter" + mouseEventSecondHalf + dispatchMouseEvent
+                    + createMouseEvent + mouseEventFirstHalf + "mouseover" + mouseEventSecondHalf + dispatchMouseEvent;
+            var resolvedElement = ResolvedElement.of(driver, elementLocator);
+            resolvedElement.execute(element -> ((JavascriptExecutor) driver).executeScript(javaScript, element));
 
-            (new Actions(driver)).moveToElement(driver.findElement(elementLocator)).perform();
+            resolvedElement.execute(element -> (new Actions(driver)).moveToElement(element).perform());
     	}
     }
     
+    /**
+     * Suggests a unique xpath for the target element. The candidates of every strategy are generated and checked for
+     * uniqueness within the browser, in a single script call.
+     */
     protected static String suggestNewXpathUsingJavascript(WebDriver driver, WebElement targetElement, By deprecatedElementLocator) {
-    	if (DriverFactoryHelper.isWebExecution()) {
-        // attempt to find an optimal xpath for the targetElement
-    	var maximumXpathNodes = 6;
-        var newXpath = "";
-        for (var i = 0; i < maximumXpathNodes; i++) {
-            String xpathFindingAlgorithm = JavaScriptHelper.ELEMENT_GET_XPATH.getValue();
-            /*
-             * $$GetIndex$$ $$GetId$$ $$GetName$$ $$GetType$$ $$GetClass$$ $$GetText$$
-             * $$MaxCount$$
-             */
-            var maxCount = String.valueOf(i);
-            var getId = String.valueOf(true);
-            String getIndex;
-            String getName;
-            String getType;
-            String getClass;
-            String getText;
-            getIndex = getName = getType = getClass = getText = String.valueOf(false);
-
-            if (i == 0) {
-                maxCount = String.valueOf(1);
-            } else if (i == 1 || i == 2) {
-                getName = String.valueOf(true);
-                getType = String.valueOf(true);
-                getText = String.valueOf(true);
-            } else if (i == 3 || i == 4) {
-                getName = String.valueOf(true);
-                getType = String.valueOf(true);
-                getClass = String.valueOf(true);
-                getText = String.valueOf(true);
-            } else {
-                getIndex = String.valueOf(true);
-                getName = String.valueOf(true);
-                getType = String.valueOf(true);
-                getText = String.valueOf(true);
-                getClass = String.valueOf(true);
-            }
-
-            xpathFindingAlgorithm = xpathFindingAlgorithm.replaceAll("\\$\\$MaxCount\\$\\$", maxCount)
-                    .replaceAll("\\$\\$GetId\\$\\$", getId).replaceAll("\\$\\$GetIndex\\$\\$", getIndex)
-                    .replaceAll("\\$\\$GetName\\$\\$", getName).replaceAll("\\$\\$GetType\\$\\$", getType)
-                    .replaceAll("\\$\\$GetClass\\$\\$", getClass).replaceAll("\\$\\$GetText\\$\\$", getText);
-
-            try {
-                newXpath = (String) ((JavascriptExecutor) driver).executeScript(xpathFindingAlgorithm, targetElement);
-                if (newXpath != null && driver.findElements(By.xpath(newXpath)).size() == 1) {
-                    // if unique element was found, break, else keep iterating
-                    break;
-                }
-            } catch (JavascriptException e) {
-                ReportManagerHelper.log(e);
-                ReportManager.log("Failed to suggest a new XPath for the target element with this deprecated locator ["
-                        + deprecatedElementLocator + "]");
-            }
+        if (!DriverFactoryHelper.isWebExecution()) {
+            return null;
+        }
+        String newXpath = null;
+        try {
+            newXpath = (String) ((JavascriptExecutor) driver).executeScript(JavaScriptHelper.ELEMENT_SUGGEST_XPATH.getValue(),
+                    targetElement, XPATH_SUGGESTION_STRATEGIES);
+        } catch (JavascriptException e) {
+            ReportManagerHelper.log(e);
         }
         if (newXpath != null) {
             boolean initialLoggingState = ReportManagerHelper.isDiscreteLogging();
@@ -277,8 +352,15 @@ class ElementActionsHelper {
                     + deprecatedElementLocator + "]");
             return null;
         }
-    	} else {
-    		return null;
-    	}
+    }
+
+    /**
+     * @return a strategy that builds the xpath of up to maxCount nodes, using the id of every node and the chosen
+     * attributes
+     */
+    private static Map<String, Object> xpathSuggestionStrategy(int maxCount, boolean useName, boolean useType,
+                                                               boolean useClass, boolean useText, boolean useIndex) {
+        return Map.of("maxCount", maxCount, "id", true, "name", useName, "type", useType,
+                "className", useClass, "text", useText, "index", useIndex);
     }
 }
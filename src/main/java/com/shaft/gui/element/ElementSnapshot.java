@@ -0,0 +1,166 @@
+package com.shaft.gui.element;
+
+import com.shaft.driver.DriverFactoryHelper;
+import com.shaft.tools.io.ReportManagerHelper;
+import com.shaft.tools.support.JavaScriptHelper;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.Color;
+
+import java.util.*;
+
+/**
+ * The state of an element as read by a single JavaScript call: text, textContent, value, tag name, bounding rectangle,
+ * displayed/enabled/selected flags, and any requested attributes and computed CSS properties.
+ * <p>
+ * Snapshots are cached by the {@link ResolvedElement} they were taken from, so all the reads performed by one action
+ * cost a single round trip. The cached snapshot is discarded whenever a command that may change the element is
+ * executed. When JavaScript is not available (native mobile executions, or a failing script) every getter falls back
+ * to the equivalent WebDriver command.
+ */
+public class ElementSnapshot {
+    private final ResolvedElement resolvedElement;
+    private final Map<String, Object> state;
+    private final Set<String> attributeNames;
+    private final Set<String> cssPropertyNames;
+
+    private ElementSnapshot(ResolvedElement resolvedElement, Map<String, Object> state, Set<String> attributeNames, Set<String> cssPropertyNames) {
+        this.resolvedElement = resolvedElement;
+        this.state = state;
+        this.attributeNames = attributeNames;
+        this.cssPropertyNames = cssPropertyNames;
+    }
+
+    @SuppressWarnings("unchecked")
+    static ElementSnapshot take(WebDriver driver, ResolvedElement resolvedElement, Set<String> attributeNames, Set<String> cssPropertyNames) {
+        Map<String, Object> state = null;
+        if (driver instanceof JavascriptExecutor && !DriverFactoryHelper.isMobileNativeExecution()) {
+            try {
+                var result = resolvedElement.perform(element -> ((JavascriptExecutor) driver).executeScript(
+                        JavaScriptHelper.ELEMENT_SNAPSHOT.getValue(), element,
+                        new ArrayList<>(attributeNames), new ArrayList<>(cssPropertyNames)));
+                if (result instanceof Map) {
+                    state = (Map<String, Object>) result;
+                }
+            } catch (WebDriverException e) {
+                // fall back to reading every value using its own WebDriver command
+                ReportManagerHelper.logDiscrete(e);
+            }
+        }
+        return new ElementSnapshot(resolvedElement, state, attributeNames, cssPropertyNames);
+    }
+
+    boolean covers(Set<String> attributeNames, Set<String> cssPropertyNames) {
+        return this.attributeNames.containsAll(attributeNames) && this.cssPropertyNames.containsAll(cssPropertyNames);
+    }
+
+    Set<String> getAttributeNames() {
+        return attributeNames;
+    }
+
+    Set<String> getCssPropertyNames() {
+        return cssPropertyNames;
+    }
+
+    /**
+     * @return true if the element state was read using JavaScript, and false if the getters will query WebDriver
+     */
+    public boolean isCaptured() {
+        return state != null;
+    }
+
+    public String getTagName() {
+        return state != null ? (String) state.get("tagName") : resolvedElement.perform(WebElement::getTagName);
+    }
+
+    /**
+     * @return the visible text of the element, an empty string if the element is not displayed
+     */
+    public String getText() {
+        if (state == null) {
+            return resolvedElement.perform(WebElement::getText);
+        }
+        var text = (String) state.get("text");
+        // match WebDriver's getText which trims the visible text and doesn't return non-breaking spaces
+        return text == null ? null : text.replace('\u00a0', ' ').trim();
+    }
+
+    public String getTextContent() {
+        return state != null ? (String) state.get("textContent") : resolvedElement.perform(element -> element.getAttribute("textContent"));
+    }
+
+    public String getValue() {
+        return state != null ? (String) state.get("value") : resolvedElement.perform(element -> element.getAttribute("value"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Rectangle getRect() {
+        if (state == null) {
+            return resolvedElement.perform(WebElement::getRect);
+        }
+        var rect = (Map<String, Object>) state.get("rect");
+        return new Rectangle(toInt(rect.get("x")), toInt(rect.get("y")), toInt(rect.get("height")), toInt(rect.get("width")));
+    }
+
+    public boolean isDisplayed() {
+        return state != null ? Boolean.TRUE.equals(state.get("displayed")) : resolvedElement.perform(WebElement::isDisplayed);
+    }
+
+    public boolean isEnabled() {
+        return state != null ? Boolean.TRUE.equals(state.get("enabled")) : resolvedElement.perform(WebElement::isEnabled);
+    }
+
+    public boolean isSelected() {
+        return state != null ? Boolean.TRUE.equals(state.get("selected")) : resolvedElement.perform(WebElement::isSelected);
+    }
+
+    /**
+     * Returns the value of the attribute (or property) the same way WebElement.getAttribute does
+     *
+     * @param attributeName the name of an attribute that was requested when the snapshot was taken
+     * @return the attribute value, or null if it is not set
+     */
+    @SuppressWarnings("unchecked")
+    public String getAttribute(String attributeName) {
+        if (state == null || !attributeNames.contains(attributeName)) {
+            return resolvedElement.perform(element -> element.getAttribute(attributeName));
+        }
+        return (String) ((Map<String, Object>) state.get("attributes")).get(attributeName);
+    }
+
+    /**
+     * Returns the computed value of the CSS property, colors are returned as RGBA strings similar to
+     * WebElement.getCssValue
+     *
+     * @param propertyName the name of a CSS property that was requested when the snapshot was taken
+     * @return the computed CSS property value
+     */
+    @SuppressWarnings("unchecked")
+    public String getCssValue(String propertyName) {
+        if (state == null || !cssPropertyNames.contains(propertyName)) {
+            return resolvedElement.perform(element -> element.getCssValue(propertyName));
+        }
+        var value = (String) ((Map<String, Object>) state.get("css")).get(propertyName);
+        if (value != null && value.startsWith("rgb")) {
+            try {
+                return Color.fromString(value).asRgba();
+            } catch (IllegalArgumentException e) {
+                // not a plain color, return the value as is
+            }
+        }
+        return value;
+    }
+
+    private static int toInt(Object number) {
+        return number == null ? 0 : ((Number) number).intValue();
+    }
+
+    static Set<String> merge(Set<String> first, Collection<String> second) {
+        var merged = new LinkedHashSet<>(first);
+        merged.addAll(second);
+        return merged;
+    }
+}
@@ -0,0 +1,26 @@
+package com.shaft.gui.element;
+
+import java.time.Duration;
+
+/**
+ * Polls quickly at first and doubles the interval after every failed poll until it reaches the maximum interval.
+ * Conditions that are met shortly after the first poll are detected within milliseconds, while slow conditions don't
+ * flood the browser with commands.
+ */
+public class ExponentialBackoffWaitStrategy implements WaitStrategy {
+    private final Duration initialPollingInterval;
+    private final Duration maximumPollingInterval;
+
+    public ExponentialBackoffWaitStrategy(Duration initialPollingInterval, Duration maximumPollingInterval) {
+        this.initialPollingInterval = initialPollingInterval;
+        this.maximumPollingInterval = maximumPollingInterval;
+    }
+
+    @Override
+    public Duration getPollingInterval(int attempt) {
+        // shifting by more than 30 bits would overflow, and the cap is reached long before that anyway
+        long multiplier = 1L << Math.min(Math.max(attempt - 1, 0), 30);
+        long intervalMillis = initialPollingInterval.toMillis() * multiplier;
+        return Duration.ofMillis(Math.min(intervalMillis, maximumPollingInterval.toMillis()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.shaft.gui.element;
+
+import java.time.Duration;
+
+/**
+ * Polls at the same interval for the whole duration of the wait.
+ */
+public class FixedWaitStrategy implements WaitStrategy {
+    private final Duration pollingInterval;
+
+    public FixedWaitStrategy(Duration pollingInterval) {
+        this.pollingInterval = pollingInterval;
+    }
+
+    @Override
+    public Duration getPollingInterval(int attempt) {
+        return pollingInterval;
+    }
+}
@@ -1,25 +1,36 @@
 package com.shaft.gui.element;
 
-import java.util.Objects;
+import java.util.Map;
 
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
-import org.openqa.selenium.support.ui.ExpectedCondition;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import com.shaft.driver.DriverFactoryHelper;
 import com.shaft.tools.io.ReportManagerHelper;
 import com.shaft.tools.support.JavaScriptHelper;
 
+/**
+ * Waits for the current page to be ready before every action: the document is loaded, and jQuery and Angular, if the
+ * page uses them, have no pending requests.
+ * <p>
+ * All the states are read by a single script, so a page that is already ready is confirmed in one call. The states
+ * are read on every call, since a pending request doesn't necessarily change the page until its response arrives.
+ * <p>
+ * When waitForNetworkIdle is enabled, an interceptor is injected into every page to count its in-flight fetch and
+ * XMLHttpRequest calls and its short timers, and the wait returns as soon as these, along with the Angular
+ * testabilities, jQuery and AngularJS, have been idle for the networkIdleQuietWindow. Requests that the page started
+ * before the interceptor was injected are not counted.
+ */
 public class JavaScriptWaitManager {
     private static final boolean WAIT_FOR_LAZY_LOADING = Boolean.parseBoolean(System.getProperty("waitForLazyLoading"));
     private static final int WAIT_DURATION_INTEGER = Integer.parseInt(System.getProperty("lazyLoadingTimeout"));
-    private static final String TARGET_DOCUMENT_READY_STATE = "complete";
+    private static final long NETWORK_IDLE_TIMEOUT_MARGIN = 2000;
     private static final ThreadLocal<WebDriver> jsWaitDriver = new ThreadLocal<>();
-    private static final int delayBetweenPolls = 20; // milliseconds
-    private static JavascriptExecutor jsExec;
 
     private JavaScriptWaitManager() {
         throw new IllegalStateException("Utility class");
@@ -27,7 +38,6 @@ public class JavaScriptWaitManager {
 
     public static void setDriver(WebDriver driver) {
         jsWaitDriver.set(driver);
-        jsExec = (JavascriptExecutor) jsWaitDriver.get();
     }
 
     /**
@@ -37,10 +47,14 @@ public class JavaScriptWaitManager {
         if (Boolean.TRUE.equals(WAIT_FOR_LAZY_LOADING)
                 && !DriverFactoryHelper.isMobileNativeExecution()) {
             try {
-                waitForJQueryLoadIfDefined();
-                waitForAngularIfDefined();
-                waitForJSLoadIfDefined();
-            } catch (NoSuchSessionException | NullPointerException e) {
+                WebDriver driver = jsWaitDriver.get();
+                if (Boolean.parseBoolean(System.getProperty("waitForNetworkIdle", "false").trim()) && waitForNetworkIdle(driver)) {
+                    return;
+                }
+                if (!isPageReady(driver)) {
+                    WaitManager.createWebDriverWait(driver, WAIT_DURATION_INTEGER).until(JavaScriptWaitManager::isPageReady);
+                }
+            } catch (NoSuchSessionException | NullPointerException | TimeoutException e) {
                 // do nothing
             } catch (WebDriverException e) {
                 if (!e.getMessage().contains("jQuery is not defined")) {
@@ -54,121 +68,34 @@ public class JavaScriptWaitManager {
         }
     }
 
-    private static void waitForJQueryLoadIfDefined() {
-        Boolean jQueryDefined = (Boolean) jsExec.executeScript("return typeof jQuery != 'undefined'");
-        if (Boolean.TRUE.equals(jQueryDefined)) {
-            ExpectedCondition<Boolean> jQueryLoad = null;
-            try {
-                // Wait for jQuery to load
-                jQueryLoad = driver -> ((Long) ((JavascriptExecutor) jsWaitDriver.get())
-                        .executeScript("return jQuery.active") == 0);
-            } catch (NullPointerException e) {
-                // do nothing
-            }
-            // Get JQuery is Ready
-            boolean jqueryReady = (Boolean) jsExec.executeScript("return jQuery.active==0");
-
-            if (!jqueryReady) {
-                // Wait JQuery until it is Ready!
-                int tryCounter = 0;
-                while ((!jqueryReady) && (tryCounter < 5)) {
-                    try {
-                        // Wait for jQuery to load
-                        (new WebDriverWait(jsWaitDriver.get(), WAIT_DURATION_INTEGER)).until(jQueryLoad);
-                    } catch (NullPointerException e) {
-                        // do nothing
-                    }
-                    sleep();
-                    tryCounter++;
-                    jqueryReady = (Boolean) jsExec.executeScript("return jQuery.active == 0");
-                }
-            }
-        }
-    }
-
-    private static void waitForAngularLoad() {
-        JavascriptExecutor jsExec = (JavascriptExecutor) jsWaitDriver.get();
-
-        String angularReadyScript = "return angular.element(document).injector().get('$http').pendingRequests.length === 0";
-
-        // Wait for ANGULAR to load
-        ExpectedCondition<Boolean> angularLoad = driver -> Boolean
-                .valueOf(((JavascriptExecutor) Objects.requireNonNull(driver)).executeScript(angularReadyScript).toString());
-
-        // Get Angular is Ready
-        boolean angularReady = Boolean.parseBoolean(jsExec.executeScript(angularReadyScript).toString());
-
-        if (!angularReady) {
-            // Wait ANGULAR until it is Ready!
-            int tryCounter = 0;
-            while ((!angularReady) && (tryCounter < 5)) {
-                // Wait for Angular to load
-                (new WebDriverWait(jsWaitDriver.get(), WAIT_DURATION_INTEGER)).until(angularLoad);
-//                ExpectedCondition<Boolean> finalAngularLoad = angularLoad;
-//                (new WebDriverWait(jsWaitDriver.get(), WAIT_DURATION)).until(waitDriver-> finalAngularLoad);
-                // More Wait for stability (Optional)
-                sleep();
-                tryCounter++;
-                angularReady = Boolean.parseBoolean(jsExec.executeScript(angularReadyScript).toString());
-            }
-        }
-    }
-
-    private static void waitForJSLoadIfDefined() {
-        JavascriptExecutor jsExec = (JavascriptExecutor) jsWaitDriver.get();
-
-        // Wait for Javascript to load
-        ExpectedCondition<Boolean> jsLoad = driver -> ((JavascriptExecutor) jsWaitDriver.get())
-                .executeScript(JavaScriptHelper.DOCUMENT_READYSTATE.getValue()).toString().trim()
-                .equalsIgnoreCase(TARGET_DOCUMENT_READY_STATE);
-
-        // Get JS is Ready
-        boolean jsReady = jsExec.executeScript(JavaScriptHelper.DOCUMENT_READYSTATE.getValue()).toString().trim()
-                .equalsIgnoreCase(TARGET_DOCUMENT_READY_STATE);
-
-        // Wait Javascript until it is Ready!
-        if (!jsReady) {
-            // Wait JS until it is Ready!
-            int tryCounter = 0;
-            while ((!jsReady) && (tryCounter < 5)) {
-                // Wait for Javascript to load
-                try {
-                    (new WebDriverWait(jsWaitDriver.get(), WAIT_DURATION_INTEGER)).until(jsLoad);
-                } catch (org.openqa.selenium.TimeoutException e) {
-                    //do nothing
-                    //TODO: confirm that this fixed the timeout issue on the grid
-                }
-                // More Wait for stability (Optional)
-                sleep();
-                tryCounter++;
-                jsReady = jsExec.executeScript(JavaScriptHelper.DOCUMENT_READYSTATE.getValue()).toString().trim()
-                        .equalsIgnoreCase(TARGET_DOCUMENT_READY_STATE);
-            }
-        }
-    }
-
-    private static void waitForAngularIfDefined() {
+    /**
+     * Waits within the page until it's idle for the quiet window, in a single asynchronous script call. The page stops
+     * waiting before the script timeout, so that the driver doesn't abort the script first.
+     *
+     * @return false if the page navigated away while waiting, or if the script timed out anyway, so that the page is
+     * checked as usual
+     */
+    private static boolean waitForNetworkIdle(WebDriver driver) {
+        long scriptTimeout = Long.parseLong(System.getProperty("scriptExecutionTimeout").trim()) * 1000;
+        long timeout = Math.max(0, Math.min(WAIT_DURATION_INTEGER * 1000L, scriptTimeout - NETWORK_IDLE_TIMEOUT_MARGIN));
         try {
-            Boolean angularDefined = !((Boolean) jsExec.executeScript("return window.angular === undefined"));
-            if (Boolean.TRUE.equals(angularDefined)) {
-                Boolean angularInjectorDefined = !((Boolean) jsExec
-                        .executeScript("return angular.element(document).injector() === undefined"));
-
-                if (Boolean.TRUE.equals(angularInjectorDefined)) {
-                    waitForAngularLoad();
-                }
-            }
-        } catch (WebDriverException e) {
-            // do nothing
+            ((JavascriptExecutor) driver).executeAsyncScript(JavaScriptHelper.PAGE_NETWORK_IDLE.getValue(),
+                    Integer.parseInt(System.getProperty("networkIdleQuietWindow", "500").trim()), timeout);
+            return true;
+        } catch (JavascriptException | ScriptTimeoutException e) {
+            return false;
         }
     }
 
-    private static void sleep() {
-        try {
-            Thread.sleep(JavaScriptWaitManager.delayBetweenPolls);
-        } catch (Exception e) {
-            ReportManagerHelper.log(e);
-            // InterruptedException
+    /**
+     * Reads the readiness of the current page in one call
+     */
+    private static boolean isPageReady(WebDriver driver) {
+        Object readiness = ((JavascriptExecutor) driver).executeScript(JavaScriptHelper.PAGE_READINESS.getValue());
+        if (!(readiness instanceof Map)) {
+            // the page doesn't support scripts, there is nothing to wait for
+            return true;
         }
+        return Boolean.TRUE.equals(((Map<?, ?>) readiness).get("ready"));
     }
 }
\ No newline at end of file
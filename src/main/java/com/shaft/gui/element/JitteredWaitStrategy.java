@@ -0,0 +1,28 @@
+package com.shaft.gui.element;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An exponential backoff where every interval is randomized between the initial interval and the backoff interval,
+ * so that parallel threads waiting for the same page or grid node don't poll in lockstep.
+ */
+public class JitteredWaitStrategy implements WaitStrategy {
+    private final ExponentialBackoffWaitStrategy exponentialBackoff;
+    private final Duration initialPollingInterval;
+
+    public JitteredWaitStrategy(Duration initialPollingInterval, Duration maximumPollingInterval) {
+        this.exponentialBackoff = new ExponentialBackoffWaitStrategy(initialPollingInterval, maximumPollingInterval);
+        this.initialPollingInterval = initialPollingInterval;
+    }
+
+    @Override
+    public Duration getPollingInterval(int attempt) {
+        long lowerBound = initialPollingInterval.toMillis();
+        long upperBound = exponentialBackoff.getPollingInterval(attempt).toMillis();
+        if (upperBound <= lowerBound) {
+            return Duration.ofMillis(upperBound);
+        }
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(lowerBound, upperBound + 1));
+    }
+}
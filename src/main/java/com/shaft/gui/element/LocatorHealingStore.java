@@ -0,0 +1,246 @@
+package com.shaft.gui.element;
+
+import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.tools.io.ReportManagerHelper;
+import com.shaft.tools.io.SharedFileManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores the locators that were healed by AI aided element identification, keyed by the hashed names of their original
+ * locators.
+ * <p>
+ * The store is loaded once into a concurrent map, so looking a healed locator up never touches the file system nor
+ * blocks other threads. New locators are queued, then appended in batches to a journal next to the reference file, and
+ * the journal is compacted into the reference file once it grows past a threshold and when the suite finishes. Every
+ * lookup of a healed locator is counted, and the counts are written next to the reference file when it's compacted.
+ * <p>
+ * The reference file keeps its properties format, so reference files written by older versions are read as they are.
+ * Files are replaced atomically and written under a file lock, so that suites running in parallel processes don't lose
+ * each others' locators.
+ */
+public class LocatorHealingStore {
+    private static final String REFERENCE_FILE_NAME = "aiAidedElementIdentificationReferenceDB.properties";
+    private static final String JOURNAL_FILE_NAME = "aiAidedElementIdentificationReferenceDB.journal";
+    private static final String HITS_FILE_NAME = "aiAidedElementIdentificationReferenceDB.hits";
+    private static final Map<String, LocatorHealingStore> stores = new ConcurrentHashMap<>();
+
+    private final Path referenceFolder;
+    private final Path referenceFile;
+    private final Path journalFile;
+    private final Path hitsFile;
+    private final Map<String, Entry> locators = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> pendingLocators = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingLocatorsCount = new AtomicInteger();
+    private final AtomicInteger journalEntriesCount = new AtomicInteger();
+
+    private LocatorHealingStore(Path referenceFolder) {
+        this.referenceFolder = referenceFolder;
+        this.referenceFile = referenceFolder.resolve(REFERENCE_FILE_NAME);
+        this.journalFile = referenceFolder.resolve(JOURNAL_FILE_NAME);
+        this.hitsFile = referenceFolder.resolve(HITS_FILE_NAME);
+        var journal = SharedFileManager.readProperties(journalFile);
+        journalEntriesCount.set(journal.size());
+        var savedLocators = SharedFileManager.readProperties(referenceFile);
+        savedLocators.putAll(journal);
+        var savedHits = SharedFileManager.readProperties(hitsFile);
+        savedLocators.forEach((name, xpath) -> locators.put(name, new Entry(xpath, parseHits(savedHits.get(name)))));
+    }
+
+    /**
+     * @return the store of the AI aided element identification folder, loaded the first time it's needed
+     */
+    public static LocatorHealingStore getInstance() {
+        return getInstance(ScreenshotManager.getAiAidedElementIdentificationFolderpath());
+    }
+
+    /**
+     * @param referenceFolderPath the folder that holds the reference file and its journal
+     * @return the store of this folder, loaded the first time it's needed
+     */
+    public static LocatorHealingStore getInstance(String referenceFolderPath) {
+        var referenceFolder = Path.of(referenceFolderPath).toAbsolutePath().normalize();
+        return stores.computeIfAbsent(referenceFolder.toString(), folder -> new LocatorHealingStore(referenceFolder));
+    }
+
+    /**
+     * Flushes and compacts every store that was loaded, to be called once the suite finishes
+     */
+    public static void flushAll() {
+        stores.values().forEach(LocatorHealingStore::compact);
+    }
+
+    /**
+     * @return the name of the reference file
+     */
+    public static String getReferenceFileName() {
+        return REFERENCE_FILE_NAME;
+    }
+
+    /**
+     * Looks up a healed locator, and counts the lookup if it's found
+     *
+     * @param hashedLocatorName the hashed name of the original locator
+     * @return the healed xpath, or null if the locator wasn't healed
+     */
+    public String get(String hashedLocatorName) {
+        var entry = locators.get(hashedLocatorName);
+        if (entry == null) {
+            return null;
+        }
+        entry.hits.incrementAndGet();
+        entry.unsavedHits.incrementAndGet();
+        return entry.xpath;
+    }
+
+    /**
+     * @param hashedLocatorName the hashed name of the original locator
+     * @return the number of times the healed locator was looked up, across runs
+     */
+    public long getHits(String hashedLocatorName) {
+        var entry = locators.get(hashedLocatorName);
+        return entry == null ? 0 : entry.hits.get();
+    }
+
+    /**
+     * Stores a healed locator, and appends the pending locators to the journal once there's a full batch of them
+     *
+     * @param hashedLocatorName the hashed name of the original locator
+     * @param xpath             the healed xpath
+     */
+    public void put(String hashedLocatorName, String xpath) {
+        var previousEntry = locators.get(hashedLocatorName);
+        if (previousEntry != null && previousEntry.xpath.equals(xpath)) {
+            return;
+        }
+        locators.put(hashedLocatorName, new Entry(xpath, previousEntry == null ? 0 : previousEntry.hits.get()));
+        pendingLocators.add(hashedLocatorName);
+        if (pendingLocatorsCount.incrementAndGet() >= getIntegerProperty("aiReferenceDB_flushBatchSize", 16)) {
+            flush();
+        }
+    }
+
+    /**
+     * Appends the pending locators to the journal, and compacts it if it grew past the compaction threshold. If the
+     * journal can't be written, the failure is logged and the locators stay pending until the next flush.
+     */
+    public void flush() {
+        if (pendingLocatorsCount.get() == 0) {
+            return;
+        }
+        try {
+            boolean compactionIsDue = withFileLock(this::appendPendingLocators)
+                    > getIntegerProperty("aiReferenceDB_compactionThreshold", 256);
+            if (compactionIsDue) {
+                compact();
+            }
+        } catch (IOException e) {
+            ReportManagerHelper.log(e);
+        }
+    }
+
+    /**
+     * Appends the pending locators to the journal, then rewrites the reference file with the journal merged into it,
+     * along with the lookup counts, and empties the journal
+     */
+    public void compact() {
+        try {
+            withFileLock(() -> {
+                appendPendingLocators();
+                var savedLocators = SharedFileManager.readProperties(referenceFile);
+                var journal = SharedFileManager.readProperties(journalFile);
+                if (journal.isEmpty() && !hasUnsavedHits()) {
+                    return 0;
+                }
+                savedLocators.putAll(journal);
+                // keep the locators that other processes healed
+                savedLocators.forEach((name, xpath) -> locators.putIfAbsent(name, new Entry(xpath, 0)));
+                var savedHits = SharedFileManager.readProperties(hitsFile);
+                locators.forEach((name, entry) -> {
+                    long unsavedHits = entry.unsavedHits.getAndSet(0);
+                    if (unsavedHits > 0 || savedHits.containsKey(name)) {
+                        savedHits.put(name, String.valueOf(parseHits(savedHits.get(name)) + unsavedHits));
+                    }
+                });
+                SharedFileManager.writeAtomically(referenceFile, SharedFileManager.formatProperties(savedLocators));
+                SharedFileManager.writeAtomically(hitsFile, SharedFileManager.formatProperties(savedHits));
+                Files.deleteIfExists(journalFile);
+                journalEntriesCount.set(0);
+                return 0;
+            });
+        } catch (IOException e) {
+            ReportManagerHelper.log(e);
+        }
+    }
+
+    /**
+     * Appends the pending locators to the journal, they are queued again if it can't be written
+     *
+     * @return the number of entries in the journal
+     */
+    private int appendPendingLocators() throws IOException {
+        Map<String, String> batch = new LinkedHashMap<>();
+        for (String name = pendingLocators.poll(); name != null; name = pendingLocators.poll()) {
+            pendingLocatorsCount.decrementAndGet();
+            batch.put(name, locators.get(name).xpath);
+        }
+        if (!batch.isEmpty()) {
+            try {
+                Files.write(journalFile, SharedFileManager.formatProperties(batch), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                batch.keySet().forEach(name -> {
+                    pendingLocators.add(name);
+                    pendingLocatorsCount.incrementAndGet();
+                });
+                throw e;
+            }
+            journalEntriesCount.addAndGet(batch.size());
+        }
+        return journalEntriesCount.get();
+    }
+
+    private boolean hasUnsavedHits() {
+        return locators.values().stream().anyMatch(entry -> entry.unsavedHits.get() > 0);
+    }
+
+    private synchronized int withFileLock(SharedFileManager.FileOperation<Integer> operation) throws IOException {
+        Files.createDirectories(referenceFolder);
+        return SharedFileManager.withFileLock(referenceFile, operation);
+    }
+
+    private static long parseHits(String hits) {
+        try {
+            return hits == null ? 0 : Long.parseLong(hits.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static int getIntegerProperty(String propertyName, int defaultValue) {
+        try {
+            return Integer.parseInt(System.getProperty(propertyName, String.valueOf(defaultValue)).trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static class Entry {
+        private final String xpath;
+        private final AtomicLong hits;
+        private final AtomicLong unsavedHits = new AtomicLong();
+
+        private Entry(String xpath, long hits) {
+            this.xpath = xpath;
+            this.hits = new AtomicLong(hits);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.MouseButton;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
 import org.sikuli.script.App;
@@ -675,7 +676,7 @@ public class PlayWrightElementActions {
     }
     
     private static void failAction(Page page, String testData, String elementLocator, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         failAction(page, actionName, testData, elementLocator, null, rootCauseException);
     }
 
@@ -738,22 +739,22 @@ public class PlayWrightElementActions {
     }
     
     private static void passAction(Page page, String elementLocator, List<Object> screenshot) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(page, elementLocator, actionName, null, screenshot);
     }
 
     private static void passAction(Page page, String elementLocator, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(page, elementLocator, actionName, testData, null);
     }
 
     private static void passAction(Page page, String elementLocator, String testData, List<Object> screenshot) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(page, elementLocator, actionName, testData, screenshot);
     }
 
     private static void passAction(Page page) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCallerMethodName();
         passAction(page, null, actionName, null, null);
     }
 
@@ -0,0 +1,214 @@
+package com.shaft.gui.element;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A per-action handle to an element that was already located by the current element action.
+ * <p>
+ * The element is located once (while waiting for its presence) and the same WebElement is reused for every
+ * subsequent step of the action (reading text, hovering, waiting for it to be clickable, clicking...). The element
+ * is only located again if WebDriver reports that the cached reference has gone stale.
+ * <p>
+ * All handles are confined to the current thread and are discarded when the action is reported, together with the
+ * counter of WebDriver commands that were issued through them.
+ */
+public class ResolvedElement {
+    private static final ThreadLocal<Map<By, ResolvedElement>> resolvedElements = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<By, WebDriver>> absentElements = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Integer> webDriverCommandsCounter = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<Integer> lastActionWebDriverCommandsCounter = ThreadLocal.withInitial(() -> 0);
+
+    private final WebDriver driver;
+    private final By elementLocator;
+    private WebElement element;
+    private ElementSnapshot snapshot;
+
+    private ResolvedElement(WebDriver driver, By elementLocator, WebElement element) {
+        this.driver = driver;
+        this.elementLocator = elementLocator;
+        this.element = element;
+    }
+
+    /**
+     * Returns the handle of the element that matches this locator within the current action, the element will be
+     * located lazily if it was not already located by this action.
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @return the resolved element handle
+     */
+    public static ResolvedElement of(WebDriver driver, By elementLocator) {
+        var resolvedElement = resolvedElements.get().get(elementLocator);
+        if (resolvedElement == null || resolvedElement.driver != driver) {
+            resolvedElement = new ResolvedElement(driver, elementLocator, null);
+            resolvedElements.get().put(elementLocator, resolvedElement);
+        }
+        return resolvedElement;
+    }
+
+    /**
+     * Checks whether this locator was already resolved to an element within the current action
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @return true if the element can be used without locating it again
+     */
+    public static boolean isResolved(WebDriver driver, By elementLocator) {
+        var resolvedElement = resolvedElements.get().get(elementLocator);
+        return resolvedElement != null && resolvedElement.driver == driver && resolvedElement.element != null;
+    }
+
+    /**
+     * Checks whether the current action already found that this locator doesn't match any element
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @return true if there's no need to look for the element again
+     */
+    public static boolean isAbsent(WebDriver driver, By elementLocator) {
+        return absentElements.get().get(elementLocator) == driver;
+    }
+
+    /**
+     * @return the number of WebDriver commands that were issued so far by the current action
+     */
+    public static int getCurrentActionWebDriverCommandsCount() {
+        return webDriverCommandsCounter.get();
+    }
+
+    /**
+     * @return the number of WebDriver commands that were issued by the last reported action on this thread
+     */
+    public static int getLastActionWebDriverCommandsCount() {
+        return lastActionWebDriverCommandsCounter.get();
+    }
+
+    static void store(WebDriver driver, By elementLocator, WebElement element) {
+        absentElements.get().remove(elementLocator);
+        if (element == null) {
+            resolvedElements.get().remove(elementLocator);
+        } else {
+            resolvedElements.get().put(elementLocator, new ResolvedElement(driver, elementLocator, element));
+        }
+    }
+
+    static void countCommand() {
+        webDriverCommandsCounter.set(webDriverCommandsCounter.get() + 1);
+    }
+
+    /**
+     * Discards all the resolved elements of the current action, and stores the number of WebDriver commands it
+     * issued. Called once the action result is reported.
+     */
+    static void endAction() {
+        lastActionWebDriverCommandsCounter.set(webDriverCommandsCounter.get());
+        webDriverCommandsCounter.set(0);
+        resolvedElements.get().clear();
+        absentElements.get().clear();
+    }
+
+    static void storeAbsence(WebDriver driver, By elementLocator) {
+        resolvedElements.get().remove(elementLocator);
+        absentElements.get().put(elementLocator, driver);
+    }
+
+    /**
+     * Returns the located WebElement, locating it first if needed. The cached snapshot is discarded since the caller
+     * may use the WebElement to change the element state.
+     *
+     * @return the WebElement that matches this locator
+     */
+    public WebElement get() {
+        snapshot = null;
+        return resolve();
+    }
+
+    /**
+     * Returns a snapshot of the element state, the snapshot is read using a single WebDriver command and reused by
+     * all the reads of the current action until a command that may change the element is executed
+     *
+     * @param attributeNames   the attributes (or properties) that should be read
+     * @param cssPropertyNames the computed CSS properties that should be read
+     * @return the element snapshot
+     */
+    public ElementSnapshot getSnapshot(Collection<String> attributeNames, Collection<String> cssPropertyNames) {
+        Set<String> requestedAttributeNames = new LinkedHashSet<>(attributeNames);
+        Set<String> requestedCssPropertyNames = new LinkedHashSet<>(cssPropertyNames);
+        if (snapshot == null || !snapshot.covers(requestedAttributeNames, requestedCssPropertyNames)) {
+            if (snapshot != null) {
+                // take one bigger snapshot instead of keeping several partial ones
+                requestedAttributeNames = ElementSnapshot.merge(snapshot.getAttributeNames(), requestedAttributeNames);
+                requestedCssPropertyNames = ElementSnapshot.merge(snapshot.getCssPropertyNames(), requestedCssPropertyNames);
+            }
+            snapshot = ElementSnapshot.take(driver, this, requestedAttributeNames, requestedCssPropertyNames);
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return a snapshot of the element state without any extra attributes or CSS properties
+     * @see #getSnapshot(Collection, Collection)
+     */
+    public ElementSnapshot getSnapshot() {
+        return getSnapshot(Collections.emptyList(), Collections.emptyList());
+    }
+
+    private WebElement resolve() {
+        if (element == null) {
+            countCommand();
+            element = driver.findElement(elementLocator);
+        }
+        return element;
+    }
+
+    public By getElementLocator() {
+        return elementLocator;
+    }
+
+    /**
+     * Executes a WebDriver command against the resolved element, the element is located again and the command is
+     * retried once if the cached element has gone stale
+     *
+     * @param command the command to be executed against the element
+     * @param <T>     the type of the command result
+     * @return the command result
+     */
+    public <T> T perform(Function<WebElement, T> command) {
+        var currentElement = resolve();
+        try {
+            countCommand();
+            return command.apply(currentElement);
+        } catch (StaleElementReferenceException e) {
+            element = null;
+            snapshot = null;
+            currentElement = resolve();
+            countCommand();
+            return command.apply(currentElement);
+        }
+    }
+
+    /**
+     * Executes a WebDriver command that doesn't return a value against the resolved element, such commands are
+     * expected to change the element so the cached snapshot is discarded
+     *
+     * @param command the command to be executed against the element
+     * @see #perform(Function)
+     */
+    public void execute(Consumer<WebElement> command) {
+        snapshot = null;
+        perform(currentElement -> {
+            command.accept(currentElement);
+            return true;
+        });
+    }
+}
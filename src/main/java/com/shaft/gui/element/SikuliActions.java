@@ -4,7 +4,7 @@ import com.shaft.driver.DriverFactoryHelper;
 import com.shaft.driver.ShaftDriver;
 import com.shaft.gui.image.ScreenshotManager;
 import com.shaft.gui.video.RecordManager;
-import com.shaft.tools.io.ReportManagerHelper;
+import com.shaft.tools.io.ReportManager;
 import org.apache.commons.io.IOUtils;
 import org.sikuli.basics.Settings;
 import org.sikuli.script.*;
@@ -13,10 +13,11 @@ import javax.imageio.ImageIO;
 import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 public class SikuliActions implements ShaftDriver{
+    private static final int[] SEARCH_REGION_BOUNDS = readSearchRegionBounds();
     private Screen screen;
     private App applicationWindow;
 
@@ -33,6 +34,10 @@ public class SikuliActions implements ShaftDriver{
         return ScreenshotManager.captureScreenShotUsingSikuliX(screen, applicationWindow, element, actionName, passFailStatus);
     }
 
+    protected static List<Object> prepareElementScreenshotAttachment(Screen screen, App applicationWindow, Match element, String actionName, boolean passFailStatus) {
+        return ScreenshotManager.captureScreenShotUsingSikuliX(screen, applicationWindow, element, actionName, passFailStatus);
+    }
+
     /**
      * Checks if there is any text in an element, clears it, then types the required
      * string into the target element.
@@ -57,13 +62,15 @@ public class SikuliActions implements ShaftDriver{
      */
     public SikuliActions type(byte[] targetElement, String text) {
         Pattern element = null;
+        Match match = null;
         try {
             element = prepareElementPattern(targetElement);
-            clearAndType(element, text);
+            match = findElement(element);
+            clearAndType(match, text);
         } catch (IOException | FindFailed rootCauseException) {
             WebDriverElementActions.failAction(screen, applicationWindow, element, formatTextForReport(text), rootCauseException);
         }
-        WebDriverElementActions.passAction(screen, applicationWindow, element, formatTextForReport(text));
+        WebDriverElementActions.passAction(screen, applicationWindow, match, formatTextForReport(text));
         return this;
     }
 
@@ -89,13 +96,15 @@ public class SikuliActions implements ShaftDriver{
      */
     public SikuliActions typeAppend(byte[] targetElement, String text) {
         Pattern element = null;
+        Match match = null;
         try {
             element = prepareElementPattern(targetElement);
-            screen.wait(element).type(text);
+            match = findElement(element);
+            match.type(text);
         } catch (IOException | FindFailed rootCauseException) {
             WebDriverElementActions.failAction(screen, applicationWindow, element, formatTextForReport(text), rootCauseException);
         }
-        WebDriverElementActions.passAction(screen, applicationWindow, element, formatTextForReport(text));
+        WebDriverElementActions.passAction(screen, applicationWindow, match, formatTextForReport(text));
         return this;
     }
 
@@ -123,13 +132,15 @@ public class SikuliActions implements ShaftDriver{
      */
     public SikuliActions typeSecure(byte[] targetElement, String text) {
         Pattern element = null;
+        Match match = null;
         try {
             element = prepareElementPattern(targetElement);
-            clearAndType(element, text);
+            match = findElement(element);
+            clearAndType(match, text);
         } catch (IOException | FindFailed rootCauseException) {
             WebDriverElementActions.failAction(screen, applicationWindow, element, formatTextForReport(text), rootCauseException);
         }
-        WebDriverElementActions.passAction(screen, applicationWindow, element, formatTextForReport(text).replaceAll(".", "•"));
+        WebDriverElementActions.passAction(screen, applicationWindow, match, formatTextForReport(text).replaceAll(".", "•"));
         return this;
     }
 
@@ -151,15 +162,17 @@ public class SikuliActions implements ShaftDriver{
      */
     public SikuliActions click(byte[] targetElement) {
         Pattern element = null;
+        Match match = null;
         String elementText = null;
         try {
             element = prepareElementPattern(targetElement);
-            elementText = screen.wait(element).getText();
-            screen.wait(element).click();
+            match = findElement(element);
+            elementText = match.getText();
+            match.click();
         } catch (IOException | FindFailed rootCauseException) {
             WebDriverElementActions.failAction(screen, applicationWindow, element, elementText, rootCauseException);
         }
-        WebDriverElementActions.passAction(screen, applicationWindow, element, formatTextForReport(elementText));
+        WebDriverElementActions.passAction(screen, applicationWindow, match, formatTextForReport(elementText));
         return this;
     }
 
@@ -181,14 +194,16 @@ public class SikuliActions implements ShaftDriver{
      */
     public String getText(byte[] targetElement) {
         Pattern element = null;
+        Match match = null;
         String elementText = null;
         try {
             element = prepareElementPattern(targetElement);
-            elementText = screen.wait(element).getText().replace("\n", "").trim();
+            match = findElement(element);
+            elementText = match.getText().replace("\n", "").trim();
         } catch (IOException | FindFailed rootCauseException) {
             WebDriverElementActions.failAction(screen, applicationWindow, element, null, rootCauseException);
         }
-        WebDriverElementActions.passAction(screen, applicationWindow, element, formatTextForReport(elementText));
+        WebDriverElementActions.passAction(screen, applicationWindow, match, formatTextForReport(elementText));
         return elementText;
     }
 
@@ -210,15 +225,17 @@ public class SikuliActions implements ShaftDriver{
      */
     public SikuliActions hover(byte[] targetElement) {
         Pattern element = null;
+        Match match = null;
         String elementText = null;
         try {
             element = prepareElementPattern(targetElement);
-            elementText = screen.wait(element).getText().replace("\n", "").trim();
-            screen.wait(element).hover(element);
+            match = findElement(element);
+            elementText = match.getText().replace("\n", "").trim();
+            match.hover();
         } catch (IOException | FindFailed rootCauseException) {
             WebDriverElementActions.failAction(screen, applicationWindow, element, elementText, rootCauseException);
         }
-        WebDriverElementActions.passAction(screen, applicationWindow, element, formatTextForReport(elementText));
+        WebDriverElementActions.passAction(screen, applicationWindow, match, formatTextForReport(elementText));
         return this;
     }
 
@@ -240,15 +257,17 @@ public class SikuliActions implements ShaftDriver{
      */
     public SikuliActions doubleClick(byte[] targetElement) {
         Pattern element = null;
+        Match match = null;
         String elementText = null;
         try {
             element = prepareElementPattern(targetElement);
-            elementText = screen.wait(element).getText().replace("\n", "").trim();
-            screen.wait(element).doubleClick(element);
+            match = findElement(element);
+            elementText = match.getText().replace("\n", "").trim();
+            match.doubleClick();
         } catch (IOException | FindFailed rootCauseException) {
             WebDriverElementActions.failAction(screen, applicationWindow, element, elementText, rootCauseException);
         }
-        WebDriverElementActions.passAction(screen, applicationWindow, element, formatTextForReport(elementText));
+        WebDriverElementActions.passAction(screen, applicationWindow, match, formatTextForReport(elementText));
         return this;
     }
 
@@ -270,15 +289,17 @@ public class SikuliActions implements ShaftDriver{
      */
     public SikuliActions rightClick(byte[] targetElement) {
         Pattern element = null;
+        Match match = null;
         String elementText = null;
         try {
             element = prepareElementPattern(targetElement);
-            elementText = screen.wait(element).getText().replace("\n", "").trim();
-            screen.wait(element).rightClick(element);
+            match = findElement(element);
+            elementText = match.getText().replace("\n", "").trim();
+            match.rightClick();
         } catch (IOException | FindFailed rootCauseException) {
             WebDriverElementActions.failAction(screen, applicationWindow, element, elementText, rootCauseException);
         }
-        WebDriverElementActions.passAction(screen, applicationWindow, element, formatTextForReport(elementText));
+        WebDriverElementActions.passAction(screen, applicationWindow, match, formatTextForReport(elementText));
         return this;
     }
 
@@ -302,33 +323,79 @@ public class SikuliActions implements ShaftDriver{
      */
     public SikuliActions dragAndDrop(byte[] draggableElement, byte[] targetElement) {
         Pattern draggableElementPattern = null;
-        Pattern targetElementPattern;
+        Match draggableElementMatch = null;
         String elementText = null;
         try {
             draggableElementPattern = prepareElementPattern(draggableElement);
-            targetElementPattern = prepareElementPattern(targetElement);
-            elementText = screen.wait(draggableElementPattern).getText().replace("\n", "").trim();
-            screen.wait(draggableElementPattern).dragDrop(draggableElementPattern, targetElementPattern);
+            draggableElementMatch = findElement(draggableElementPattern);
+            var targetElementMatch = findElement(prepareElementPattern(targetElement));
+            elementText = draggableElementMatch.getText().replace("\n", "").trim();
+            draggableElementMatch.dragDrop(draggableElementMatch, targetElementMatch);
         } catch (IOException | FindFailed rootCauseException) {
             WebDriverElementActions.failAction(screen, applicationWindow, draggableElementPattern, elementText, rootCauseException);
         }
-        WebDriverElementActions.passAction(screen, applicationWindow, draggableElementPattern, elementText);
+        WebDriverElementActions.passAction(screen, applicationWindow, draggableElementMatch, elementText);
         return this;
     }
 
-    private void clearAndType(Pattern element, String text) throws FindFailed {
-        String elementText = screen.wait(element).getText().replace("\n", "").trim();
+    private void clearAndType(Match element, String text) throws FindFailed {
+        String elementText = element.getText().replace("\n", "").trim();
         if (!elementText.isEmpty()) {
             //clear
-            Collections.singletonList(elementText.toCharArray()).forEach(character -> {
-                try {
-                    screen.wait(element).type(element, Key.BACKSPACE);
-                } catch (FindFailed findFailed) {
-                    ReportManagerHelper.log(findFailed);
-                }
-            });
+            element.type(element, Key.BACKSPACE.repeat(elementText.length()));
+        }
+        element.type(text);
+    }
+
+    /**
+     * Searches for the element once, so that its match is reused to read its text, act on it, and report it
+     */
+    private Match findElement(Pattern element) throws FindFailed {
+        return getSearchRegion().wait(element);
+    }
+
+    /**
+     * @return the application window if there is one, otherwise the sikuliSearchRegion of the screen if it's set as
+     * "x,y,width,height", otherwise the whole screen
+     */
+    private Region getSearchRegion() {
+        Region searchRegion = null;
+        if (applicationWindow != null) {
+            searchRegion = applicationWindow.window();
+        }
+        if (searchRegion == null && SEARCH_REGION_BOUNDS != null) {
+            searchRegion = Region.create(SEARCH_REGION_BOUNDS[0], SEARCH_REGION_BOUNDS[1], SEARCH_REGION_BOUNDS[2], SEARCH_REGION_BOUNDS[3]);
+        }
+        if (searchRegion == null) {
+            searchRegion = screen;
+        }
+        searchRegion.setAutoWaitTimeout(screen.getAutoWaitTimeout());
+        searchRegion.setWaitScanRate(Float.parseFloat(System.getProperty("sikuliWaitScanRate", "3").trim()));
+        return searchRegion;
+    }
+
+    /**
+     * Reads the sikuliSearchRegion once. A value that isn't four integers, or whose width or height isn't positive, is
+     * reported and ignored, so that the whole screen is searched instead.
+     *
+     * @return the x, y, width and height of the search region, or null if it isn't set or is malformed
+     */
+    private static int[] readSearchRegionBounds() {
+        String searchRegionBounds = System.getProperty("sikuliSearchRegion", "").trim();
+        if (searchRegionBounds.isEmpty()) {
+            return null;
+        }
+        try {
+            int[] bounds = Arrays.stream(searchRegionBounds.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+            if (bounds.length == 4 && bounds[2] > 0 && bounds[3] > 0) {
+                return bounds;
+            }
+        } catch (NumberFormatException e) {
+            // reported below, along with the other malformed values
         }
-        screen.wait(element).type(text);
+        ReportManager.logDiscrete("Ignoring sikuliSearchRegion [" + searchRegionBounds
+                + "], it should be \"x,y,width,height\" with a positive width and height. Searching the whole screen instead.");
+        return null;
     }
 
     private byte[] readImageFromFile(String pathToTargetElementImage) {
@@ -348,7 +415,7 @@ public class SikuliActions implements ShaftDriver{
         Pattern elementPattern = new Pattern();
         ByteArrayInputStream targetElementImage = new ByteArrayInputStream(targetElement);
         elementPattern.setBImage(ImageIO.read(targetElementImage));
-        return elementPattern;
+        return elementPattern.similar(Double.parseDouble(System.getProperty("sikuliSimilarity", "0.7").trim()));
     }
 
     private void initializeSikuliEngineForCurrentScreen() {
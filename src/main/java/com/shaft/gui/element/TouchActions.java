@@ -5,6 +5,7 @@ import com.google.common.collect.ImmutableMap;
 import com.shaft.driver.DriverFactoryHelper;
 import com.shaft.gui.image.ImageProcessingActions;
 import com.shaft.gui.video.RecordManager;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.ReportManager;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
@@ -118,45 +119,50 @@ public class TouchActions {
      * @return a self-reference to be used to chain actions
      */
     public TouchActions tap(By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
-            String elementText = "";
-            try {
-                if (DriverFactoryHelper.isMobileNativeExecution()) {
-                    elementText = driver.findElement(internalElementLocator).getAttribute("text");
-                } else {
-                    elementText = driver.findElement(internalElementLocator).getText();
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
+                String elementText = "";
+                try {
+                    if (DriverFactoryHelper.isMobileNativeExecution()) {
+                        elementText = driver.findElement(internalElementLocator).getAttribute("text");
+                    } else {
+                        elementText = driver.findElement(internalElementLocator).getText();
+                    }
+                } catch (Exception e) {
+                    // do nothing
+                }
+                List<Object> screenshot = WebDriverElementActions.takeScreenshot(driver, internalElementLocator, "tap", null, true);
+                // takes screenshot before clicking the element out of view
+
+                try {
+                    if (driver instanceof AppiumDriver<?>) {
+                        // appium native device
+                        (new TouchAction<>((AppiumDriver<?>) driver))
+                                .tap(ElementOption.element(driver.findElement(internalElementLocator))).perform();
+                    } else {
+                        // regular touch screen device
+                        (new org.openqa.selenium.interactions.touch.TouchActions(driver)).singleTap(driver.findElement(internalElementLocator)).perform();
+                    }
+                } catch (Exception e) {
+                    WebDriverElementActions.failAction(driver, internalElementLocator, e);
                 }
-            } catch (Exception e) {
-                // do nothing
-            }
-            List<Object> screenshot = WebDriverElementActions.takeScreenshot(driver, internalElementLocator, "tap", null, true);
-            // takes screenshot before clicking the element out of view
 
-            try {
-                if (driver instanceof AppiumDriver<?>) {
-                    // appium native device
-                    (new TouchAction<>((AppiumDriver<?>) driver))
-                            .tap(ElementOption.element(driver.findElement(internalElementLocator))).perform();
+                if (elementText != null && !elementText.equals("")) {
+                    WebDriverElementActions.passAction(driver, internalElementLocator, elementText.replaceAll("\n", " "), screenshot);
                 } else {
-                    // regular touch screen device
-                    (new org.openqa.selenium.interactions.touch.TouchActions(driver)).singleTap(driver.findElement(internalElementLocator)).perform();
+                    WebDriverElementActions.passAction(driver, internalElementLocator, screenshot);
                 }
-            } catch (Exception e) {
-                WebDriverElementActions.failAction(driver, internalElementLocator, e);
-            }
-
-            if (elementText != null && !elementText.equals("")) {
-                WebDriverElementActions.passAction(driver, internalElementLocator, elementText.replaceAll("\n", " "), screenshot);
             } else {
-                WebDriverElementActions.passAction(driver, internalElementLocator, screenshot);
+                WebDriverElementActions.failAction(driver, internalElementLocator);
             }
-        } else {
-            WebDriverElementActions.failAction(driver, internalElementLocator);
+            return this;
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
-        return this;
     }
 
     /**
@@ -167,42 +173,47 @@ public class TouchActions {
      * @return a self-reference to be used to chain actions
      */
     public TouchActions doubleTap(By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
-            String elementText = "";
-            try {
-                elementText = driver.findElement(internalElementLocator).getText();
-            } catch (Exception e) {
-                // do nothing
-            }
-            List<Object> screenshot = WebDriverElementActions.takeScreenshot(driver, internalElementLocator, "doubleTap", null, true);
-            // takes screenshot before clicking the element out of view
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
+                String elementText = "";
+                try {
+                    elementText = driver.findElement(internalElementLocator).getText();
+                } catch (Exception e) {
+                    // do nothing
+                }
+                List<Object> screenshot = WebDriverElementActions.takeScreenshot(driver, internalElementLocator, "doubleTap", null, true);
+                // takes screenshot before clicking the element out of view
+
+                try {
+                    if (driver instanceof AppiumDriver<?>) {
+                        // appium native device
+                        (new TouchAction<>((AppiumDriver<?>) driver))
+                                .tap(ElementOption.element(driver.findElement(internalElementLocator)))
+                                .tap(ElementOption.element(driver.findElement(internalElementLocator))).perform();
+                    } else {
+                        // regular touch screen device
+                        (new org.openqa.selenium.interactions.touch.TouchActions(driver)).doubleTap(driver.findElement(internalElementLocator)).perform();
+                    }
+                } catch (Exception e) {
+                    WebDriverElementActions.failAction(driver, internalElementLocator, e);
+                }
 
-            try {
-                if (driver instanceof AppiumDriver<?>) {
-                    // appium native device
-                    (new TouchAction<>((AppiumDriver<?>) driver))
-                            .tap(ElementOption.element(driver.findElement(internalElementLocator)))
-                            .tap(ElementOption.element(driver.findElement(internalElementLocator))).perform();
+                if (elementText != null && !elementText.equals("")) {
+                    WebDriverElementActions.passAction(driver, internalElementLocator, elementText.replaceAll("\n", " "), screenshot);
                 } else {
-                    // regular touch screen device
-                    (new org.openqa.selenium.interactions.touch.TouchActions(driver)).doubleTap(driver.findElement(internalElementLocator)).perform();
+                    WebDriverElementActions.passAction(driver, internalElementLocator, screenshot);
                 }
-            } catch (Exception e) {
-                WebDriverElementActions.failAction(driver, internalElementLocator, e);
-            }
-
-            if (elementText != null && !elementText.equals("")) {
-                WebDriverElementActions.passAction(driver, internalElementLocator, elementText.replaceAll("\n", " "), screenshot);
             } else {
-                WebDriverElementActions.passAction(driver, internalElementLocator, screenshot);
+                WebDriverElementActions.failAction(driver, internalElementLocator);
             }
-        } else {
-            WebDriverElementActions.failAction(driver, internalElementLocator);
+            return this;
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
-        return this;
     }
 
     /**
@@ -214,41 +225,46 @@ public class TouchActions {
      * @return a self-reference to be used to chain actions
      */
     public TouchActions longTap(By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
-            String elementText = "";
-            try {
-                elementText = driver.findElement(internalElementLocator).getText();
-            } catch (Exception e) {
-                // do nothing
-            }
-            List<Object> screenshot = WebDriverElementActions.takeScreenshot(driver, internalElementLocator, "longPress", null, true);
-            // takes screenshot before clicking the element out of view
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
+                String elementText = "";
+                try {
+                    elementText = driver.findElement(internalElementLocator).getText();
+                } catch (Exception e) {
+                    // do nothing
+                }
+                List<Object> screenshot = WebDriverElementActions.takeScreenshot(driver, internalElementLocator, "longPress", null, true);
+                // takes screenshot before clicking the element out of view
+
+                try {
+                    if (driver instanceof AppiumDriver<?>) {
+                        // appium native device
+                        (new TouchAction<>((AppiumDriver<?>) driver))
+                                .longPress(ElementOption.element(driver.findElement(internalElementLocator))).perform();
+                    } else {
+                        // regular touch screen device
+                        (new org.openqa.selenium.interactions.touch.TouchActions(driver)).longPress(driver.findElement(internalElementLocator)).perform();
+                    }
+                } catch (Exception e) {
+                    WebDriverElementActions.failAction(driver, internalElementLocator, e);
+                }
 
-            try {
-                if (driver instanceof AppiumDriver<?>) {
-                    // appium native device
-                    (new TouchAction<>((AppiumDriver<?>) driver))
-                            .longPress(ElementOption.element(driver.findElement(internalElementLocator))).perform();
+                if (elementText != null && !elementText.equals("")) {
+                    WebDriverElementActions.passAction(driver, internalElementLocator, elementText.replaceAll("\n", " "), screenshot);
                 } else {
-                    // regular touch screen device
-                    (new org.openqa.selenium.interactions.touch.TouchActions(driver)).longPress(driver.findElement(internalElementLocator)).perform();
+                    WebDriverElementActions.passAction(driver, internalElementLocator, screenshot);
                 }
-            } catch (Exception e) {
-                WebDriverElementActions.failAction(driver, internalElementLocator, e);
-            }
-
-            if (elementText != null && !elementText.equals("")) {
-                WebDriverElementActions.passAction(driver, internalElementLocator, elementText.replaceAll("\n", " "), screenshot);
             } else {
-                WebDriverElementActions.passAction(driver, internalElementLocator, screenshot);
+                WebDriverElementActions.failAction(driver, internalElementLocator);
             }
-        } else {
-            WebDriverElementActions.failAction(driver, internalElementLocator);
+            return this;
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
-        return this;
     }
     
     /**
@@ -336,44 +352,49 @@ public class TouchActions {
      * @return a self-reference to be used to chain actions
      */
     public TouchActions swipeToElement(By sourceElementLocator, By destinationElementLocator) {
-        By internalSourceElementLocator = sourceElementLocator;
-        By internalDestinationElementLocator = destinationElementLocator;
-        if (WebDriverElementActions.identifyUniqueElement(driver, internalSourceElementLocator)
-                && WebDriverElementActions.identifyUniqueElement(driver, internalDestinationElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalSourceElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalSourceElementLocator);
-            internalDestinationElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalDestinationElementLocator);
-
-            WebElement sourceElement = driver.findElement(internalSourceElementLocator);
-            WebElement destinationElement = driver.findElement(internalDestinationElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalSourceElementLocator = sourceElementLocator;
+            By internalDestinationElementLocator = destinationElementLocator;
+            if (WebDriverElementActions.identifyUniqueElement(driver, internalSourceElementLocator)
+                    && WebDriverElementActions.identifyUniqueElement(driver, internalDestinationElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalSourceElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalSourceElementLocator);
+                internalDestinationElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalDestinationElementLocator);
+
+                WebElement sourceElement = driver.findElement(internalSourceElementLocator);
+                WebElement destinationElement = driver.findElement(internalDestinationElementLocator);
+
+                String startLocation = sourceElement.getLocation().toString();
+
+                try {
+                    if (driver instanceof AppiumDriver<?>) {
+                        // appium native device
+                        (new TouchAction<>((AppiumDriver<?>) driver)).press(ElementOption.element(sourceElement))
+                                .moveTo(PointOption.point(destinationElement.getLocation())).release().perform();
+                    } else {
+                        // regular touch screen device
+                        (new org.openqa.selenium.interactions.touch.TouchActions(driver)).clickAndHold(sourceElement).release(destinationElement).perform();
+                    }
+                } catch (Exception e) {
+                    WebDriverElementActions.failAction(driver, internalSourceElementLocator, e);
+                }
 
-            String startLocation = sourceElement.getLocation().toString();
+                String endLocation = driver.findElement(internalSourceElementLocator).getLocation().toString();
+                String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
 
-            try {
-                if (driver instanceof AppiumDriver<?>) {
-                    // appium native device
-                    (new TouchAction<>((AppiumDriver<?>) driver)).press(ElementOption.element(sourceElement))
-                            .moveTo(PointOption.point(destinationElement.getLocation())).release().perform();
+                if (!endLocation.equals(startLocation)) {
+                    WebDriverElementActions.passAction(driver, internalSourceElementLocator, reportMessage);
                 } else {
-                    // regular touch screen device
-                    (new org.openqa.selenium.interactions.touch.TouchActions(driver)).clickAndHold(sourceElement).release(destinationElement).perform();
+                    WebDriverElementActions.failAction(driver, reportMessage, internalSourceElementLocator);
                 }
-            } catch (Exception e) {
-                WebDriverElementActions.failAction(driver, internalSourceElementLocator, e);
-            }
-
-            String endLocation = driver.findElement(internalSourceElementLocator).getLocation().toString();
-            String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
-
-            if (!endLocation.equals(startLocation)) {
-                WebDriverElementActions.passAction(driver, internalSourceElementLocator, reportMessage);
             } else {
-                WebDriverElementActions.failAction(driver, reportMessage, internalSourceElementLocator);
+                WebDriverElementActions.failAction(driver, internalSourceElementLocator);
             }
-        } else {
-            WebDriverElementActions.failAction(driver, internalSourceElementLocator);
+            return this;
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
-        return this;
     }
 
     /**
@@ -392,43 +413,48 @@ public class TouchActions {
      * @return a self-reference to be used to chain actions
      */
     public TouchActions swipeByOffset(By elementLocator, int xOffset, int yOffset) {
-        By internalElementLocator = elementLocator;
-        if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
+
+                WebElement sourceElement = driver.findElement(internalElementLocator);
+                Point elementLocation = sourceElement.getLocation();
+                String startLocation = elementLocation.toString();
+
+                try {
+                    if (driver instanceof AppiumDriver<?>) {
+                        // appium native device
+                        (new TouchAction<>((AppiumDriver<?>) driver))
+                                .press(ElementOption.element(sourceElement)).moveTo(PointOption
+                                .point(elementLocation.getX() + xOffset, elementLocation.getY() + yOffset))
+                                .release().perform();
+                    } else {
+                        // regular touch screen device
+                        (new org.openqa.selenium.interactions.touch.TouchActions(driver)).clickAndHold(sourceElement).moveByOffset(xOffset, yOffset).release()
+                                .perform();
+                    }
+                } catch (Exception e) {
+                    WebDriverElementActions.failAction(driver, internalElementLocator, e);
+                }
 
-            WebElement sourceElement = driver.findElement(internalElementLocator);
-            Point elementLocation = sourceElement.getLocation();
-            String startLocation = elementLocation.toString();
+                String endLocation = driver.findElement(internalElementLocator).getLocation().toString();
+                String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
 
-            try {
-                if (driver instanceof AppiumDriver<?>) {
-                    // appium native device
-                    (new TouchAction<>((AppiumDriver<?>) driver))
-                            .press(ElementOption.element(sourceElement)).moveTo(PointOption
-                            .point(elementLocation.getX() + xOffset, elementLocation.getY() + yOffset))
-                            .release().perform();
+                if (!endLocation.equals(startLocation)) {
+                    WebDriverElementActions.passAction(driver, internalElementLocator, reportMessage);
                 } else {
-                    // regular touch screen device
-                    (new org.openqa.selenium.interactions.touch.TouchActions(driver)).clickAndHold(sourceElement).moveByOffset(xOffset, yOffset).release()
-                            .perform();
+                    WebDriverElementActions.failAction(driver, reportMessage, internalElementLocator);
                 }
-            } catch (Exception e) {
-                WebDriverElementActions.failAction(driver, internalElementLocator, e);
-            }
-
-            String endLocation = driver.findElement(internalElementLocator).getLocation().toString();
-            String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
-
-            if (!endLocation.equals(startLocation)) {
-                WebDriverElementActions.passAction(driver, internalElementLocator, reportMessage);
             } else {
-                WebDriverElementActions.failAction(driver, reportMessage, internalElementLocator);
+                WebDriverElementActions.failAction(driver, internalElementLocator);
             }
-        } else {
-            WebDriverElementActions.failAction(driver, internalElementLocator);
+            return this;
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
-        return this;
     }
     
     /**
@@ -467,29 +493,34 @@ public class TouchActions {
      * @return a self-reference to be used to chain actions
      */
     public TouchActions swipeElementIntoView(By targetElementLocator, SwipeDirection swipeDirection, SwipeTechnique swipeTechnique, int scrollableElementInstanceNumber) {
-        By internalElementLocator = targetElementLocator;
-        internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
         try {
-            if (driver instanceof AppiumDriver<?>) {
-                // appium native application
-                boolean isElementFound = attemptToSwipeElementIntoViewInNativeApp(internalElementLocator, swipeDirection, swipeTechnique, scrollableElementInstanceNumber);
-                if (Boolean.FALSE.equals(isElementFound)) {
-                    WebDriverElementActions.failAction(driver, internalElementLocator);
-                }
-            } else {
-                // regular touch screen device
-                if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
-                    Point elementLocation = driver.findElement(internalElementLocator).getLocation();
-                    (new org.openqa.selenium.interactions.touch.TouchActions(driver)).scroll(elementLocation.getX(), elementLocation.getY()).perform();
+            By internalElementLocator = targetElementLocator;
+            internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
+            try {
+                if (driver instanceof AppiumDriver<?>) {
+                    // appium native application
+                    boolean isElementFound = attemptToSwipeElementIntoViewInNativeApp(internalElementLocator, swipeDirection, swipeTechnique, scrollableElementInstanceNumber);
+                    if (Boolean.FALSE.equals(isElementFound)) {
+                        WebDriverElementActions.failAction(driver, internalElementLocator);
+                    }
                 } else {
-                    WebDriverElementActions.failAction(driver, internalElementLocator);
+                    // regular touch screen device
+                    if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
+                        Point elementLocation = driver.findElement(internalElementLocator).getLocation();
+                        (new org.openqa.selenium.interactions.touch.TouchActions(driver)).scroll(elementLocation.getX(), elementLocation.getY()).perform();
+                    } else {
+                        WebDriverElementActions.failAction(driver, internalElementLocator);
+                    }
                 }
+                WebDriverElementActions.passAction(driver, internalElementLocator);
+            } catch (Exception e) {
+                WebDriverElementActions.failAction(driver, internalElementLocator, e);
             }
-            WebDriverElementActions.passAction(driver, internalElementLocator);
-        } catch (Exception e) {
-            WebDriverElementActions.failAction(driver, internalElementLocator, e);
+            return this;
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
-        return this;
     }
 
     private boolean attemptToSwipeElementIntoViewInNativeApp(By elementLocator, SwipeDirection swipeDirection, SwipeTechnique swipeTechnique, int scrollableElementInstanceNumber) {
@@ -0,0 +1,165 @@
+package com.shaft.gui.element;
+
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.ReportManagerHelper;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Creates all the waits used by SHAFT's GUI actions, so that they poll according to the configured
+ * {@link WaitStrategy}, and keeps track of the wall time that the current test spent waiting.
+ */
+public class WaitManager {
+    private static final String WAIT_STRATEGY = System.getProperty("waitStrategy", "exponentialBackoff").trim();
+    private static final Duration INITIAL_POLLING_INTERVAL = Duration.ofMillis(Long
+            .parseLong(System.getProperty("waitStrategyInitialPollingInterval", "50").trim()));
+    private static final Duration MAXIMUM_POLLING_INTERVAL = Duration.ofMillis(Long
+            .parseLong(System.getProperty("waitStrategyMaximumPollingInterval", "1000").trim()));
+    private static final WaitStrategy waitStrategy = initializeWaitStrategy();
+    private static final ThreadLocal<Long> waitingTime = ThreadLocal.withInitial(() -> 0L);
+
+    private WaitManager() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return the wait strategy that was selected using the waitStrategy property
+     */
+    public static WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * Creates a FluentWait that polls according to the configured wait strategy, and records the time it spent
+     * waiting
+     *
+     * @param input   the object that will be passed to the wait condition, typically the current driver
+     * @param timeout the maximum duration to wait for the condition
+     * @param <T>     the type of the wait input
+     * @return a new FluentWait that can be further configured before calling until()
+     */
+    public static <T> FluentWait<T> createWait(T input, Duration timeout) {
+        return new StrategyWait<>(input, new StrategySleeper(waitStrategy)).withTimeout(timeout);
+    }
+
+    /**
+     * Creates a wait that behaves like Selenium's WebDriverWait (ignoring NotFoundException), but polls according
+     * to the configured wait strategy
+     *
+     * @param driver           the current instance of Selenium webdriver
+     * @param timeoutInSeconds the maximum duration to wait for the condition
+     * @return a new FluentWait that can be further configured before calling until()
+     */
+    public static FluentWait<WebDriver> createWebDriverWait(WebDriver driver, long timeoutInSeconds) {
+        return createWait(driver, Duration.ofSeconds(timeoutInSeconds)).ignoring(NotFoundException.class);
+    }
+
+    /**
+     * Sleeps for the polling interval that the configured wait strategy assigns to this attempt, used by retry loops
+     * that are not built on top of a FluentWait
+     *
+     * @param attempt the number of attempts that already failed, starting with 1
+     */
+    public static void sleep(int attempt) {
+        sleep(waitStrategy.getPollingInterval(attempt));
+    }
+
+    /**
+     * Sleeps for a fixed duration, and records it as waiting time
+     *
+     * @param duration the duration to sleep for
+     */
+    public static void sleep(Duration duration) {
+        long startTime = System.nanoTime();
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            ReportManagerHelper.log(e);
+            Thread.currentThread().interrupt();
+        } finally {
+            recordWaitingTime(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * @return the wall time that the current thread spent waiting since the last reset
+     */
+    public static Duration getWaitingTime() {
+        return Duration.ofNanos(waitingTime.get());
+    }
+
+    /**
+     * Resets the waiting time of the current thread, called before every test method
+     */
+    public static void resetWaitingTime() {
+        waitingTime.set(0L);
+    }
+
+    private static void recordWaitingTime(long nanoseconds) {
+        waitingTime.set(waitingTime.get() + nanoseconds);
+    }
+
+    private static WaitStrategy initializeWaitStrategy() {
+        switch (WAIT_STRATEGY) {
+            case "fixed":
+                return new FixedWaitStrategy(INITIAL_POLLING_INTERVAL);
+            case "jittered":
+                return new JitteredWaitStrategy(INITIAL_POLLING_INTERVAL, MAXIMUM_POLLING_INTERVAL);
+            case "exponentialBackoff":
+                return new ExponentialBackoffWaitStrategy(INITIAL_POLLING_INTERVAL, MAXIMUM_POLLING_INTERVAL);
+            default:
+                try {
+                    return (WaitStrategy) Class.forName(WAIT_STRATEGY).getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    ReportManagerHelper.log(e);
+                    ReportManager.logDiscrete("Unsupported waitStrategy [" + WAIT_STRATEGY + "], falling back to exponentialBackoff.");
+                    return new ExponentialBackoffWaitStrategy(INITIAL_POLLING_INTERVAL, MAXIMUM_POLLING_INTERVAL);
+                }
+        }
+    }
+
+    private static class StrategySleeper implements Sleeper {
+        private final WaitStrategy strategy;
+        private int attempt = 0;
+
+        private StrategySleeper(WaitStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        private void reset() {
+            attempt = 0;
+        }
+
+        @Override
+        public void sleep(Duration ignoredPollingInterval) throws InterruptedException {
+            attempt++;
+            Thread.sleep(strategy.getPollingInterval(attempt).toMillis());
+        }
+    }
+
+    private static class StrategyWait<T> extends FluentWait<T> {
+        private final StrategySleeper sleeper;
+
+        private StrategyWait(T input, StrategySleeper sleeper) {
+            super(input, Clock.systemDefaultZone(), sleeper);
+            this.sleeper = sleeper;
+        }
+
+        @Override
+        public <V> V until(Function<? super T, V> isTrue) {
+            sleeper.reset();
+            long startTime = System.nanoTime();
+            try {
+                return super.until(isTrue);
+            } finally {
+                recordWaitingTime(System.nanoTime() - startTime);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.shaft.gui.element;
+
+import java.time.Duration;
+
+/**
+ * Decides how long SHAFT waits between two consecutive polls of the same condition (element presence, visibility,
+ * lazy loading, navigation...).
+ * <p>
+ * The built-in strategies are selected using the {@code waitStrategy} property ({@code fixed},
+ * {@code exponentialBackoff}, or {@code jittered}), a custom strategy can be used by setting the same property to the
+ * fully qualified name of a class that implements this interface and has a public no-args constructor.
+ *
+ * @see WaitManager#getWaitStrategy()
+ */
+public interface WaitStrategy {
+    /**
+     * Returns the delay before the next poll
+     *
+     * @param attempt the number of polls that already failed, starting with 1
+     * @return the delay to sleep before polling again
+     */
+    Duration getPollingInterval(int attempt);
+}
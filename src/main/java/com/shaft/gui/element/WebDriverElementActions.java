@@ -1,22 +1,24 @@
 package com.shaft.gui.element;
 
-import com.shaft.cli.FileActions;
 import com.shaft.driver.DriverFactoryHelper;
+import com.shaft.gui.image.BaselineStore;
 import com.shaft.gui.image.ImageProcessingActions;
 import com.shaft.gui.image.ScreenshotManager;
 import com.shaft.gui.video.RecordManager;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
+import com.shaft.tools.support.ExecutionScope;
 import io.appium.java_client.AppiumDriver;
 import org.opencv.imgproc.Imgproc;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.remote.UnreachableBrowserException;
-import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.UnexpectedTagNameException;
 import org.sikuli.script.App;
+import org.sikuli.script.Match;
 import org.sikuli.script.Pattern;
 import org.sikuli.script.Screen;
 import org.testng.Assert;
@@ -32,10 +34,7 @@ import java.util.List;
 import java.util.*;
 
 public class WebDriverElementActions {
-    private static final String AI_REFERENCE_FILE_NAME = "aiAidedElementIdentificationReferenceDB.properties";
     private static final String OBFUSCATED_STRING = "•";
-    private static WebDriver lastUsedDriver = null;
-    private static By aiGeneratedElementLocator = null;
 
     public WebDriverElementActions(WebDriver driver) {
         setLastUsedDriver(driver);
@@ -43,13 +42,12 @@ public class WebDriverElementActions {
 
     public static Boolean attemptToFindElementUsingAI(WebDriver driver, By elementLocator) {
         if (Boolean.TRUE.equals(ScreenshotManager.getAiSupportedElementIdentification())) {
-            aiGeneratedElementLocator = null; // reset static container
+            state().aiGeneratedElementLocator = null; // reset the container of the current test
 
             String hashedLocatorName = ImageProcessingActions.formatElementLocatorToImagePath(elementLocator);
 
             // if this is a new element that's failing for the first time
-            String aiFolderPath = ScreenshotManager.getAiAidedElementIdentificationFolderpath();
-            String referenceImagePath = aiFolderPath + hashedLocatorName + ".png";
+            String referenceImagePath = BaselineStore.getInstance().getPath(hashedLocatorName);
             List<Integer> point = ImageProcessingActions.findImageWithinCurrentPage(referenceImagePath,
                     ScreenshotManager.takeFullPageScreenshot(driver), Imgproc.TM_CCORR_NORMED); // TM_CCOEFF
             if (point.size() == 2) {
@@ -67,17 +65,7 @@ public class WebDriverElementActions {
 
                 String newXpath = ElementActionsHelper.suggestNewXpathUsingJavascript(driver, targetElement, elementLocator);
                 if (newXpath != null) {
-                    System.setProperty(hashedLocatorName, newXpath);
-                }
-
-                if (FileActions.doesFileExist(aiFolderPath, AI_REFERENCE_FILE_NAME, 1)) {
-                    // append to current file content if the file already exists
-                    FileActions.writeToFile(aiFolderPath, AI_REFERENCE_FILE_NAME,
-                            FileActions.readFromFile(aiFolderPath, AI_REFERENCE_FILE_NAME) + System.lineSeparator()
-                                    + hashedLocatorName + "=" + newXpath);
-                } else {
-                    // writing for the first time
-                    FileActions.writeToFile(aiFolderPath, AI_REFERENCE_FILE_NAME, hashedLocatorName + "=" + newXpath);
+                    LocatorHealingStore.getInstance().put(hashedLocatorName, newXpath);
                 }
                 setAiGeneratedXpath(newXpath);
                 return true;
@@ -97,61 +85,66 @@ public class WebDriverElementActions {
      *                       selector, name ...etc)
      */
     public static void click(WebDriver driver, By elementLocator) {
-        if (DriverFactoryHelper.isMobileNativeExecution()) {
-            new TouchActions(driver).tap(elementLocator);
-        } else {
-            By internalElementLocator = elementLocator;
-            // Waits for the element to be clickable, and then clicks it.
-            if (identifyUniqueElement(driver, internalElementLocator)) {
-                // Override current locator with the aiGeneratedElementLocator
-                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            if (DriverFactoryHelper.isMobileNativeExecution()) {
+                new TouchActions(driver).tap(elementLocator);
+            } else {
+                By internalElementLocator = elementLocator;
+                // Waits for the element to be clickable, and then clicks it.
+                if (identifyUniqueElement(driver, internalElementLocator)) {
+                    // Override current locator with the aiGeneratedElementLocator
+                    internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-                String elementText = "";
-                try {
-                    // attempting to read element text
-                    elementText = readTextBasedOnSuccessfulLocationStrategy(driver, internalElementLocator,
-                            determineSuccessfulTextLocationStrategy(driver, internalElementLocator));
-                    // adding hover before clicking an element to enable styles to show in the
-                    // execution screenshots and to solve issues clicking on certain elements.
-                    ElementActionsHelper.performHoverUsingJavascript(driver, internalElementLocator);
-                } catch (Exception e) {
-                    ReportManagerHelper.logDiscrete(e);
-                }
+                    String elementText = "";
+                    try {
+                        // attempting to read element text
+                        elementText = readTextBasedOnSuccessfulLocationStrategy(driver, internalElementLocator,
+                                determineSuccessfulTextLocationStrategy(driver, internalElementLocator));
+                        // adding hover before clicking an element to enable styles to show in the
+                        // execution screenshots and to solve issues clicking on certain elements.
+                        ElementActionsHelper.performHoverUsingJavascript(driver, internalElementLocator);
+                    } catch (Exception e) {
+                        ReportManagerHelper.logDiscrete(e);
+                    }
 
-                List<Object> screenshot = takeScreenshot(driver, internalElementLocator, "click", null, true);
-                // takes screenshot before clicking the element out of view
-                // wait for element to be clickable
-                if (Boolean.FALSE.equals(ElementActionsHelper.waitForElementToBeClickable(driver, internalElementLocator))) {
-                    failAction(driver, "element is not clickable", internalElementLocator);
-                }
+                    List<Object> screenshot = takeScreenshot(driver, internalElementLocator, "click", null, true);
+                    // takes screenshot before clicking the element out of view
+                    // wait for element to be clickable
+                    if (Boolean.FALSE.equals(ElementActionsHelper.waitForElementToBeClickable(driver, internalElementLocator))) {
+                        failAction(driver, "element is not clickable", internalElementLocator);
+                    }
 
-                try {
-                    driver.findElement(internalElementLocator).click();
-                } catch (Exception exception1) {
                     try {
-                        ElementActionsHelper.clickUsingJavascript(driver, internalElementLocator);
-                    } catch (Exception rootCauseException) {
-                        rootCauseException.initCause(exception1);
-                        ReportManagerHelper.log(exception1);
-                        ReportManagerHelper.log(rootCauseException);
-                        failAction(driver, internalElementLocator, rootCauseException);
+                        ResolvedElement.of(driver, internalElementLocator).execute(WebElement::click);
+                    } catch (Exception exception1) {
+                        try {
+                            ElementActionsHelper.clickUsingJavascript(driver, internalElementLocator);
+                        } catch (Exception rootCauseException) {
+                            rootCauseException.initCause(exception1);
+                            ReportManagerHelper.log(exception1);
+                            ReportManagerHelper.log(rootCauseException);
+                            failAction(driver, internalElementLocator, rootCauseException);
+                        }
+                    }
+                    // issue: if performing a navigation after clicking on the login button,
+                    // navigation is triggered immediately and hence it fails.
+                    // solution: wait for any possible navigation that may be triggered by this
+                    // click action to conclude
+
+                    // removed to enhance performance, and replaced with a process to assert after
+                    // every navigation
+                    if (!elementText.equals("")) {
+                        passAction(driver, internalElementLocator, elementText.replaceAll("\n", " "), screenshot);
+                    } else {
+                        passAction(driver, internalElementLocator, screenshot);
                     }
-                }
-                // issue: if performing a navigation after clicking on the login button,
-                // navigation is triggered immediately and hence it fails.
-                // solution: wait for any possible navigation that may be triggered by this
-                // click action to conclude
-
-                // removed to enhance performance, and replaced with a process to assert after
-                // every navigation
-                if (!elementText.equals("")) {
-                    passAction(driver, internalElementLocator, elementText.replaceAll("\n", " "), screenshot);
                 } else {
-                    passAction(driver, internalElementLocator, screenshot);
+                    failAction(driver, internalElementLocator);
                 }
-            } else {
-                failAction(driver, internalElementLocator);
             }
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -163,20 +156,25 @@ public class WebDriverElementActions {
      *                       selector, name ...etc)
      */
     public static void clickAndHold(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
-            if (Boolean.FALSE.equals(ElementActionsHelper.waitForElementToBeClickable(driver, internalElementLocator))) {
-                failAction(driver, "element is not clickable", internalElementLocator);
-            }
-            // wait for element to be clickable
-            passAction(driver, internalElementLocator);
-            (new Actions(driver)).clickAndHold(driver.findElement(internalElementLocator)).build().perform();
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+                if (Boolean.FALSE.equals(ElementActionsHelper.waitForElementToBeClickable(driver, internalElementLocator))) {
+                    failAction(driver, "element is not clickable", internalElementLocator);
+                }
+                // wait for element to be clickable
+                passAction(driver, internalElementLocator);
+                (new Actions(driver)).clickAndHold(ResolvedElement.of(driver, internalElementLocator).get()).build().perform();
 
-            // takes screenshot before holding the element
-        } else {
-            failAction(driver, internalElementLocator);
+                // takes screenshot before holding the element
+            } else {
+                failAction(driver, internalElementLocator);
+            }
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -191,27 +189,32 @@ public class WebDriverElementActions {
      *                       "select all", "unselect"
      */
     public static void clipboardActions(WebDriver driver, By elementLocator, String action) {
-        // TODO: implement enum for list of possible actions
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            // TODO: implement enum for list of possible actions
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            boolean wasActionPerformed;
-            if (!System.getProperty("targetOperatingSystem").equals("Mac-64")) {
-                wasActionPerformed = performClipboardActionsForMac(driver, action);
-            } else {
-                wasActionPerformed = performClipboardActions(driver, internalElementLocator, action);
-            }
+                boolean wasActionPerformed;
+                if (!System.getProperty("targetOperatingSystem").equals("Mac-64")) {
+                    wasActionPerformed = performClipboardActionsForMac(driver, action);
+                } else {
+                    wasActionPerformed = performClipboardActions(driver, internalElementLocator, action);
+                }
+
+                if (Boolean.TRUE.equals(wasActionPerformed)) {
+                    passAction(driver, internalElementLocator, action);
+                } else {
+                    failAction(driver, action, internalElementLocator);
+                }
 
-            if (Boolean.TRUE.equals(wasActionPerformed)) {
-                passAction(driver, internalElementLocator, action);
             } else {
-                failAction(driver, action, internalElementLocator);
+                failAction(driver, internalElementLocator);
             }
-
-        } else {
-            failAction(driver, internalElementLocator);
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -223,35 +226,40 @@ public class WebDriverElementActions {
      *                       selector, name ...etc)
      */
     public static void doubleClick(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
-// Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
-            String elementText = "";
-            try {
-                // attempting to read element text
-                elementText = readTextBasedOnSuccessfulLocationStrategy(driver, internalElementLocator,
-                        determineSuccessfulTextLocationStrategy(driver, internalElementLocator));
-            } catch (Exception e) {
-                // do nothing
-                ReportManagerHelper.logDiscrete(e);
-            }
-            List<Object> screenshot = WebDriverElementActions.takeScreenshot(driver, internalElementLocator, "doubleClick", null, true);
-            // takes screenshot before clicking the element out of view
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (WebDriverElementActions.identifyUniqueElement(driver, internalElementLocator)) {
+    // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = WebDriverElementActions.updateLocatorWithAIGeneratedOne(internalElementLocator);
+                String elementText = "";
+                try {
+                    // attempting to read element text
+                    elementText = readTextBasedOnSuccessfulLocationStrategy(driver, internalElementLocator,
+                            determineSuccessfulTextLocationStrategy(driver, internalElementLocator));
+                } catch (Exception e) {
+                    // do nothing
+                    ReportManagerHelper.logDiscrete(e);
+                }
+                List<Object> screenshot = WebDriverElementActions.takeScreenshot(driver, internalElementLocator, "doubleClick", null, true);
+                // takes screenshot before clicking the element out of view
 
-            try {
-                (new Actions(driver)).moveToElement(driver.findElement(internalElementLocator)).doubleClick().perform();
-            } catch (Exception e) {
-                WebDriverElementActions.failAction(driver, internalElementLocator, e);
-            }
+                try {
+                    (new Actions(driver)).moveToElement(ResolvedElement.of(driver, internalElementLocator).get()).doubleClick().perform();
+                } catch (Exception e) {
+                    WebDriverElementActions.failAction(driver, internalElementLocator, e);
+                }
 
-            if (!elementText.equals("")) {
-                WebDriverElementActions.passAction(driver, internalElementLocator, elementText.replaceAll("\n", " "), screenshot);
+                if (!elementText.equals("")) {
+                    WebDriverElementActions.passAction(driver, internalElementLocator, elementText.replaceAll("\n", " "), screenshot);
+                } else {
+                    WebDriverElementActions.passAction(driver, internalElementLocator, screenshot);
+                }
             } else {
-                WebDriverElementActions.passAction(driver, internalElementLocator, screenshot);
+                WebDriverElementActions.failAction(driver, internalElementLocator);
             }
-        } else {
-            WebDriverElementActions.failAction(driver, internalElementLocator);
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -269,54 +277,59 @@ public class WebDriverElementActions {
      *                                  ...etc)
      */
     public static void dragAndDrop(WebDriver driver, By sourceElementLocator, By destinationElementLocator) {
-        By internalSourceElementLocator = sourceElementLocator;
-        By internalDestinationElementLocator = destinationElementLocator;
-        if (identifyUniqueElement(driver, internalSourceElementLocator)
-                && identifyUniqueElement(driver, internalDestinationElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalSourceElementLocator = updateLocatorWithAIGeneratedOne(internalSourceElementLocator);
-            internalDestinationElementLocator = updateLocatorWithAIGeneratedOne(internalDestinationElementLocator);
-
-            // replaced canFindUniqueElementForInternalUse, with countFoundElements for
-            // destinationElement to bypass the check for element visibility
-
-            // get source element start location
-            String startLocation = driver.findElement(internalSourceElementLocator).getLocation().toString();
-
-            // attempt to perform drag and drop
-            try {
-            	ElementActionsHelper.dragAndDropUsingJavascript(driver, sourceElementLocator, destinationElementLocator);
-            } catch (Exception rootCauseException) {
-                ReportManagerHelper.log(rootCauseException);
-                failAction(driver, internalSourceElementLocator, rootCauseException);
-            }
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalSourceElementLocator = sourceElementLocator;
+            By internalDestinationElementLocator = destinationElementLocator;
+            if (identifyUniqueElement(driver, internalSourceElementLocator)
+                    && identifyUniqueElement(driver, internalDestinationElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalSourceElementLocator = updateLocatorWithAIGeneratedOne(internalSourceElementLocator);
+                internalDestinationElementLocator = updateLocatorWithAIGeneratedOne(internalDestinationElementLocator);
 
-            // get source element end location
-            String endLocation = driver.findElement(internalSourceElementLocator).getLocation().toString();
+                // replaced canFindUniqueElementForInternalUse, with countFoundElements for
+                // destinationElement to bypass the check for element visibility
 
-            String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
+                // get source element start location
+                String startLocation = ResolvedElement.of(driver, internalSourceElementLocator).perform(WebElement::getLocation).toString();
 
-            if (!endLocation.equals(startLocation)) {
-                passAction(driver, internalSourceElementLocator, reportMessage);
-            } else {
+                // attempt to perform drag and drop
                 try {
-                    (new Actions(driver)).dragAndDrop(driver.findElement(internalSourceElementLocator),
-                            driver.findElement(internalDestinationElementLocator)).build().perform();
-
+                	ElementActionsHelper.dragAndDropUsingJavascript(driver, sourceElementLocator, destinationElementLocator);
                 } catch (Exception rootCauseException) {
                     ReportManagerHelper.log(rootCauseException);
                     failAction(driver, internalSourceElementLocator, rootCauseException);
                 }
+
                 // get source element end location
-                endLocation = driver.findElement(internalSourceElementLocator).getLocation().toString();
+                String endLocation = ResolvedElement.of(driver, internalSourceElementLocator).perform(WebElement::getLocation).toString();
+
+                String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
+
                 if (!endLocation.equals(startLocation)) {
                     passAction(driver, internalSourceElementLocator, reportMessage);
                 } else {
-                    failAction(driver, reportMessage, internalSourceElementLocator);
+                    try {
+                        (new Actions(driver)).dragAndDrop(ResolvedElement.of(driver, internalSourceElementLocator).get(),
+                                ResolvedElement.of(driver, internalDestinationElementLocator).get()).build().perform();
+
+                    } catch (Exception rootCauseException) {
+                        ReportManagerHelper.log(rootCauseException);
+                        failAction(driver, internalSourceElementLocator, rootCauseException);
+                    }
+                    // get source element end location
+                    endLocation = ResolvedElement.of(driver, internalSourceElementLocator).perform(WebElement::getLocation).toString();
+                    if (!endLocation.equals(startLocation)) {
+                        passAction(driver, internalSourceElementLocator, reportMessage);
+                    } else {
+                        failAction(driver, reportMessage, internalSourceElementLocator);
+                    }
                 }
+            } else {
+                failAction(driver, internalSourceElementLocator);
             }
-        } else {
-            failAction(driver, internalSourceElementLocator);
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -333,33 +346,38 @@ public class WebDriverElementActions {
      *                             be moved
      */
     public static void dragAndDropByOffset(WebDriver driver, By sourceElementLocator, int xOffset, int yOffset) {
-        By internalSourceElementLocator = sourceElementLocator;
-        if (identifyUniqueElement(driver, internalSourceElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalSourceElementLocator = updateLocatorWithAIGeneratedOne(internalSourceElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalSourceElementLocator = sourceElementLocator;
+            if (identifyUniqueElement(driver, internalSourceElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalSourceElementLocator = updateLocatorWithAIGeneratedOne(internalSourceElementLocator);
 
-            WebElement sourceElement = driver.findElement(internalSourceElementLocator);
-            String startLocation = sourceElement.getLocation().toString();
+                WebElement sourceElement = ResolvedElement.of(driver, internalSourceElementLocator).get();
+                String startLocation = sourceElement.getLocation().toString();
 
-            // attempt to perform drag and drop
-            try {
-                (new Actions(driver)).dragAndDropBy(driver.findElement(internalSourceElementLocator), xOffset, yOffset).build()
-                        .perform();
-            } catch (Exception rootCauseException) {
-                ReportManagerHelper.log(rootCauseException);
-                failAction(driver, internalSourceElementLocator, rootCauseException);
-            }
+                // attempt to perform drag and drop
+                try {
+                    (new Actions(driver)).dragAndDropBy(ResolvedElement.of(driver, internalSourceElementLocator).get(), xOffset, yOffset).build()
+                            .perform();
+                } catch (Exception rootCauseException) {
+                    ReportManagerHelper.log(rootCauseException);
+                    failAction(driver, internalSourceElementLocator, rootCauseException);
+                }
 
-            String endLocation = driver.findElement(internalSourceElementLocator).getLocation().toString();
+                String endLocation = ResolvedElement.of(driver, internalSourceElementLocator).perform(WebElement::getLocation).toString();
 
-            if (!endLocation.equals(startLocation)) {
-                passAction(driver, internalSourceElementLocator,
-                        "Start point: " + startLocation + ", End point: " + endLocation);
+                if (!endLocation.equals(startLocation)) {
+                    passAction(driver, internalSourceElementLocator,
+                            "Start point: " + startLocation + ", End point: " + endLocation);
+                } else {
+                    failAction(driver, "Start point = End point: " + endLocation, internalSourceElementLocator);
+                }
             } else {
-                failAction(driver, "Start point = End point: " + endLocation, internalSourceElementLocator);
+                failAction(driver, internalSourceElementLocator);
             }
-        } else {
-            failAction(driver, internalSourceElementLocator);
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -386,11 +404,11 @@ public class WebDriverElementActions {
     }
 
     public static By getAiGeneratedElementLocator() {
-        return aiGeneratedElementLocator;
+        return state().aiGeneratedElementLocator;
     }
 
     public static String getAiReferenceFileName() {
-        return AI_REFERENCE_FILE_NAME;
+        return LocatorHealingStore.getReferenceFileName();
     }
 
     /**
@@ -431,22 +449,28 @@ public class WebDriverElementActions {
      * @return the value of the target attribute of the webElement under test
      */
     public static String getAttribute(WebDriver driver, By elementLocator, String attributeName) {
-        By internalElementLocator = elementLocator;
-        ReportManager.logDiscrete("Attempting to getAttribute [" + attributeName + "] from elementLocator [" + internalElementLocator + "].");
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
-            try {
-                String elementAttribute = driver.findElement(internalElementLocator).getAttribute(attributeName);
-                passAction(driver, internalElementLocator, elementAttribute);
-                return elementAttribute;
-            } catch (UnsupportedCommandException rootCauseException) {
-                failAction(driver, internalElementLocator, rootCauseException);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            ReportManager.logDiscrete("Attempting to getAttribute [" + attributeName + "] from elementLocator [" + internalElementLocator + "].");
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+                try {
+                    String elementAttribute = ResolvedElement.of(driver, internalElementLocator)
+                            .getSnapshot(Collections.singletonList(attributeName), Collections.emptyList()).getAttribute(attributeName);
+                    passAction(driver, internalElementLocator, elementAttribute);
+                    return elementAttribute;
+                } catch (UnsupportedCommandException rootCauseException) {
+                    failAction(driver, internalElementLocator, rootCauseException);
+                    return null;
+                }
+            } else {
+                failAction(driver, internalElementLocator);
                 return null;
             }
-        } else {
-            failAction(driver, internalElementLocator);
-            return null;
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -467,17 +491,23 @@ public class WebDriverElementActions {
      * @return the value of the target CSS property of the webElement under test
      */
     public static String getCSSProperty(WebDriver driver, By elementLocator, String propertyName) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            String elementCssProperty = driver.findElement(internalElementLocator).getCssValue(propertyName);
-            passAction(driver, internalElementLocator, elementCssProperty);
-            return elementCssProperty;
-        } else {
-            failAction(driver, internalElementLocator);
-            return null;
+                String elementCssProperty = ResolvedElement.of(driver, internalElementLocator)
+                        .getSnapshot(Collections.emptyList(), Collections.singletonList(propertyName)).getCssValue(propertyName);
+                passAction(driver, internalElementLocator, elementCssProperty);
+                return elementCssProperty;
+            } else {
+                failAction(driver, internalElementLocator);
+                return null;
+            }
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -546,6 +576,27 @@ public class WebDriverElementActions {
         return getMatchingElementsCount(driver, elementLocator, Optional.of(numberOfAttempts), Optional.empty());
     }
 
+    /**
+     * Returns the number of elements that match a certain elementLocator, when none is expected. Instead of waiting
+     * for the element to appear, the page is checked once it's ready, then confirmed again after the
+     * elementAbsenceStabilityWindow. AI aided element identification isn't attempted, since it would find a
+     * similar looking element instead of confirming that this one is absent.
+     *
+     * @param driver         the current instance of Selenium webdriver
+     * @param elementLocator the locator of the webElement under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @return integer value that represents the number of elements that match the
+     * desired elementLocator
+     */
+    public static int getElementsCountExpectingAbsence(WebDriver driver, By elementLocator) {
+        if (elementLocator == null) {
+            return 0;
+        }
+        JavaScriptWaitManager.waitForLazyLoading();
+        RecordManager.startVideoRecording(driver);
+        return ElementActionsHelper.waitForElementAbsence(driver, elementLocator);
+    }
+
     /**
      * Retrieves the selected text from the target drop-down list element and returns it as a string value.
      *
@@ -555,22 +606,27 @@ public class WebDriverElementActions {
      * @return the selected text of the target webElement
      */
     public static String getSelectedText(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
-            StringBuilder elementSelectedText = new StringBuilder();
-            try {
-                new Select(driver.findElement(internalElementLocator)).getAllSelectedOptions().forEach(selectedOption -> elementSelectedText.append(selectedOption.getText()));
-                passAction(driver, internalElementLocator, elementSelectedText.toString().trim());
-                return elementSelectedText.toString().trim();
-            } catch (UnexpectedTagNameException rootCauseException) {
-                failAction(driver, internalElementLocator, rootCauseException);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+                StringBuilder elementSelectedText = new StringBuilder();
+                try {
+                    new Select(ResolvedElement.of(driver, internalElementLocator).get()).getAllSelectedOptions().forEach(selectedOption -> elementSelectedText.append(selectedOption.getText()));
+                    passAction(driver, internalElementLocator, elementSelectedText.toString().trim());
+                    return elementSelectedText.toString().trim();
+                } catch (UnexpectedTagNameException rootCauseException) {
+                    failAction(driver, internalElementLocator, rootCauseException);
+                    return null;
+                }
+            } else {
+                failAction(driver, internalElementLocator);
                 return null;
             }
-        } else {
-            failAction(driver, internalElementLocator);
-            return null;
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -582,7 +638,7 @@ public class WebDriverElementActions {
      * @return the selected text of the target webElement
      */
     public static String getSelectedText(By elementLocator) {
-        return getSelectedText(lastUsedDriver, elementLocator);
+        return getSelectedText(getLastUsedDriver(), elementLocator);
     }
 
     /**
@@ -595,17 +651,22 @@ public class WebDriverElementActions {
      * @return the size of the webElement under test
      */
     public static String getSize(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            String elementSize = driver.findElement(internalElementLocator).getSize().toString();
-            passAction(driver, internalElementLocator, elementSize);
-            return elementSize;
-        } else {
-            failAction(driver, internalElementLocator);
-            return null;
+                String elementSize = ResolvedElement.of(driver, internalElementLocator).getSnapshot().getRect().getDimension().toString();
+                passAction(driver, internalElementLocator, elementSize);
+                return elementSize;
+            } else {
+                failAction(driver, internalElementLocator);
+                return null;
+            }
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -618,17 +679,22 @@ public class WebDriverElementActions {
      * @return the tag name of the webElement under test
      */
     public static String getTagName(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            String elementTagName = driver.findElement(internalElementLocator).getTagName();
-            passAction(driver, internalElementLocator, elementTagName);
-            return elementTagName;
-        } else {
-            failAction(driver, internalElementLocator);
-            return null;
+                String elementTagName = ResolvedElement.of(driver, internalElementLocator).getSnapshot().getTagName();
+                passAction(driver, internalElementLocator, elementTagName);
+                return elementTagName;
+            } else {
+                failAction(driver, internalElementLocator);
+                return null;
+            }
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -641,29 +707,35 @@ public class WebDriverElementActions {
      * @return the text value of the target webElement
      */
     public static String getText(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            String elementText = driver.findElement(internalElementLocator).getText();
+                var elementSnapshot = ResolvedElement.of(driver, internalElementLocator).getSnapshot();
+                String elementText = elementSnapshot.getText();
 
-            if ((elementText == null || elementText.trim().equals("")) && !DriverFactoryHelper.isMobileNativeExecution()) {
-                elementText = driver.findElement(internalElementLocator).getAttribute(TextDetectionStrategy.CONTENT.getValue());
-            }
+                if ((elementText == null || elementText.trim().equals("")) && !DriverFactoryHelper.isMobileNativeExecution()) {
+                    elementText = elementSnapshot.getTextContent();
+                }
 
-            if ((elementText == null || elementText.trim().equals("")) && !DriverFactoryHelper.isMobileNativeExecution()) {
-                elementText = driver.findElement(internalElementLocator).getAttribute(TextDetectionStrategy.VALUE.getValue());
-            }
+                if ((elementText == null || elementText.trim().equals("")) && !DriverFactoryHelper.isMobileNativeExecution()) {
+                    elementText = elementSnapshot.getValue();
+                }
 
-            if (elementText == null) {
-                elementText = "";
+                if (elementText == null) {
+                    elementText = "";
+                }
+                passAction(driver, internalElementLocator, elementText);
+                return elementText;
+            } else {
+                failAction(driver, internalElementLocator);
+                return null;
             }
-            passAction(driver, internalElementLocator, elementText);
-            return elementText;
-        } else {
-            failAction(driver, internalElementLocator);
-            return null;
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -704,20 +776,25 @@ public class WebDriverElementActions {
      *                       selector, name ...etc)
      */
     public static void hover(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            try {
-            	ElementActionsHelper.performHoverUsingJavascript(driver, internalElementLocator);
-            } catch (Exception rootCauseException) {
-                ReportManagerHelper.log(rootCauseException);
-                failAction(driver, internalElementLocator, rootCauseException);
+                try {
+                	ElementActionsHelper.performHoverUsingJavascript(driver, internalElementLocator);
+                } catch (Exception rootCauseException) {
+                    ReportManagerHelper.log(rootCauseException);
+                    failAction(driver, internalElementLocator, rootCauseException);
+                }
+                passAction(driver, internalElementLocator);
+            } else {
+                failAction(driver, internalElementLocator);
             }
-            passAction(driver, internalElementLocator);
-        } else {
-            failAction(driver, internalElementLocator);
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -763,28 +840,33 @@ public class WebDriverElementActions {
      * element is not clickable
      */
     public static boolean isElementClickable(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)
 
-                && driver.findElement(internalElementLocator).isEnabled()) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
-            if (Boolean.FALSE.equals(ElementActionsHelper.waitForElementToBeClickable(driver, internalElementLocator))) {
-                failAction(driver, "element is not clickable", internalElementLocator);
+                    && ResolvedElement.of(driver, internalElementLocator).getSnapshot().isEnabled()) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+                if (Boolean.FALSE.equals(ElementActionsHelper.waitForElementToBeClickable(driver, internalElementLocator))) {
+                    failAction(driver, "element is not clickable", internalElementLocator);
+                }
+                // wait for element to be clickable
+                passAction(driver, internalElementLocator);
+                return true;
+            } else if (identifyUniqueElement(driver, internalElementLocator)
+                    && !(ResolvedElement.of(driver, internalElementLocator).getSnapshot().isEnabled())) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+                // wait for element to be clickable
+                passAction(driver, internalElementLocator);
+                return false;
+            } else {
+                failAction(driver, internalElementLocator);
+                return false;
             }
-            // wait for element to be clickable
-            passAction(driver, internalElementLocator);
-            return true;
-        } else if (identifyUniqueElement(driver, internalElementLocator)
-                && !(driver.findElement(internalElementLocator).isEnabled())) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
-            // wait for element to be clickable
-            passAction(driver, internalElementLocator);
-            return false;
-        } else {
-            failAction(driver, internalElementLocator);
-            return false;
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -798,18 +880,23 @@ public class WebDriverElementActions {
      * element is not displayed
      */
     public static boolean isElementDisplayed(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator
-                , false)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator
+                    , false)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            boolean isDisplayed = driver.findElement(internalElementLocator).isDisplayed();
-            passAction(driver, internalElementLocator);
-            return isDisplayed;
-        } else {
-            failAction(driver, internalElementLocator);
-            return false;
+                boolean isDisplayed = ResolvedElement.of(driver, internalElementLocator).getSnapshot().isDisplayed();
+                passAction(driver, internalElementLocator);
+                return isDisplayed;
+            } else {
+                failAction(driver, internalElementLocator);
+                return false;
+            }
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -823,24 +910,29 @@ public class WebDriverElementActions {
      * @param key            the key that should be pressed
      */
     public static void keyPress(WebDriver driver, By elementLocator, String key) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            switch (key.toLowerCase().trim()) {
-                case "enter" -> driver.findElement(internalElementLocator).sendKeys(Keys.ENTER);
-                case "return" -> driver.findElement(internalElementLocator).sendKeys(Keys.RETURN);
-                case "tab" -> driver.findElement(internalElementLocator).sendKeys(Keys.TAB);
-                default -> {
-                    ReportManager.log("Unsupported Key.");
-                    failAction(driver, key, internalElementLocator);
+                switch (key.toLowerCase().trim()) {
+                    case "enter" -> ResolvedElement.of(driver, internalElementLocator).execute(element -> element.sendKeys(Keys.ENTER));
+                    case "return" -> ResolvedElement.of(driver, internalElementLocator).execute(element -> element.sendKeys(Keys.RETURN));
+                    case "tab" -> ResolvedElement.of(driver, internalElementLocator).execute(element -> element.sendKeys(Keys.TAB));
+                    default -> {
+                        ReportManager.log("Unsupported Key.");
+                        failAction(driver, key, internalElementLocator);
+                    }
                 }
+            } else {
+                failAction(driver, key, internalElementLocator);
             }
-        } else {
-            failAction(driver, key, internalElementLocator);
+            passAction(driver, internalElementLocator, key);
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
-        passAction(driver, internalElementLocator, key);
     }
 
     /**
@@ -852,16 +944,21 @@ public class WebDriverElementActions {
      * @param key            the key that should be pressed
      */
     public static void keyPress(WebDriver driver, By elementLocator, Keys key) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            driver.findElement(internalElementLocator).sendKeys(key);
-        } else {
-            failAction(driver, key.name(), internalElementLocator);
+                ResolvedElement.of(driver, internalElementLocator).execute(element -> element.sendKeys(key));
+            } else {
+                failAction(driver, key.name(), internalElementLocator);
+            }
+            passAction(driver, internalElementLocator, key.name());
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
-        passAction(driver, internalElementLocator, key.name());
     }
 
     public static SikuliActions performSikuliAction() {
@@ -902,30 +999,35 @@ public class WebDriverElementActions {
      */
     public static void waitForTextToChange(WebDriver driver, By elementLocator, String initialValue,
                                            int numberOfTries) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            if (!Boolean.TRUE.equals(ElementActionsHelper.waitForElementTextToBeNot(driver, internalElementLocator, initialValue))) {
-                failAction(driver, initialValue, internalElementLocator);
-            }
+                if (!Boolean.TRUE.equals(ElementActionsHelper.waitForElementTextToBeNot(driver, internalElementLocator, initialValue))) {
+                    failAction(driver, initialValue, internalElementLocator);
+                }
 
-            try {
-                passAction(driver, internalElementLocator,
-                        "from: \"" + initialValue + "\", to: \"" + getText(driver, internalElementLocator) + "\"");
-            } catch (Exception e) {
-                passAction(driver, internalElementLocator, "from: \"" + initialValue + "\", to a new value.");
-            }
-        } else {
-            if (internalElementLocator != null) {
-                failAction(driver,
-                        "Element with locator (" + internalElementLocator + ") was not found on this page.",
-                        internalElementLocator);
+                try {
+                    passAction(driver, internalElementLocator,
+                            "from: \"" + initialValue + "\", to: \"" + getText(driver, internalElementLocator) + "\"");
+                } catch (Exception e) {
+                    passAction(driver, internalElementLocator, "from: \"" + initialValue + "\", to a new value.");
+                }
             } else {
-                // this code is unreachable it's just in place to satisfy SonarLint
-                failAction(driver, "Element has Null locator.", null);
+                if (internalElementLocator != null) {
+                    failAction(driver,
+                            "Element with locator (" + internalElementLocator + ") was not found on this page.",
+                            internalElementLocator);
+                } else {
+                    // this code is unreachable it's just in place to satisfy SonarLint
+                    failAction(driver, "Element has Null locator.", null);
+                }
             }
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -939,33 +1041,38 @@ public class WebDriverElementActions {
      *                       target dropDown menu
      */
     public static void select(WebDriver driver, By elementLocator, String text) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            //add forced check that the select element actually has options and is not empty
-            if (!Boolean.TRUE.equals(ElementActionsHelper.waitForElementTextToBeNot(driver, internalElementLocator, ""))) {
-                failAction(driver, text, internalElementLocator);
-            }
+                //add forced check that the select element actually has options and is not empty
+                if (!Boolean.TRUE.equals(ElementActionsHelper.waitForElementTextToBeNot(driver, internalElementLocator, ""))) {
+                    failAction(driver, text, internalElementLocator);
+                }
 
-            boolean isOptionFound = false;
-            var availableOptionsList = (new Select(driver.findElement(internalElementLocator))).getOptions();
-            for (int i = 0; i < availableOptionsList.size(); i++) {
-                String visibleText = availableOptionsList.get(i).getText();
-                String value = availableOptionsList.get(i).getAttribute("value");
-                if (visibleText.trim().equals(text) || value.trim().equals(text)) {
-                    (new Select(driver.findElement(internalElementLocator))).selectByIndex(i);
-                    passAction(driver, internalElementLocator, text);
-                    isOptionFound = true;
-                    break;
+                boolean isOptionFound = false;
+                var availableOptionsList = (new Select(ResolvedElement.of(driver, internalElementLocator).get())).getOptions();
+                for (int i = 0; i < availableOptionsList.size(); i++) {
+                    String visibleText = availableOptionsList.get(i).getText();
+                    String value = availableOptionsList.get(i).getAttribute("value");
+                    if (visibleText.trim().equals(text) || value.trim().equals(text)) {
+                        (new Select(ResolvedElement.of(driver, internalElementLocator).get())).selectByIndex(i);
+                        passAction(driver, internalElementLocator, text);
+                        isOptionFound = true;
+                        break;
+                    }
                 }
-            }
-            if (Boolean.FALSE.equals(isOptionFound)) {
+                if (Boolean.FALSE.equals(isOptionFound)) {
+                    failAction(driver, text, internalElementLocator);
+                }
+            } else {
                 failAction(driver, text, internalElementLocator);
             }
-        } else {
-            failAction(driver, text, internalElementLocator);
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -986,11 +1093,15 @@ public class WebDriverElementActions {
     }
 
     public static void setLastUsedDriver(WebDriver driver) {
-        lastUsedDriver = driver;
+        state().lastUsedDriver = driver;
     }
     
     protected static WebDriver getLastUsedDriver() {
-    	return lastUsedDriver;
+        return ExecutionScope.current().getInheritedValue(ElementActionsState.class, state -> state.lastUsedDriver);
+    }
+
+    private static ElementActionsState state() {
+        return ExecutionScope.current().getState(ElementActionsState.class, ElementActionsState::new);
     }
 
     /**
@@ -1003,21 +1114,26 @@ public class WebDriverElementActions {
      *                       element
      */
     public static void setValueUsingJavaScript(WebDriver driver, By elementLocator, String value) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator
-                , false)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator
+                    , false)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            Boolean valueSetSuccessfully = ElementActionsHelper.setValueUsingJavascript(driver, internalElementLocator, value);
+                Boolean valueSetSuccessfully = ElementActionsHelper.setValueUsingJavascript(driver, internalElementLocator, value);
 
-            if (Boolean.TRUE.equals(valueSetSuccessfully)) {
-                passAction(driver, internalElementLocator, value);
+                if (Boolean.TRUE.equals(valueSetSuccessfully)) {
+                    passAction(driver, internalElementLocator, value);
+                } else {
+                    failAction(driver, internalElementLocator);
+                }
             } else {
                 failAction(driver, internalElementLocator);
             }
-        } else {
-            failAction(driver, internalElementLocator);
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -1029,21 +1145,26 @@ public class WebDriverElementActions {
      *                       selector, name ...etc)
      */
     public static void submitFormUsingJavaScript(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator
-                , false)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator
+                    , false)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            try {
-                ElementActionsHelper.submitFormUsingJavascript(driver, internalElementLocator);
-                passAction(driver, internalElementLocator);
-            } catch (Exception rootCauseException) {
-                ReportManagerHelper.log(rootCauseException);
-                failAction(driver, internalElementLocator, rootCauseException);
+                try {
+                    ElementActionsHelper.submitFormUsingJavascript(driver, internalElementLocator);
+                    passAction(driver, internalElementLocator);
+                } catch (Exception rootCauseException) {
+                    ReportManagerHelper.log(rootCauseException);
+                    failAction(driver, internalElementLocator, rootCauseException);
+                }
+            } else {
+                failAction(driver, internalElementLocator);
             }
-        } else {
-            failAction(driver, internalElementLocator);
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -1074,6 +1195,7 @@ public class WebDriverElementActions {
      * @return a self-reference to be used to chain actions
      */
     public static WebDriverElementActions switchToDefaultContent() {
+        var lastUsedDriver = getLastUsedDriver();
         if (DriverFactoryHelper.getActiveDriverSessions() > 0 && (lastUsedDriver != null)) {
             try {
                 lastUsedDriver.switchTo().defaultContent();
@@ -1100,19 +1222,24 @@ public class WebDriverElementActions {
      *                       xpath, id, selector, name ...etc)
      */
     public static void switchToIframe(WebDriver driver, By elementLocator) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            driver.switchTo().frame(driver.findElement(internalElementLocator));
-            // note to self: remove internalElementLocator in case of bug in screenshot manager
-            boolean discreetLoggingState = ReportManagerHelper.isDiscreteLogging();
-            ReportManagerHelper.setDiscreteLogging(true);
-            passAction(driver);
-            ReportManagerHelper.setDiscreteLogging(discreetLoggingState);
-        } else {
-            failAction(driver, internalElementLocator);
+                driver.switchTo().frame(ResolvedElement.of(driver, internalElementLocator).get());
+                // note to self: remove internalElementLocator in case of bug in screenshot manager
+                boolean discreetLoggingState = ReportManagerHelper.isDiscreteLogging();
+                ReportManagerHelper.setDiscreteLogging(true);
+                passAction(driver);
+                ReportManagerHelper.setDiscreteLogging(discreetLoggingState);
+            } else {
+                failAction(driver, internalElementLocator);
+            }
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -1143,15 +1270,20 @@ public class WebDriverElementActions {
      *                       webElement
      */
     public static void type(WebDriver driver, By elementLocator, String text) {
-        String actualResult = typeWrapper(driver, elementLocator, text);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            String actualResult = typeWrapper(driver, elementLocator, text);
 
-        if (actualResult != null && actualResult.equals(text)) {
-            passAction(driver, elementLocator, text);
-        } else if (actualResult == null) {
-            failAction(driver, elementLocator);
-        } else {
-            failAction(driver, "Expected to type: \"" + text + "\", but ended up with: \"" + actualResult + "\"",
-                    elementLocator);
+            if (actualResult != null && actualResult.equals(text)) {
+                passAction(driver, elementLocator, text);
+            } else if (actualResult == null) {
+                failAction(driver, elementLocator);
+            } else {
+                failAction(driver, "Expected to type: \"" + text + "\", but ended up with: \"" + actualResult + "\"",
+                        elementLocator);
+            }
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -1166,16 +1298,21 @@ public class WebDriverElementActions {
      *                       target webElement
      */
     public static void typeAppend(WebDriver driver, By elementLocator, String text) {
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator)
-                && (text != null)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator)
+                    && (text != null)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            driver.findElement(internalElementLocator).sendKeys(text);
-            passAction(driver, internalElementLocator, text);
-        } else {
-            failAction(driver, text, internalElementLocator);
+                ResolvedElement.of(driver, internalElementLocator).execute(element -> element.sendKeys(text));
+                passAction(driver, internalElementLocator, text);
+            } else {
+                failAction(driver, text, internalElementLocator);
+            }
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -1189,44 +1326,49 @@ public class WebDriverElementActions {
      * @param absoluteFilePath the full path to the file that needs to be uploaded
      */
     public static void typeFileLocationForUpload(WebDriver driver, By elementLocator, String absoluteFilePath) {
-        String internalAbsoluteFilePath = absoluteFilePath.replace("/", FileSystems.getDefault().getSeparator());
-        By internalElementLocator = elementLocator;
-        if (identifyUniqueElement(driver, internalElementLocator
-                , false)) {
-            // Override current locator with the aiGeneratedElementLocator
-            internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
-
-            List<Object> screenshot = takeScreenshot(driver, internalElementLocator, "typeFileLocationForUpload", null, true);
-            // takes screenshot before clicking the element out of view
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            String internalAbsoluteFilePath = absoluteFilePath.replace("/", FileSystems.getDefault().getSeparator());
+            By internalElementLocator = elementLocator;
+            if (identifyUniqueElement(driver, internalElementLocator
+                    , false)) {
+                // Override current locator with the aiGeneratedElementLocator
+                internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
-            try {
-                driver.findElement(internalElementLocator).sendKeys(internalAbsoluteFilePath);
-            } catch (InvalidArgumentException e) {
-                //this happens when the file path doesn't exist
-                failAction(driver, internalAbsoluteFilePath, internalElementLocator, e);
+                List<Object> screenshot = takeScreenshot(driver, internalElementLocator, "typeFileLocationForUpload", null, true);
+                // takes screenshot before clicking the element out of view
 
-            } catch (ElementNotInteractableException exception1) {
-            	ElementActionsHelper.changeWebElementVisibilityUsingJavascript(driver, internalElementLocator, true);
-                try {
-                    driver.findElement(internalElementLocator).sendKeys(internalAbsoluteFilePath);
-                } catch (WebDriverException rootCauseException) {
-                    rootCauseException.initCause(exception1);
-                    ReportManagerHelper.log(rootCauseException);
-                    // happened for the first time on MacOSX due to incorrect file path separator
-                    failAction(driver, internalAbsoluteFilePath, internalElementLocator, rootCauseException);
-                }
                 try {
-                	ElementActionsHelper.changeWebElementVisibilityUsingJavascript(driver, internalElementLocator, false);
-                } catch (NoSuchElementException | StaleElementReferenceException e) {
-                    // this exception is sometimes thrown on firefox after the upload has been
-                    // successful, since we don't have to return the style to what it was, then it's
-                    // okay to do nothing here.
-                    ReportManagerHelper.logDiscrete(e);
+                    ResolvedElement.of(driver, internalElementLocator).execute(element -> element.sendKeys(internalAbsoluteFilePath));
+                } catch (InvalidArgumentException e) {
+                    //this happens when the file path doesn't exist
+                    failAction(driver, internalAbsoluteFilePath, internalElementLocator, e);
+
+                } catch (ElementNotInteractableException exception1) {
+                	ElementActionsHelper.changeWebElementVisibilityUsingJavascript(driver, internalElementLocator, true);
+                    try {
+                        ResolvedElement.of(driver, internalElementLocator).execute(element -> element.sendKeys(internalAbsoluteFilePath));
+                    } catch (WebDriverException rootCauseException) {
+                        rootCauseException.initCause(exception1);
+                        ReportManagerHelper.log(rootCauseException);
+                        // happened for the first time on MacOSX due to incorrect file path separator
+                        failAction(driver, internalAbsoluteFilePath, internalElementLocator, rootCauseException);
+                    }
+                    try {
+                    	ElementActionsHelper.changeWebElementVisibilityUsingJavascript(driver, internalElementLocator, false);
+                    } catch (NoSuchElementException | StaleElementReferenceException e) {
+                        // this exception is sometimes thrown on firefox after the upload has been
+                        // successful, since we don't have to return the style to what it was, then it's
+                        // okay to do nothing here.
+                        ReportManagerHelper.logDiscrete(e);
+                    }
                 }
+                passAction(driver, internalElementLocator, internalAbsoluteFilePath, screenshot);
+            } else {
+                failAction(driver, internalAbsoluteFilePath, internalElementLocator);
             }
-            passAction(driver, internalElementLocator, internalAbsoluteFilePath, screenshot);
-        } else {
-            failAction(driver, internalAbsoluteFilePath, internalElementLocator);
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
         }
     }
 
@@ -1242,17 +1384,22 @@ public class WebDriverElementActions {
      *                       webElement
      */
     public static void typeSecure(WebDriver driver, By elementLocator, String text) {
-        String actualResult = typeWrapper(driver, elementLocator, text);
+        int openActionContexts = ActionContext.getOpenCount();
+        try {
+            String actualResult = typeWrapper(driver, elementLocator, text);
 
-        if (actualResult != null && actualResult.equals(text)) {
-            passAction(driver, elementLocator, OBFUSCATED_STRING.repeat(text.length()));
-        } else if (actualResult == null) {
-            failAction(driver, elementLocator);
-        } else {
-            failAction(driver, "Expected to type: \"" + text + "\", but ended up with: \""
-                    + actualResult + "\"", elementLocator);
-        }
+            if (actualResult != null && actualResult.equals(text)) {
+                passAction(driver, elementLocator, OBFUSCATED_STRING.repeat(text.length()));
+            } else if (actualResult == null) {
+                failAction(driver, elementLocator);
+            } else {
+                failAction(driver, "Expected to type: \"" + text + "\", but ended up with: \""
+                        + actualResult + "\"", elementLocator);
+            }
 
+        } finally {
+            ActionContext.closeOpenedSince(openActionContexts);
+        }
     }
 
     /**
@@ -1279,7 +1426,10 @@ public class WebDriverElementActions {
         String reportMessage = "waited for the element's state of presence to be (" + stateOfPresence
                 + "). Element locator (" + internalElementLocator.toString() + ")";
 
-        if (Boolean.compare(stateOfPresence, getMatchingElementsCount(driver, internalElementLocator, Optional.of(numberOfTries), Optional.empty()) >= 1) == 0) {
+        int matchingElementsCount = stateOfPresence
+                ? getMatchingElementsCount(driver, internalElementLocator, Optional.of(numberOfTries), Optional.empty())
+                : getElementsCountExpectingAbsence(driver, internalElementLocator);
+        if (Boolean.compare(stateOfPresence, matchingElementsCount >= 1) == 0) {
             passAction(driver, internalElementLocator, reportMessage);
         } else {
             failAction(driver, reportMessage, internalElementLocator);
@@ -1287,17 +1437,17 @@ public class WebDriverElementActions {
     }
 
     protected static void failAction(WebDriver driver, By elementLocator, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCurrentActionName();
         failAction(driver, actionName, null, elementLocator, null, rootCauseException);
     }
 
     protected static void failAction(WebDriver driver, String testData, By elementLocator, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCurrentActionName();
         failAction(driver, actionName, testData, elementLocator, null, rootCauseException);
     }
 
     protected static void failAction(Screen screen, App applicationWindow, Pattern element, String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCurrentActionName();
         failAction(null, actionName, testData, null, SikuliActions.prepareElementScreenshotAttachment(screen, applicationWindow, element, actionName, false), rootCauseException);
     }
 
@@ -1306,27 +1456,32 @@ public class WebDriverElementActions {
     }
 
     protected static void passAction(WebDriver driver, By elementLocator) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCurrentActionName();
         passAction(driver, elementLocator, actionName, null, null);
     }
 
     protected static void passAction(WebDriver driver, By elementLocator, List<Object> screenshot) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCurrentActionName();
         passAction(driver, elementLocator, actionName, null, screenshot);
     }
 
     protected static void passAction(WebDriver driver, By elementLocator, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCurrentActionName();
         passAction(driver, elementLocator, actionName, testData, null);
     }
 
     protected static void passAction(WebDriver driver, By elementLocator, String testData, List<Object> screenshot) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCurrentActionName();
         passAction(driver, elementLocator, actionName, testData, screenshot);
     }
 
     protected static void passAction(Screen screen, App applicationWindow, Pattern element, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCurrentActionName();
+        passAction(null, null, actionName, testData, SikuliActions.prepareElementScreenshotAttachment(screen, applicationWindow, element, actionName, true));
+    }
+
+    protected static void passAction(Screen screen, App applicationWindow, Match element, String testData) {
+        String actionName = ActionContext.getCurrentActionName();
         passAction(null, null, actionName, testData, SikuliActions.prepareElementScreenshotAttachment(screen, applicationWindow, element, actionName, true));
     }
 
@@ -1357,8 +1512,8 @@ public class WebDriverElementActions {
     protected static By updateLocatorWithAIGeneratedOne(By elementLocator) {
         // Override current locator with the aiGeneratedElementLocator
         if (Boolean.TRUE.equals(ScreenshotManager.getAiSupportedElementIdentification())
-                && aiGeneratedElementLocator != null && elementLocator != null) {
-            return aiGeneratedElementLocator;
+                && state().aiGeneratedElementLocator != null && elementLocator != null) {
+            return state().aiGeneratedElementLocator;
         }
         return elementLocator;
     }
@@ -1367,14 +1522,14 @@ public class WebDriverElementActions {
                                           TextDetectionStrategy successfulTextLocationStrategy) {
         try {
             // attempt clear using clear
-            driver.findElement(elementLocator).clear();
+            ResolvedElement.of(driver, elementLocator).execute(WebElement::clear);
 
             String elementText = readTextBasedOnSuccessfulLocationStrategy(driver, elementLocator,
                     successfulTextLocationStrategy);
 
             // attempt clear using sendKeys
             if (!elementText.trim().equals("")) {
-                driver.findElement(elementLocator).sendKeys("");
+                ResolvedElement.of(driver, elementLocator).execute(element -> element.sendKeys(""));
             }
             elementText = readTextBasedOnSuccessfulLocationStrategy(driver, elementLocator,
                     successfulTextLocationStrategy);
@@ -1388,9 +1543,9 @@ public class WebDriverElementActions {
                     successfulTextLocationStrategy);
             // attempt clear using letter by letter backspace
             if (!elementText.trim().equals("")) {
-                driver.findElement(elementLocator).sendKeys("");
+                ResolvedElement.of(driver, elementLocator).execute(element -> element.sendKeys(""));
                 for (int i = 0; i < elementText.length(); i++) {
-                    driver.findElement(elementLocator).sendKeys(Keys.BACK_SPACE);
+                    ResolvedElement.of(driver, elementLocator).execute(element -> element.sendKeys(Keys.BACK_SPACE));
                 }
 
             }
@@ -1415,9 +1570,10 @@ public class WebDriverElementActions {
         if (DriverFactoryHelper.isMobileNativeExecution()) {
             return TextDetectionStrategy.TEXT;
         }
-        String text = driver.findElement(elementLocator).getText();
-        String content = driver.findElement(elementLocator).getAttribute(TextDetectionStrategy.CONTENT.getValue());
-        String value = driver.findElement(elementLocator).getAttribute(TextDetectionStrategy.VALUE.getValue());
+        var elementSnapshot = ResolvedElement.of(driver, elementLocator).getSnapshot();
+        String text = elementSnapshot.getText();
+        String content = elementSnapshot.getTextContent();
+        String value = elementSnapshot.getValue();
 
         TextDetectionStrategy successfulTextLocationStrategy;
         if (text != null && !"".equals(text.trim())) {
@@ -1471,12 +1627,12 @@ public class WebDriverElementActions {
         // check to see if this element was already identified using AI, and if it's
         // still unique, use that locator directly
         String hashedLocatorName = ImageProcessingActions.formatElementLocatorToImagePath(internalElementLocator);
-        String previouslyIdentifiedXpath = System.getProperty(hashedLocatorName);
+        String previouslyIdentifiedXpath = LocatorHealingStore.getInstance().get(hashedLocatorName);
         setAiGeneratedXpath(previouslyIdentifiedXpath);
 
         // wait for element presence
         if (previouslyIdentifiedXpath != null && Boolean.TRUE.equals(ScreenshotManager.getAiSupportedElementIdentification())) {
-            internalElementLocator = aiGeneratedElementLocator;
+            internalElementLocator = state().aiGeneratedElementLocator;
         }
         int matchingElementsCount = ElementActionsHelper.waitForElementPresence(driver, internalElementLocator, numberOfAttempts, true);
 
@@ -1489,9 +1645,9 @@ public class WebDriverElementActions {
                 ReportManagerHelper.setDiscreteLogging(false);
                 ReportManager
                         .log("Element was previously found using AI... Kindly update your element locator from ["
-                                + internalElementLocator + "] to [" + aiGeneratedElementLocator + "].");
+                                + internalElementLocator + "] to [" + state().aiGeneratedElementLocator + "].");
                 ReportManagerHelper.setDiscreteLogging(initialLoggingState);
-                internalElementLocator = aiGeneratedElementLocator;
+                internalElementLocator = state().aiGeneratedElementLocator;
             }
             ScreenshotManager.storeElementScreenshotForAISupportedElementIdentification(driver, internalElementLocator);
         }
@@ -1500,11 +1656,13 @@ public class WebDriverElementActions {
 
     private static boolean identifyUniqueElement(WebDriver driver, By elementLocator,
                                                  boolean checkForVisibility) {
+        var actionContext = ActionContext.openIfAbsent(ActionContext.getCallerMethodName("identifyUniqueElement", "typeWrapper"), elementLocator);
         By internalElementLocator = elementLocator;
         // Override current locator with the aiGeneratedElementLocator
         internalElementLocator = updateLocatorWithAIGeneratedOne(internalElementLocator);
 
         int matchingElementsCount = getMatchingElementsCount(driver, elementLocator, Optional.empty(), Optional.of(checkForVisibility));
+        actionContext.markPhase("identify");
         if (internalElementLocator != null) {
             // unique element found
             switch (matchingElementsCount) {
@@ -1533,7 +1691,7 @@ public class WebDriverElementActions {
     }
 
     private static void passAction(WebDriver driver) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCurrentActionName();
         passAction(driver, null, actionName, null, null);
     }
 
@@ -1543,7 +1701,7 @@ public class WebDriverElementActions {
     }
 
     private static void passAction(WebDriver driver, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = ActionContext.getCurrentActionName();
         passAction(driver, null, actionName, testData, null);
     }
 
@@ -1625,12 +1783,10 @@ public class WebDriverElementActions {
         expectedExceptions.add(WebDriverException.class);
 
         try {
-            new FluentWait<>(driver)
-                    .withTimeout(Duration.ofSeconds(5))
-                    .pollingEvery(Duration.ofSeconds(1))
+            WaitManager.createWait(driver, Duration.ofSeconds(5))
                     .ignoreAll(expectedExceptions)
                     .until(nestedDriver -> {
-                        nestedDriver.findElement(elementLocator).sendKeys(text);
+                        ResolvedElement.of(driver, elementLocator).execute(element -> element.sendKeys(text));
                         return true;
                     });
         } catch (TimeoutException e) {
@@ -1644,15 +1800,15 @@ public class WebDriverElementActions {
         String temp;
         switch (successfulTextLocationStrategy) {
             case TEXT -> {
-                temp = driver.findElement(elementLocator).getText();
+                temp = ResolvedElement.of(driver, elementLocator).getSnapshot().getText();
                 return (temp == null) ? "" : temp;
             }
             case CONTENT -> {
-                temp = driver.findElement(elementLocator).getAttribute(TextDetectionStrategy.CONTENT.getValue());
+                temp = ResolvedElement.of(driver, elementLocator).getSnapshot().getTextContent();
                 return (temp == null) ? "" : temp;
             }
             case VALUE -> {
-                temp = driver.findElement(elementLocator).getAttribute(TextDetectionStrategy.VALUE.getValue());
+                temp = ResolvedElement.of(driver, elementLocator).getSnapshot().getValue();
                 return (temp == null) ? "" : temp;
             }
         }
@@ -1661,6 +1817,10 @@ public class WebDriverElementActions {
 
     private static String reportActionResult(WebDriver driver, String actionName, String testData, By elementLocator,
                                              List<Object> screenshot, Boolean passFailStatus) {
+        var actionContext = ActionContext.current();
+        if (actionContext != null) {
+            actionContext.markPhase("perform");
+        }
         actionName = actionName.substring(0, 1).toUpperCase() + actionName.substring(1);
         String message;
         if (Boolean.TRUE.equals(passFailStatus)) {
@@ -1693,16 +1853,21 @@ public class WebDriverElementActions {
         } else {
             ReportManager.log(message);
         }
+        ResolvedElement.endAction();
+        if (actionContext != null) {
+            actionContext.markPhase("report");
+            actionContext.close();
+        }
         return message;
     }
 
     private static void setAiGeneratedXpath(String newXpath) {
         if (newXpath == null) {
-            aiGeneratedElementLocator = null;
+            state().aiGeneratedElementLocator = null;
         } else {
-            aiGeneratedElementLocator = By.xpath(newXpath);
+            state().aiGeneratedElementLocator = By.xpath(newXpath);
         }
-        ScreenshotManager.setAiGeneratedElementLocator(aiGeneratedElementLocator);
+        ScreenshotManager.setAiGeneratedElementLocator(state().aiGeneratedElementLocator);
     }
 
     private static String typeWrapper(WebDriver driver, By elementLocator, String targetText) {
@@ -1761,4 +1926,12 @@ public class WebDriverElementActions {
             return value;
         }
     }
+
+    /**
+     * The driver and self-healed locator of the test that is running on the current thread
+     */
+    private static class ElementActionsState {
+        private WebDriver lastUsedDriver;
+        private By aiGeneratedElementLocator;
+    }
 }
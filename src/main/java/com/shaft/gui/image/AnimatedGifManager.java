@@ -1,119 +1,336 @@
 package com.shaft.gui.image;
 
-import javax.imageio.*;
-import javax.imageio.metadata.IIOMetadata;
-import javax.imageio.metadata.IIOMetadataNode;
-import javax.imageio.stream.ImageOutputStream;
-import java.awt.image.RenderedImage;
-import java.io.IOException;
-import java.util.Iterator;
-
-public class AnimatedGifManager {
-    private static final ThreadLocal<ImageWriter> gifWriter = new ThreadLocal<>();
-    private static final ThreadLocal<ImageWriteParam> imageWriteParam = new ThreadLocal<>();
-    private static final ThreadLocal<IIOMetadata> imageMetaData = new ThreadLocal<>();
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Streams an animated GIF to disk, one frame at a time.
+ * <p>
+ * Frames are scaled down to the maximum width, mapped to a fixed palette that is written once as the global color
+ * table, and compared to the previous frame so that only the rectangle that changed is encoded. A frame that didn't
+ * change at all costs a few bytes. Only the previous and the current frames are kept in memory, whatever the number
+ * of frames.
+ */
+public class AnimatedGifManager implements Closeable {
+    private static final int PALETTE_SIZE = 256;
+    private static final int RED_LEVELS = 6;
+    private static final int GREEN_LEVELS = 7;
+    private static final int BLUE_LEVELS = 6;
+    private static final int[] redIndex = new int[256];
+    private static final int[] greenIndex = new int[256];
+    private static final int[] blueIndex = new int[256];
+    private static final byte[] palette = createPalette();
+
+    private final OutputStream outputStream;
+    private final int width;
+    private final int height;
+    private final int frameDelay;
+    private final UnaryOperator<BufferedImage> frameDecorator;
+    private final BufferedImage canvas;
+    private byte[] previousFrame;
+    private byte[] currentFrame;
+    private int framesCount = 0;
 
     /**
-     * Creates a new GifSequenceWriter
+     * Creates a new animated GIF, its size is taken from the first screenshot
      *
-     * @param outputStream        the ImageOutputStream to be written to
-     * @param imageType           one of the imageTypes specified in BufferedImage
+     * @param gifFile             the file that the GIF will be written to
+     * @param screenshotWidth     the width of the first screenshot
+     * @param screenshotHeight    the height of the first screenshot
+     * @param maximumWidth        screenshots that are wider than this are scaled down
      * @param timeBetweenFramesMS the time between frames in milliseconds
-     * @throws IOException if no gif ImageWriters are found
+     * @param frameDecorator      draws on every scaled frame before it's encoded (for example a watermark)
+     * @throws IOException if the file can't be written
      */
-    protected AnimatedGifManager(ImageOutputStream outputStream, int imageType, int timeBetweenFramesMS) throws IOException {
-        initialize(outputStream, imageType, timeBetweenFramesMS);
+    public AnimatedGifManager(File gifFile, int screenshotWidth, int screenshotHeight, int maximumWidth,
+                              int timeBetweenFramesMS, UnaryOperator<BufferedImage> frameDecorator) throws IOException {
+        double scale = screenshotWidth > maximumWidth ? (double) maximumWidth / screenshotWidth : 1;
+        this.width = Math.max(1, (int) Math.round(screenshotWidth * scale));
+        this.height = Math.max(1, (int) Math.round(screenshotHeight * scale));
+        this.frameDelay = Math.max(0, timeBetweenFramesMS / 10);
+        this.frameDecorator = frameDecorator;
+        this.canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.previousFrame = new byte[width * height];
+        this.currentFrame = new byte[width * height];
+        this.outputStream = new BufferedOutputStream(new FileOutputStream(gifFile), 1 << 16);
+        writeHeader();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getFramesCount() {
+        return framesCount;
     }
 
     /**
-     * Returns the first available GIF ImageWriter using
-     * ImageIO.getImageWritersBySuffix("gif").
+     * Appends a screenshot to the GIF, only the part of it that changed since the previous screenshot is written
      *
-     * @return a GIF ImageWriter object
-     * @throws IIOException if no GIF image writers are returned
+     * @param screenshot the decoded screenshot, it's scaled to the GIF size and is not modified
+     * @throws IOException if the file can't be written
      */
-    private static ImageWriter getWriter() throws IIOException {
-        Iterator<ImageWriter> iterator = ImageIO.getImageWritersBySuffix("gif");
-        if (!iterator.hasNext()) {
-            throw new IIOException("No GIF Image Writers Exist");
+    public void writeToSequence(BufferedImage screenshot) throws IOException {
+        var graphics = canvas.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        double scale = (double) width / screenshot.getWidth();
+        graphics.drawImage(screenshot, 0, 0, width, (int) Math.round(screenshot.getHeight() * scale), null);
+        graphics.dispose();
+        var frame = frameDecorator != null ? frameDecorator.apply(canvas) : canvas;
+        int[] pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < pixels.length; i++) {
+            int rgb = pixels[i];
+            currentFrame[i] = (byte) (redIndex[(rgb >> 16) & 0xFF] + greenIndex[(rgb >> 8) & 0xFF] + blueIndex[rgb & 0xFF]);
+        }
+        if (framesCount == 0) {
+            writeFrame(0, 0, width, height);
         } else {
-            return iterator.next();
+            writeChangedRectangle();
         }
+        framesCount++;
+        var swap = previousFrame;
+        previousFrame = currentFrame;
+        currentFrame = swap;
     }
 
     /**
-     * Returns an existing child node, or creates and returns a new child node (if
-     * the requested node does not exist).
+     * Finishes the GIF and closes the file
      *
-     * @param rootNode the <tt>IIOMetadataNode</tt> to search for the child node.
-     * @param nodeName the name of the child node.
-     * @return the child node, if found or a new node created with the given name.
+     * @throws IOException if the file can't be written
      */
-    private static IIOMetadataNode getNode(IIOMetadataNode rootNode, String nodeName) {
-        int nNodes = rootNode.getLength();
-        for (var i = 0; i < nNodes; i++) {
-            if (rootNode.item(i).getNodeName().compareToIgnoreCase(nodeName) == 0) {
-                return ((IIOMetadataNode) rootNode.item(i));
+    @Override
+    public void close() throws IOException {
+        outputStream.write(0x3B);
+        outputStream.close();
+    }
+
+    private void writeChangedRectangle() throws IOException {
+        int top = -1;
+        int bottom = -1;
+        int left = width;
+        int right = -1;
+        for (int y = 0; y < height; y++) {
+            int rowStart = y * width;
+            int first = -1;
+            for (int x = 0; x < width; x++) {
+                if (currentFrame[rowStart + x] != previousFrame[rowStart + x]) {
+                    first = x;
+                    break;
+                }
+            }
+            if (first >= 0) {
+                int last = width - 1;
+                while (currentFrame[rowStart + last] == previousFrame[rowStart + last]) {
+                    last--;
+                }
+                if (top < 0) {
+                    top = y;
+                }
+                bottom = y;
+                left = Math.min(left, first);
+                right = Math.max(right, last);
             }
         }
-        var node = new IIOMetadataNode(nodeName);
-        rootNode.appendChild(node);
-        return (node);
+        if (top < 0) {
+            // nothing changed, a single pixel frame keeps the timing of the animation
+            writeFrame(0, 0, 1, 1);
+        } else {
+            writeFrame(left, top, right - left + 1, bottom - top + 1);
+        }
     }
 
-    protected void writeToSequence(RenderedImage img) throws IOException {
-        gifWriter.get().writeToSequence(new IIOImage(img, null, imageMetaData.get()), imageWriteParam.get());
+    private void writeHeader() throws IOException {
+        outputStream.write("GIF89a".getBytes());
+        // logical screen descriptor, with a global color table of 256 colors
+        writeShort(width);
+        writeShort(height);
+        outputStream.write(0xF7);
+        outputStream.write(0);
+        outputStream.write(0);
+        outputStream.write(palette);
+        // loop forever
+        outputStream.write(new byte[]{0x21, (byte) 0xFF, 0x0B});
+        outputStream.write("NETSCAPE2.0".getBytes());
+        outputStream.write(new byte[]{0x03, 0x01, 0x00, 0x00, 0x00});
     }
 
-    /**
-     * Close this GifSequenceWriter object. This does not close the underlying
-     * stream, just finishes off the GIF.
-     *
-     * @throws IOException if an error occurs during writing.
-     */
-    protected void close() throws IOException {
-        gifWriter.get().endWriteSequence();
+    private void writeFrame(int left, int top, int frameWidth, int frameHeight) throws IOException {
+        // graphic control extension, the frame is drawn on top of the previous one
+        outputStream.write(new byte[]{0x21, (byte) 0xF9, 0x04, 0x04});
+        writeShort(frameDelay);
+        outputStream.write(new byte[]{0x00, 0x00});
+        // image descriptor, without a local color table
+        outputStream.write(0x2C);
+        writeShort(left);
+        writeShort(top);
+        writeShort(frameWidth);
+        writeShort(frameHeight);
+        outputStream.write(0);
+        new LzwEncoder(outputStream).encode(currentFrame, width, left, top, frameWidth, frameHeight);
     }
 
-    private synchronized void initialize(ImageOutputStream outputStream, int imageType, int timeBetweenFramesMS) throws IOException {
-        // my method to create a writer
-        gifWriter.set(getWriter());
-        imageWriteParam.set(gifWriter.get().getDefaultWriteParam());
-        var imageTypeSpecifier = ImageTypeSpecifier.createFromBufferedImageType(imageType);
-
-        imageMetaData.set(gifWriter.get().getDefaultImageMetadata(imageTypeSpecifier, imageWriteParam.get()));
-
-        String metaFormatName = imageMetaData.get().getNativeMetadataFormatName();
-
-        IIOMetadataNode root = (IIOMetadataNode) imageMetaData.get().getAsTree(metaFormatName);
-
-        IIOMetadataNode graphicsControlExtensionNode = getNode(root, "GraphicControlExtension");
+    private void writeShort(int value) throws IOException {
+        outputStream.write(value & 0xFF);
+        outputStream.write((value >> 8) & 0xFF);
+    }
 
-        graphicsControlExtensionNode.setAttribute("disposalMethod", "none");
-        graphicsControlExtensionNode.setAttribute("userInputFlag", "FALSE");
-        graphicsControlExtensionNode.setAttribute("transparentColorFlag", "FALSE");
-        graphicsControlExtensionNode.setAttribute("delayTime", Integer.toString(timeBetweenFramesMS / 10));
-        graphicsControlExtensionNode.setAttribute("transparentColorIndex", "0");
+    private static byte[] createPalette() {
+        var colors = new byte[PALETTE_SIZE * 3];
+        for (int red = 0; red < RED_LEVELS; red++) {
+            for (int green = 0; green < GREEN_LEVELS; green++) {
+                for (int blue = 0; blue < BLUE_LEVELS; blue++) {
+                    int index = (red * GREEN_LEVELS + green) * BLUE_LEVELS + blue;
+                    colors[index * 3] = (byte) (red * 255 / (RED_LEVELS - 1));
+                    colors[index * 3 + 1] = (byte) (green * 255 / (GREEN_LEVELS - 1));
+                    colors[index * 3 + 2] = (byte) (blue * 255 / (BLUE_LEVELS - 1));
+                }
+            }
+        }
+        for (int value = 0; value < 256; value++) {
+            redIndex[value] = (value * (RED_LEVELS - 1) + 127) / 255 * GREEN_LEVELS * BLUE_LEVELS;
+            greenIndex[value] = (value * (GREEN_LEVELS - 1) + 127) / 255 * BLUE_LEVELS;
+            blueIndex[value] = (value * (BLUE_LEVELS - 1) + 127) / 255;
+        }
+        return colors;
+    }
 
-        IIOMetadataNode commentsNode = getNode(root, "CommentExtensions");
-        commentsNode.setAttribute("CommentExtension", "Created by MAH");
+    /**
+     * Compresses the color indexes of a frame using the variable length LZW flavor that GIF uses, and writes them as
+     * data sub-blocks
+     */
+    private static class LzwEncoder {
+        private static final int MINIMUM_CODE_SIZE = 8;
+        private static final int MAXIMUM_BITS = 12;
+        private static final int MAXIMUM_CODE = 1 << MAXIMUM_BITS;
+        private static final int HASH_SIZE = 5003;
+        private static final int HASH_SHIFT = 4;
+        private static final int CLEAR_CODE = 1 << MINIMUM_CODE_SIZE;
+        private static final int END_OF_INFORMATION = CLEAR_CODE + 1;
 
-        IIOMetadataNode appExtensionsNode = getNode(root, "ApplicationExtensions");
+        private final OutputStream outputStream;
+        private final int[] hashedKeys = new int[HASH_SIZE];
+        private final int[] codes = new int[HASH_SIZE];
+        private final byte[] block = new byte[255];
+        private int blockSize = 0;
+        private int bitBuffer = 0;
+        private int bitCount = 0;
+        private int codeSize;
+        private int maximumCodeForSize;
+        private int nextCode;
+        private boolean clearing = false;
 
-        var child = new IIOMetadataNode("ApplicationExtension");
+        private LzwEncoder(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
 
-        child.setAttribute("applicationID", "NETSCAPE");
-        child.setAttribute("authenticationCode", "2.0");
+        private void encode(byte[] pixels, int stride, int left, int top, int frameWidth, int frameHeight) throws IOException {
+            outputStream.write(MINIMUM_CODE_SIZE);
+            resetTable();
+            codeSize = MINIMUM_CODE_SIZE + 1;
+            maximumCodeForSize = (1 << codeSize) - 1;
+            output(CLEAR_CODE);
 
-        var loop = 0;
+            int prefix = pixels[top * stride + left] & 0xFF;
+            boolean first = true;
+            for (int y = top; y < top + frameHeight; y++) {
+                int rowStart = y * stride;
+                for (int x = left; x < left + frameWidth; x++) {
+                    if (first) {
+                        first = false;
+                        continue;
+                    }
+                    int pixel = pixels[rowStart + x] & 0xFF;
+                    int key = (pixel << MAXIMUM_BITS) + prefix;
+                    int index = (pixel << HASH_SHIFT) ^ prefix;
+                    if (hashedKeys[index] == key) {
+                        prefix = codes[index];
+                        continue;
+                    }
+                    if (hashedKeys[index] >= 0) {
+                        // secondary probe
+                        int displacement = index == 0 ? 1 : HASH_SIZE - index;
+                        boolean found = false;
+                        do {
+                            index -= displacement;
+                            if (index < 0) {
+                                index += HASH_SIZE;
+                            }
+                            if (hashedKeys[index] == key) {
+                                found = true;
+                                break;
+                            }
+                        } while (hashedKeys[index] >= 0);
+                        if (found) {
+                            prefix = codes[index];
+                            continue;
+                        }
+                    }
+                    output(prefix);
+                    prefix = pixel;
+                    if (nextCode < MAXIMUM_CODE) {
+                        codes[index] = nextCode++;
+                        hashedKeys[index] = key;
+                    } else {
+                        resetTable();
+                        clearing = true;
+                        output(CLEAR_CODE);
+                    }
+                }
+            }
+            output(prefix);
+            output(END_OF_INFORMATION);
+            if (bitCount > 0) {
+                writeByte(bitBuffer & 0xFF);
+            }
+            flushBlock();
+            outputStream.write(0);
+        }
 
-        child.setUserObject(new byte[]{0x1, (byte) (loop & 0xFF), (byte) ((loop >> 8) & 0xFF)});
-        appExtensionsNode.appendChild(child);
+        private void resetTable() {
+            java.util.Arrays.fill(hashedKeys, -1);
+            nextCode = CLEAR_CODE + 2;
+        }
 
-        imageMetaData.get().setFromTree(metaFormatName, root);
+        private void output(int code) throws IOException {
+            bitBuffer |= code << bitCount;
+            bitCount += codeSize;
+            while (bitCount >= 8) {
+                writeByte(bitBuffer & 0xFF);
+                bitBuffer >>>= 8;
+                bitCount -= 8;
+            }
+            if (clearing) {
+                codeSize = MINIMUM_CODE_SIZE + 1;
+                maximumCodeForSize = (1 << codeSize) - 1;
+                clearing = false;
+            } else if (nextCode > maximumCodeForSize && code != END_OF_INFORMATION) {
+                codeSize++;
+                maximumCodeForSize = codeSize == MAXIMUM_BITS ? MAXIMUM_CODE : (1 << codeSize) - 1;
+            }
+        }
 
-        gifWriter.get().setOutput(outputStream);
+        private void writeByte(int value) throws IOException {
+            block[blockSize++] = (byte) value;
+            if (blockSize == block.length) {
+                flushBlock();
+            }
+        }
 
-        gifWriter.get().prepareWriteSequence(null);
+        private void flushBlock() throws IOException {
+            if (blockSize > 0) {
+                outputStream.write(blockSize);
+                outputStream.write(block, 0, blockSize);
+                blockSize = 0;
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,202 @@
+package com.shaft.gui.image;
+
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.ReportManagerHelper;
+import com.shaft.tools.io.SharedFileManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores the reference images of visual validations and AI aided element identification by their content.
+ * <p>
+ * Every image is stored once as a blob named after its SHA-256 hash, under a folder named after the first two
+ * characters of the hash. A single manifest (baselines.index) maps every baseline name to the hash of its image. The
+ * manifest is loaded once, the first time a baseline is needed, so looking a baseline up doesn't touch the file system.
+ * <p>
+ * Blobs and the manifest are written to temporary files that are then moved in place atomically, and the manifest is
+ * merged with its latest version on disk under a file lock, so that tests running in parallel, even in different
+ * processes, don't lose each others' baselines. Loose reference images that were saved in the baselines folder by
+ * older versions are imported the first time the manifest is loaded.
+ */
+public class BaselineStore {
+    private static final String MANIFEST_FILE_NAME = "baselines.index";
+    private static final String BLOBS_FOLDER_NAME = "baselines";
+    private static final String IMAGE_EXTENSION = ".png";
+    private static final Map<String, BaselineStore> stores = new ConcurrentHashMap<>();
+
+    private final Path baselinesFolder;
+    private final Path blobsFolder;
+    private final Path manifestFile;
+    private final Map<String, String> manifest;
+
+    private BaselineStore(Path baselinesFolder) {
+        this.baselinesFolder = baselinesFolder;
+        this.blobsFolder = baselinesFolder.resolve(BLOBS_FOLDER_NAME);
+        this.manifestFile = baselinesFolder.resolve(MANIFEST_FILE_NAME);
+        this.manifest = new ConcurrentHashMap<>(readManifest());
+        importLooseBaselines();
+    }
+
+    /**
+     * @return the store of the AI aided element identification folder, loaded the first time it's needed
+     */
+    public static BaselineStore getInstance() {
+        return getInstance(ScreenshotManager.getAiAidedElementIdentificationFolderpath());
+    }
+
+    /**
+     * @param baselinesFolderPath the folder that holds the manifest and the blobs
+     * @return the store of this folder, loaded the first time it's needed
+     */
+    public static BaselineStore getInstance(String baselinesFolderPath) {
+        var baselinesFolder = Path.of(baselinesFolderPath).toAbsolutePath().normalize();
+        return stores.computeIfAbsent(baselinesFolder.toString(), folder -> new BaselineStore(baselinesFolder));
+    }
+
+    /**
+     * @param name the name of the baseline
+     * @return true if the baseline exists
+     */
+    public boolean contains(String name) {
+        return manifest.containsKey(name);
+    }
+
+    /**
+     * @param name the name of the baseline
+     * @return the path to the image of the baseline, or null if it doesn't exist
+     */
+    public String getPath(String name) {
+        var hash = manifest.get(name);
+        return hash == null ? null : getBlob(hash).toString();
+    }
+
+    /**
+     * @param name the name of the baseline
+     * @return the image of the baseline, or an empty array if it doesn't exist or can't be read
+     */
+    public byte[] get(String name) {
+        var hash = manifest.get(name);
+        if (hash != null) {
+            try {
+                return Files.readAllBytes(getBlob(hash));
+            } catch (IOException e) {
+                ReportManagerHelper.log(e);
+            }
+        }
+        return new byte[0];
+    }
+
+    /**
+     * Stores the image of a baseline, replacing its previous image if any. Identical images are stored only once, and
+     * nothing is written if the baseline already has this image.
+     *
+     * @param name  the name of the baseline
+     * @param image the encoded image
+     * @return false if the image couldn't be stored, the failure is logged
+     */
+    public boolean put(String name, byte[] image) {
+        var hash = hash(image);
+        if (hash.equals(manifest.get(name)) && Files.exists(getBlob(hash))) {
+            return true;
+        }
+        try {
+            writeBlob(hash, image);
+            manifest.put(name, hash);
+            updateManifest(Map.of(name, hash));
+            return true;
+        } catch (IOException e) {
+            ReportManagerHelper.log(e);
+            ReportManager.log("Failed to save the reference image of [" + name + "] in [" + baselinesFolder + "].");
+            return false;
+        }
+    }
+
+    private Path getBlob(String hash) {
+        return blobsFolder.resolve(hash.substring(0, 2)).resolve(hash + IMAGE_EXTENSION);
+    }
+
+    private void writeBlob(String hash, byte[] image) throws IOException {
+        var blob = getBlob(hash);
+        if (Files.exists(blob)) {
+            // the blob is named after its content, so it's already stored
+            return;
+        }
+        Files.createDirectories(blob.getParent());
+        SharedFileManager.writeAtomically(blob, image);
+    }
+
+    /**
+     * Writes the manifest with the latest baselines on disk, and these baselines
+     */
+    private void updateManifest(Map<String, String> baselines) throws IOException {
+        Files.createDirectories(baselinesFolder);
+        synchronized (this) {
+            SharedFileManager.withFileLock(manifestFile, () -> {
+                var latestManifest = readManifest();
+                latestManifest.forEach(manifest::putIfAbsent);
+                latestManifest.putAll(baselines);
+                SharedFileManager.writeAtomically(manifestFile, SharedFileManager.formatProperties(latestManifest));
+                return null;
+            });
+        }
+    }
+
+    private Map<String, String> readManifest() {
+        return SharedFileManager.readProperties(manifestFile);
+    }
+
+    /**
+     * Imports the reference images that are stored as loose files named after their baselines
+     */
+    private void importLooseBaselines() {
+        File[] looseBaselines = baselinesFolder.toFile().listFiles(file -> file.isFile()
+                && file.getName().toLowerCase().endsWith(IMAGE_EXTENSION));
+        if (looseBaselines == null) {
+            return;
+        }
+        Map<String, String> importedBaselines = new ConcurrentHashMap<>();
+        for (File looseBaseline : looseBaselines) {
+            var name = looseBaseline.getName().substring(0, looseBaseline.getName().length() - IMAGE_EXTENSION.length());
+            if (!manifest.containsKey(name)) {
+                try {
+                    var image = Files.readAllBytes(looseBaseline.toPath());
+                    var hash = hash(image);
+                    writeBlob(hash, image);
+                    importedBaselines.put(name, hash);
+                } catch (IOException e) {
+                    ReportManagerHelper.log(e);
+                }
+            }
+        }
+        if (!importedBaselines.isEmpty()) {
+            try {
+                manifest.putAll(importedBaselines);
+                updateManifest(importedBaselines);
+                ReportManager.logDiscrete("Imported [" + importedBaselines.size() + "] reference images into the baselines of ["
+                        + baselinesFolder + "], the loose image files can now be deleted.");
+            } catch (IOException e) {
+                ReportManagerHelper.log(e);
+            }
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(content);
+            var hash = new StringBuilder(digest.length * 2);
+            for (byte digestByte : digest) {
+                hash.append(Character.forDigit((digestByte >> 4) & 0xF, 16)).append(Character.forDigit(digestByte & 0xF, 16));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.shaft.gui.image;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares pairs of images pixel by pixel, reading them in place from their folders.
+ * <p>
+ * The image pairs are compared concurrently on a ForkJoin pool, and every image is split into bands of rows that are
+ * compared in parallel as packed ARGB int arrays. The comparison of a pair stops as soon as it has found more different
+ * pixels than the threshold allows, unless a heat-map of the differences is requested for the pairs that fail.
+ */
+public class ImageFolderComparator {
+    private static final int ROWS_PER_TASK = 64;
+    private static final int SAME_PIXEL_COLOR = 0xFFE0E0E0;
+    private static final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private ImageFolderComparator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Compares every test image against the reference image at the same index
+     *
+     * @param referenceFiles the reference images
+     * @param testFiles      the test images, in the same order as the reference images
+     * @param threshold      the minimum percentage of identical pixels for a pair to match
+     * @param heatMapsFolder the folder that heat-maps of the differences are written to for the pairs that don't match,
+     *                       or null to skip them
+     * @return the comparison result of every pair, in the same order
+     */
+    public static List<Result> compare(File[] referenceFiles, File[] testFiles, double threshold, File heatMapsFolder) {
+        if (heatMapsFolder != null) {
+            heatMapsFolder.mkdirs();
+        }
+        return pool.submit(() -> IntStream.range(0, testFiles.length).parallel()
+                .mapToObj(index -> compare(referenceFiles[index], testFiles[index], threshold, heatMapsFolder))
+                .collect(Collectors.toList())).join();
+    }
+
+    private static Result compare(File referenceFile, File testFile, double threshold, File heatMapsFolder) {
+        var testImage = Pixels.read(testFile);
+        var referenceImage = Pixels.read(referenceFile);
+        if (testImage.width != referenceImage.width || testImage.height != referenceImage.height) {
+            return new Result(referenceFile, testFile, false, 0, false, null);
+        }
+        long pixelsCount = (long) testImage.width * testImage.height;
+        long allowedMismatches = (long) Math.floor(pixelsCount * (100 - threshold) / 100);
+        int alphaMask = testImage.hasAlpha && referenceImage.hasAlpha ? 0xFFFFFFFF : 0x00FFFFFF;
+
+        var mismatches = new AtomicLong();
+        new BandComparison(testImage, referenceImage, alphaMask, 0, testImage.height, allowedMismatches, mismatches, null).invoke();
+        boolean stoppedEarly = mismatches.get() > allowedMismatches;
+        File heatMap = null;
+        if (stoppedEarly && heatMapsFolder != null) {
+            // compare every pixel this time, to draw all the differences
+            int[] heatMapPixels = new int[testImage.pixels.length];
+            mismatches.set(0);
+            new BandComparison(testImage, referenceImage, alphaMask, 0, testImage.height, Long.MAX_VALUE, mismatches, heatMapPixels).invoke();
+            stoppedEarly = false;
+            heatMap = writeHeatMap(heatMapPixels, testImage.width, testImage.height,
+                    new File(heatMapsFolder, testFile.getName() + "_heatMap.png"));
+        }
+        double percentage = (pixelsCount - mismatches.get()) * 100d / Math.max(1, pixelsCount);
+        return new Result(referenceFile, testFile, true, percentage, stoppedEarly, heatMap);
+    }
+
+    private static File writeHeatMap(int[] heatMapPixels, int width, int height, File heatMapFile) {
+        var heatMap = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        System.arraycopy(heatMapPixels, 0, ((DataBufferInt) heatMap.getRaster().getDataBuffer()).getData(), 0, heatMapPixels.length);
+        try {
+            ImageIO.write(heatMap, "png", heatMapFile);
+            return heatMapFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The result of comparing a test image against its reference image
+     */
+    public static class Result {
+        private final File referenceFile;
+        private final File testFile;
+        private final boolean sameSize;
+        private final double percentage;
+        private final boolean stoppedEarly;
+        private final File heatMap;
+
+        private Result(File referenceFile, File testFile, boolean sameSize, double percentage, boolean stoppedEarly, File heatMap) {
+            this.referenceFile = referenceFile;
+            this.testFile = testFile;
+            this.sameSize = sameSize;
+            this.percentage = percentage;
+            this.stoppedEarly = stoppedEarly;
+            this.heatMap = heatMap;
+        }
+
+        public File getReferenceFile() {
+            return referenceFile;
+        }
+
+        public File getTestFile() {
+            return testFile;
+        }
+
+        /**
+         * @return false if the images have different dimensions, they are then not compared
+         */
+        public boolean isSameSize() {
+            return sameSize;
+        }
+
+        /**
+         * @return the percentage of identical pixels, or its upper bound if the comparison stopped early
+         */
+        public double getPercentage() {
+            return percentage;
+        }
+
+        /**
+         * @return true if the comparison stopped once the images could no longer match
+         */
+        public boolean isStoppedEarly() {
+            return stoppedEarly;
+        }
+
+        /**
+         * @return the heat-map of the differences, or null if it wasn't written
+         */
+        public File getHeatMap() {
+            return heatMap;
+        }
+    }
+
+    /**
+     * The packed ARGB pixels of an image
+     */
+    private static class Pixels {
+        private final int width;
+        private final int height;
+        private final boolean hasAlpha;
+        private final int[] pixels;
+
+        private Pixels(int width, int height, boolean hasAlpha, int[] pixels) {
+            this.width = width;
+            this.height = height;
+            this.hasAlpha = hasAlpha;
+            this.pixels = pixels;
+        }
+
+        private static Pixels read(File imageFile) {
+            BufferedImage image;
+            try {
+                image = decodeAsPackedInts(imageFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int width = image.getWidth();
+            int height = image.getHeight();
+            if ((image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_INT_ARGB)
+                    && image.getRaster().getDataBuffer() instanceof DataBufferInt) {
+                // the decoded pixels are used as they are
+                return new Pixels(width, height, image.getType() == BufferedImage.TYPE_INT_ARGB,
+                        ((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+            }
+            return new Pixels(width, height, image.getColorModel().hasAlpha(), image.getRGB(0, 0, width, height, null, 0, width));
+        }
+
+        /**
+         * Decodes the image straight into packed ARGB or RGB ints if the image reader supports it, which PNG and JPEG
+         * readers do for true color images
+         */
+        private static BufferedImage decodeAsPackedInts(File imageFile) throws IOException {
+            try (var input = ImageIO.createImageInputStream(imageFile)) {
+                var readers = input == null ? null : ImageIO.getImageReaders(input);
+                if (readers == null || !readers.hasNext()) {
+                    throw new IOException("Unsupported image file [" + imageFile + "]");
+                }
+                var reader = readers.next();
+                try {
+                    reader.setInput(input, true, true);
+                    var readParam = reader.getDefaultReadParam();
+                    for (var imageTypes = reader.getImageTypes(0); imageTypes.hasNext(); ) {
+                        var imageType = imageTypes.next();
+                        if (imageType.getBufferedImageType() == BufferedImage.TYPE_INT_RGB
+                                || imageType.getBufferedImageType() == BufferedImage.TYPE_INT_ARGB) {
+                            readParam.setDestinationType(imageType);
+                            break;
+                        }
+                    }
+                    return reader.read(0, readParam);
+                } finally {
+                    reader.dispose();
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the different pixels of a band of rows, splitting it into smaller bands that are compared in parallel
+     */
+    private static class BandComparison extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Pixels testImage;
+        private final Pixels referenceImage;
+        private final int alphaMask;
+        private final int firstRow;
+        private final int lastRow;
+        private final long allowedMismatches;
+        private final AtomicLong mismatches;
+        private final int[] heatMap;
+
+        private BandComparison(Pixels testImage, Pixels referenceImage, int alphaMask, int firstRow, int lastRow,
+                               long allowedMismatches, AtomicLong mismatches, int[] heatMap) {
+            this.testImage = testImage;
+            this.referenceImage = referenceImage;
+            this.alphaMask = alphaMask;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.allowedMismatches = allowedMismatches;
+            this.mismatches = mismatches;
+            this.heatMap = heatMap;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastRow - firstRow > ROWS_PER_TASK) {
+                int middleRow = (firstRow + lastRow) >>> 1;
+                invokeAll(new BandComparison(testImage, referenceImage, alphaMask, firstRow, middleRow, allowedMismatches, mismatches, heatMap),
+                        new BandComparison(testImage, referenceImage, alphaMask, middleRow, lastRow, allowedMismatches, mismatches, heatMap));
+                return;
+            }
+            int width = testImage.width;
+            int[] test = testImage.pixels;
+            int[] reference = referenceImage.pixels;
+            for (int y = firstRow; y < lastRow; y++) {
+                if (mismatches.get() > allowedMismatches) {
+                    // the images can no longer match
+                    return;
+                }
+                int rowMismatches = 0;
+                for (int i = y * width, rowEnd = i + width; i < rowEnd; i++) {
+                    if (((test[i] ^ reference[i]) & alphaMask) != 0) {
+                        rowMismatches++;
+                        if (heatMap != null) {
+                            heatMap[i] = heat(test[i], reference[i]);
+                        }
+                    } else if (heatMap != null) {
+                        heatMap[i] = SAME_PIXEL_COLOR;
+                    }
+                }
+                if (rowMismatches > 0) {
+                    mismatches.addAndGet(rowMismatches);
+                }
+            }
+        }
+
+        /**
+         * @return yellow for slightly different pixels, through to red for completely different pixels
+         */
+        private static int heat(int testPixel, int referencePixel) {
+            int difference = Math.max(Math.abs(((testPixel >> 16) & 0xFF) - ((referencePixel >> 16) & 0xFF)),
+                    Math.max(Math.abs(((testPixel >> 8) & 0xFF) - ((referencePixel >> 8) & 0xFF)),
+                            Math.abs((testPixel & 0xFF) - (referencePixel & 0xFF))));
+            int green = 220 - difference * 220 / 255;
+            return 0xFFFF0000 | (green << 8);
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package com.shaft.gui.image;
 
+import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
-import java.awt.image.DataBuffer;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.file.FileSystems;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -16,9 +17,6 @@ import java.util.Objects;
 
 import javax.imageio.ImageIO;
 
-import org.opencv.core.Core;
-import org.opencv.core.Core.MinMaxLocResult;
-import org.opencv.core.CvType;
 import org.opencv.core.Mat;
 import org.opencv.core.MatOfByte;
 import org.opencv.core.Point;
@@ -46,10 +44,7 @@ import com.shaft.validation.Assertions.AssertionType;
 import com.shaft.validation.Assertions.ComparativeRelationType;
 import com.shaft.validation.Verifications;
 
-import nu.pattern.OpenCV;
-
 public class ImageProcessingActions {
-    private static final String DIRECTORY_PROCESSING = "/processingDirectory/";
     private static final String DIRECTORY_FAILED = "/failedImagesDirectory/";
 
     private ImageProcessingActions() {
@@ -57,21 +52,31 @@ public class ImageProcessingActions {
     }
 
     public static void compareImageFolders(String referenceFolderPath, String testFolderPath, double threshhold) {
-        // TODO: refactor to minimize File IO actions
-        try {
-            long fileCounter = 1;
+        compareImageFolders(referenceFolderPath, testFolderPath, threshhold, false);
+    }
 
+    /**
+     * Compares every image in the test folder against the image with the same index in the reference folder, both
+     * folders sorted by file name. The images are read in place and compared concurrently. The images that don't
+     * match are copied to the failedImagesDirectory of the test folder.
+     *
+     * @param referenceFolderPath the folder of the reference images
+     * @param testFolderPath      the folder of the test images
+     * @param threshhold          the minimum percentage of identical pixels for an image to match
+     * @param writeDiffHeatMaps   true to also write a heat-map of the differences of every image that doesn't match
+     */
+    public static void compareImageFolders(String referenceFolderPath, String testFolderPath, double threshhold,
+                                           boolean writeDiffHeatMaps) {
+        try {
             File refrenceFolder = new File(referenceFolderPath);
             File testFolder = new File(testFolderPath);
 
-            // cleaning processing folders
-            FileActions.deleteFolder(refrenceFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-            FileActions.deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
+            // cleaning the failed images folder
             FileActions.deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_FAILED);
 
             // preparing objects for files
-            File[] referenceFiles = refrenceFolder.listFiles();
-            File[] testFiles = testFolder.listFiles();
+            File[] referenceFiles = refrenceFolder.listFiles(File::isFile);
+            File[] testFiles = testFolder.listFiles(File::isFile);
 
             ReportManager.log("Comparing [" + Objects.requireNonNull(testFiles).length + "] image files from the testFolder ["
                     + testFolder.getPath() + "] against [" + Objects.requireNonNull(referenceFiles).length
@@ -83,43 +88,9 @@ public class ImageProcessingActions {
 
             // confirming that the number of screenshots match
             if (referenceFiles.length == testFiles.length) {
-                // copy and rename reference screenshots to a processing directory
-                for (File refrenceScreenshot : referenceFiles) {
-                    FileActions.copyFile(refrenceScreenshot.getAbsolutePath(),
-                            refrenceScreenshot.getParent() + DIRECTORY_PROCESSING + fileCounter);
-                    fileCounter++;
-                }
-
-                // copy and rename test screenshots to match reference screenshots in a
-                // processing directory
-
-                fileCounter = 1;
-                for (File testScreenshot : testFiles) {
-                    FileActions.copyFile(testScreenshot.getAbsolutePath(),
-                            testScreenshot.getParent() + DIRECTORY_PROCESSING + fileCounter);
-                    fileCounter++;
-                }
-
-                // point to the two new processing directories
-                File refrenceProcessingFolder = new File(referenceFolderPath + DIRECTORY_PROCESSING);
-                File testProcessingFolder = new File(testFolderPath + DIRECTORY_PROCESSING);
-
-                // preparing objects for files
-                File[] testProcessingFiles = testProcessingFolder.listFiles();
-
-                // sorting objects for files by fileName
-                if (testProcessingFiles != null) {
-                    Arrays.sort(testProcessingFiles);
-                }
-
-                // compare images from the test directory against the reference directory
-                compareImageFolders(referenceFiles, testFiles, Objects.requireNonNull(testProcessingFiles), refrenceProcessingFolder,
-                        testProcessingFolder, threshhold);
-
-                // cleaning processing folders
-                FileActions.deleteFolder(refrenceFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-                FileActions.deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-
+                var results = ImageFolderComparator.compare(referenceFiles, testFiles, threshhold,
+                        writeDiffHeatMaps ? new File(testFolder.getAbsolutePath() + DIRECTORY_FAILED) : null);
+                reportImageFolderComparison(results, testFolder, threshhold);
             } else {
                 // fail because the number of screenshots don't match
                 // referenceFiles.length == testFiles.length
@@ -130,17 +101,40 @@ public class ImageProcessingActions {
                 Assert.fail(message);
             }
 
-        } catch (NullPointerException | IOException e) {
+        } catch (NullPointerException | IOException | UncheckedIOException e) {
             ReportManagerHelper.log(e);
             ReportManager.log("Failed to compare image files ...");
         }
     }
 
+    /**
+     * Draws an outline around the element directly on the decoded screenshot, so that it doesn't have to be decoded
+     * and encoded again
+     *
+     * @param targetScreenshot the decoded screenshot, it is modified in place
+     * @param elementLocation  the location of the element within the screenshot
+     * @param highlightColor   the color of the outline
+     * @return the same screenshot, highlighted
+     */
+    public static BufferedImage highlightElementInScreenshot(BufferedImage targetScreenshot,
+                                                             org.openqa.selenium.Rectangle elementLocation, Color highlightColor) {
+        int outlineThickness = 5;
+        var graphics = targetScreenshot.createGraphics();
+        graphics.setColor(highlightColor);
+        graphics.setStroke(new BasicStroke(outlineThickness));
+        graphics.drawRect(elementLocation.getX() - outlineThickness, elementLocation.getY() - outlineThickness,
+                elementLocation.getWidth() + 2 * outlineThickness, elementLocation.getHeight() + 2 * outlineThickness);
+        graphics.dispose();
+        return targetScreenshot;
+    }
+
     public static byte[] highlightElementInScreenshot(byte[] targetScreenshot,
                                                       org.openqa.selenium.Rectangle elementLocation, Color highlightColor) {
 
-        loadOpenCV();
-        Mat img = Imgcodecs.imdecode(new MatOfByte(targetScreenshot), Imgcodecs.IMREAD_COLOR);
+        TemplateMatcher.loadOpenCV();
+        var encodedScreenshot = new MatOfByte(targetScreenshot);
+        Mat img = Imgcodecs.imdecode(encodedScreenshot, Imgcodecs.IMREAD_COLOR);
+        encodedScreenshot.release();
 
         int outlineThickness = 5;
 
@@ -157,6 +151,7 @@ public class ImageProcessingActions {
         Imgproc.rectangle(img, startPoint, endPoint, highlightColorScalar, outlineThickness, 8, 0);
 
         Image tmpImg = HighGui.toBufferedImage(img);
+        img.release();
         BufferedImage image = (BufferedImage) tmpImg;
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try {
@@ -170,52 +165,17 @@ public class ImageProcessingActions {
     public static List<Integer> findImageWithinCurrentPage(String referenceImagePath, byte[] currentPageScreenshot,
                                                            int matchMethod) {
 
-        if (FileActions.doesFileExist(referenceImagePath)) {
+        if (referenceImagePath != null && FileActions.doesFileExist(referenceImagePath)) {
             if (currentPageScreenshot == null || Arrays.equals(currentPageScreenshot, new byte[]{})) {
                 //target image is empty, force fail comparison
                 ReportManager.log("Failed to identify the element using AI; target screenshot is empty.");
                 return Collections.emptyList();
             } else {
-                loadOpenCV();
-                Mat img = Imgcodecs.imdecode(new MatOfByte(currentPageScreenshot), Imgcodecs.IMREAD_COLOR);
-                Mat templ = Imgcodecs.imread(referenceImagePath, Imgcodecs.IMREAD_COLOR);
-
-                // / Create the result matrix
-                int resultCols = img.cols() - templ.cols() + 1;
-                int resultRows = img.rows() - templ.rows() + 1;
-
-                Mat result = new Mat(resultRows, resultCols, CvType.CV_32FC1);
-
-                // / Do the Matching and Normalize
                 try {
-                    Imgproc.matchTemplate(img, templ, result, matchMethod);
-                    Core.normalize(result, result, 0, 1, Core.NORM_MINMAX, -1, new Mat());
-
-                    // / Localizing the best match with minMaxLoc
-                    MinMaxLocResult mmr = Core.minMaxLoc(result);
-
-                    Point matchLoc;
-                    if (matchMethod == Imgproc.TM_SQDIFF || matchMethod == Imgproc.TM_SQDIFF_NORMED) {
-                        matchLoc = mmr.minLoc;
-                    } else {
-                        matchLoc = mmr.maxLoc;
-                    }
-
-                    if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("debugMode")))) {
-                        // debugging
-                        Imgproc.rectangle(img, matchLoc, new Point(matchLoc.x + templ.cols(), matchLoc.y + templ.rows()),
-                                new Scalar(0, 0, 0), 2, 8, 0);
-                        Image tmpImg = HighGui.toBufferedImage(img);
-                        BufferedImage image = (BufferedImage) tmpImg;
-
-                        try {
-                            FileActions.createFolder("target/openCV/");
-                            File output = new File("target/openCV/" + System.currentTimeMillis() + ".png");
-                            ImageIO.write(image, "png", output);
-                        } catch (IOException e) {
-                            ReportManagerHelper.log(e);
-                            return Collections.emptyList();
-                        }
+                    var match = TemplateMatcher.find(referenceImagePath, currentPageScreenshot, matchMethod);
+                    if (match == null) {
+                        ReportManager.log("Failed to identify the element using AI; the reference element screenshot wasn't found within the target screenshot.");
+                        return Collections.emptyList();
                     }
 
                     // returning the top left corner resulted in an issue with round edged text
@@ -229,10 +189,8 @@ public class ImageProcessingActions {
                     // matchLoc.y + templ.rows() / 2
 
                     // returning the top left corner point plus 1x and 1y
-                    int x = Integer.parseInt(String.valueOf(matchLoc.x + 1).split("\\.")[0]);
-                    int y = Integer.parseInt(String.valueOf(matchLoc.y + 1).split("\\.")[0]);
-                    ReportManager.logDiscrete("Successfully identified the element using AI; OpenCV.");
-                    return Arrays.asList(x, y);
+                    ReportManager.logDiscrete("Successfully identified the element using AI; OpenCV matched it at " + match + ".");
+                    return Arrays.asList(match.getX() + 1, match.getY() + 1);
                 } catch (org.opencv.core.CvException e) {
                     ReportManagerHelper.log(e);
                     ReportManager.log("Failed to identify the element using AI; openCV core exception.");
@@ -254,12 +212,16 @@ public class ImageProcessingActions {
 
     public static byte[] getReferenceImage(Object elementLocator) {
         String hashedLocatorName = ImageProcessingActions.formatElementLocatorToImagePath(elementLocator);
-        String aiFolderPath = ScreenshotManager.getAiAidedElementIdentificationFolderpath();
-        String referenceImagePath = aiFolderPath + hashedLocatorName + ".png";
-        if (FileActions.doesFileExist(referenceImagePath)) {
-            return FileActions.readFromImageFile(referenceImagePath);
-        } else {
-            return new byte[0];
+        return BaselineStore.getInstance().get(hashedLocatorName);
+    }
+
+    /**
+     * Saves the reference image of an element that is validated for the first time, and fails if it can't be saved
+     */
+    private static void saveReferenceImage(BaselineStore baselines, String hashedLocatorName, byte[] elementScreenshot) {
+        ReportManager.logDiscrete("Passing the test and saving a reference image");
+        if (!baselines.put(hashedLocatorName, elementScreenshot)) {
+            Assert.fail("Failed to save the reference image of [" + hashedLocatorName + "].");
         }
     }
 
@@ -267,17 +229,16 @@ public class ImageProcessingActions {
         String hashedLocatorName = ImageProcessingActions.formatElementLocatorToImagePath(elementLocator);
 
         if (visualValidationEngine == VisualValidationEngine.EXACT_OPENCV) {
-            String aiFolderPath = ScreenshotManager.getAiAidedElementIdentificationFolderpath();
-            String referenceImagePath = aiFolderPath + hashedLocatorName + ".png";
+            BaselineStore baselines = BaselineStore.getInstance();
+            String referenceImagePath = baselines.getPath(hashedLocatorName);
 
-            boolean doesReferenceFileExist = FileActions.doesFileExist(referenceImagePath);
+            boolean doesReferenceFileExist = referenceImagePath != null;
 
             if (!Arrays.equals(elementScreenshot, new byte[]{})) {
                 if (!doesReferenceFileExist || !ImageProcessingActions.findImageWithinCurrentPage(referenceImagePath, elementScreenshot, Imgproc.TM_CCORR_NORMED).equals(Collections.emptyList())) {
                     //pass: element found and matched || first time element
                     if (!doesReferenceFileExist) {
-                        ReportManager.logDiscrete("Passing the test and saving a reference image");
-                        FileActions.writeToFile(aiFolderPath, hashedLocatorName + ".png", elementScreenshot);
+                        saveReferenceImage(baselines, hashedLocatorName, elementScreenshot);
                     }
                     return true;
                 } else {
@@ -291,8 +252,7 @@ public class ImageProcessingActions {
                 if (!doesReferenceFileExist || WebDriverElementActions.attemptToFindElementUsingAI(driver, elementLocator)) {
                     //pass: element found using AI and new locator suggested || first time element
                     if (!doesReferenceFileExist) {
-                        ReportManager.logDiscrete("Passing the test and saving a reference image");
-                        FileActions.writeToFile(aiFolderPath, hashedLocatorName + ".png", elementScreenshot);
+                        saveReferenceImage(baselines, hashedLocatorName, elementScreenshot);
                     }
                     ScreenshotManager.setAiSupportedElementIdentification(initialState);
                     return true;
@@ -302,6 +262,9 @@ public class ImageProcessingActions {
                     return false;
                 }
             }
+        } else if (visualValidationEngine == VisualValidationEngine.STRICT_SSIM
+                || visualValidationEngine == VisualValidationEngine.LAYOUT_PHASH) {
+            return compareAgainstBaselineLocally(hashedLocatorName, elementScreenshot, visualValidationEngine);
         }//all the other cases of Eyes
         Eyes eyes = new Eyes();
         // Define global settings
@@ -368,17 +331,16 @@ public class ImageProcessingActions {
         String hashedLocatorName = ImageProcessingActions.formatElementLocatorToImagePath(elementLocator);
 
         if (visualValidationEngine == VisualValidationEngine.EXACT_OPENCV) {
-            String aiFolderPath = ScreenshotManager.getAiAidedElementIdentificationFolderpath();
-            String referenceImagePath = aiFolderPath + hashedLocatorName + ".png";
+            BaselineStore baselines = BaselineStore.getInstance();
+            String referenceImagePath = baselines.getPath(hashedLocatorName);
 
-            boolean doesReferenceFileExist = FileActions.doesFileExist(referenceImagePath);
+            boolean doesReferenceFileExist = referenceImagePath != null;
 
             if (!Arrays.equals(elementScreenshot, new byte[]{})) {
                 if (!doesReferenceFileExist || !ImageProcessingActions.findImageWithinCurrentPage(referenceImagePath, elementScreenshot, Imgproc.TM_CCORR_NORMED).equals(Collections.emptyList())) {
                     //pass: element found and matched || first time element
                     if (!doesReferenceFileExist) {
-                        ReportManager.logDiscrete("Passing the test and saving a reference image");
-                        FileActions.writeToFile(aiFolderPath, hashedLocatorName + ".png", elementScreenshot);
+                        saveReferenceImage(baselines, hashedLocatorName, elementScreenshot);
                     }
                     return true;
                 } else {
@@ -392,8 +354,7 @@ public class ImageProcessingActions {
                 if (!doesReferenceFileExist) {
                     //pass: element found using AI and new locator suggested || first time element
                     if (!doesReferenceFileExist) {
-                        ReportManager.logDiscrete("Passing the test and saving a reference image");
-                        FileActions.writeToFile(aiFolderPath, hashedLocatorName + ".png", elementScreenshot);
+                        saveReferenceImage(baselines, hashedLocatorName, elementScreenshot);
                     }
                     ScreenshotManager.setAiSupportedElementIdentification(initialState);
                     return true;
@@ -403,6 +364,9 @@ public class ImageProcessingActions {
                     return false;
                 }
             }
+        } else if (visualValidationEngine == VisualValidationEngine.STRICT_SSIM
+                || visualValidationEngine == VisualValidationEngine.LAYOUT_PHASH) {
+            return compareAgainstBaselineLocally(hashedLocatorName, elementScreenshot, visualValidationEngine);
         }//all the other cases of Eyes
         Eyes eyes = new Eyes();
         // Define global settings
@@ -465,59 +429,35 @@ public class ImageProcessingActions {
         }
     }
     
-    private static void compareImageFolders(File[] refrenceFiles, File[] testFiles, File[] testProcessingFiles,
-                                            File refrenceProcessingFolder, File testProcessingFolder, double threshhold) throws IOException {
-        // TODO: refactor to minimize File IO actions
+    private static void reportImageFolderComparison(List<ImageFolderComparator.Result> results, File testFolder,
+                                                    double threshhold) throws IOException {
         int passedImagesCount = 0;
         int failedImagesCount = 0;
 
-        // compare images from the test directory against the reference directory
-        for (File screenshot : testProcessingFiles) {
-            float percentage = 0;
-            // take buffer data from both image files //
-
-            BufferedImage biA = ImageIO.read(screenshot);
-            DataBuffer dbA = biA.getData().getDataBuffer();
-            float sizeA = dbA.getSize();
-
-            BufferedImage biB = ImageIO.read(new File(
-                    refrenceProcessingFolder + FileSystems.getDefault().getSeparator() + screenshot.getName()));
-            DataBuffer dbB = biB.getData().getDataBuffer();
-            float sizeB = dbB.getSize();
-            float count = 0;
-
-            // compare data-buffer objects //
-            if (sizeA == sizeB) {
-
-                for (int i = 0; i < sizeA; i++) {
-
-                    if (dbA.getElem(i) == dbB.getElem(i)) {
-                        count = count + 1;
-                    }
-
-                }
-                percentage = (count * 100) / sizeA;
-            } else {
+        for (var result : results) {
+            double percentage = result.getPercentage();
+            if (!result.isSameSize()) {
                 ReportManager.log("Both the images are not of same size");
             }
 
-            // fetch the related reference screenshot file name using the current file
-            // name/number as index
-            String relatedReferenceFileName = refrenceFiles[Integer.parseInt(screenshot.getName()) - 1].getName();
-
+            String relatedReferenceFileName = result.getReferenceFile().getName();
             List<Object> referenceScreenshotAttachment = Arrays.asList("Reference Screenshot", relatedReferenceFileName,
-                    new FileInputStream(refrenceProcessingFolder + FileSystems.getDefault().getSeparator()
-                            + screenshot.getName()));
-
-            String relatedTestFileName = testFiles[Integer.parseInt(screenshot.getName()) - 1].getName();
+                    new FileInputStream(result.getReferenceFile()));
 
+            String relatedTestFileName = result.getTestFile().getName();
             List<Object> testScreenshotAttachment = Arrays.asList("Test Screenshot", relatedTestFileName,
-                    new FileInputStream(screenshot));
+                    new FileInputStream(result.getTestFile()));
 
+            List<List<Object>> attachments = new ArrayList<>(Arrays.asList(referenceScreenshotAttachment, testScreenshotAttachment));
+            if (result.getHeatMap() != null) {
+                attachments.add(Arrays.asList("Heat-map Screenshot", relatedTestFileName, new FileInputStream(result.getHeatMap())));
+            }
+
+            String matchPercentage = result.isStoppedEarly() ? "less than [" + threshhold + "]" : "[" + percentage + "]";
             ReportManagerHelper.log(
                     "Test Screenshot [" + relatedTestFileName + "] and related Refrence Image ["
-                            + relatedReferenceFileName + "] match by [" + percentage + "] percent.",
-                    Arrays.asList(referenceScreenshotAttachment, testScreenshotAttachment));
+                            + relatedReferenceFileName + "] match by " + matchPercentage + " percent.",
+                    attachments);
 
             boolean discreetLoggingState = ReportManagerHelper.isDiscreteLogging();
             try {
@@ -530,11 +470,10 @@ public class ImageProcessingActions {
             } catch (AssertionError e) {
                 ReportManagerHelper.setDiscreteLogging(discreetLoggingState);
                 // copying image to failed images directory
-                FileActions.copyFile(screenshot.getAbsolutePath(),
-                        testProcessingFolder.getParent() + DIRECTORY_FAILED + relatedTestFileName + "_testImage");
-                FileActions.copyFile(
-                        refrenceProcessingFolder + FileSystems.getDefault().getSeparator() + screenshot.getName(),
-                        testProcessingFolder.getParent() + DIRECTORY_FAILED + relatedTestFileName + "_refrenceImage");
+                FileActions.copyFile(result.getTestFile().getAbsolutePath(),
+                        testFolder.getAbsolutePath() + DIRECTORY_FAILED + relatedTestFileName + "_testImage");
+                FileActions.copyFile(result.getReferenceFile().getAbsolutePath(),
+                        testFolder.getAbsolutePath() + DIRECTORY_FAILED + relatedTestFileName + "_refrenceImage");
                 failedImagesCount++;
             }
 
@@ -543,22 +482,40 @@ public class ImageProcessingActions {
 
         ReportManager.log("[" + passedImagesCount + "] images passed, and [" + failedImagesCount
                 + "] images failed the threshold of [" + threshhold + "%] matching.");
-
     }
 
-    private static void loadOpenCV() {
-        try {
-            OpenCV.loadShared();
-            ReportManager.logDiscrete("Loaded Shared OpenCV");
-        } catch (NoClassDefFoundError | RuntimeException | ExceptionInInitializerError e) {
-            try {
-                OpenCV.loadLocally();
-                ReportManager.logDiscrete("Loaded Local OpenCV");
-            } catch (UnsatisfiedLinkError e2) {
-                ReportManagerHelper.log(e);
-                ReportManager.logDiscrete("Failed to load OpenCV");
-            }
+    /**
+     * Compares the element screenshot against its baseline using the perceptual image comparator, within the JVM. The
+     * tiles that don't reach the screenshotParams_ssimThreshold or screenshotParams_perceptualHashThreshold similarity
+     * are highlighted in an attached differences screenshot.
+     */
+    private static Boolean compareAgainstBaselineLocally(String hashedLocatorName, byte[] elementScreenshot,
+                                                         VisualValidationEngine visualValidationEngine) {
+        if (elementScreenshot == null || Arrays.equals(elementScreenshot, new byte[]{})) {
+            ReportManager.logDiscrete("Failed to validate the element; the element screenshot is empty.");
+            return false;
+        }
+        BaselineStore baselines = BaselineStore.getInstance();
+        if (!baselines.contains(hashedLocatorName)) {
+            //pass: first time element
+            saveReferenceImage(baselines, hashedLocatorName, elementScreenshot);
+            return true;
+        }
+        PerceptualImageComparator.Result result;
+        if (visualValidationEngine == VisualValidationEngine.STRICT_SSIM) {
+            result = PerceptualImageComparator.compare(baselines.get(hashedLocatorName), elementScreenshot, PerceptualImageComparator.Method.SSIM,
+                    Double.parseDouble(System.getProperty("screenshotParams_ssimThreshold", "0.95").trim()));
+        } else {
+            result = PerceptualImageComparator.compare(baselines.get(hashedLocatorName), elementScreenshot, PerceptualImageComparator.Method.PERCEPTUAL_HASH,
+                    Double.parseDouble(System.getProperty("screenshotParams_perceptualHashThreshold", "0.85").trim()));
+        }
+        if (result.isMatch()) {
+            ReportManager.logDiscrete("Successfully validated the element locally; " + result + ".");
+        } else {
+            ReportManagerHelper.log("Element doesn't match the reference screenshot; " + result + ".",
+                    Collections.singletonList(Arrays.asList("Validation Test Data", "Differences Screenshot", result.getDifferencesImage())));
         }
+        return result.isMatch();
     }
 
     public enum VisualValidationEngine {
@@ -566,6 +523,8 @@ public class ImageProcessingActions {
         EXACT_EYES,
         STRICT_EYES,
         CONTENT_EYES,
-        LAYOUT_EYES
+        LAYOUT_EYES,
+        STRICT_SSIM,
+        LAYOUT_PHASH
     }
 }
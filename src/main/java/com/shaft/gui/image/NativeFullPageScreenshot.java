@@ -0,0 +1,119 @@
+package com.shaft.gui.image;
+
+import com.shaft.tools.io.ReportManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Captures the whole page in a single command, using the full page screenshot that the browser driver exposes:
+ * geckodriver's full page screenshot for Firefox, or the DevTools Page.captureScreenshot command with
+ * captureBeyondViewport for Chrome and Edge.
+ * <p>
+ * These commands are vendor extensions that the WebDriver client doesn't know about, so they are sent directly to the
+ * driver's address. A session that doesn't support them is remembered, and isn't asked again.
+ */
+class NativeFullPageScreenshot {
+    private static final boolean ENABLED = Boolean.parseBoolean(System
+            .getProperty("screenshotParams_nativeFullPageScreenshot", "true").trim());
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final String JS_RETRIEVE_PAGE_SIZE = "return [Math.max(document.body.scrollWidth, document.documentElement.scrollWidth, document.documentElement.clientWidth),"
+            + "Math.max(document.body.scrollHeight, document.documentElement.scrollHeight, document.body.offsetHeight, document.documentElement.offsetHeight,"
+            + "document.body.clientHeight, document.documentElement.clientHeight)];";
+    private static final Set<String> unsupportedSessions = Collections.synchronizedSet(new HashSet<>());
+    private static final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private NativeFullPageScreenshot() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Captures the whole page using the browser's native full page screenshot, if the driver exposes one
+     *
+     * @param driver the current driver
+     * @return the PNG screenshot of the whole page, or null if the driver doesn't support native full page screenshots
+     */
+    static byte[] capture(WebDriver driver) {
+        while (driver instanceof WrapsDriver) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        if (!ENABLED || !(driver instanceof RemoteWebDriver)
+                || !(((RemoteWebDriver) driver).getCommandExecutor() instanceof HttpCommandExecutor)
+                || ((RemoteWebDriver) driver).getSessionId() == null) {
+            return null;
+        }
+        var remoteDriver = (RemoteWebDriver) driver;
+        var sessionId = remoteDriver.getSessionId().toString();
+        if (unsupportedSessions.contains(sessionId)) {
+            return null;
+        }
+        var browserName = String.valueOf(remoteDriver.getCapabilities().getBrowserName()).toLowerCase();
+        var sessionAddress = ((HttpCommandExecutor) remoteDriver.getCommandExecutor()).getAddressOfRemoteServer()
+                .toString().replaceAll("/$", "") + "/session/" + sessionId;
+        try {
+            byte[] screenshot = null;
+            if (browserName.contains("firefox")) {
+                screenshot = decode(send(HttpRequest.newBuilder(URI.create(sessionAddress + "/moz/screenshot/full")).GET()));
+            } else if (browserName.contains("chrome") || browserName.contains("edge")) {
+                screenshot = captureBeyondViewport(remoteDriver, sessionAddress + (browserName.contains("edge") ? "/ms" : "/goog") + "/cdp/execute");
+            }
+            if (screenshot == null) {
+                unsupportedSessions.add(sessionId);
+            }
+            return screenshot;
+        } catch (IOException | RuntimeException e) {
+            ReportManager.logDiscrete("Native full page screenshots are not supported by this session, falling back to scrolling: " + e.getMessage());
+            unsupportedSessions.add(sessionId);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static byte[] captureBeyondViewport(RemoteWebDriver driver, String devToolsAddress) throws IOException, InterruptedException {
+        var pageSize = (List<?>) ((JavascriptExecutor) driver).executeScript(JS_RETRIEVE_PAGE_SIZE);
+        Map<String, Object> clip = new HashMap<>();
+        clip.put("x", 0);
+        clip.put("y", 0);
+        clip.put("width", ((Number) pageSize.get(0)).longValue());
+        clip.put("height", ((Number) pageSize.get(1)).longValue());
+        clip.put("scale", 1);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("format", "png");
+        parameters.put("captureBeyondViewport", true);
+        parameters.put("clip", clip);
+        var command = new Json().toJson(Map.of("cmd", "Page.captureScreenshot", "params", parameters));
+        var value = send(HttpRequest.newBuilder(URI.create(devToolsAddress))
+                .header("Content-Type", "application/json; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(command)));
+        return value instanceof Map ? decode(((Map<?, ?>) value).get("data")) : null;
+    }
+
+    /**
+     * @return the value of the driver response, or null if the driver responded with an error
+     */
+    private static Object send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        var response = httpClient.send(request.timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        Map<String, Object> body = new Json().toType(response.body(), Json.MAP_TYPE);
+        return body.get("value");
+    }
+
+    private static byte[] decode(Object base64Screenshot) {
+        return base64Screenshot instanceof String ? Base64.getMimeDecoder().decode((String) base64Screenshot) : null;
+    }
+}
@@ -0,0 +1,403 @@
+package com.shaft.gui.image;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Compares an image against its reference locally, tolerating the small rendering differences that fail pixel exact
+ * comparisons.
+ * <p>
+ * Both images are converted to luminance and downscaled so that their longest side is at most 512 pixels, then split
+ * into tiles that are compared in parallel, either by their structural similarity (SSIM, computed over 8x8 windows) or
+ * by the distance between their perceptual hashes (the signs of the lowest frequencies of the DCT of every tile), which
+ * only tells layout changes apart. The images match if the similarity of every tile reaches the threshold. The tiles
+ * that don't are highlighted on a copy of the image, which is returned as the differences image.
+ */
+public class PerceptualImageComparator {
+    private static final int WORKING_SIZE = 512;
+    private static final int SSIM_TILE_SIZE = 32;
+    private static final int SSIM_WINDOW_SIZE = 8;
+    private static final int SSIM_WINDOW_STEP = 4;
+    private static final double SSIM_C1 = Math.pow(0.01 * 255, 2);
+    private static final double SSIM_C2 = Math.pow(0.03 * 255, 2);
+    private static final int HASH_TILE_SIZE = 64;
+    private static final int HASH_SAMPLE_SIZE = 32;
+    private static final int HASH_FREQUENCIES = 8;
+    private static final double[][] DCT_COSINES = new double[HASH_FREQUENCIES][HASH_SAMPLE_SIZE];
+    private static final double FLAT_TILE_DEVIATION = 2;
+    private static final double MAXIMUM_ASPECT_RATIO_DIFFERENCE = 0.01;
+
+    static {
+        for (int frequency = 0; frequency < HASH_FREQUENCIES; frequency++) {
+            for (int sample = 0; sample < HASH_SAMPLE_SIZE; sample++) {
+                DCT_COSINES[frequency][sample] = Math.cos((2 * sample + 1) * frequency * Math.PI / (2 * HASH_SAMPLE_SIZE));
+            }
+        }
+    }
+
+    private PerceptualImageComparator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Compares the encoded images
+     *
+     * @param referenceImage the encoded reference image
+     * @param actualImage    the encoded image to compare against the reference
+     * @param method         the comparison method
+     * @param threshold      the minimum similarity of every tile, from 0 to 1
+     * @return the comparison result
+     */
+    public static Result compare(byte[] referenceImage, byte[] actualImage, Method method, double threshold) {
+        return compare(decode(referenceImage), decode(actualImage), method, threshold);
+    }
+
+    /**
+     * Compares the decoded images
+     *
+     * @param referenceImage the reference image
+     * @param actualImage    the image to compare against the reference
+     * @param method         the comparison method
+     * @param threshold      the minimum similarity of every tile, from 0 to 1
+     * @return the comparison result
+     */
+    public static Result compare(BufferedImage referenceImage, BufferedImage actualImage, Method method, double threshold) {
+        double referenceAspectRatio = (double) referenceImage.getWidth() / referenceImage.getHeight();
+        double actualAspectRatio = (double) actualImage.getWidth() / actualImage.getHeight();
+        if (Math.abs(referenceAspectRatio - actualAspectRatio) / referenceAspectRatio > MAXIMUM_ASPECT_RATIO_DIFFERENCE) {
+            return new Result(false, 0, 1, 1, actualImage, new Rectangle[]{new Rectangle(0, 0, actualImage.getWidth(), actualImage.getHeight())});
+        }
+        double scale = Math.min(1, (double) WORKING_SIZE / Math.max(referenceImage.getWidth(), referenceImage.getHeight()));
+        int width = Math.max(1, (int) Math.round(referenceImage.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(referenceImage.getHeight() * scale));
+        var reference = Luminance.of(referenceImage, width, height);
+        var actual = Luminance.of(actualImage, width, height);
+
+        int tileSize = method == Method.SSIM ? SSIM_TILE_SIZE : HASH_TILE_SIZE;
+        int columns = (width + tileSize - 1) / tileSize;
+        int rows = (height + tileSize - 1) / tileSize;
+        double[] similarities = IntStream.range(0, columns * rows).parallel().mapToDouble(tile -> {
+            int x = (tile % columns) * tileSize;
+            int y = (tile / columns) * tileSize;
+            int tileWidth = Math.min(tileSize, width - x);
+            int tileHeight = Math.min(tileSize, height - y);
+            return method == Method.SSIM
+                    ? structuralSimilarity(reference, actual, x, y, tileWidth, tileHeight)
+                    : hashSimilarity(reference, actual, x, y, tileWidth, tileHeight);
+        }).toArray();
+
+        double similaritiesSum = 0;
+        int differentTilesCount = 0;
+        var differentTiles = new Rectangle[similarities.length];
+        double horizontalScale = (double) actualImage.getWidth() / width;
+        double verticalScale = (double) actualImage.getHeight() / height;
+        for (int tile = 0; tile < similarities.length; tile++) {
+            similaritiesSum += similarities[tile];
+            if (similarities[tile] < threshold) {
+                int x = (tile % columns) * tileSize;
+                int y = (tile / columns) * tileSize;
+                int left = (int) Math.floor(x * horizontalScale);
+                int top = (int) Math.floor(y * verticalScale);
+                differentTiles[differentTilesCount++] = new Rectangle(left, top,
+                        (int) Math.ceil(Math.min(x + tileSize, width) * horizontalScale) - left,
+                        (int) Math.ceil(Math.min(y + tileSize, height) * verticalScale) - top);
+            }
+        }
+        var differentTilesBounds = new Rectangle[differentTilesCount];
+        System.arraycopy(differentTiles, 0, differentTilesBounds, 0, differentTilesCount);
+        return new Result(differentTilesCount == 0, similaritiesSum / similarities.length, differentTilesCount,
+                similarities.length, actualImage, differentTilesBounds);
+    }
+
+    /**
+     * @return the mean SSIM of the 8x8 windows of the tile, or of the whole tile if it's smaller
+     */
+    private static double structuralSimilarity(Luminance reference, Luminance actual, int x, int y, int tileWidth, int tileHeight) {
+        int windowWidth = Math.min(SSIM_WINDOW_SIZE, tileWidth);
+        int windowHeight = Math.min(SSIM_WINDOW_SIZE, tileHeight);
+        double similaritiesSum = 0;
+        int windowsCount = 0;
+        for (int windowY = y; windowY + windowHeight <= y + tileHeight; windowY += SSIM_WINDOW_STEP) {
+            for (int windowX = x; windowX + windowWidth <= x + tileWidth; windowX += SSIM_WINDOW_STEP) {
+                double referenceSum = 0;
+                double actualSum = 0;
+                double referenceSquaresSum = 0;
+                double actualSquaresSum = 0;
+                double productsSum = 0;
+                for (int pixelY = windowY; pixelY < windowY + windowHeight; pixelY++) {
+                    int index = pixelY * reference.width + windowX;
+                    for (int pixelX = 0; pixelX < windowWidth; pixelX++, index++) {
+                        double referencePixel = reference.pixels[index];
+                        double actualPixel = actual.pixels[index];
+                        referenceSum += referencePixel;
+                        actualSum += actualPixel;
+                        referenceSquaresSum += referencePixel * referencePixel;
+                        actualSquaresSum += actualPixel * actualPixel;
+                        productsSum += referencePixel * actualPixel;
+                    }
+                }
+                int pixelsCount = windowWidth * windowHeight;
+                double referenceMean = referenceSum / pixelsCount;
+                double actualMean = actualSum / pixelsCount;
+                double referenceVariance = referenceSquaresSum / pixelsCount - referenceMean * referenceMean;
+                double actualVariance = actualSquaresSum / pixelsCount - actualMean * actualMean;
+                double covariance = productsSum / pixelsCount - referenceMean * actualMean;
+                similaritiesSum += ((2 * referenceMean * actualMean + SSIM_C1) * (2 * covariance + SSIM_C2))
+                        / ((referenceMean * referenceMean + actualMean * actualMean + SSIM_C1) * (referenceVariance + actualVariance + SSIM_C2));
+                windowsCount++;
+            }
+        }
+        return similaritiesSum / windowsCount;
+    }
+
+    /**
+     * @return the share of identical bits in the perceptual hashes of the tile, or the closeness of their brightness
+     * if both tiles are plain
+     */
+    private static double hashSimilarity(Luminance reference, Luminance actual, int x, int y, int tileWidth, int tileHeight) {
+        double[] referenceSamples = reference.sample(x, y, tileWidth, tileHeight);
+        double[] actualSamples = actual.sample(x, y, tileWidth, tileHeight);
+        double referenceMean = mean(referenceSamples);
+        double actualMean = mean(actualSamples);
+        if (deviation(referenceSamples, referenceMean) < FLAT_TILE_DEVIATION && deviation(actualSamples, actualMean) < FLAT_TILE_DEVIATION) {
+            // the hash of a plain tile is noise
+            return 1 - Math.abs(referenceMean - actualMean) / 255;
+        }
+        long differentBits = Long.bitCount(perceptualHash(referenceSamples) ^ perceptualHash(actualSamples));
+        return 1 - differentBits / (double) (HASH_FREQUENCIES * HASH_FREQUENCIES - 1);
+    }
+
+    /**
+     * Sets a bit for every one of the lowest 8x8 DCT frequencies, except the average, that is clearly above their median
+     */
+    private static long perceptualHash(double[] samples) {
+        double[] frequencies = new double[HASH_FREQUENCIES * HASH_FREQUENCIES];
+        for (int v = 0; v < HASH_FREQUENCIES; v++) {
+            for (int u = 0; u < HASH_FREQUENCIES; u++) {
+                double frequency = 0;
+                for (int sampleY = 0; sampleY < HASH_SAMPLE_SIZE; sampleY++) {
+                    double rowFrequency = 0;
+                    for (int sampleX = 0; sampleX < HASH_SAMPLE_SIZE; sampleX++) {
+                        rowFrequency += samples[sampleY * HASH_SAMPLE_SIZE + sampleX] * DCT_COSINES[u][sampleX];
+                    }
+                    frequency += rowFrequency * DCT_COSINES[v][sampleY];
+                }
+                frequencies[v * HASH_FREQUENCIES + u] = frequency;
+            }
+        }
+        double[] sortedFrequencies = new double[frequencies.length - 1];
+        System.arraycopy(frequencies, 1, sortedFrequencies, 0, sortedFrequencies.length);
+        Arrays.sort(sortedFrequencies);
+        double median = sortedFrequencies[sortedFrequencies.length / 2];
+        // simple shapes leave most frequencies at about zero, a margin keeps rounding errors from flipping their bits
+        double margin = 1e-3 * Math.max(Math.abs(sortedFrequencies[0]), Math.abs(sortedFrequencies[sortedFrequencies.length - 1]));
+        long hash = 0;
+        for (int i = 1; i < frequencies.length; i++) {
+            if (frequencies[i] > median + margin) {
+                hash |= 1L << i;
+            }
+        }
+        return hash;
+    }
+
+    private static double mean(double[] samples) {
+        double sum = 0;
+        for (double sample : samples) {
+            sum += sample;
+        }
+        return sum / samples.length;
+    }
+
+    private static double deviation(double[] samples, double mean) {
+        double squaresSum = 0;
+        for (double sample : samples) {
+            squaresSum += (sample - mean) * (sample - mean);
+        }
+        return Math.sqrt(squaresSum / samples.length);
+    }
+
+    private static BufferedImage decode(byte[] image) {
+        try {
+            var decodedImage = ImageIO.read(new ByteArrayInputStream(image));
+            if (decodedImage == null) {
+                throw new IOException("Unsupported image format");
+            }
+            return decodedImage;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public enum Method {
+        /**
+         * structural similarity, tolerates slight differences in brightness, contrast and anti-aliasing
+         */
+        SSIM,
+        /**
+         * perceptual hash, only tells layout changes apart
+         */
+        PERCEPTUAL_HASH
+    }
+
+    /**
+     * The result of comparing an image against its reference
+     */
+    public static class Result {
+        private final boolean match;
+        private final double similarity;
+        private final int differentTilesCount;
+        private final int tilesCount;
+        private final BufferedImage actualImage;
+        private final Rectangle[] differentTiles;
+
+        private Result(boolean match, double similarity, int differentTilesCount, int tilesCount, BufferedImage actualImage,
+                       Rectangle[] differentTiles) {
+            this.match = match;
+            this.similarity = similarity;
+            this.differentTilesCount = differentTilesCount;
+            this.tilesCount = tilesCount;
+            this.actualImage = actualImage;
+            this.differentTiles = differentTiles;
+        }
+
+        /**
+         * @return true if every tile reaches the similarity threshold
+         */
+        public boolean isMatch() {
+            return match;
+        }
+
+        /**
+         * @return the mean similarity of all the tiles, from 0 to 1
+         */
+        public double getSimilarity() {
+            return similarity;
+        }
+
+        public int getDifferentTilesCount() {
+            return differentTilesCount;
+        }
+
+        public int getTilesCount() {
+            return tilesCount;
+        }
+
+        /**
+         * @return a PNG copy of the compared image with the different tiles highlighted in red, or null if the images
+         * match
+         */
+        public byte[] getDifferencesImage() {
+            if (match) {
+                return null;
+            }
+            var differencesImage = new BufferedImage(actualImage.getWidth(), actualImage.getHeight(), BufferedImage.TYPE_INT_RGB);
+            var graphics = differencesImage.createGraphics();
+            graphics.drawImage(actualImage, 0, 0, null);
+            graphics.setStroke(new BasicStroke(2));
+            for (Rectangle differentTile : differentTiles) {
+                graphics.setColor(new Color(255, 0, 0, 64));
+                graphics.fill(differentTile);
+                graphics.setColor(Color.RED);
+                graphics.draw(differentTile);
+            }
+            graphics.dispose();
+            var encodedImage = new ByteArrayOutputStream();
+            try {
+                ImageIO.write(differencesImage, "png", encodedImage);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return encodedImage.toByteArray();
+        }
+
+        @Override
+        public String toString() {
+            return "similarity [" + similarity + "], [" + differentTilesCount + "] of [" + tilesCount + "] tiles are different";
+        }
+    }
+
+    /**
+     * The luminance of an image, resampled to the working size. Every axis is resampled on its own, by averaging the
+     * area that every resampled pixel covers when shrinking, and by interpolating between the nearest pixels when
+     * growing, so that images that are a few pixels apart in size are resampled to the same content.
+     */
+    private static class Luminance {
+        private final int width;
+        private final double[] pixels;
+
+        private Luminance(int width, double[] pixels) {
+            this.width = width;
+            this.pixels = pixels;
+        }
+
+        private static Luminance of(BufferedImage image, int width, int height) {
+            int imageWidth = image.getWidth();
+            int imageHeight = image.getHeight();
+            // resample every row to the working width, then every column to the working height
+            double[] rows = new double[width * imageHeight];
+            int[] row = new int[imageWidth];
+            double[] rowLuminance = new double[imageWidth];
+            for (int y = 0; y < imageHeight; y++) {
+                image.getRGB(0, y, imageWidth, 1, row, 0, imageWidth);
+                for (int x = 0; x < imageWidth; x++) {
+                    int rgb = row[x];
+                    rowLuminance[x] = 0.299 * ((rgb >> 16) & 0xFF) + 0.587 * ((rgb >> 8) & 0xFF) + 0.114 * (rgb & 0xFF);
+                }
+                resample(rowLuminance, 0, 1, imageWidth, rows, y * width, 1, width);
+            }
+            double[] pixels = new double[width * height];
+            for (int x = 0; x < width; x++) {
+                resample(rows, x, width, imageHeight, pixels, x, width, height);
+            }
+            return new Luminance(width, pixels);
+        }
+
+        private static void resample(double[] source, int sourceOffset, int sourceStep, int sourceLength,
+                                     double[] target, int targetOffset, int targetStep, int targetLength) {
+            double scale = (double) sourceLength / targetLength;
+            for (int t = 0; t < targetLength; t++) {
+                double value;
+                if (scale > 1) {
+                    // the weighted average of the source pixels that this pixel covers
+                    double start = t * scale;
+                    double end = start + scale;
+                    double sum = 0;
+                    for (int s = (int) start; s < Math.min(sourceLength, Math.ceil(end)); s++) {
+                        sum += source[sourceOffset + s * sourceStep] * (Math.min(end, s + 1) - Math.max(start, s));
+                    }
+                    value = sum / scale;
+                } else {
+                    // linear interpolation between the two source pixels whose centers surround this pixel center
+                    double position = Math.max(0, Math.min(sourceLength - 1, (t + 0.5) * scale - 0.5));
+                    int first = (int) position;
+                    int second = Math.min(sourceLength - 1, first + 1);
+                    double fraction = position - first;
+                    value = source[sourceOffset + first * sourceStep] * (1 - fraction)
+                            + source[sourceOffset + second * sourceStep] * fraction;
+                }
+                target[targetOffset + t * targetStep] = value;
+            }
+        }
+
+        /**
+         * @return the tile resampled to 32x32 by its nearest pixels
+         */
+        private double[] sample(int x, int y, int tileWidth, int tileHeight) {
+            double[] samples = new double[HASH_SAMPLE_SIZE * HASH_SAMPLE_SIZE];
+            for (int sampleY = 0; sampleY < HASH_SAMPLE_SIZE; sampleY++) {
+                int rowOffset = (y + sampleY * tileHeight / HASH_SAMPLE_SIZE) * width + x;
+                for (int sampleX = 0; sampleX < HASH_SAMPLE_SIZE; sampleX++) {
+                    samples[sampleY * HASH_SAMPLE_SIZE + sampleX] = pixels[rowOffset + sampleX * tileWidth / HASH_SAMPLE_SIZE];
+                }
+            }
+            return samples;
+        }
+    }
+}
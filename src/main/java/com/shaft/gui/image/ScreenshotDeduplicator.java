@@ -0,0 +1,69 @@
+package com.shaft.gui.image;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Recognizes consecutive screenshots of the same test that are exactly the same, so that they reuse the attachment and
+ * the animated GIF frame of the screenshot before them instead of being processed and stored again.
+ * <p>
+ * Screenshots are duplicates only if they were captured as the same bytes, and if the same element is highlighted in
+ * the same color. Drivers encode the same page to the same bytes, so this finds the screenshots of steps that didn't
+ * change the page, without decoding them. Screenshots that differ in any pixel, such as a single typed character or a
+ * validation message, are always kept, because they may be the only evidence of what a step did.
+ * <p>
+ * Every test has its own deduplicator, whose methods are called from the test's screenshot processing tasks, one after
+ * the other.
+ */
+class ScreenshotDeduplicator {
+    private static final boolean ENABLED = Boolean.parseBoolean(System
+            .getProperty("screenshotParams_deduplicateScreenshots", "true").trim());
+
+    private byte[] attachedCapturedScreenshot;
+    private Object attachedHighlight;
+    private byte[] attachedScreenshot;
+    private byte[] frameCapturedScreenshot;
+    private Object frameHighlight;
+
+    static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns the processed screenshot that was attached before this one if they are duplicates, or processes this one
+     *
+     * @param capturedScreenshot the screenshot as captured
+     * @param highlight          identifies the element highlighting, if any
+     * @param processor          processes the screenshot if it's not a duplicate
+     * @return the same array that was returned for the duplicated screenshot, or the newly processed screenshot
+     */
+    byte[] deduplicateAttachment(byte[] capturedScreenshot, Object highlight, Supplier<byte[]> processor) {
+        if (attachedScreenshot != null && Objects.equals(highlight, attachedHighlight)
+                && Arrays.equals(capturedScreenshot, attachedCapturedScreenshot)) {
+            return attachedScreenshot;
+        }
+        var processedScreenshot = processor.get();
+        if (processedScreenshot != null) {
+            attachedCapturedScreenshot = capturedScreenshot;
+            attachedHighlight = highlight;
+            attachedScreenshot = processedScreenshot;
+        }
+        return processedScreenshot;
+    }
+
+    /**
+     * @param capturedScreenshot the screenshot as captured
+     * @param highlight          identifies the element highlighting, if any
+     * @return true if the screenshot is the same as the last frame that was added to the animated GIF
+     */
+    boolean isDuplicateFrame(byte[] capturedScreenshot, Object highlight) {
+        if (frameCapturedScreenshot != null && Objects.equals(highlight, frameHighlight)
+                && Arrays.equals(capturedScreenshot, frameCapturedScreenshot)) {
+            return true;
+        }
+        frameCapturedScreenshot = capturedScreenshot;
+        frameHighlight = highlight;
+        return false;
+    }
+}
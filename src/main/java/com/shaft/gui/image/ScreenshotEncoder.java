@@ -0,0 +1,114 @@
+package com.shaft.gui.image;
+
+import com.shaft.tools.io.ReportManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Encodes the screenshots that are attached to the execution report, using the image format selected by the
+ * screenshotParams_imageFormat property (png or jpeg).
+ * <p>
+ * PNG screenshots are lossless, their encoding speed is controlled by screenshotParams_pngCompressionLevel (0 is the
+ * fastest and largest, 9 is the slowest and smallest). JPEG screenshots are much faster to encode and smaller, at the
+ * cost of some quality, which is controlled by screenshotParams_jpegQuality (0.0 to 1.0).
+ */
+public class ScreenshotEncoder {
+    private static final String IMAGE_FORMAT = initializeImageFormat();
+    private static final int PNG_COMPRESSION_LEVEL = Math.min(9, Math.max(0, Integer
+            .parseInt(System.getProperty("screenshotParams_pngCompressionLevel", "4").trim())));
+    private static final float JPEG_QUALITY = Math.min(1f, Math.max(0f, Float
+            .parseFloat(System.getProperty("screenshotParams_jpegQuality", "0.85").trim())));
+    // a typical screenshot compresses to a quarter of a byte per pixel or less
+    private static final int ESTIMATED_PIXELS_PER_BYTE = 4;
+
+    private ScreenshotEncoder() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return true if screenshots are encoded as PNG, which is also the format that drivers return them in
+     */
+    public static boolean isPng() {
+        return "png".equals(IMAGE_FORMAT);
+    }
+
+    /**
+     * @return the content type of the encoded screenshots, for example image/png
+     */
+    public static String getContentType() {
+        return isPng() ? "image/png" : "image/jpeg";
+    }
+
+    /**
+     * @return the file extension of the encoded screenshots, including the leading dot
+     */
+    public static String getFileExtension() {
+        return isPng() ? ".png" : ".jpg";
+    }
+
+    /**
+     * @return the configured PNG compression level, from 0 (fastest) to 9 (smallest)
+     */
+    static int getPngCompressionLevel() {
+        return PNG_COMPRESSION_LEVEL;
+    }
+
+    /**
+     * Encodes the image using the configured format and compression
+     *
+     * @param image the decoded screenshot
+     * @return the encoded screenshot, or null if it couldn't be encoded
+     */
+    public static byte[] encode(BufferedImage image) {
+        var writers = ImageIO.getImageWritersByFormatName(isPng() ? "png" : "jpeg");
+        if (!writers.hasNext()) {
+            ReportManager.logDiscrete("No image writer is available for [" + IMAGE_FORMAT + "] screenshots.");
+            return null;
+        }
+        var writer = writers.next();
+        // sized to avoid growing the buffer for most screenshots, the encoded bytes are then shared by all reports
+        var encodedImage = new ByteArrayOutputStream(image.getWidth() * image.getHeight() / ESTIMATED_PIXELS_PER_BYTE);
+        try (var output = new MemoryCacheImageOutputStream(encodedImage)) {
+            writer.setOutput(output);
+            var writeParam = writer.getDefaultWriteParam();
+            if (writeParam.canWriteCompressed()) {
+                writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (isPng()) {
+                    // the PNG writer maps a quality of 1 to no compression and a quality of 0 to the best compression
+                    writeParam.setCompressionQuality(1f - PNG_COMPRESSION_LEVEL / 9f);
+                } else {
+                    writeParam.setCompressionQuality(JPEG_QUALITY);
+                }
+            }
+            writer.write(null, new IIOImage(isPng() ? image : withoutAlpha(image), null, null), writeParam);
+        } catch (IOException e) {
+            ReportManager.logDiscrete("Failed to encode screenshot: " + e.getMessage());
+            return null;
+        } finally {
+            writer.dispose();
+        }
+        return encodedImage.toByteArray();
+    }
+
+    private static BufferedImage withoutAlpha(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
+        }
+        var opaqueImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        var graphics = opaqueImage.createGraphics();
+        graphics.drawImage(image, 0, 0, java.awt.Color.WHITE, null);
+        graphics.dispose();
+        return opaqueImage;
+    }
+
+    private static String initializeImageFormat() {
+        var imageFormat = System.getProperty("screenshotParams_imageFormat", "png").trim().toLowerCase();
+        return "jpeg".equals(imageFormat) || "jpg".equals(imageFormat) ? "jpeg" : "png";
+    }
+}
@@ -1,16 +1,17 @@
 package com.shaft.gui.image;
 
-import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.openqa.selenium.*;
 
 import com.microsoft.playwright.Page;
+import com.shaft.gui.element.WaitManager;
 import com.microsoft.playwright.Page.ScreenshotOptions;
 
 import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Duration;
 
 public class ScreenshotHelper {
 
@@ -24,71 +25,84 @@ public class ScreenshotHelper {
     	return page.screenshot(new ScreenshotOptions().setFullPage(true));
     }
 
+    /**
+     * Captures the whole page, using the browser's native full page screenshot if the driver exposes one, else by
+     * scrolling the page and streaming every viewport screenshot into the resulting image
+     *
+     * @param driver       the current driver
+     * @param skipElements elements that should be hidden while the page is captured
+     * @return the PNG screenshot of the whole page
+     * @throws IOException if a viewport screenshot can't be decoded
+     */
     protected static byte[] makeFullScreenshot(WebDriver driver, WebElement... skipElements) throws IOException {
+        showHideElements(driver, true, skipElements);
+        try {
+            byte[] nativeScreenshot = NativeFullPageScreenshot.capture(driver);
+            if (nativeScreenshot != null) {
+                return nativeScreenshot;
+            }
+            return stitchFullScreenshot(driver);
+        } finally {
+            showHideElements(driver, false, skipElements);
+        }
+    }
 
+    /**
+     * Scrolls the page one viewport at a time, and streams the rows of every viewport screenshot into a PNG, so that
+     * only one decoded viewport is held in memory at any time
+     */
+    private static byte[] stitchFullScreenshot(WebDriver driver) throws IOException {
         // scroll up first to start taking screenshots
         scrollVerticallyTo(driver, 0);
         hideScroll(driver);
-        // No need to hide elements for first attempt
-        byte[] bytes = getScreenShot(driver);
-
-        showHideElements(driver, true, skipElements);
-        long longScrollHeight = (Long) ((JavascriptExecutor) driver)
-                .executeScript("return Math.max(" + "document.body.scrollHeight, document.documentElement.scrollHeight,"
-                        + "document.body.offsetHeight, document.documentElement.offsetHeight,"
-                        + "document.body.clientHeight, document.documentElement.clientHeight);");
-
-        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
-        int capturedWidth = image.getWidth();
-        int capturedHeight = image.getHeight();
-
-        double devicePixelRatio = ((Number) ((JavascriptExecutor) driver).executeScript(JS_RETRIEVE_DEVICE_PIXEL_RATIO))
-                .doubleValue();
+        try {
+            byte[] bytes = getScreenShot(driver);
+            long longScrollHeight = (Long) ((JavascriptExecutor) driver)
+                    .executeScript("return Math.max(" + "document.body.scrollHeight, document.documentElement.scrollHeight,"
+                            + "document.body.offsetHeight, document.documentElement.offsetHeight,"
+                            + "document.body.clientHeight, document.documentElement.clientHeight);");
 
-        int scrollHeight = (int) longScrollHeight;
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+            int capturedWidth = image.getWidth();
+            int capturedHeight = image.getHeight();
 
-        int adaptedCapturedHeight = (int) (((double) capturedHeight) / devicePixelRatio);
+            double devicePixelRatio = ((Number) ((JavascriptExecutor) driver).executeScript(JS_RETRIEVE_DEVICE_PIXEL_RATIO))
+                    .doubleValue();
 
-        BufferedImage resultingImage;
+            int scrollHeight = (int) longScrollHeight;
+            int adaptedCapturedHeight = (int) (((double) capturedHeight) / devicePixelRatio);
 
-        if (Math.abs(adaptedCapturedHeight - scrollHeight) > 40) {
-            int times = scrollHeight / adaptedCapturedHeight;
-            int leftover = scrollHeight % adaptedCapturedHeight;
+            if (Math.abs(adaptedCapturedHeight - scrollHeight) <= 40) {
+                // the page fits in the viewport, the screenshot is used as captured
+                return bytes;
+            }
 
-            final BufferedImage tiledImage = new BufferedImage(capturedWidth,
-                    (int) (((double) scrollHeight) * devicePixelRatio), BufferedImage.TYPE_INT_RGB);
-            Graphics2D g2dTile = tiledImage.createGraphics();
-            g2dTile.drawImage(image, 0, 0, null);
+            int fullHeight = (int) Math.round(scrollHeight * devicePixelRatio);
+            int lastScrollPosition = Math.max(0, scrollHeight - adaptedCapturedHeight);
+            var fullScreenshot = new ByteArrayOutputStream(bytes.length * (fullHeight / Math.max(1, capturedHeight) + 1));
+            var pngWriter = new StreamingPngWriter(fullScreenshot, capturedWidth, fullHeight,
+                    ScreenshotEncoder.getPngCompressionLevel());
+            pngWriter.writeRows(image, 0, Math.min(capturedHeight, fullHeight));
 
             int scroll = 0;
-            for (int i = 0; i < times - 1; i++) {
-                scroll += adaptedCapturedHeight;
-                scrollVerticallyTo(driver, scroll);
-                BufferedImage nextImage = ImageIO.read(new ByteArrayInputStream(getScreenShot(driver)));
-                g2dTile.drawImage(nextImage, 0, (i + 1) * capturedHeight, null);
-            }
-            if (leftover > 0) {
-                scroll += adaptedCapturedHeight;
+            while (pngWriter.getWrittenRows() < fullHeight && scroll < lastScrollPosition) {
+                // the last viewport overlaps the previous one, the browser can't scroll past the end of the page
+                scroll = Math.min(scroll + adaptedCapturedHeight, lastScrollPosition);
                 scrollVerticallyTo(driver, scroll);
-                BufferedImage nextImage = ImageIO.read(new ByteArrayInputStream(getScreenShot(driver)));
-                BufferedImage lastPart = nextImage.getSubimage(0,
-                        nextImage.getHeight() - (int) (((double) leftover) * devicePixelRatio), nextImage.getWidth(),
-                        leftover);
-                g2dTile.drawImage(lastPart, 0, times * capturedHeight, null);
+                image = ImageIO.read(new ByteArrayInputStream(getScreenShot(driver)));
+                int firstRow = Math.max(0, pngWriter.getWrittenRows() - (int) Math.round(scroll * devicePixelRatio));
+                if (image == null || firstRow >= image.getHeight()) {
+                    break;
+                }
+                pngWriter.writeRows(image, firstRow, Math.min(image.getHeight() - firstRow, fullHeight - pngWriter.getWrittenRows()));
             }
+            pngWriter.close();
 
             scrollVerticallyTo(driver, 0);
-
-            resultingImage = tiledImage;
-        } else {
-            resultingImage = image;
+            return fullScreenshot.toByteArray();
+        } finally {
+            showScroll(driver);
         }
-        showScroll(driver);
-        showHideElements(driver, false, skipElements);
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(resultingImage, "png", baos);
-        return baos.toByteArray();
     }
 
     private static void hideScroll(WebDriver driver) {
@@ -128,15 +142,10 @@ public class ScreenshotHelper {
         }
     }
 
-    private static void waitUntilItIsScrolledToPosition(WebDriver driver, int scrollPosition)
-            throws InterruptedException {
-        int time = 250;// SCREENSHOT_FULLPAGE_SCROLLTIMEOUT
-        boolean isScrolledToPosition = false;
-        while (time >= 0 && !isScrolledToPosition) {
-            Thread.sleep(50);
-            time -= 50;
-            isScrolledToPosition = Math.abs(obtainVerticalScrollPosition(driver) - scrollPosition) < 3;
-        }
+    private static void waitUntilItIsScrolledToPosition(WebDriver driver, int scrollPosition) {
+        // SCREENSHOT_FULLPAGE_SCROLLTIMEOUT
+        WaitManager.createWait(driver, Duration.ofMillis(250))
+                .until(nestedDriver -> Math.abs(obtainVerticalScrollPosition(nestedDriver) - scrollPosition) < 3);
     }
 
     private static int obtainVerticalScrollPosition(WebDriver driver) {
@@ -7,19 +7,19 @@ import com.shaft.cli.FileActions;
 import com.shaft.gui.element.ElementActions;
 import com.shaft.gui.element.JavaScriptWaitManager;
 import com.shaft.gui.element.PlayWrightElementActions;
+import com.shaft.gui.element.ResolvedElement;
 import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
-import org.imgscalr.Scalr;
+import com.shaft.tools.support.ExecutionScope;
 import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.*;
 import org.sikuli.script.App;
 import org.sikuli.script.Pattern;
+import org.sikuli.script.Region;
 import org.sikuli.script.Screen;
 
 import javax.imageio.ImageIO;
-import javax.imageio.stream.FileImageOutputStream;
-import javax.imageio.stream.ImageOutputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
@@ -27,6 +27,8 @@ import java.nio.file.FileSystems;
 import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public class ScreenshotManager {
     private static final String SCREENSHOT_FOLDERPATH = System.getProperty("allureResultsFolderPath").trim()
@@ -56,15 +58,8 @@ public class ScreenshotManager {
     private static final String AI_AIDED_ELEMENT_IDENTIFICATION_FOLDERPATH = "src/test/resources/DynamicObjectRepository/";
     private static Boolean AI_SUPPORTED_ELEMENT_IDENTIFICATION = Boolean
             .valueOf(System.getProperty("aiPoweredSelfHealingElementIdentification").trim());
-    private static String screenshotFileName = "Screenshot";
-    private static By aiGeneratedElementLocator = null;
-    private static By targetElementLocator;
-    private static boolean globalPassFailStatus = false;
-    private static String globalPassFailAppendedText = "";
-    private static String testCaseName = "";
-    private static String gifRelativePathWithFileName = "";
-    private static ThreadLocal<ImageOutputStream> gifOutputStream = new ThreadLocal<>();
-    private static ThreadLocal<AnimatedGifManager> gifWriter = new ThreadLocal<>();
+    private static final long RUN_ID = System.currentTimeMillis();
+    private static final Set<String> refreshedReferenceImages = ConcurrentHashMap.newKeySet();
 
     private ScreenshotManager() {
         throw new IllegalStateException("Utility class");
@@ -79,7 +74,13 @@ public class ScreenshotManager {
     }
 
     public static void setAiGeneratedElementLocator(By aiGeneratedElementLocator) {
-        ScreenshotManager.aiGeneratedElementLocator = aiGeneratedElementLocator;
+        state().aiGeneratedElementLocator = aiGeneratedElementLocator;
+    }
+
+    private static final Map<Integer, BufferedImage> scaledWatermarks = new ConcurrentHashMap<>();
+
+    private static ScreenshotState state() {
+        return ExecutionScope.current().getState(ScreenshotState.class, ScreenshotState::new);
     }
 
     public static String getAiAidedElementIdentificationFolderpath() {
@@ -97,14 +98,14 @@ public class ScreenshotManager {
      * @return a screenshot object
      */
     public static List<Object> captureScreenShot(WebDriver driver, String actionName, boolean passFailStatus) {
-        globalPassFailStatus = passFailStatus;
+        state().globalPassFailStatus = passFailStatus;
         if (passFailStatus) {
-            globalPassFailAppendedText = "passed";
+            state().globalPassFailAppendedText = "passed";
         } else {
-            globalPassFailAppendedText = "failed";
+            state().globalPassFailAppendedText = "failed";
         }
 
-        return internalCaptureScreenShot(driver, null, actionName, globalPassFailAppendedText,
+        return internalCaptureScreenShot(driver, null, actionName, state().globalPassFailAppendedText,
                 takeScreenshot(actionName, passFailStatus));
     }
 
@@ -124,35 +125,35 @@ public class ScreenshotManager {
                                                  boolean passFailStatus) {
         By internalElementLocator = elementLocator;
         // Override current locator with the aiGeneratedElementLocator
-        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && aiGeneratedElementLocator != null
+        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && state().aiGeneratedElementLocator != null
                 && internalElementLocator != null) {
-            internalElementLocator = aiGeneratedElementLocator;
+            internalElementLocator = state().aiGeneratedElementLocator;
         }
 
-        globalPassFailStatus = passFailStatus;
-        targetElementLocator = internalElementLocator;
+        state().globalPassFailStatus = passFailStatus;
+        state().targetElementLocator = internalElementLocator;
 
         if (passFailStatus) {
-            globalPassFailAppendedText = "passed";
+            state().globalPassFailAppendedText = "passed";
         } else {
-            globalPassFailAppendedText = "failed";
+            state().globalPassFailAppendedText = "failed";
         }
 
-        return internalCaptureScreenShot(driver, internalElementLocator, actionName, globalPassFailAppendedText,
+        return internalCaptureScreenShot(driver, internalElementLocator, actionName, state().globalPassFailAppendedText,
                 takeScreenshot(actionName, passFailStatus));
     }
 
 
     public static List<Object> captureScreenShot(Page page, String elementLocator, String actionName, boolean passFailStatus) {
-        globalPassFailStatus = passFailStatus;
+        state().globalPassFailStatus = passFailStatus;
 
         if (passFailStatus) {
-            globalPassFailAppendedText = "passed";
+            state().globalPassFailAppendedText = "passed";
         } else {
-            globalPassFailAppendedText = "failed";
+            state().globalPassFailAppendedText = "failed";
         }
 
-        return internalCaptureScreenShot(page, elementLocator, actionName, globalPassFailAppendedText,
+        return internalCaptureScreenShot(page, elementLocator, actionName, state().globalPassFailAppendedText,
                 takeScreenshot(actionName, passFailStatus));
     }
 
@@ -170,12 +171,25 @@ public class ScreenshotManager {
 
     public static synchronized List<Object> captureScreenShotUsingSikuliX(Screen screen, App applicationWindow, Pattern element, String actionName,
                                                                           boolean passFailStatus) {
+        return captureScreenShotUsingSikuliX(screen, applicationWindow, element, null, actionName, passFailStatus);
+    }
 
-        globalPassFailStatus = passFailStatus;
+    /**
+     * Captures the region of an element that was already found, without searching for it again
+     */
+    public static synchronized List<Object> captureScreenShotUsingSikuliX(Screen screen, App applicationWindow, Region element, String actionName,
+                                                                          boolean passFailStatus) {
+        return captureScreenShotUsingSikuliX(screen, applicationWindow, null, element, actionName, passFailStatus);
+    }
+
+    private static List<Object> captureScreenShotUsingSikuliX(Screen screen, App applicationWindow, Pattern element, Region elementRegion,
+                                                              String actionName, boolean passFailStatus) {
+
+        state().globalPassFailStatus = passFailStatus;
         if (passFailStatus) {
-            globalPassFailAppendedText = "passed";
+            state().globalPassFailAppendedText = "passed";
         } else {
-            globalPassFailAppendedText = "failed";
+            state().globalPassFailAppendedText = "failed";
         }
 
         boolean takeScreenshot = "Always".equals(SCREENSHOT_PARAMS_WHENTOTAKEASCREENSHOT)
@@ -199,9 +213,12 @@ public class ScreenshotManager {
                 ByteArrayOutputStream baos = new ByteArrayOutputStream();
                 switch (SCREENSHOT_PARAMS_SCREENSHOTTYPE.toLowerCase().trim()) {
                     case "element":
-                        if (element != null) {
+                        if (elementRegion != null || element != null) {
                             try {
-                                ImageIO.write(screen.capture(screen.wait(element).getRect()).getImage(), "png", baos);
+                                if (elementRegion == null) {
+                                    elementRegion = screen.wait(element);
+                                }
+                                ImageIO.write(screen.capture(elementRegion.getRect()).getImage(), "png", baos);
                                 src = baos.toByteArray();
                                 break;
                             } catch (org.sikuli.script.FindFailed e) {
@@ -230,18 +247,13 @@ public class ScreenshotManager {
             /*
              * Declare screenshot file name
              */
-            testCaseName = ReportManagerHelper.getTestMethodName();
-            screenshotFileName = System.currentTimeMillis() + "_" + testCaseName + "_" + actionName;
-            if (!"".equals(globalPassFailAppendedText)) {
-                screenshotFileName = screenshotFileName + "_" + globalPassFailAppendedText;
+            state().testCaseName = ReportManagerHelper.getTestMethodName();
+            state().screenshotFileName = System.currentTimeMillis() + "_" + state().testCaseName + "_" + actionName;
+            if (!"".equals(state().globalPassFailAppendedText)) {
+                state().screenshotFileName = state().screenshotFileName + "_" + state().globalPassFailAppendedText;
             }
 
-            startOrAppendToAnimatedGif(src);
-            if (takeScreenshot) {
-                return addScreenshotToReport(src);
-            } else {
-                return null;
-            }
+            return processScreenshot(src, null, takeScreenshot);
         }
         return null;
     }
@@ -288,24 +300,24 @@ public class ScreenshotManager {
         return takeElementScreenshot(page, targetElementLocator, false);
     }
 
-    public static synchronized void attachAnimatedGif() {
-        // stop and attach
-        if (Boolean.TRUE.equals(CREATE_GIF) && !"".equals(gifRelativePathWithFileName)) {
+    public static void attachAnimatedGif() {
+        // wait for all the frames to be appended, then stop and attach
+        ScreenshotProcessingPool.flush();
+        if (Boolean.TRUE.equals(CREATE_GIF) && !"".equals(state().gifRelativePathWithFileName)) {
             try {
-                ReportManagerHelper.attach("Animated Gif", testCaseName, new FileInputStream(gifRelativePathWithFileName));
-                if (!gifWriter.equals(new ThreadLocal<>())) {
-                    gifWriter.get().close();
+                // the GIF is complete once its writer is closed
+                if (state().gifWriter != null) {
+                    state().gifWriter.close();
                 }
-                if (!gifOutputStream.equals(new ThreadLocal<>())) {
-                    gifOutputStream.get().close();
-                }
-
-                gifOutputStream = new ThreadLocal<>();
-                gifWriter = new ThreadLocal<>();
-                gifRelativePathWithFileName = "";
-            } catch (FileNotFoundException e) {
-                // this happens when the gif fails to start, maybe the browser window was
+                state().gifWriter = null;
+                var gif = new File(state().gifRelativePathWithFileName);
+                // this doesn't exist when the gif fails to start, maybe the browser window was
                 // already closed
+                if (gif.exists()) {
+                    // moved into the report instead of being read into memory
+                    ReportManagerHelper.attach("Animated Gif", state().testCaseName, gif);
+                }
+                state().gifRelativePathWithFileName = "";
             } catch (IOException | NullPointerException | IllegalStateException e) {
                 ReportManagerHelper.log(e);
             }
@@ -316,36 +328,60 @@ public class ScreenshotManager {
             elementLocator) {
         By internalElementLocator = elementLocator;
         // Override current locator with the aiGeneratedElementLocator
-        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && aiGeneratedElementLocator != null
-                && internalElementLocator != null) {
-            internalElementLocator = aiGeneratedElementLocator;
+        boolean isHealedLocator = Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && state().aiGeneratedElementLocator != null
+                && internalElementLocator != null;
+        if (isHealedLocator) {
+            internalElementLocator = state().aiGeneratedElementLocator;
         }
 
         if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION)) {
-            FileActions.createFolder(AI_AIDED_ELEMENT_IDENTIFICATION_FOLDERPATH);
+            String elementFileName = ImageProcessingActions.formatElementLocatorToImagePath(Objects.requireNonNull(internalElementLocator));
+            var baselines = BaselineStore.getInstance();
+            boolean hasReferenceImage = baselines.contains(elementFileName);
+            if (hasReferenceImage && !isReferenceImageRefreshDue(elementFileName, isHealedLocator)) {
+                return;
+            }
             WebElement targetElement = driver.findElement(internalElementLocator);
-            File screenshotFile = null;
+            if (hasReferenceImage && targetElement.getTagName().equalsIgnoreCase("input")) {
+                // the reference image of an input would capture the text that was typed into it
+                return;
+            }
+            byte[] elementScreenshot = null;
             try {
-                screenshotFile = targetElement.getScreenshotAs(OutputType.FILE);
+                elementScreenshot = targetElement.getScreenshotAs(OutputType.BYTES);
             } catch (JavascriptException e) {
                 // do nothing
             }
-            if (screenshotFile != null) {
-                String elementFileName = ImageProcessingActions.formatElementLocatorToImagePath(Objects.requireNonNull(internalElementLocator));
-                if (!targetElement.getTagName().equalsIgnoreCase("input")) {
-                    FileActions.copyFile(screenshotFile.getAbsolutePath(),
-                            AI_AIDED_ELEMENT_IDENTIFICATION_FOLDERPATH + elementFileName + ".png");
-                } else {
-                    if (!FileActions.doesFileExist(AI_AIDED_ELEMENT_IDENTIFICATION_FOLDERPATH, elementFileName + ".png",
-                            2)) {
-                        FileActions.copyFile(screenshotFile.getAbsolutePath(),
-                                AI_AIDED_ELEMENT_IDENTIFICATION_FOLDERPATH + elementFileName + ".png");
-                    }
-                }
+            if (elementScreenshot != null) {
+                byte[] referenceImage = elementScreenshot;
+                // hashing and writing the image doesn't need the browser, and nothing is written if it didn't change
+                ScreenshotProcessingPool.submit(() -> {
+                    baselines.put(elementFileName, referenceImage);
+                    return null;
+                });
             }
         }
     }
 
+    /**
+     * Decides whether an existing reference image is captured again, according to the
+     * aiReferenceImageRefreshPolicy: ALWAYS refreshes it whenever the element is found, AFTER_HEAL only when the
+     * element was found using a healed locator, and EVERY_N_RUNS refreshes it once in a sample of about one run out of
+     * aiReferenceImageRefreshRuns, or after a heal. It's refreshed at most once per run unless the policy is ALWAYS.
+     */
+    private static boolean isReferenceImageRefreshDue(String elementFileName, boolean isHealedLocator) {
+        String refreshPolicy = System.getProperty("aiReferenceImageRefreshPolicy", "EVERY_N_RUNS").trim().toUpperCase();
+        if ("ALWAYS".equals(refreshPolicy)) {
+            return true;
+        }
+        boolean isRefreshDue = isHealedLocator;
+        if (!isRefreshDue && "EVERY_N_RUNS".equals(refreshPolicy)) {
+            int runs = Math.max(1, Integer.parseInt(System.getProperty("aiReferenceImageRefreshRuns", "10").trim()));
+            isRefreshDue = Math.floorMod((elementFileName + RUN_ID).hashCode(), runs) == 0;
+        }
+        return isRefreshDue && refreshedReferenceImages.add(elementFileName);
+    }
+
     /**
      * Internal use only. Considers the screenshotParams_whenToTakeAScreenshot
      * parameter.
@@ -360,13 +396,13 @@ public class ScreenshotManager {
      *                       from the pom.xml file
      * @return screenshot list object
      */
-    private static synchronized List<Object> internalCaptureScreenShot(WebDriver driver, By elementLocator,
+    private static List<Object> internalCaptureScreenShot(WebDriver driver, By elementLocator,
                                                                        String actionName, String appendedText, boolean takeScreenshot) {
         By internalElementLocator = elementLocator;
         // Override current locator with the aiGeneratedElementLocator
-        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && aiGeneratedElementLocator != null
+        if (Boolean.TRUE.equals(AI_SUPPORTED_ELEMENT_IDENTIFICATION) && state().aiGeneratedElementLocator != null
                 && internalElementLocator != null) {
-            internalElementLocator = aiGeneratedElementLocator;
+            internalElementLocator = state().aiGeneratedElementLocator;
         }
 
         // Suggested: add to animated gif only in case of click, navigation, or validation actions.
@@ -390,19 +426,22 @@ public class ScreenshotManager {
                  * If an elementLocator was passed, store regularElementStyle and highlight that
                  * element before taking the screenshot
                  */
+                // the element may have already been located by the current action, in which case it's reused as is
                 if (takeScreenshot && Boolean.TRUE.equals(SCREENSHOT_PARAMS_HIGHLIGHTELEMENTS) && internalElementLocator != null
-                        && (ElementActions.getElementsCount(driver, internalElementLocator,
+                        && !ResolvedElement.isAbsent(driver, internalElementLocator)
+                        && (ResolvedElement.isResolved(driver, internalElementLocator)
+                        || ElementActions.getElementsCount(driver, internalElementLocator,
                         RETRIESBEFORETHROWINGELEMENTNOTFOUNDEXCEPTION) == 1)) {
 
                     if ("JavaScript".equals(SCREENSHOT_PARAMS_HIGHLIGHTMETHOD)) {
-                        element = driver.findElement(internalElementLocator);
+                        element = ResolvedElement.of(driver, internalElementLocator).get();
                         js = (JavascriptExecutor) driver;
                         regularElementStyle = highlightElementAndReturnDefaultStyle(element, js,
                                 setHighlightedElementStyle());
                     } else {
                         // TODO: AI rect isn't in the proper location on Windows
                         // default to using AI
-                        elementLocation = driver.findElement(internalElementLocator).getRect();
+                        elementLocation = ResolvedElement.of(driver, internalElementLocator).perform(WebElement::getRect);
                     }
                 }
             } catch (StaleElementReferenceException e) {
@@ -426,10 +465,10 @@ public class ScreenshotManager {
                 /*
                  * Declare screenshot file name
                  */
-                testCaseName = ReportManagerHelper.getTestMethodName();
-                screenshotFileName = System.currentTimeMillis() + "_" + testCaseName + "_" + actionName;
+                state().testCaseName = ReportManagerHelper.getTestMethodName();
+                state().screenshotFileName = System.currentTimeMillis() + "_" + state().testCaseName + "_" + actionName;
                 if (!"".equals(appendedText)) {
-                    screenshotFileName = screenshotFileName + "_" + appendedText;
+                    state().screenshotFileName = state().screenshotFileName + "_" + appendedText;
                 }
 
                 /*
@@ -441,21 +480,8 @@ public class ScreenshotManager {
                     js.executeScript("arguments[0].setAttribute('style', arguments[1]);", element, regularElementStyle);
                 }
 
-                if (takeScreenshot && !SCREENSHOT_PARAMS_HIGHLIGHTMETHOD.equals("JavaScript") && elementLocation != null) {
-                    Color color;
-                    if (globalPassFailStatus) {
-                        color = new Color(165, 210, 165); // green
-                    } else {
-                        color = new Color(255, 255, 153); // yellow
-                    }
-                    src = ImageProcessingActions.highlightElementInScreenshot(src, elementLocation, color);
-                }
-                startOrAppendToAnimatedGif(src);
-                if (takeScreenshot) {
-                    return addScreenshotToReport(src);
-                } else {
-                    return null;
-                }
+                boolean highlightInScreenshot = takeScreenshot && !SCREENSHOT_PARAMS_HIGHLIGHTMETHOD.equals("JavaScript");
+                return processScreenshot(src, highlightInScreenshot ? elementLocation : null, takeScreenshot);
             } catch (WebDriverException e) {
                 // this happens when a browser session crashes mid-execution, or the docker is
                 // unregistered
@@ -466,7 +492,7 @@ public class ScreenshotManager {
     }
     
 
-    private static synchronized List<Object> internalCaptureScreenShot(Page page, String elementLocator, String actionName,
+    private static List<Object> internalCaptureScreenShot(Page page, String elementLocator, String actionName,
     		String appendedText, boolean takeScreenshot) {
         // Suggested: add to animated gif only in case of click, navigation, or validation actions.
         if (takeScreenshot || (CREATE_GIF && (DETAILED_GIF || actionName.matches(DETAILED_GIF_REGEX)))) {
@@ -502,10 +528,10 @@ public class ScreenshotManager {
             /*
              * set screenshot name
              */
-            testCaseName = ReportManagerHelper.getTestMethodName();
-            screenshotFileName = System.currentTimeMillis() + "_" + testCaseName + "_" + actionName;
+            state().testCaseName = ReportManagerHelper.getTestMethodName();
+            state().screenshotFileName = System.currentTimeMillis() + "_" + state().testCaseName + "_" + actionName;
             if (!"".equals(appendedText)) {
-                screenshotFileName = screenshotFileName + "_" + appendedText;
+                state().screenshotFileName = state().screenshotFileName + "_" + appendedText;
             }
 
             /*
@@ -517,23 +543,12 @@ public class ScreenshotManager {
                 page.evaluate("arguments[0].setAttribute('style', arguments[1]);", Arrays.asList(elementHandle, regularElementStyle));
             }
 
+            Rectangle elementLocation = null;
             if (takeScreenshot && !SCREENSHOT_PARAMS_HIGHLIGHTMETHOD.equals("JavaScript") && elementHandle != null) {
             	var boundingBox = elementHandle.boundingBox();
-            	var elementLocation = new Rectangle((int)boundingBox.x, (int)boundingBox.y, (int)boundingBox.height, (int)boundingBox.width);
-                Color color;
-                if (globalPassFailStatus) {
-                    color = new Color(165, 210, 165); // green
-                } else {
-                    color = new Color(255, 255, 153); // yellow
-                }
-                src = ImageProcessingActions.highlightElementInScreenshot(src, elementLocation, color);
-            }
-            startOrAppendToAnimatedGif(src);
-            if (takeScreenshot) {
-                return addScreenshotToReport(src);
-            } else {
-                return null;
+            	elementLocation = new Rectangle((int)boundingBox.x, (int)boundingBox.y, (int)boundingBox.height, (int)boundingBox.width);
             }
+            return processScreenshot(src, elementLocation, takeScreenshot);
         }
         return null;
 	}
@@ -541,7 +556,7 @@ public class ScreenshotManager {
     private static byte[] takeScreenshot(WebDriver driver) {
         return switch (SCREENSHOT_PARAMS_SCREENSHOTTYPE.toLowerCase().trim()) {
             case "fullpage" -> takeFullPageScreenshot(driver);
-            case "element" -> takeElementScreenshot(driver, targetElementLocator, true);
+            case "element" -> takeElementScreenshot(driver, state().targetElementLocator, true);
             default -> ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
         };
     }
@@ -557,7 +572,8 @@ public class ScreenshotManager {
     private static byte[] takeElementScreenshot(WebDriver driver, By targetElementLocator, Boolean
             returnRegularScreenshotInCaseOfFailure) {
         try {
-            if (targetElementLocator != null && ElementActions.getElementsCount(driver, targetElementLocator,
+            if (targetElementLocator != null && !ResolvedElement.isAbsent(driver, targetElementLocator)
+                    && ElementActions.getElementsCount(driver, targetElementLocator,
                     RETRIESBEFORETHROWINGELEMENTNOTFOUNDEXCEPTION) == 1) {
                 return driver.findElement(targetElementLocator).getScreenshotAs(OutputType.BYTES);
             } else {
@@ -599,23 +615,67 @@ public class ScreenshotManager {
         }
     }
 
-    private static List<Object> addScreenshotToReport(byte[] screenshotFile) {
-        /*
-         * Adding Screenshot to the Report.
-         *
-         */
-        try {
-            // add SHAFT_Engine logo overlay
-            InputStream in = new ByteArrayInputStream(screenshotFile);
-            BufferedImage screenshotImage = ImageIO.read(in);
-            overlayShaftEngineLogo(screenshotImage);
-
-            ByteArrayOutputStream screenshotOutputStream = new ByteArrayOutputStream();
-            ImageIO.write(screenshotImage, "png", screenshotOutputStream);
-            return Arrays.asList("Screenshot", screenshotFileName,
-                    new ByteArrayInputStream(screenshotOutputStream.toByteArray()));
-        } catch (IOException e) {
-            ReportManagerHelper.log(e);
+    /**
+     * Hands the captured screenshot over to the processing pool, which highlights the target element, appends the
+     * screenshot to the animated GIF and watermarks it for the report, in the background. The screenshot is decoded
+     * at most once, and isn't decoded at all if it can be attached as captured. A screenshot that is the same as
+     * the previous one isn't processed again; it completes with the same content, which the report then references.
+     *
+     * @param screenshot      the captured screenshot
+     * @param elementLocation the location of the element that should be highlighted, or null
+     * @param takeScreenshot  true if the screenshot should be attached to the report, false if it's only used for the
+     *                        animated GIF
+     * @return the screenshot attachment, its content completes once it's processed, or null if it shouldn't be
+     * attached
+     */
+    private static List<Object> processScreenshot(byte[] screenshot, Rectangle elementLocation, boolean takeScreenshot) {
+        var state = state();
+        Color highlightColor;
+        if (state.globalPassFailStatus) {
+            highlightColor = new Color(165, 210, 165); // green
+        } else {
+            highlightColor = new Color(255, 255, 153); // yellow
+        }
+        // screenshots that highlight a different element, or highlight it in a different color, are never duplicates
+        var highlight = elementLocation == null ? null : Arrays.asList(elementLocation, highlightColor);
+        var processedScreenshot = ScreenshotProcessingPool.submit(() -> {
+            if (screenshot == null || screenshot.length == 0) {
+                return null;
+            }
+            boolean deduplicate = ScreenshotDeduplicator.isEnabled();
+            boolean attachAsCaptured = elementLocation == null && !Boolean.TRUE.equals(SCREENSHOT_PARAMS_WATERMARK)
+                    && ScreenshotEncoder.isPng();
+            if (attachAsCaptured && !Boolean.TRUE.equals(CREATE_GIF)) {
+                if (!takeScreenshot) {
+                    return null;
+                }
+                return deduplicate ? state.deduplicator.deduplicateAttachment(screenshot, highlight, () -> screenshot) : screenshot;
+            }
+            BufferedImage image;
+            try {
+                image = ImageIO.read(new ByteArrayInputStream(screenshot));
+            } catch (IOException e) {
+                ReportManagerHelper.logDiscrete(e);
+                return null;
+            }
+            if (image == null) {
+                return null;
+            }
+            if (elementLocation != null) {
+                ImageProcessingActions.highlightElementInScreenshot(image, elementLocation, highlightColor);
+            }
+            if (!deduplicate || !state.deduplicator.isDuplicateFrame(screenshot, highlight)) {
+                startOrAppendToAnimatedGif(state, image);
+            }
+            if (!takeScreenshot) {
+                return null;
+            }
+            Supplier<byte[]> encoder = () -> attachAsCaptured ? screenshot : ScreenshotEncoder.encode(overlayShaftEngineLogo(image));
+            return deduplicate ? state.deduplicator.deduplicateAttachment(screenshot, highlight, encoder) : encoder.get();
+        });
+        if (takeScreenshot) {
+            return Arrays.asList("Screenshot", state.screenshotFileName, processedScreenshot);
+        } else {
             return null;
         }
     }
@@ -642,7 +702,7 @@ public class ScreenshotManager {
         String backgroud;
         String backgroundColor;
 
-        if (globalPassFailStatus) {
+        if (state().globalPassFailStatus) {
             backgroud = "#46aad2";
             backgroundColor = "#A5D2A5";
         } else {
@@ -655,42 +715,20 @@ public class ScreenshotManager {
 
     }
 
-    private static synchronized void startAnimatedGif(byte[] screenshot) {
-        // TODO: refactor performance to reduce severe drop when enabling this option
+    private static void startAnimatedGif(ScreenshotState state, BufferedImage screenshot) {
         if (Boolean.TRUE.equals(CREATE_GIF) && screenshot != null) {
             try {
-                testCaseName = ReportManagerHelper.getTestMethodName();
                 String gifFileName = FileSystems.getDefault().getSeparator() + System.currentTimeMillis() + "_"
-                        + testCaseName + ".gif";
-                gifRelativePathWithFileName = SCREENSHOT_FOLDERPATH + SCREENSHOT_FOLDERNAME + gifFileName;
-
-                // grab the output image type from the first image in the sequence
-                BufferedImage firstImage = ImageIO.read(new ByteArrayInputStream(screenshot));
-                
-                //scaling it down
-                firstImage = Scalr.resize(firstImage, Scalr.Method.BALANCED, GIF_SIZE);
-                
-                // create a new BufferedOutputStream
+                        + state.testCaseName + ".gif";
+                state.gifRelativePathWithFileName = SCREENSHOT_FOLDERPATH + SCREENSHOT_FOLDERNAME + gifFileName;
                 FileActions.createFile(SCREENSHOT_FOLDERPATH + SCREENSHOT_FOLDERNAME, gifFileName);
-                gifOutputStream.set(new FileImageOutputStream(new File(gifRelativePathWithFileName)));
-
-                // create a gif sequence with the type of the first image, 500 milliseconds
-                // between frames, which loops infinitely
-                gifWriter.set(
-                        new AnimatedGifManager(gifOutputStream.get(), firstImage.getType(), GIF_FRAME_DELAY));
-
-                // draw initial blank image to set the size of the GIF...
-                BufferedImage initialImage = new BufferedImage(firstImage.getWidth(), firstImage.getHeight(),
-                        firstImage.getType());
-                Graphics2D initialImageGraphics = initialImage.createGraphics();
-                initialImageGraphics.setBackground(Color.WHITE);
-                initialImageGraphics.clearRect(0, 0, firstImage.getWidth(), firstImage.getHeight());
-
-                // write out initialImage to the sequence...
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(initialImage));
-                initialImageGraphics.dispose();
-                // write out first image to the sequence...
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(firstImage));
+
+                // the size of the GIF is taken from the first screenshot, scaled down to GIF_SIZE if it's wider,
+                // and every frame is watermarked after it's scaled
+                state.gifWriter = new AnimatedGifManager(new File(state.gifRelativePathWithFileName),
+                        screenshot.getWidth(), screenshot.getHeight(), GIF_SIZE, GIF_FRAME_DELAY,
+                        ScreenshotManager::overlayShaftEngineLogo);
+                state.gifWriter.writeToSequence(screenshot);
             } catch (NullPointerException | NoSuchSessionException e) {
                 // this happens in case the start animated Gif is triggered in a none-test
                 // method
@@ -703,31 +741,36 @@ public class ScreenshotManager {
 
     private static BufferedImage overlayShaftEngineLogo(BufferedImage screenshot) {
         if (Boolean.TRUE.equals(SCREENSHOT_PARAMS_WATERMARK)) {
-            try {
-                // create graphics object
+            var shaftLogo = getScaledWatermark(screenshot.getWidth());
+            if (shaftLogo != null) {
                 Graphics2D screenshotGraphics = screenshot.createGraphics();
                 screenshotGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                screenshotGraphics.drawImage(screenshot, 0, 0, null);
                 screenshotGraphics.setComposite(
                         AlphaComposite.getInstance(AlphaComposite.SRC_OVER, SCREENSHOT_PARAMS_WATERMARKOPACITY));
-
-                BufferedImage shaftLogo;
-                // read from custom location
-                String watermarkImagePath = PropertyFileManager.getDefaultPropertiesFolderPath().replace("defaultProperties/", System.getProperty("watermarkImagePath"));
-                shaftLogo = ImageIO.read(new File(watermarkImagePath));
-                shaftLogo = toBufferedImage(
-                        shaftLogo.getScaledInstance(screenshot.getWidth() / 8, -1, Image.SCALE_SMOOTH));
                 screenshotGraphics.drawImage(shaftLogo, screenshot.getWidth() - shaftLogo.getWidth(),
                         screenshot.getHeight() - shaftLogo.getHeight(), null);
                 screenshotGraphics.dispose();
-            } catch (IOException e) {
-                // do nothing and proceed to return the original screenshot
             }
         }
         return screenshot;
     }
 
+    /**
+     * Returns the watermark scaled to an eighth of the screenshot width. The watermark is read once, and scaled once
+     * for every screenshot width.
+     *
+     * @param screenshotWidth the width of the screenshot that will be watermarked
+     * @return the scaled watermark, or null if the watermark image can't be read
+     */
+    private static BufferedImage getScaledWatermark(int screenshotWidth) {
+        var watermark = WatermarkHolder.WATERMARK;
+        if (watermark == null || screenshotWidth < 8) {
+            return null;
+        }
+        return scaledWatermarks.computeIfAbsent(screenshotWidth, width -> toBufferedImage(
+                watermark.getScaledInstance(width / 8, -1, Image.SCALE_SMOOTH)));
+    }
+
     private static BufferedImage toBufferedImage(Image img) {
         if (img instanceof BufferedImage) {
             return (BufferedImage) img;
@@ -745,25 +788,21 @@ public class ScreenshotManager {
         return bimage;
     }
 
-    private static synchronized void startOrAppendToAnimatedGif(byte[] screenshot) {
+    private static void startOrAppendToAnimatedGif(ScreenshotState state, BufferedImage screenshot) {
         // ensure that animatedGif is started, else force start it
         if (Boolean.TRUE.equals(CREATE_GIF)) {
-            if ("".equals(gifRelativePathWithFileName)) {
-                startAnimatedGif(screenshot);
+            if ("".equals(state.gifRelativePathWithFileName)) {
+                startAnimatedGif(state, screenshot);
             } else {
-                appendToAnimatedGif(screenshot);
+                appendToAnimatedGif(state, screenshot);
             }
         }
     }
 
-    private static synchronized void appendToAnimatedGif(byte[] screenshot) {
+    private static void appendToAnimatedGif(ScreenshotState state, BufferedImage screenshot) {
         try {
-            BufferedImage image;
-            if (screenshot != null) {                
-                image = ImageIO.read(new ByteArrayInputStream(screenshot));
-            	//scaling it down
-                image = Scalr.resize(image, Scalr.Method.BALANCED, GIF_SIZE);
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(image));
+            if (screenshot != null) {
+                state.gifWriter.writeToSequence(screenshot);
             }
         } catch (NoSuchSessionException e) {
             // this happens when attempting to append to a non existing gif, expected
@@ -774,4 +813,37 @@ public class ScreenshotManager {
             ReportManagerHelper.log(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the watermark image the first time it's needed
+     */
+    private static class WatermarkHolder {
+        private static final BufferedImage WATERMARK = readWatermark();
+
+        private static BufferedImage readWatermark() {
+            try {
+                // read from custom location
+                String watermarkImagePath = PropertyFileManager.getDefaultPropertiesFolderPath().replace("defaultProperties/", System.getProperty("watermarkImagePath"));
+                return ImageIO.read(new File(watermarkImagePath));
+            } catch (IOException e) {
+                // do nothing and proceed to return the original screenshot
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The screenshot naming, highlighting and animated GIF state of the test that is running on the current thread
+     */
+    private static class ScreenshotState {
+        private String screenshotFileName = "Screenshot";
+        private By aiGeneratedElementLocator = null;
+        private By targetElementLocator;
+        private boolean globalPassFailStatus = false;
+        private String globalPassFailAppendedText = "";
+        private String testCaseName = "";
+        private String gifRelativePathWithFileName = "";
+        private AnimatedGifManager gifWriter;
+        private final ScreenshotDeduplicator deduplicator = new ScreenshotDeduplicator();
+    }
+}
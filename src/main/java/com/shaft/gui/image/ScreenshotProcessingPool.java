@@ -0,0 +1,94 @@
+package com.shaft.gui.image;
+
+import com.shaft.tools.io.ReportManagerHelper;
+import com.shaft.tools.support.ExecutionScope;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the image work that follows a screenshot capture (highlighting, watermarking, encoding and appending to the
+ * animated GIF) on a small pool of background threads, so that the test thread only waits for the capture itself.
+ * <p>
+ * The tasks of every test run one after the other in the order they were submitted, while the tasks of different
+ * tests run in parallel. The number of pending tasks is bounded; once the limit is reached the submitting test thread
+ * blocks until a task completes, so that a slow disk or a large GIF can't pile up screenshots in memory.
+ */
+class ScreenshotProcessingPool {
+    private static final int THREADS = Math.max(1, Integer
+            .parseInt(System.getProperty("screenshotProcessingThreads", "2").trim()));
+    private static final int MAXIMUM_PENDING_TASKS = Math.max(1, Integer
+            .parseInt(System.getProperty("screenshotProcessingQueueCapacity", "16").trim()));
+    private static final Semaphore pendingTasks = new Semaphore(MAXIMUM_PENDING_TASKS);
+    private static final ExecutorService executor = Executors.newFixedThreadPool(THREADS, new ProcessingThreadFactory());
+
+    private ScreenshotProcessingPool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Submits a task that will run after all the tasks that the current test submitted before it
+     *
+     * @param task the image processing work
+     * @param <T>  the type of the task result
+     * @return a future that completes with the task result, or with null if the task failed
+     */
+    static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            pendingTasks.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(task.get());
+        }
+        var state = state();
+        CompletableFuture<T> result = state.lastTask.thenApplyAsync(previousResult -> {
+            try {
+                return task.get();
+            } catch (RuntimeException e) {
+                ReportManagerHelper.logDiscrete(e);
+                return null;
+            } finally {
+                pendingTasks.release();
+            }
+        }, executor);
+        state.lastTask = result.handle((value, throwable) -> null);
+        return result;
+    }
+
+    /**
+     * Waits until all the tasks that the current test submitted are complete, called once the test method is over
+     * and before its animated GIF is attached
+     */
+    static void flush() {
+        try {
+            state().lastTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            ReportManagerHelper.logDiscrete(e);
+        }
+    }
+
+    private static ProcessingState state() {
+        return ExecutionScope.current().getState(ProcessingState.class, ProcessingState::new);
+    }
+
+    /**
+     * The last task that the test running on the current thread submitted
+     */
+    private static class ProcessingState {
+        private CompletableFuture<Object> lastTask = CompletableFuture.completedFuture(null);
+    }
+
+    private static class ProcessingThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, "SHAFT-ScreenshotProcessor-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
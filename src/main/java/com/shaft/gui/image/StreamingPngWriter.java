@@ -0,0 +1,153 @@
+package com.shaft.gui.image;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a PNG image row by row, so that a tall image can be assembled from several smaller images without ever holding
+ * all of its pixels in memory. Only the current and previous rows and the compressed data are kept.
+ * <p>
+ * Every row uses the PNG "up" filter, which compresses the repeated rows of web pages well and is cheap to compute.
+ */
+class StreamingPngWriter {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int FILTER_UP = 2;
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final DataOutputStream outputStream;
+    private final int width;
+    private final int height;
+    private final Deflater deflater;
+    private final ByteArrayOutputStream compressedRows = new ByteArrayOutputStream(CHUNK_SIZE + 1024);
+    private final DeflaterOutputStream deflaterStream;
+    private final int[] pixels;
+    private byte[] previousRow;
+    private byte[] currentRow;
+    private int writtenRows = 0;
+
+    /**
+     * @param outputStream     where the PNG is written to
+     * @param width            the width of the image
+     * @param height           the height of the image, exactly this number of rows must be written before it's closed
+     * @param compressionLevel from 0 (fastest) to 9 (smallest)
+     * @throws IOException if the output can't be written
+     */
+    StreamingPngWriter(OutputStream outputStream, int width, int height, int compressionLevel) throws IOException {
+        this.outputStream = new DataOutputStream(outputStream);
+        this.width = width;
+        this.height = height;
+        this.deflater = new Deflater(compressionLevel);
+        this.deflaterStream = new DeflaterOutputStream(compressedRows, deflater, CHUNK_SIZE);
+        this.pixels = new int[width];
+        this.previousRow = new byte[width * 3 + 1];
+        this.currentRow = new byte[width * 3 + 1];
+
+        this.outputStream.write(SIGNATURE);
+        var header = new ByteArrayOutputStream(13);
+        var headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(8); // bit depth
+        headerData.writeByte(2); // truecolor RGB
+        headerData.writeByte(0); // deflate
+        headerData.writeByte(0); // adaptive filtering
+        headerData.writeByte(0); // no interlacing
+        writeChunk("IHDR", header.toByteArray(), header.size());
+    }
+
+    int getWrittenRows() {
+        return writtenRows;
+    }
+
+    /**
+     * Appends rows from the image, the image is cropped or padded with white to the width of the PNG
+     *
+     * @param image    the image to copy the rows from
+     * @param firstRow the first row of the image that should be copied
+     * @param rowCount the number of rows that should be copied
+     * @throws IOException if the output can't be written
+     */
+    void writeRows(BufferedImage image, int firstRow, int rowCount) throws IOException {
+        int copiedWidth = Math.min(width, image.getWidth());
+        Arrays.fill(pixels, copiedWidth, width, 0xFFFFFF);
+        for (int y = firstRow; y < firstRow + rowCount && writtenRows < height; y++) {
+            image.getRGB(0, y, copiedWidth, 1, pixels, 0, width);
+            writeRow();
+        }
+    }
+
+    /**
+     * Appends white rows
+     *
+     * @param rowCount the number of rows
+     * @throws IOException if the output can't be written
+     */
+    void writeBlankRows(int rowCount) throws IOException {
+        Arrays.fill(pixels, 0xFFFFFF);
+        for (int i = 0; i < rowCount && writtenRows < height; i++) {
+            writeRow();
+        }
+    }
+
+    /**
+     * Pads the image with white rows if needed, then finishes it
+     *
+     * @throws IOException if the output can't be written
+     */
+    void close() throws IOException {
+        writeBlankRows(height - writtenRows);
+        deflaterStream.finish();
+        deflater.end();
+        flushCompressedRows();
+        writeChunk("IEND", new byte[0], 0);
+        outputStream.flush();
+    }
+
+    private void writeRow() throws IOException {
+        for (int x = 0; x < width; x++) {
+            int rgb = pixels[x];
+            int i = x * 3 + 1;
+            currentRow[i] = (byte) (rgb >> 16);
+            currentRow[i + 1] = (byte) (rgb >> 8);
+            currentRow[i + 2] = (byte) rgb;
+        }
+        // the filtered row replaces the previous row, which isn't needed anymore
+        previousRow[0] = FILTER_UP;
+        for (int i = 1; i < currentRow.length; i++) {
+            previousRow[i] = (byte) (currentRow[i] - previousRow[i]);
+        }
+        deflaterStream.write(previousRow);
+        var swap = previousRow;
+        previousRow = currentRow;
+        currentRow = swap;
+        writtenRows++;
+        if (compressedRows.size() >= CHUNK_SIZE) {
+            flushCompressedRows();
+        }
+    }
+
+    private void flushCompressedRows() throws IOException {
+        if (compressedRows.size() > 0) {
+            writeChunk("IDAT", compressedRows.toByteArray(), compressedRows.size());
+            compressedRows.reset();
+        }
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        var crc = new CRC32();
+        var typeBytes = type.getBytes();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        outputStream.writeInt(length);
+        outputStream.write(typeBytes);
+        outputStream.write(data, 0, length);
+        outputStream.writeInt((int) crc.getValue());
+    }
+}
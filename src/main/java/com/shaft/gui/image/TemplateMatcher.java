@@ -0,0 +1,404 @@
+package com.shaft.gui.image;
+
+import com.shaft.cli.FileActions;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.tools.io.ReportManagerHelper;
+import nu.pattern.OpenCV;
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfByte;
+import org.opencv.core.Point;
+import org.opencv.core.Rect;
+import org.opencv.core.Scalar;
+import org.opencv.core.Size;
+import org.opencv.highgui.HighGui;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Finds reference images (templates) within screenshots using OpenCV.
+ * <p>
+ * The OpenCV native library is loaded once, the first time it's needed. Decoded templates are kept in a least recently
+ * used cache of templateMatcher_cacheSize entries, keyed by their path and modification time so that an updated
+ * reference image is decoded again. The native buffers of every match are released as soon as it's done, and those of
+ * a cached template once it's evicted and no match is using it anymore.
+ * <p>
+ * Unless templateMatcher_pyramidSearch is disabled, a template is first matched around the location where it was last
+ * found, and that match is kept if its normalized score is at least 0.99. Otherwise the template and the screenshot are
+ * downscaled by up to 8 times, keeping the template at least 12 pixels wide and high, and the full template is then
+ * matched only around the best few locations of the downscaled template. Both shortcuts are only taken for
+ * TM_CCOEFF_NORMED and TM_SQDIFF_NORMED; the other methods, such as TM_CCORR_NORMED, score blank and low contrast areas
+ * close to a perfect match, so their templates are always matched against the whole screenshot.
+ */
+public class TemplateMatcher {
+    private static final int CACHE_SIZE = Math.max(1, Integer.parseInt(System
+            .getProperty("templateMatcher_cacheSize", "32").trim()));
+    private static final int MAXIMUM_PYRAMID_SCALE = 8;
+    private static final int MINIMUM_COARSE_TEMPLATE_SIZE = 12;
+    private static final int COARSE_CANDIDATES = 3;
+    private static final double LAST_KNOWN_LOCATION_CONFIDENCE = 0.99;
+    private static final Map<String, CachedTemplate> templates = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedTemplate> eldest) {
+            if (size() > CACHE_SIZE) {
+                eldest.getValue().evict();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private TemplateMatcher() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Loads the OpenCV native library, only the first call actually loads it
+     *
+     * @return true if the library is loaded
+     */
+    public static boolean loadOpenCV() {
+        return OpenCVLoader.LOADED;
+    }
+
+    /**
+     * Finds the best match of the reference image within the screenshot
+     *
+     * @param templatePath the path to the reference image
+     * @param screenshot   the encoded screenshot
+     * @param matchMethod  one of the Imgproc.TM_* template matching methods
+     * @return the best match, or null if the reference image or the screenshot can't be read, or if the reference
+     * image is larger than the screenshot
+     */
+    public static Match find(String templatePath, byte[] screenshot, int matchMethod) {
+        if (!loadOpenCV()) {
+            return null;
+        }
+        var template = acquireTemplate(templatePath);
+        if (template == null) {
+            return null;
+        }
+        var encodedScreenshot = new MatOfByte(screenshot);
+        var image = Imgcodecs.imdecode(encodedScreenshot, Imgcodecs.IMREAD_COLOR);
+        try {
+            var templateImage = template.image;
+            if (image.empty() || image.cols() < templateImage.cols() || image.rows() < templateImage.rows()) {
+                return null;
+            }
+            long startTime = System.nanoTime();
+            Candidate bestMatch = null;
+            if (Boolean.parseBoolean(System.getProperty("templateMatcher_pyramidSearch", "true").trim())
+                    && isDiscriminative(matchMethod)) {
+                var lastKnownLocation = template.lastKnownLocation;
+                if (lastKnownLocation != null) {
+                    bestMatch = search(image, templateImage, (int) lastKnownLocation.x - templateImage.cols(),
+                            (int) lastKnownLocation.y - templateImage.rows(), 3 * templateImage.cols(), 3 * templateImage.rows(), matchMethod);
+                    if (bestMatch != null && !isConfident(bestMatch.score, matchMethod)) {
+                        bestMatch = null;
+                    }
+                }
+                if (bestMatch == null) {
+                    bestMatch = pyramidSearch(image, templateImage, matchMethod);
+                }
+            } else {
+                bestMatch = search(image, templateImage, 0, 0, image.cols(), image.rows(), matchMethod);
+            }
+            long matchTime = (System.nanoTime() - startTime) / 1_000_000;
+            if (bestMatch == null) {
+                return null;
+            }
+            template.lastKnownLocation = bestMatch.location;
+            if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("debugMode")))) {
+                writeDebugImage(image, bestMatch.location, templateImage);
+            }
+            return new Match((int) bestMatch.location.x, (int) bestMatch.location.y, templateImage.cols(), templateImage.rows(),
+                    bestMatch.score, matchTime);
+        } finally {
+            image.release();
+            encodedScreenshot.release();
+            template.release();
+        }
+    }
+
+    /**
+     * Releases all the cached templates
+     */
+    public static void clearCache() {
+        synchronized (templates) {
+            templates.values().forEach(CachedTemplate::evict);
+            templates.clear();
+        }
+    }
+
+    private static CachedTemplate acquireTemplate(String templatePath) {
+        var templateFile = new File(templatePath);
+        if (!templateFile.isFile()) {
+            return null;
+        }
+        String key = templateFile.getAbsolutePath() + "@" + templateFile.lastModified() + ":" + templateFile.length();
+        synchronized (templates) {
+            var template = templates.get(key);
+            if (template == null) {
+                var image = Imgcodecs.imread(templateFile.getAbsolutePath(), Imgcodecs.IMREAD_COLOR);
+                if (image.empty()) {
+                    image.release();
+                    return null;
+                }
+                template = new CachedTemplate(image);
+                templates.put(key, template);
+            }
+            template.users++;
+            return template;
+        }
+    }
+
+    /**
+     * Matches a downscaled template within the downscaled screenshot first, then matches the full template only around
+     * the best few candidates
+     */
+    private static Candidate pyramidSearch(Mat image, Mat templateImage, int matchMethod) {
+        int scale = 1;
+        while (scale < MAXIMUM_PYRAMID_SCALE
+                && Math.min(templateImage.cols(), templateImage.rows()) / (scale * 2) >= MINIMUM_COARSE_TEMPLATE_SIZE) {
+            scale *= 2;
+        }
+        if (scale == 1) {
+            return search(image, templateImage, 0, 0, image.cols(), image.rows(), matchMethod);
+        }
+        var coarseImage = new Mat();
+        var coarseTemplate = new Mat();
+        var coarseResult = new Mat();
+        try {
+            Imgproc.resize(image, coarseImage, new Size(image.cols() / scale, image.rows() / scale), 0, 0, Imgproc.INTER_AREA);
+            Imgproc.resize(templateImage, coarseTemplate, new Size(templateImage.cols() / scale, templateImage.rows() / scale), 0, 0, Imgproc.INTER_AREA);
+            Imgproc.matchTemplate(coarseImage, coarseTemplate, coarseResult, matchMethod);
+            boolean isDifferenceMethod = isDifferenceMethod(matchMethod);
+            Candidate bestMatch = null;
+            for (int i = 0; i < COARSE_CANDIDATES; i++) {
+                var mmr = Core.minMaxLoc(coarseResult);
+                var coarseLocation = isDifferenceMethod ? mmr.minLoc : mmr.maxLoc;
+                // the full template is matched within a margin that covers the rounding of the downscaled location
+                var candidate = search(image, templateImage, (int) coarseLocation.x * scale - 2 * scale,
+                        (int) coarseLocation.y * scale - 2 * scale, templateImage.cols() + 4 * scale,
+                        templateImage.rows() + 4 * scale, matchMethod);
+                if (candidate != null && (bestMatch == null || isBetter(candidate.score, bestMatch.score, matchMethod))) {
+                    bestMatch = candidate;
+                }
+                // excludes this peak and its surroundings from the next candidates
+                Imgproc.rectangle(coarseResult,
+                        new Point(coarseLocation.x - coarseTemplate.cols() / 2d, coarseLocation.y - coarseTemplate.rows() / 2d),
+                        new Point(coarseLocation.x + coarseTemplate.cols() / 2d, coarseLocation.y + coarseTemplate.rows() / 2d),
+                        new Scalar(isDifferenceMethod ? mmr.maxVal : mmr.minVal), Imgproc.FILLED);
+            }
+            return bestMatch;
+        } finally {
+            coarseResult.release();
+            coarseTemplate.release();
+            coarseImage.release();
+        }
+    }
+
+    /**
+     * Matches the template within a window of the screenshot, the window is clipped to the screenshot
+     *
+     * @return the best match within the window, or null if the clipped window is smaller than the template
+     */
+    private static Candidate search(Mat image, Mat templateImage, int x, int y, int width, int height, int matchMethod) {
+        int left = Math.max(0, x);
+        int top = Math.max(0, y);
+        int right = Math.min(image.cols(), x + width);
+        int bottom = Math.min(image.rows(), y + height);
+        if (right - left < templateImage.cols() || bottom - top < templateImage.rows()) {
+            return null;
+        }
+        var window = image.submat(new Rect(left, top, right - left, bottom - top));
+        var result = new Mat();
+        try {
+            Imgproc.matchTemplate(window, templateImage, result, matchMethod);
+            var mmr = Core.minMaxLoc(result);
+            boolean isDifferenceMethod = isDifferenceMethod(matchMethod);
+            var location = isDifferenceMethod ? mmr.minLoc : mmr.maxLoc;
+            return new Candidate(new Point(location.x + left, location.y + top), isDifferenceMethod ? mmr.minVal : mmr.maxVal);
+        } finally {
+            result.release();
+            window.release();
+        }
+    }
+
+    private static boolean isDifferenceMethod(int matchMethod) {
+        return matchMethod == Imgproc.TM_SQDIFF || matchMethod == Imgproc.TM_SQDIFF_NORMED;
+    }
+
+    private static boolean isBetter(double score, double otherScore, int matchMethod) {
+        return isDifferenceMethod(matchMethod) ? score < otherScore : score > otherScore;
+    }
+
+    /**
+     * @return true if the scores of the match method tell the template apart from blank and low contrast areas, so that
+     * a match around the last known location can be trusted and weak coarse candidates can be pruned
+     */
+    private static boolean isDiscriminative(int matchMethod) {
+        return matchMethod == Imgproc.TM_CCOEFF_NORMED || matchMethod == Imgproc.TM_SQDIFF_NORMED;
+    }
+
+    /**
+     * @return true if a match around the last known location is good enough to skip searching the whole screenshot
+     */
+    private static boolean isConfident(double score, int matchMethod) {
+        return isDifferenceMethod(matchMethod) ? score <= 1 - LAST_KNOWN_LOCATION_CONFIDENCE
+                : score >= LAST_KNOWN_LOCATION_CONFIDENCE;
+    }
+
+    private static void writeDebugImage(Mat image, Point matchLocation, Mat templateImage) {
+        Imgproc.rectangle(image, matchLocation, new Point(matchLocation.x + templateImage.cols(), matchLocation.y + templateImage.rows()),
+                new Scalar(0, 0, 0), 2, 8, 0);
+        try {
+            FileActions.createFolder("target/openCV/");
+            ImageIO.write((BufferedImage) HighGui.toBufferedImage(image), "png",
+                    new File("target/openCV/" + System.currentTimeMillis() + ".png"));
+        } catch (IOException e) {
+            ReportManagerHelper.log(e);
+        }
+    }
+
+    /**
+     * The best match of a reference image within a screenshot
+     */
+    public static class Match {
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private final double score;
+        private final long matchTime;
+
+        private Match(int x, int y, int width, int height, double score, long matchTime) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.score = score;
+            this.matchTime = matchTime;
+        }
+
+        /**
+         * @return the left edge of the match within the screenshot
+         */
+        public int getX() {
+            return x;
+        }
+
+        /**
+         * @return the top edge of the match within the screenshot
+         */
+        public int getY() {
+            return y;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * @return the raw score of the match, its meaning depends on the match method
+         */
+        public double getScore() {
+            return score;
+        }
+
+        /**
+         * @return the time it took to search the decoded screenshot for the reference image, in milliseconds
+         */
+        public long getMatchTime() {
+            return matchTime;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + x + ", " + y + ", " + width + "x" + height + "] with a score of [" + score + "] in [" + matchTime + "] ms";
+        }
+    }
+
+    /**
+     * A match location and its raw score
+     */
+    private static class Candidate {
+        private final Point location;
+        private final double score;
+
+        private Candidate(Point location, double score) {
+            this.location = location;
+            this.score = score;
+        }
+    }
+
+    /**
+     * A decoded template, counting the matches that use it so that it's only released once they're done
+     */
+    private static class CachedTemplate {
+        private final Mat image;
+        private int users = 0;
+        private boolean evicted = false;
+        private volatile Point lastKnownLocation;
+
+        private CachedTemplate(Mat image) {
+            this.image = image;
+        }
+
+        private void evict() {
+            synchronized (templates) {
+                evicted = true;
+                releaseIfUnused();
+            }
+        }
+
+        private void release() {
+            synchronized (templates) {
+                users--;
+                releaseIfUnused();
+            }
+        }
+
+        private void releaseIfUnused() {
+            if (evicted && users == 0) {
+                image.release();
+            }
+        }
+    }
+
+    /**
+     * Loads the OpenCV native library the first time it's referenced
+     */
+    private static class OpenCVLoader {
+        private static final boolean LOADED = load();
+
+        private static boolean load() {
+            try {
+                OpenCV.loadShared();
+                ReportManager.logDiscrete("Loaded Shared OpenCV");
+                return true;
+            } catch (NoClassDefFoundError | RuntimeException | ExceptionInInitializerError e) {
+                try {
+                    OpenCV.loadLocally();
+                    ReportManager.logDiscrete("Loaded Local OpenCV");
+                    return true;
+                } catch (UnsatisfiedLinkError e2) {
+                    ReportManagerHelper.log(e);
+                    ReportManager.logDiscrete("Failed to load OpenCV");
+                    return false;
+                }
+            }
+        }
+    }
+}
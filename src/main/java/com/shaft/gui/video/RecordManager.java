@@ -4,7 +4,6 @@ import static com.automation.remarks.video.RecordingUtils.doVideoProcessing;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.util.Base64;
 
@@ -78,11 +77,12 @@ public class RecordManager {
         if (Boolean.TRUE.equals(RECORD_VIDEO) && recorder.get() != null) {
             pathToRecording = doVideoProcessing(ReportManagerHelper.isCurrentTestPassed(), recorder.get().stopAndSave(System.currentTimeMillis() + "_" + testMethodName));
 
-            try {
-                ReportManagerHelper.attach("Video Recording", testMethodName,
-                        new FileInputStream(encodeRecording(pathToRecording)));
-            } catch (FileNotFoundException e) {
-                ReportManagerHelper.logDiscrete(e);
+            File recording = encodeRecording(pathToRecording);
+            if (recording.exists()) {
+                // moved into the report instead of being read into memory
+                ReportManagerHelper.attach("Video Recording", testMethodName, recording);
+            } else {
+                ReportManagerHelper.logDiscrete(new FileNotFoundException(recording.getPath()));
             }
 
             recorder.set(null);
@@ -0,0 +1,225 @@
+package com.shaft.tools.io;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Describes the action that is currently being performed on this thread: its name, its target, the test (or page
+ * object) method that called it, and how long each of its phases took.
+ * <p>
+ * Actions open a context before they start and close it once their result is reported, so that reporting doesn't have
+ * to capture the full stack trace to find out which action is being performed. Contexts are confined to the thread
+ * that opened them and can be nested (an action that is composed of other actions).
+ * <p>
+ * When no context is open, the action name is resolved by walking only the few frames that are needed using
+ * {@link StackWalker}, instead of materializing the whole stack trace.
+ */
+public class ActionContext implements AutoCloseable {
+    private static final ThreadLocal<Deque<ActionContext>> openContexts = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<ActionContext> lastClosedContext = new ThreadLocal<>();
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private static final String SHAFT_PACKAGE = "com.shaft";
+
+    private final String actionName;
+    private final Object target;
+    private final long startTime;
+    private final Map<String, Duration> phaseTimings = new LinkedHashMap<>();
+    private long lastPhaseTime;
+    private String callingMethodFullName;
+
+    private ActionContext(String actionName, Object target) {
+        this.actionName = actionName;
+        this.target = target;
+        this.startTime = System.nanoTime();
+        this.lastPhaseTime = startTime;
+    }
+
+    /**
+     * Opens a new action context on the current thread
+     *
+     * @param actionName the name of the action, as it should appear in the execution report
+     * @param target     the target of the action (an element locator, a URL, a file path...), may be null
+     * @return the newly opened context, to be closed once the action result is reported
+     */
+    public static ActionContext open(String actionName, Object target) {
+        var context = new ActionContext(actionName, target);
+        openContexts.get().push(context);
+        return context;
+    }
+
+    /**
+     * Returns the innermost context that is open on the current thread if it belongs to the same action, otherwise
+     * opens a new one. Used by actions that identify their target more than once, or that have more than one target
+     * (for example drag and drop).
+     *
+     * @param actionName the name of the action, as it should appear in the execution report
+     * @param target     the target of the action, may be null
+     * @return the open context of this action
+     */
+    public static ActionContext openIfAbsent(String actionName, Object target) {
+        var context = current();
+        if (context != null && context.actionName.equals(actionName)) {
+            return context;
+        }
+        return open(actionName, target);
+    }
+
+    /**
+     * @return the innermost context that is open on the current thread, or null if no action is being performed
+     */
+    public static ActionContext current() {
+        return openContexts.get().peek();
+    }
+
+    /**
+     * @return the last context that was closed on the current thread, or null if no context was closed yet
+     */
+    public static ActionContext getLastClosed() {
+        return lastClosedContext.get();
+    }
+
+    /**
+     * @return the number of contexts that are open on the current thread, taken when an action starts so that the
+     * contexts it opened can be closed once it's over, see {@link #closeOpenedSince(int)}
+     */
+    public static int getOpenCount() {
+        return openContexts.get().size();
+    }
+
+    /**
+     * Discards the contexts that were opened on the current thread since their count was taken, called in the finally
+     * block of an action so that an action that threw an exception doesn't keep naming the following ones
+     *
+     * @param openCount the number of contexts that were open when the action started
+     */
+    public static void closeOpenedSince(int openCount) {
+        var contexts = openContexts.get();
+        while (contexts.size() > openCount) {
+            contexts.pop();
+        }
+    }
+
+    /**
+     * Discards all the contexts that are open on the current thread, called once the test method is over so that an
+     * action that was interrupted by an unexpected exception doesn't affect the following ones
+     */
+    public static void closeAll() {
+        openContexts.get().clear();
+    }
+
+    /**
+     * Returns the name of the current action, or the name of the method that called the reporting method if no
+     * context is open
+     *
+     * @return the name of the current action
+     */
+    public static String getCurrentActionName() {
+        var context = current();
+        if (context != null) {
+            return context.actionName;
+        }
+        // [0] this method, [1] the reporting method, [2] the action that called it
+        return stackWalker.walk(frames -> frames.skip(2).findFirst())
+                .map(StackWalker.StackFrame::getMethodName).orElse("");
+    }
+
+    /**
+     * Returns the name of the method that called the method invoking this one, skipping any frames whose method name
+     * is one of the provided names (overloads and internal helpers)
+     *
+     * @param methodNamesToSkip the names of the intermediate methods that should be skipped
+     * @return the calling method name
+     */
+    public static String getCallerMethodName(String... methodNamesToSkip) {
+        var namesToSkip = Set.of(methodNamesToSkip);
+        // [0] this method, [1] the method invoking it, [2] its caller
+        return stackWalker.walk(frames -> frames.skip(2)
+                        .dropWhile(frame -> namesToSkip.contains(frame.getMethodName()))
+                        .findFirst())
+                .map(StackWalker.StackFrame::getMethodName).orElse("");
+    }
+
+    /**
+     * Returns the class name of a calling method
+     *
+     * @param depth the number of frames between the method invoking this one and the target frame, 1 being its
+     *              direct caller
+     * @return the fully qualified class name of the calling method
+     */
+    public static String getCallerClassName(int depth) {
+        return stackWalker.walk(frames -> frames.skip(depth + 1L).findFirst())
+                .map(StackWalker.StackFrame::getClassName).orElse("");
+    }
+
+    /**
+     * Returns the full name (class.method) of the first method outside SHAFT_Engine that led to the current action,
+     * it is only resolved once per action
+     *
+     * @return the calling method full name
+     */
+    public static String getCallingMethodFullName() {
+        var context = current();
+        if (context == null) {
+            return findCallingMethodFullName();
+        }
+        if (context.callingMethodFullName == null) {
+            context.callingMethodFullName = findCallingMethodFullName();
+        }
+        return context.callingMethodFullName;
+    }
+
+    private static String findCallingMethodFullName() {
+        return stackWalker.walk(frames -> frames
+                        .filter(frame -> !frame.getClassName().contains(SHAFT_PACKAGE))
+                        .findFirst())
+                .map(frame -> frame.getMethodName().isEmpty() ? frame.getClassName() : frame.getClassName() + "." + frame.getMethodName())
+                .orElse("");
+    }
+
+    /**
+     * Records the duration of a phase of the current action, measured from the end of the previous phase
+     *
+     * @param phaseName the name of the phase that just ended (for example: identify, perform, report)
+     */
+    public void markPhase(String phaseName) {
+        long now = System.nanoTime();
+        phaseTimings.merge(phaseName, Duration.ofNanos(now - lastPhaseTime), Duration::plus);
+        lastPhaseTime = now;
+    }
+
+    public String getActionName() {
+        return actionName;
+    }
+
+    public Object getTarget() {
+        return target;
+    }
+
+    /**
+     * @return the duration of every phase of this action, in the order they were first recorded
+     */
+    public Map<String, Duration> getPhaseTimings() {
+        return Collections.unmodifiableMap(phaseTimings);
+    }
+
+    /**
+     * @return the time elapsed since this action started
+     */
+    public Duration getElapsedTime() {
+        return Duration.ofNanos(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Closes this context, and any context that was opened within it and was not closed
+     */
+    @Override
+    public void close() {
+        var contexts = openContexts.get();
+        if (contexts.contains(this)) {
+            while (!contexts.isEmpty() && contexts.pop() != this) {
+                // discard nested contexts that were not closed, for example due to an unexpected exception
+            }
+            lastClosedContext.set(this);
+        }
+    }
+}
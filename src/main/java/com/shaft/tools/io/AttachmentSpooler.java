@@ -0,0 +1,144 @@
+package com.shaft.tools.io;
+
+import com.shaft.tools.support.ExecutionScope;
+import io.qameta.allure.Allure;
+import io.qameta.allure.util.PropertiesUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the content of report attachments into the allure results directory on a small pool of background threads,
+ * so that the test thread only prepares the attachment (which adds it to the current step) and moves on.
+ * <p>
+ * Streams are copied straight into their attachment files, and files that are no longer needed (video recordings and
+ * animated GIFs) are moved into place instead of being read. The number of pending writes is bounded; once the limit
+ * is reached the attaching test thread blocks until a write completes. The writes of every test are waited for once
+ * the test is over, so that all of its attachments are complete before the next test starts.
+ */
+class AttachmentSpooler {
+    private static final int THREADS = Math.max(1, Integer
+            .parseInt(System.getProperty("attachmentSpoolerThreads", "2").trim()));
+    private static final int MAXIMUM_PENDING_WRITES = Math.max(1, Integer
+            .parseInt(System.getProperty("attachmentSpoolerQueueCapacity", "32").trim()));
+    private static final Semaphore pendingWrites = new Semaphore(MAXIMUM_PENDING_WRITES);
+    private static final ExecutorService executor = Executors.newFixedThreadPool(THREADS, new SpoolerThreadFactory());
+
+    private AttachmentSpooler() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Copies a stream into the file of an attachment that was already prepared, and closes the stream
+     *
+     * @param attachmentSource  the source of the prepared attachment
+     * @param attachmentContent the content of the attachment
+     */
+    static void write(String attachmentSource, InputStream attachmentContent) {
+        submit(() -> Allure.getLifecycle().writeAttachment(attachmentSource, attachmentContent));
+    }
+
+    /**
+     * Moves a file into place as the file of an attachment that was already prepared. The file is copied instead if
+     * it can't be moved.
+     *
+     * @param attachmentSource the source of the prepared attachment
+     * @param attachmentFile   the content of the attachment, which is no longer needed once attached
+     */
+    static void move(String attachmentSource, Path attachmentFile) {
+        submit(() -> {
+            try {
+                var resultsDirectory = Path.of(PropertiesUtils.loadAllureProperties()
+                        .getProperty("allure.results.directory", "allure-results"));
+                Files.createDirectories(resultsDirectory);
+                Files.move(attachmentFile, resultsDirectory.resolve(attachmentSource), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException moveFailure) {
+                try {
+                    Allure.getLifecycle().writeAttachment(attachmentSource, Files.newInputStream(attachmentFile));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Tracks an attachment write that runs elsewhere, such as a screenshot that is written once its processing
+     * completes, so that it's waited for along with the writes of the current test
+     *
+     * @param write completes once the attachment is written
+     */
+    static void track(CompletableFuture<?> write) {
+        var writes = state().pendingWrites;
+        writes.add(write);
+        write.whenComplete((result, throwable) -> writes.remove(write));
+    }
+
+    /**
+     * Waits until all the attachments that the current test added are written, called once the test method is over
+     */
+    static void flush() {
+        var writes = state().pendingWrites;
+        for (var write : writes.toArray(new CompletableFuture<?>[0])) {
+            try {
+                write.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                ReportManagerHelper.logDiscrete(e);
+            }
+        }
+    }
+
+    private static void submit(Runnable write) {
+        try {
+            pendingWrites.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write.run();
+            return;
+        }
+        var writes = state().pendingWrites;
+        CompletableFuture<Void> result = CompletableFuture.runAsync(() -> {
+            try {
+                write.run();
+            } catch (RuntimeException e) {
+                ReportManagerHelper.logDiscrete(e);
+            } finally {
+                pendingWrites.release();
+            }
+        }, executor);
+        writes.add(result);
+        result.thenRun(() -> writes.remove(result));
+    }
+
+    private static SpoolingState state() {
+        return ExecutionScope.current().getState(SpoolingState.class, SpoolingState::new);
+    }
+
+    /**
+     * The attachment writes that the test running on the current thread is waiting for
+     */
+    private static class SpoolingState {
+        private final Set<CompletableFuture<?>> pendingWrites = ConcurrentHashMap.newKeySet();
+    }
+
+    private static class SpoolerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, "SHAFT-AttachmentSpooler-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.shaft.tools.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The complete log of the current execution session, attached to the report once the suite finishes.
+ * <p>
+ * Log entries are appended to a file by a single background thread through a buffered writer, so that the log doesn't
+ * grow in memory along with the run and logging never waits for the disk. The number of entries waiting to be written
+ * is bounded; once the limit is reached the logging thread blocks until the writer catches up. The latest entries are
+ * also kept in memory, in a bounded tail, to be used as an excerpt of what happened before a failure.
+ */
+public class ExecutionLog {
+    private static final Logger slf4jLogger = LoggerFactory.getLogger(ExecutionLog.class);
+    private static final int MAXIMUM_PENDING_ENTRIES = Math.max(1, Integer
+            .parseInt(System.getProperty("executionLogQueueCapacity", "1024").trim()));
+    private static final int TAIL_SIZE = Math.max(1, Integer
+            .parseInt(System.getProperty("executionLogTailSize", "200").trim()));
+    private static final BlockingQueue<Object> pendingEntries = new ArrayBlockingQueue<>(MAXIMUM_PENDING_ENTRIES);
+    private static final Deque<String> tail = new ArrayDeque<>(TAIL_SIZE);
+    private static final AtomicBoolean hasEntries = new AtomicBoolean();
+    private static Path logFile;
+
+    static {
+        var writerThread = new Thread(ExecutionLog::writeEntries, "SHAFT-ExecutionLog");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    private ExecutionLog() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Appends an entry, followed by a line separator, to the log
+     *
+     * @param entry the log entry
+     */
+    public static void append(String entry) {
+        synchronized (tail) {
+            if (tail.size() == TAIL_SIZE) {
+                tail.removeFirst();
+            }
+            tail.addLast(entry);
+        }
+        if (!entry.isBlank()) {
+            hasEntries.set(true);
+        }
+        enqueue(entry + System.lineSeparator());
+    }
+
+    /**
+     * @return true if nothing but blank entries were appended to the log
+     */
+    public static boolean isEmpty() {
+        return !hasEntries.get();
+    }
+
+    /**
+     * @return the latest entries of the log, one entry per line
+     */
+    public static String getTail() {
+        synchronized (tail) {
+            return String.join(System.lineSeparator(), tail);
+        }
+    }
+
+    /**
+     * Waits until all the entries that were appended so far are written, then opens the log file to be read
+     *
+     * @return a stream of the complete log, to be closed by the caller
+     * @throws IOException if the log file couldn't be written or read
+     */
+    public static InputStream openInputStream() throws IOException {
+        var flushed = new CompletableFuture<Path>();
+        enqueue(flushed);
+        try {
+            var writtenFile = flushed.get();
+            if (writtenFile == null) {
+                throw new IOException("The execution log couldn't be written.");
+            }
+            return Files.newInputStream(writtenFile);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static void enqueue(Object entry) {
+        try {
+            pendingEntries.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the pending entries in the order they were appended, and flushes the writer whenever there are no more
+     * entries to write, or once a reader is waiting for the log
+     */
+    @SuppressWarnings("unchecked")
+    private static void writeEntries() {
+        BufferedWriter writer = openWriter();
+        while (true) {
+            try {
+                var entry = pendingEntries.poll();
+                if (entry == null) {
+                    writer = flush(writer);
+                    entry = pendingEntries.take();
+                }
+                if (entry instanceof String) {
+                    if (writer != null) {
+                        writer.write((String) entry);
+                    }
+                } else {
+                    writer = flush(writer);
+                    ((CompletableFuture<Path>) entry).complete(writer == null ? null : logFile);
+                }
+            } catch (InterruptedException e) {
+                // the writer thread is a daemon, it keeps writing until the JVM exits
+                Thread.interrupted();
+            } catch (IOException e) {
+                // keep draining the pending entries so that logging never blocks, they are still kept in the tail
+                slf4jLogger.info("Error while writing the execution log", e);
+                writer = null;
+            }
+        }
+    }
+
+    private static BufferedWriter openWriter() {
+        try {
+            logFile = Files.createTempFile("shaftExecutionLog", ".log");
+            logFile.toFile().deleteOnExit();
+            return Files.newBufferedWriter(logFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            slf4jLogger.info("Error while creating the execution log", e);
+            return null;
+        }
+    }
+
+    private static BufferedWriter flush(BufferedWriter writer) {
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                slf4jLogger.info("Error while writing the execution log", e);
+                return null;
+            }
+        }
+        return writer;
+    }
+}
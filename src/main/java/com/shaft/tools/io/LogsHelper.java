@@ -18,6 +18,7 @@ public class LogsHelper {
         attachFullLogs();
         attachCucumberReport();
         attachExtentReport();
+        ReportManagerHelper.flushAttachments();
         ReportManagerHelper.setDiscreteLogging(true);
         ReportManagerHelper.generateAllureReportArchive();
         ReportManagerHelper.openAllureReportAfterExecution();
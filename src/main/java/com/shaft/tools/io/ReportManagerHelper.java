@@ -11,8 +11,11 @@ import com.aventstack.extentreports.reporter.configuration.ViewName;
 import com.shaft.api.RestActions;
 import com.shaft.cli.FileActions;
 import com.shaft.cli.TerminalActions;
+import com.shaft.gui.image.ScreenshotEncoder;
+import com.shaft.tools.support.ExecutionScope;
 import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
+import io.qameta.allure.model.Attachment;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.SystemUtils;
 import org.slf4j.Logger;
@@ -22,8 +25,10 @@ import org.testng.Reporter;
 import java.io.*;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class ReportManagerHelper {
@@ -37,9 +42,7 @@ public class ReportManagerHelper {
     private static final String OS_WINDOWS = "Windows-64";
     private static final String allureExtractionLocation = System.getProperty("user.home") + File.separator + ".m2"
             + File.separator + "repository" + File.separator + "allure" + File.separator;
-    static int actionCounter = 1;
-    private static String fullLog = "";
-    private static String issuesLog = "";
+    private static final StringBuilder issuesLog = new StringBuilder();
     private static int issueCounter = 1;
     private static boolean discreteLogging = false;
     private static int totalNumberOfTests = 0;
@@ -95,11 +98,10 @@ public class ReportManagerHelper {
     }
 
     public static void logIssue(String issue) {
-        if (issuesLog.trim().equals("")) {
-            issuesLog += issueCounter + ", " + issue.trim();
-        } else {
-            issuesLog += System.lineSeparator() + issueCounter + ", " + issue.trim();
+        if (issuesLog.length() > 0) {
+            issuesLog.append(System.lineSeparator());
         }
+        issuesLog.append(issueCounter).append(", ").append(issue.trim());
         issueCounter++;
     }
 
@@ -133,7 +135,7 @@ public class ReportManagerHelper {
             });
         }
 
-        if (!issuesLog.trim().equals("")) {
+        if (!issuesLog.toString().isBlank()) {
             return "Issue Summary: Total Issues = " + (issueCounter - 1) + ", New issues for Failed Tests = "
                     + failedTestsWithoutOpenIssuesCounter + ", Open issues for Passed Tests = "
                     + openIssuesForPassedTestsCounter + ", Open issues for Failed Tests = "
@@ -244,6 +246,39 @@ public class ReportManagerHelper {
         createAttachment(attachmentType, attachmentName, attachmentContent);
     }
 
+    /**
+     * Adds a new attachment from a file that is no longer needed once attached. The file is moved into the allure
+     * results directory in the background instead of being read. Used for Video Recordings and Animated GIFs.
+     *
+     * @param attachmentType the type of this attachment
+     * @param attachmentName the name of this attachment
+     * @param attachmentFile the file that holds the content of this attachment
+     */
+    public static void attach(String attachmentType, String attachmentName, File attachmentFile) {
+        byte[] content = new byte[]{};
+        if (isContentNeededOnTestThread(attachmentType, attachmentName)) {
+            try {
+                content = Files.readAllBytes(attachmentFile.toPath());
+            } catch (IOException e) {
+                var error = "Error while creating Attachment";
+                slf4jLogger.info(error, e);
+                Reporter.log(error, false);
+            }
+            attachToExtentReport(attachmentType, attachmentName, content);
+        }
+        String attachmentDescription = "Attachment: " + attachmentType + " - " + attachmentName;
+        AttachmentSpooler.move(prepareAttachment(attachmentType, attachmentName, attachmentDescription), attachmentFile.toPath());
+        logAttachmentAction(attachmentType, attachmentName, content);
+    }
+
+    /**
+     * Waits until all the attachments that the current test added are written to the allure results directory.
+     * Called once the test method is over, and once the execution logs are attached.
+     */
+    public static void flushAttachments() {
+        AttachmentSpooler.flush();
+    }
+
     /**
      * Adds a new attachment using the input parameters provided. The attachment is
      * displayed as a step in the execution report. Used for Screenshots.
@@ -268,7 +303,6 @@ public class ReportManagerHelper {
      */
     public static void attachTestLog(String currentMethodName, String testLog) {
         appendToFullLog(testLog);
-        appendToFullLog(System.lineSeparator());
         if (!testLog.isBlank()) {
             createAttachment(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE, "Current Method log: " + currentMethodName,
                     new ByteArrayInputStream(testLog.getBytes()));
@@ -276,7 +310,7 @@ public class ReportManagerHelper {
     }
 
     public static void attachFullLog(String executionEndTimestamp) {
-        if (!fullLog.trim().equals("")) {
+        if (!ExecutionLog.isEmpty()) {
             String fullLogCreated = "Successfully created attachment [" + SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE + " - "
                     + "Execution log" + "]";
             createReportEntry(fullLogCreated, true);
@@ -284,18 +318,25 @@ public class ReportManagerHelper {
                     + System.getProperty(SHAFT_ENGINE_VERSION_PROPERTY_NAME) + "]" + System.lineSeparator()
                     + "SHAFT Engine is licensed under the MIT License: [https://github.com/MohabMohie/SHAFT_ENGINE/blob/master/LICENSE].";
             createImportantReportEntry(copyrights, true);
-            createAttachment(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE, "Execution log: " + executionEndTimestamp,
-                    new ByteArrayInputStream(fullLog.trim().getBytes()));
+            String attachmentName = "Execution log: " + executionEndTimestamp;
+            // streamed from the log file, so that the complete log is never read into memory
+            try {
+                createAttachment(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE, attachmentName, ExecutionLog.openInputStream());
+            } catch (IOException e) {
+                slf4jLogger.info("Error while reading the execution log, attaching its latest entries instead", e);
+                createAttachment(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE, attachmentName,
+                        new ByteArrayInputStream(ExecutionLog.getTail().getBytes()));
+            }
         }
     }
 
     public static void attachIssuesLog(String executionEndTimestamp) {
         String issueSummary = prepareIssuesLog();
-        if (!issuesLog.trim().equals("")) {
+        if (!issuesLog.toString().isBlank()) {
             log(issueSummary,
                     Collections.singletonList(
                             Arrays.asList(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE, "Issues log CSV: " + executionEndTimestamp,
-                                    new ByteArrayInputStream(issuesLog.trim().getBytes()))));
+                                    new ByteArrayInputStream(issuesLog.toString().trim().getBytes()))));
         }
     }
 
@@ -327,19 +368,7 @@ public class ReportManagerHelper {
     }
 
     public static String getCallingMethodFullName() {
-        StackTraceElement[] callingStack = Thread.currentThread().getStackTrace();
-        var callingMethodFullName = new StringBuilder();
-        for (var i = 1; i < callingStack.length; i++) {
-            if (!callingStack[i].getClassName().contains("com.shaft")) {
-                callingMethodFullName.append(callingStack[i].getClassName());
-                if (!callingStack[i].getMethodName().isEmpty()) {
-                    callingMethodFullName.append(".");
-                    callingMethodFullName.append(callingStack[i].getMethodName());
-                }
-                break;
-            }
-        }
-        return callingMethodFullName.toString();
+        return ActionContext.getCallingMethodFullName();
     }
 
     public static String getTestClassName() {
@@ -488,12 +517,12 @@ public class ReportManagerHelper {
     }
 
     /**
-     * Appends a log entry to the complete log of the current execution session.
+     * Appends a log entry, followed by a line separator, to the complete log of the current execution session.
      *
      * @param log the log entry that needs to be appended to the full log
      */
     private static void appendToFullLog(String log) {
-        fullLog += log;
+        ExecutionLog.append(log);
     }
 
     private static void createReportEntry(String logText, boolean addToFullLog) {
@@ -509,7 +538,6 @@ public class ReportManagerHelper {
 
         if (addToFullLog) {
             appendToFullLog(log);
-            appendToFullLog(System.lineSeparator());
         }
     }
 
@@ -524,7 +552,6 @@ public class ReportManagerHelper {
         Reporter.log(log, true);
         if (Boolean.TRUE.equals(addToFullLog)) {
             appendToFullLog(log);
-            appendToFullLog(System.lineSeparator());
         }
         setDiscreteLogging(initialLoggingStatus);
     }
@@ -554,6 +581,8 @@ public class ReportManagerHelper {
                 } else if (attachment != null) {
                     if (attachment.get(2) instanceof byte[]) {
                         attach(attachment.get(0).toString(), attachment.get(1).toString(), new ByteArrayInputStream((byte[]) attachment.get(2)));
+                    } else if (attachment.get(2) instanceof CompletableFuture) {
+                        createAttachment(attachment.get(0).toString(), attachment.get(1).toString(), (CompletableFuture<?>) attachment.get(2));
                     } else {
                         attach(attachment.get(0).toString(), attachment.get(1).toString(), (InputStream) attachment.get(2));
                     }
@@ -563,64 +592,184 @@ public class ReportManagerHelper {
     }
 
     private static void createAttachment(String attachmentType, String attachmentName, InputStream attachmentContent) {
-    	var baos = new ByteArrayOutputStream();
-        try {
-            attachmentContent.transferTo(baos);
+        String attachmentDescription = "Attachment: " + attachmentType + " - " + attachmentName;
+        String attachmentSource = prepareAttachment(attachmentType, attachmentName, attachmentDescription);
+        if (!isContentNeededOnTestThread(attachmentType, attachmentName)) {
+            // the stream is copied straight into the allure results directory in the background
+            AttachmentSpooler.write(attachmentSource, attachmentContent);
+            logAttachmentAction(attachmentType, attachmentName, new byte[]{});
+            return;
+        }
+
+        // read once, the same bytes are then shared by Allure, Extent and the debug log
+        byte[] content = new byte[]{};
+        try (attachmentContent) {
+            content = attachmentContent.readAllBytes();
         } catch (IOException e) {
         	var error = "Error while creating Attachment";
             slf4jLogger.info(error, e);
             Reporter.log(error, false);
         }
+        AttachmentSpooler.write(attachmentSource, new ByteArrayInputStream(content));
+        attachToExtentReport(attachmentType, attachmentName, content);
+        logAttachmentAction(attachmentType, attachmentName, content);
+    }
 
+    /**
+     * Adds an image attachment whose content is still being processed in the background (a screenshot). The
+     * attachment is added to the current step right away, and its content is written once the processing completes.
+     * If the processing completes with the same content as the previous screenshot of this test (a duplicate), the
+     * attachment references the file that was already written instead. The screenshots of a test are written one after
+     * the other, in the order they were attached, and the test waits for them once it's over.
+     *
+     * @param attachmentType    the type of this attachment
+     * @param attachmentName    the name of this attachment
+     * @param attachmentContent completes with the encoded bytes of this attachment, or with null if processing failed
+     */
+    private static void createAttachment(String attachmentType, String attachmentName, CompletableFuture<?> attachmentContent) {
         String attachmentDescription = "Attachment: " + attachmentType + " - " + attachmentName;
-        attachBasedOnFileType(attachmentType, attachmentName, baos, attachmentDescription);
-        logAttachmentAction(attachmentType, attachmentName, baos);
-    }
-
-    private static synchronized void attachBasedOnFileType(String attachmentType, String attachmentName,
-                                                           ByteArrayOutputStream attachmentContent, String attachmentDescription) {
-        if (attachmentType.toLowerCase().contains("screenshot")) {
-            Allure.addAttachment(attachmentDescription, "image/png", new ByteArrayInputStream(attachmentContent.toByteArray()), ".png");
-            attachImageToExtentReport("image/png", new ByteArrayInputStream(attachmentContent.toByteArray()));
-        } else if (attachmentType.toLowerCase().contains("recording")) {
-            Allure.addAttachment(attachmentDescription, "video/mp4", new ByteArrayInputStream(attachmentContent.toByteArray()), ".mp4");
-        } else if (attachmentType.toLowerCase().contains("gif")) {
-            Allure.addAttachment(attachmentDescription, "image/gif", new ByteArrayInputStream(attachmentContent.toByteArray()), ".gif");
-            attachImageToExtentReport("image/gif", new ByteArrayInputStream(attachmentContent.toByteArray()));
-        } else if (attachmentType.toLowerCase().contains("csv") || attachmentName.toLowerCase().contains("csv")) {
-            Allure.addAttachment(attachmentDescription, "text/csv", new ByteArrayInputStream(attachmentContent.toByteArray()), ".csv");
-            attachCodeBlockToExtentReport("text/csv", new ByteArrayInputStream(attachmentContent.toByteArray()));
-        } else if (attachmentType.toLowerCase().contains("xml") || attachmentName.toLowerCase().contains("xml")) {
-            Allure.addAttachment(attachmentDescription, "text/xml", new ByteArrayInputStream(attachmentContent.toByteArray()), ".xml");
-            attachCodeBlockToExtentReport("text/xml", new ByteArrayInputStream(attachmentContent.toByteArray()));
-        } else if (attachmentType.toLowerCase().contains("excel") || attachmentName.toLowerCase().contains("excel")) {
-            Allure.addAttachment(attachmentDescription, "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", new ByteArrayInputStream(attachmentContent.toByteArray()), ".xlsx");
-        } else if (attachmentType.toLowerCase().contains("json") || attachmentName.toLowerCase().contains("json")) {
-            Allure.addAttachment(attachmentDescription, "text/json", new ByteArrayInputStream(attachmentContent.toByteArray()), ".json");
-            attachCodeBlockToExtentReport("text/json", new ByteArrayInputStream(attachmentContent.toByteArray()));
-        } else if (attachmentType.toLowerCase().contains("engine logs")) {
-            Allure.addAttachment(attachmentDescription, "text/plain", new ByteArrayInputStream(attachmentContent.toByteArray()), ".txt");
-        } else {
-            Allure.addAttachment(attachmentDescription, new ByteArrayInputStream(attachmentContent.toByteArray()));
+        var lifecycle = Allure.getLifecycle();
+        var attachmentSource = lifecycle.prepareAttachment(attachmentDescription, ScreenshotEncoder.getContentType(),
+                ScreenshotEncoder.getFileExtension());
+        var preparedAttachment = getPreparedAttachment(attachmentSource);
+        var currentExtentTest = extentTest;
+        var state = state();
+        var write = state.lastScreenshotWrite.thenCombine(attachmentContent, (previousWrite, content) -> {
+            if (content instanceof byte[]) {
+                if (content == state.lastScreenshotContent && preparedAttachment != null) {
+                    preparedAttachment.setSource(state.lastScreenshotSource);
+                } else {
+                    lifecycle.writeAttachment(attachmentSource, new ByteArrayInputStream((byte[]) content));
+                    state.lastScreenshotContent = (byte[]) content;
+                    state.lastScreenshotSource = attachmentSource;
+                }
+                attachImageToExtentReport(currentExtentTest, ScreenshotEncoder.getContentType(), (byte[]) content);
+            }
+            return null;
+        });
+        state.lastScreenshotWrite = write.handle((result, throwable) -> null);
+        AttachmentSpooler.track(write);
+        logAttachmentAction(attachmentType, attachmentName, new byte[]{});
+    }
+
+    /**
+     * @param attachmentSource the source of an attachment that was just prepared
+     * @return the attachment, if it was added to the current step
+     */
+    private static Attachment getPreparedAttachment(String attachmentSource) {
+        var lifecycle = Allure.getLifecycle();
+        var currentStep = lifecycle.getCurrentTestCaseOrStep();
+        if (currentStep.isEmpty() || currentStep.equals(lifecycle.getCurrentTestCase())) {
+            return null;
         }
+        Attachment[] preparedAttachment = new Attachment[1];
+        lifecycle.updateStep(step -> step.getAttachments().stream()
+                .filter(attachment -> attachmentSource.equals(attachment.getSource()))
+                .findFirst().ifPresent(attachment -> preparedAttachment[0] = attachment));
+        return preparedAttachment[0];
     }
 
-    private static synchronized void logAttachmentAction(String attachmentType, String attachmentName, ByteArrayOutputStream attachmentContent) {
-        if (!(attachmentType.equals(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE) && attachmentName.equals("Execution log"))) {
-            createReportEntry("Successfully created attachment [" + attachmentType + " - " + attachmentName + "]",
-                    false);
+    /**
+     * Adds an attachment to the current step, its content is then written by the {@link AttachmentSpooler}
+     *
+     * @return the source of the attachment, which is the name of its file in the allure results directory
+     */
+    private static String prepareAttachment(String attachmentType, String attachmentName, String attachmentDescription) {
+        var type = attachmentType.toLowerCase();
+        var name = attachmentName.toLowerCase();
+        String contentType = null;
+        String fileExtension = null;
+        if (type.contains("screenshot")) {
+            contentType = "image/png";
+            fileExtension = ".png";
+        } else if (type.contains("recording")) {
+            contentType = "video/mp4";
+            fileExtension = ".mp4";
+        } else if (type.contains("gif")) {
+            contentType = "image/gif";
+            fileExtension = ".gif";
+        } else if (type.contains("csv") || name.contains("csv")) {
+            contentType = "text/csv";
+            fileExtension = ".csv";
+        } else if (type.contains("xml") || name.contains("xml")) {
+            contentType = "text/xml";
+            fileExtension = ".xml";
+        } else if (type.contains("excel") || name.contains("excel")) {
+            contentType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+            fileExtension = ".xlsx";
+        } else if (type.contains("json") || name.contains("json")) {
+            contentType = "text/json";
+            fileExtension = ".json";
+        } else if (type.contains("engine logs")) {
+            contentType = "text/plain";
+            fileExtension = ".txt";
+        }
+        return Allure.getLifecycle().prepareAttachment(attachmentDescription, contentType, fileExtension);
+    }
+
+    private static void attachToExtentReport(String attachmentType, String attachmentName, byte[] attachmentContent) {
+        var contentType = getExtentReportContentType(attachmentType, attachmentName);
+        if (contentType != null && contentType.startsWith("image/")) {
+            attachImageToExtentReport(extentTest, contentType, attachmentContent);
+        } else if (contentType != null) {
+            attachCodeBlockToExtentReport(contentType, new ByteArrayInputStream(attachmentContent));
         }
+    }
 
-        if (debugMode && !attachmentType.contains(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE)
+    /**
+     * @return the content type that the attachment is added to the extent report with, or null if it's only added to
+     * the allure report
+     */
+    private static String getExtentReportContentType(String attachmentType, String attachmentName) {
+        var type = attachmentType.toLowerCase();
+        var name = attachmentName.toLowerCase();
+        if (type.contains("screenshot")) {
+            return "image/png";
+        } else if (type.contains("recording")) {
+            return null;
+        } else if (type.contains("gif")) {
+            return "image/gif";
+        } else if (type.contains("csv") || name.contains("csv")) {
+            return "text/csv";
+        } else if (type.contains("xml") || name.contains("xml")) {
+            return "text/xml";
+        } else if (type.contains("excel") || name.contains("excel")) {
+            return null;
+        } else if (type.contains("json") || name.contains("json")) {
+            return "text/json";
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the content of the attachment is needed by the extent report or the debug log, otherwise it's
+     * only read by the {@link AttachmentSpooler}
+     */
+    private static boolean isContentNeededOnTestThread(String attachmentType, String attachmentName) {
+        return (extentTest != null && getExtentReportContentType(attachmentType, attachmentName) != null)
+                || isLoggedForDebugging(attachmentType);
+    }
+
+    private static boolean isLoggedForDebugging(String attachmentType) {
+        return debugMode && !attachmentType.contains(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE)
                 && !attachmentType.equalsIgnoreCase("Selenium WebDriver Logs")
                 && !attachmentType.toLowerCase().contains("screenshot")
                 && !attachmentType.toLowerCase().contains("recording") && !attachmentType.toLowerCase().contains("gif")
-                && !attachmentType.toLowerCase().contains("engine logs")) {
+                && !attachmentType.toLowerCase().contains("engine logs");
+    }
+
+    private static synchronized void logAttachmentAction(String attachmentType, String attachmentName, byte[] attachmentContent) {
+        if (!(attachmentType.equals(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE) && attachmentName.equals("Execution log"))) {
+            createReportEntry("Successfully created attachment [" + attachmentType + " - " + attachmentName + "]",
+                    false);
+        }
+
+        if (isLoggedForDebugging(attachmentType)) {
             String timestamp = (new SimpleDateFormat(TIMESTAMP_FORMAT)).format(new Date(System.currentTimeMillis()));
 
             String theString;
             var br = new BufferedReader(
-                    new InputStreamReader(new ByteArrayInputStream(attachmentContent.toByteArray()), StandardCharsets.UTF_8));
+                    new InputStreamReader(new ByteArrayInputStream(attachmentContent), StandardCharsets.UTF_8));
             theString = br.lines().collect(Collectors.joining(System.lineSeparator()));
             if (!theString.isEmpty()) {
                 String logEntry = REPORT_MANAGER_PREFIX + "Debugging Attachment Entry" + " @" + timestamp
@@ -645,17 +794,13 @@ public class ReportManagerHelper {
         }
     }
 
-    private static void attachImageToExtentReport(String attachmentType, InputStream attachmentContent) {
+    private static void attachImageToExtentReport(ExtentTest extentTest, String attachmentType, byte[] attachmentContent) {
         if (extentTest != null) {
-            try {
-            	var image = Base64.getEncoder().encodeToString(IOUtils.toByteArray(attachmentContent));
-                if (attachmentType.toLowerCase().contains("gif")) {
-                    extentTest.addScreenCaptureFromBase64String(image);
-                } else {
-                    extentTest.info(MediaEntityBuilder.createScreenCaptureFromBase64String(image).build());
-                }
-            } catch (IOException e) {
-                ReportManager.logDiscrete("Failed to attach screenshot to extentReport.");
+            var image = Base64.getEncoder().encodeToString(attachmentContent);
+            if (attachmentType.toLowerCase().contains("gif")) {
+                extentTest.addScreenCaptureFromBase64String(image);
+            } else {
+                extentTest.info(MediaEntityBuilder.createScreenCaptureFromBase64String(image).build());
             }
         }
     }
@@ -762,8 +907,7 @@ public class ReportManagerHelper {
     }
 
     static boolean isInternalStep() {
-    	var callingMethodName = (new Throwable()).getStackTrace()[2].toString();
-        return callingMethodName.contains("com.shaft");
+        return ActionContext.getCallerClassName(2).contains("com.shaft");
     }
 
     /**
@@ -779,6 +923,11 @@ public class ReportManagerHelper {
         createAttachment(attachmentType, attachmentName, attachmentContent);
     }
 
+    @Step("Attachment: {attachmentType} - {attachmentName}")
+    static void attachAsStep(String attachmentType, String attachmentName, CompletableFuture<?> attachmentContent) {
+        createAttachment(attachmentType, attachmentName, attachmentContent);
+    }
+
     private static void writeOpenReportShellFilesToGeneratedDirectory() {
         List<String> commandsToOpenAllureReport;
         // create unix-based sh file
@@ -833,6 +982,9 @@ public class ReportManagerHelper {
                         if (attachment.get(2) instanceof String) {
                             attachAsStep(attachment.get(0).toString(), attachment.get(1).toString(),
                                     new ByteArrayInputStream(attachment.get(2).toString().getBytes()));
+                        } else if (attachment.get(2) instanceof CompletableFuture) {
+                            attachAsStep(attachment.get(0).toString(), attachment.get(1).toString(),
+                                    (CompletableFuture<?>) attachment.get(2));
                         } else {
                             attachAsStep(attachment.get(0).toString(), attachment.get(1).toString(),
                                     (InputStream) attachment.get(2));
@@ -841,8 +993,7 @@ public class ReportManagerHelper {
                 });
             }
         } else {
-            writeStepToReport(actionCounter, logText, attachments);
-            actionCounter++;
+            writeStepToReport(nextActionNumber(), logText, attachments);
         }
     }
 
@@ -862,11 +1013,10 @@ public class ReportManagerHelper {
                     customLogText = "Assertion Failed: " + customLogText;
                 }
             }
-            writeNestedStepsToReport(actionCounter, customLogText, logText, attachments);
+            writeNestedStepsToReport(nextActionNumber(), customLogText, logText, attachments);
         } else {
-            writeStepToReport(actionCounter, logText, attachments);
+            writeStepToReport(nextActionNumber(), logText, attachments);
         }
-        actionCounter++;
     }
 
     //@Step("Action [{actionCounter}]: {customLog}")
@@ -884,6 +1034,8 @@ public class ReportManagerHelper {
                 } else if (attachment != null) {
                     if (attachment.get(2) instanceof byte[]) {
                         attach(attachment.get(0).toString(), attachment.get(1).toString(), new ByteArrayInputStream((byte[]) attachment.get(2)));
+                    } else if (attachment.get(2) instanceof CompletableFuture) {
+                        createAttachment(attachment.get(0).toString(), attachment.get(1).toString(), (CompletableFuture<?>) attachment.get(2));
                     } else {
                         attach(attachment.get(0).toString(), attachment.get(1).toString(), (InputStream) attachment.get(2));
                     }
@@ -910,10 +1062,34 @@ public class ReportManagerHelper {
             log("An Exception Occured",
                     Collections.singletonList(Arrays.asList("Exception Stack Trace", t.getClass().getName(), logText)));
         }
-        actionCounter++;
+        nextActionNumber();
+    }
+
+    /**
+     * Returns the number of the next step in the execution report, steps are numbered separately for every test
+     *
+     * @return the step number, starting with 1 in every test
+     */
+    static int nextActionNumber() {
+        return state().actionCounter++;
+    }
+
+    private static ReportingState state() {
+        return ExecutionScope.current().getState(ReportingState.class, ReportingState::new);
     }
 
     public static void logDiscrete(Throwable t) {
         createLogEntry(formatStackTraceToLogEntry(t));
     }
+
+    /**
+     * The step numbering and the screenshot writes of the test that is running on the current thread
+     */
+    private static class ReportingState {
+        private int actionCounter = 1;
+        // the content and source of the last screenshot that was written, duplicate screenshots reference it
+        private byte[] lastScreenshotContent;
+        private String lastScreenshotSource;
+        private CompletableFuture<Object> lastScreenshotWrite = CompletableFuture.completedFuture(null);
+    }
 }
@@ -0,0 +1,128 @@
+package com.shaft.tools.io;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes the properties files that tests running in parallel, even in different processes, share with each
+ * other, such as the baselines manifest and the healed locators reference file.
+ * <p>
+ * Files are written to temporary files that are then moved in place atomically, so that readers never see a partially
+ * written file. Updates are serialized by a file lock, which is kept under the target folder so that it doesn't show up
+ * next to the shared files in the working tree.
+ */
+public class SharedFileManager {
+    private static final Path LOCKS_FOLDER = Path.of("target", "shaftLocks");
+
+    private SharedFileManager() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param file the properties file
+     * @return the properties in the file, or an empty map if the file doesn't exist or can't be read
+     */
+    public static Map<String, String> readProperties(Path file) {
+        var properties = new Properties();
+        if (Files.exists(file)) {
+            try {
+                properties.load(new StringReader(Files.readString(file, StandardCharsets.ISO_8859_1)));
+            } catch (IOException e) {
+                ReportManagerHelper.log(e);
+            }
+        }
+        return properties.stringPropertyNames().stream()
+                .collect(Collectors.toMap(name -> name, properties::getProperty, (first, second) -> second, LinkedHashMap::new));
+    }
+
+    /**
+     * Formats properties sorted and without the date comment, so that a shared file only changes along with its
+     * content
+     *
+     * @param properties the properties to format
+     * @return the content of the properties file
+     * @throws IOException if the properties can't be formatted
+     */
+    public static byte[] formatProperties(Map<String, String> properties) throws IOException {
+        var propertiesToStore = new Properties();
+        propertiesToStore.putAll(properties);
+        var content = new StringWriter();
+        propertiesToStore.store(content, null);
+        return Arrays.stream(content.toString().split("\\R"))
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .sorted()
+                .collect(Collectors.joining("\n", "", "\n"))
+                .getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes a file to a temporary file next to it, then moves it in place atomically if the file system supports it
+     *
+     * @param target  the file to write
+     * @param content the content of the file
+     * @throws IOException if the file can't be written
+     */
+    public static void writeAtomically(Path target, byte[] content) throws IOException {
+        var temporaryFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporaryFile, content);
+            try {
+                Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Runs an operation on a shared file while holding its file lock, which excludes the other processes that update
+     * the same file. Threads of the same process must still be serialized by the caller, because a file lock is held
+     * on behalf of the whole process.
+     *
+     * @param sharedFile the file that the operation updates
+     * @param operation  the operation to run
+     * @param <T>        the type of the result of the operation
+     * @return the result of the operation
+     * @throws IOException if the lock can't be taken, or if the operation fails
+     */
+    public static <T> T withFileLock(Path sharedFile, FileOperation<T> operation) throws IOException {
+        var absoluteSharedFile = sharedFile.toAbsolutePath().normalize();
+        var lockFile = LOCKS_FOLDER.resolve(absoluteSharedFile.getFileName() + "."
+                + Integer.toHexString(absoluteSharedFile.toString().hashCode()) + ".lock");
+        Files.createDirectories(LOCKS_FOLDER);
+        try (var lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = lockChannel.lock();
+            try {
+                return operation.run();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * An operation on a shared file
+     *
+     * @param <T> the type of the result of the operation
+     */
+    @FunctionalInterface
+    public interface FileOperation<T> {
+        T run() throws IOException;
+    }
+}
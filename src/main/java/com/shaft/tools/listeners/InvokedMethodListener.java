@@ -18,9 +18,13 @@ import org.testng.internal.ConstructorOrMethod;
 
 import com.shaft.driver.DriverFactoryHelper;
 import com.shaft.gui.element.ElementActions;
+import com.shaft.gui.element.WaitManager;
 import com.shaft.gui.image.ScreenshotManager;
 import com.shaft.gui.video.RecordManager;
+import com.shaft.tools.io.ActionContext;
+import com.shaft.tools.io.ReportManager;
 import com.shaft.tools.io.ReportManagerHelper;
+import com.shaft.tools.support.ExecutionScope;
 import com.shaft.validation.Verifications;
 
 import io.qameta.allure.Issue;
@@ -49,6 +53,10 @@ public class InvokedMethodListener implements IInvokedMethodListener {
             ReportManagerHelper.log(e);
         }
         ITestNGMethod testMethod = method.getTestMethod();
+        if (testMethod.isTest()) {
+            // isolate the state of this test from other tests that are running in parallel
+            ExecutionScope.begin(testMethod.getQualifiedName());
+        }
 
         String className;
         String methodName;
@@ -64,6 +72,7 @@ public class InvokedMethodListener implements IInvokedMethodListener {
 
                 ReportManagerHelper.logTestInformation(className, methodName, methodDescription);
                 ReportManagerHelper.extentReportsCreateTest(className + "." + methodName, methodDescription);
+                WaitManager.resetWaitingTime();
             } else if (testMethod instanceof ConfigurationMethod) {
                 // org.testng.internal.ConfigurationMethod
                 // ReportManager.logDiscrete("Current TestNG Method Name: " +
@@ -104,15 +113,20 @@ public class InvokedMethodListener implements IInvokedMethodListener {
     @Override
     public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
         if (!method.getTestMethod().getQualifiedName().contains("closureActivities")) {
+            if (method.isTestMethod()) {
+                ReportManager.logDiscrete("Time spent waiting: [" + WaitManager.getWaitingTime().toMillis() + "] milliseconds.");
+            }
             RecordManager.attachVideoRecording();
             ScreenshotManager.attachAnimatedGif();
             // configuration method attachment is not added to the report (Allure ->
             // threadContext.getCurrent(); -> empty)
             ReportManagerHelper.attachTestLog(testResult.getMethod().getMethodName(),
                     createTestLog(Reporter.getOutput(testResult)));
+            ReportManagerHelper.flushAttachments();
         }
 
         // resetting scope and config
+        ActionContext.closeAll();
         if (!DriverFactoryHelper.isMobileNativeExecution()) {
             ElementActions.switchToDefaultContent();
         }
@@ -121,6 +135,7 @@ public class InvokedMethodListener implements IInvokedMethodListener {
         if (testMethod.isTest()) {
             updateTestStatusInCaseOfVerificationFailure(testResult);
             updateIssuesLog(testResult, testMethod);
+            ExecutionScope.end();
             if (invokedTestsCounter == testSize - 1) {
                 // is last test in the last class of the test suite
                 invokedTestsCounter = 0;
@@ -3,23 +3,15 @@ package com.shaft.tools.listeners;
 import org.testng.ISuite;
 import org.testng.ISuiteListener;
 
-import com.shaft.cli.FileActions;
-import com.shaft.gui.element.WebDriverElementActions;
-import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.gui.element.LocatorHealingStore;
 import com.shaft.tools.io.ProjectStructureManager;
-import com.shaft.tools.io.PropertyFileManager;
 import com.shaft.tools.io.ReportManagerHelper;
 
 public class SuiteListener implements ISuiteListener {
 
     @Override
     public void onStart(ISuite suite) {
-        // read existing elements that were identified by AI to keep the reference table
-        if (Boolean.TRUE.equals(ScreenshotManager.getAiSupportedElementIdentification())
-                && FileActions.doesFileExist(ScreenshotManager.getAiAidedElementIdentificationFolderpath(),
-                		WebDriverElementActions.getAiReferenceFileName(), 1)) {
-            PropertyFileManager.readPropertyFiles(ScreenshotManager.getAiAidedElementIdentificationFolderpath());
-        }
+        // elements that were identified by AI are loaded from the reference table the first time they're looked up
         ProjectStructureManager.initialize();
         ReportManagerHelper.initializeExtentReports();
         ReportManagerHelper.prepareAllureReportingEnvironment();
@@ -31,4 +23,10 @@ public class SuiteListener implements ISuiteListener {
         ReportManagerHelper.setDiscreteLogging(Boolean.parseBoolean(System.getProperty("alwaysLogDiscreetly")));
         ReportManagerHelper.setDebugMode(Boolean.valueOf(System.getProperty("debugMode")));
     }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        // write the elements that were identified by AI during this suite to the reference table
+        LocatorHealingStore.flushAll();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.shaft.tools.support;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Holds the mutable state of SHAFT's GUI actions, validations and reporting for the test that is running on the
+ * current thread, so that tests which run in parallel never see each other's last used driver, screenshots, animated
+ * GIF or soft assertion failures.
+ * <p>
+ * Every thread starts with a root scope that is used by configuration methods. The invoked method listener begins a
+ * child scope before each test method and ends it once the test result is reported, discarding all of its state.
+ * Values that a test scope doesn't set itself (for example the driver that was created in a before method) are
+ * looked up in the root scope of the same thread.
+ * <p>
+ * Each class keeps its state in a private holder class, that is also used as its key within the scope.
+ */
+public class ExecutionScope {
+    private static final ThreadLocal<ExecutionScope> currentScope = ThreadLocal
+            .withInitial(() -> new ExecutionScope(Thread.currentThread().getName(), null));
+
+    private final String name;
+    private final ExecutionScope parent;
+    private final Map<Class<?>, Object> states = new HashMap<>();
+
+    private ExecutionScope(String name, ExecutionScope parent) {
+        this.name = name;
+        this.parent = parent;
+    }
+
+    /**
+     * Begins a new test scope on the current thread, replacing any test scope that was not ended
+     *
+     * @param name the name of the test that owns this scope
+     * @return the newly created scope
+     */
+    public static ExecutionScope begin(String name) {
+        var rootScope = current();
+        while (rootScope.parent != null) {
+            rootScope = rootScope.parent;
+        }
+        var scope = new ExecutionScope(name, rootScope);
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Ends the test scope of the current thread, discarding all of its state. Does nothing when only the root scope
+     * is active.
+     */
+    public static void end() {
+        var scope = current();
+        if (scope.parent != null) {
+            currentScope.set(scope.parent);
+        }
+    }
+
+    /**
+     * @return the scope of the test that is running on the current thread, or the thread's root scope
+     */
+    public static ExecutionScope current() {
+        return currentScope.get();
+    }
+
+    /**
+     * Returns the state that the given holder class keeps in this scope, creating it on first use
+     *
+     * @param stateType    the class of the state holder
+     * @param initialState creates the state holder the first time it's requested within this scope
+     * @param <T>          the type of the state holder
+     * @return the state holder of this scope
+     */
+    public <T> T getState(Class<T> stateType, Supplier<T> initialState) {
+        return stateType.cast(states.computeIfAbsent(stateType, key -> initialState.get()));
+    }
+
+    /**
+     * Returns a value from the state of this scope, or from the enclosing root scope if it is not set here
+     *
+     * @param stateType the class of the state holder
+     * @param getter    reads the value from the state holder
+     * @param <T>       the type of the state holder
+     * @param <V>       the type of the value
+     * @return the first non-null value, or null if it's not set in any scope
+     */
+    public <T, V> V getInheritedValue(Class<T> stateType, Function<T, V> getter) {
+        for (var scope = this; scope != null; scope = scope.parent) {
+            var state = scope.states.get(stateType);
+            if (state != null) {
+                var value = getter.apply(stateType.cast(state));
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return true if this scope belongs to a test method, and false if it is the root scope of its thread
+     */
+    public boolean isTestScope() {
+        return parent != null;
+    }
+}
@@ -115,175 +115,322 @@ public enum JavaScriptHelper {
                             }
                     });
             })(jQuery);"""),
-    ELEMENT_GET_XPATH("""
-            function getXPath(element) {
-                var xpath = '';
-                var count = 0;
-                while (element) {
+    ELEMENT_SUGGEST_XPATH("""
+            window.shaftSuggestXPath = window.shaftSuggestXPath || function (target, strategies) {
+                var trim = function (text) {
+                    return text.replace(/^\\s+|\\s+$/g, '');
+                };
+                var and = function (nodeXpath, condition) {
+                    return nodeXpath == '' ? condition : nodeXpath + ' and ' + condition;
+                };
 
-                    /** Getting the Element's Index
-                     **/
-                    var pathIndex = "";
-                    if ($$GetIndex$$) {
-                        try {
+                /** Getting the Element's Text condition
+                 **/
+                var getTextCondition = function (element, count) {
+                    var uiElementText;
+                    if (element.textContent && element.textContent.length < 50 && element.textContent == element.innerHTML) {
+                        uiElementText = trim(element.textContent);
+                        if (element.textContent == uiElementText && uiElementText.length > 0)
+                            return 'text()=\\"' + uiElementText + '\\"';
+                        return 'normalize-space() = \\"' + uiElementText + '\\"';
+                    }
+                    var shortText = [element.text, element.innerText].filter(function (text) {
+                        return typeof text === 'string' && text.length > 0 && text.length < 50 && text == element.innerHTML;
+                    })[0];
+                    if (shortText) {
+                        uiElementText = trim(shortText);
+                        if (uiElementText.length == 0)
+                            return '';
+                        if (shortText == uiElementText)
+                            return 'contains(text(),\\'' + uiElementText + '\\')';
+                        return 'contains(normalize-space(),\\'' + uiElementText + '\\')';
+                    }
+                    if ((element.nodeName.toLowerCase() == 'a' || count == 0) && element.textContent) {
+                        uiElementText = trim(element.textContent).substring(0, 10).replace("'", "') and contains (.,'");
+                        if (uiElementText.length == 0)
+                            return '';
+                        if (element.textContent == uiElementText)
+                            return 'contains(normalize-space(),\\'' + uiElementText + '\\')';
+                        return 'contains(.,\\'' + uiElementText + '\\')';
+                    }
+                    return '';
+                };
+
+                /** Building the Xpath of the element and its ancestors, up to the maximum number of nodes of the strategy
+                 **/
+                var getXPath = function (element, strategy) {
+                    var xpath = '';
+                    for (var count = 0; element && count < strategy.maxCount; count++) {
+                        var pathIndex = '';
+                        if (strategy.index) {
                             var index = 0;
                             for (var sibling = element.previousSibling; sibling; sibling = sibling.previousSibling) {
-                                if (sibling.nodeType == Node.DOCUMENT_TYPE_NODE)
-                                    continue;
-
-                                if (sibling.nodeName == element.nodeName)
+                                if (sibling.nodeType != Node.DOCUMENT_TYPE_NODE && sibling.nodeName == element.nodeName)
                                     ++index;
                             }
-                            var pathIndex = (index ? "[" + (index + 1) + "]" : "[1]");
-                        } catch (err) {
-                            continue;
-                        }
-                    }
-
-                    /** Getting the Element's Xpath
-                     **/
-                    var nodeXpath = '';
-
-                    /** Try to get element ID
-                     **/
-                    try {
-                        if (element.id && $$GetId$$) {
-                            nodeXpath += '@id=\\"' + element.id + '\\"';
+                            pathIndex = '[' + (index + 1) + ']';
                         }
-                    } catch (err) {}
-
-                    /** Try to get element Name
-                     **/
-                    try {
-                        if (element.name && $$GetName$$) {
-                            if (nodeXpath != '')
-                                nodeXpath += ' and ';
-                            nodeXpath += '@name=\\"' + element.name + '\\"';
+                        var nodeXpath = '';
+                        if (strategy.id && element.id)
+                            nodeXpath = and(nodeXpath, '@id=\\"' + element.id + '\\"');
+                        if (strategy.name && element.name)
+                            nodeXpath = and(nodeXpath, '@name=\\"' + element.name + '\\"');
+                        if (strategy.type && element.hasAttribute('type') && typeof element.type !== 'undefined')
+                            nodeXpath = and(nodeXpath, '@type=\\"' + element.type + '\\"');
+                        if (strategy.className && typeof element.className === 'string' && element.className && nodeXpath == '')
+                            nodeXpath = and(nodeXpath, '@class=\\"' + element.className + '\\"');
+                        if (strategy.text) {
+                            var textCondition = getTextCondition(element, count);
+                            if (textCondition != '')
+                                nodeXpath = and(nodeXpath, textCondition);
                         }
-                    } catch (err) {}
+                        xpath = '/' + element.nodeName.toLowerCase() + pathIndex + (nodeXpath == '' ? '' : '[' + nodeXpath + ']') + xpath;
+                        element = element.parentElement;
+                    }
+                    return '/' + xpath;
+                };
 
-                    /** Try to get element Type
-                     **/
+                /** Checking that the Xpath matches the target element only
+                 **/
+                var isUnique = function (xpath) {
                     try {
-                        if (element.hasAttribute("type") && typeof element.type !== 'undefined' && $$GetType$$) {
-                            if (nodeXpath != '')
-                                nodeXpath += ' and ';
-                            nodeXpath += '@type=\\"' + element.type + '\\"';
-                        }
-                    } catch (err) {}
+                        var matches = document.evaluate(xpath, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                        return matches.snapshotLength == 1 && matches.snapshotItem(0) == target;
+                    } catch (err) {
+                        return false;
+                    }
+                };
 
-                    /** Try to get element Class Name
-                     **/
-                    try {
-                        if (element.className && nodeXpath == '' && $$GetClass$$) {
-                            if (nodeXpath != '')
-                                nodeXpath += ' and ';
-                            nodeXpath += '@class=\\"' + element.className + '\\"';
+                if (!target)
+                    return null;
+                var candidate = null;
+                var checkedCandidates = {};
+                for (var i = 0; i < strategies.length; i++) {
+                    candidate = getXPath(target, strategies[i]);
+                    if (!checkedCandidates[candidate]) {
+                        checkedCandidates[candidate] = true;
+                        if (isUnique(candidate))
+                            return candidate;
+                    }
+                }
+                return candidate;
+            };
+            return window.shaftSuggestXPath(arguments[0], arguments[1]);"""),
+    ELEMENT_SCROLL_TO_VIEWPORT(
+            "(function(){'use strict';var api;api=function(x,y){var elm,scrollX,scrollY,newX,newY;scrollX=window.pageXOffset;scrollY=window.pageYOffset;window.scrollTo(x,y);newX=x-window.pageXOffset;newY=y-window.pageYOffset;elm=this.elementFromPoint(newX,newY);window.scrollTo(scrollX,scrollY);return elm;};this.document.elementFromAbsolutePoint=api;}).call(this);return document.elementFromAbsolutePoint(arguments[0], arguments[1]);"),
+    ELEMENT_SNAPSHOT("""
+            var element = arguments[0], attributeNames = arguments[1] || [], cssPropertyNames = arguments[2] || [];
+            var style = window.getComputedStyle(element);
+            var isDisplayed = function () {
+                if (typeof element.checkVisibility === 'function') {
+                    return element.checkVisibility({checkOpacity: true, checkVisibilityCSS: true});
+                }
+                for (var current = element; current && current.nodeType === 1; current = current.parentElement) {
+                    var currentStyle = window.getComputedStyle(current);
+                    if (currentStyle.display === 'none' || currentStyle.opacity === '0') {
+                        return false;
+                    }
+                }
+                return style.visibility !== 'hidden' && style.visibility !== 'collapse' && element.getClientRects().length > 0;
+            };
+            var readAttribute = function (name) {
+                var property = element[name];
+                if (typeof property === 'boolean') {
+                    return property ? 'true' : null;
+                }
+                if (property !== undefined && property !== null && typeof property !== 'object' && typeof property !== 'function') {
+                    return String(property);
+                }
+                return element.getAttribute(name);
+            };
+            var rect = element.getBoundingClientRect();
+            var displayed = isDisplayed();
+            var snapshot = {
+                tagName: element.tagName.toLowerCase(),
+                text: displayed && element.innerText !== undefined ? element.innerText : '',
+                textContent: element.textContent,
+                value: element.value === undefined ? null : String(element.value),
+                rect: {x: rect.left + window.pageXOffset, y: rect.top + window.pageYOffset, width: rect.width, height: rect.height},
+                displayed: displayed,
+                enabled: !(element.disabled === true || (typeof element.matches === 'function' && element.matches(':disabled'))),
+                selected: element.selected === true || element.checked === true,
+                attributes: {},
+                css: {}
+            };
+            attributeNames.forEach(function (name) { snapshot.attributes[name] = readAttribute(name); });
+            cssPropertyNames.forEach(function (name) { snapshot.css[name] = style.getPropertyValue(name); });
+            return snapshot;"""),
+    PAGE_READINESS("""
+            var jQueryActive = 0;
+            try {
+                if (typeof jQuery != 'undefined' && typeof jQuery.active == 'number')
+                    jQueryActive = jQuery.active;
+            } catch (err) {}
+            var angularPendingRequests = 0;
+            try {
+                if (window.angular !== undefined && angular.element(document).injector() !== undefined)
+                    angularPendingRequests = angular.element(document).injector().get('$http').pendingRequests.length;
+            } catch (err) {}
+            return {
+                ready: document.readyState === 'complete' && jQueryActive === 0 && angularPendingRequests === 0,
+                readyState: document.readyState,
+                jQueryActive: jQueryActive,
+                angularPendingRequests: angularPendingRequests
+            };"""),
+    PAGE_NETWORK_IDLE("""
+            var callback = arguments[arguments.length - 1];
+            var quietWindow = arguments[0], timeout = arguments[1], startTime = Date.now();
+            var tracker = window.shaftNetworkTracker;
+            if (!tracker) {
+                tracker = window.shaftNetworkTracker = {requests: 0, timers: 0, lastActivity: Date.now(),
+                        setTimeout: window.setTimeout, clearTimeout: window.clearTimeout};
+                var started = function () {
+                    tracker.requests++;
+                    tracker.lastActivity = Date.now();
+                };
+                var finished = function () {
+                    tracker.requests = Math.max(0, tracker.requests - 1);
+                    tracker.lastActivity = Date.now();
+                };
+                if (window.fetch) {
+                    var originalFetch = window.fetch;
+                    window.fetch = function () {
+                        started();
+                        var response;
+                        try {
+                            response = originalFetch.apply(this, arguments);
+                        } catch (err) {
+                            finished();
+                            throw err;
                         }
-                    } catch (err) {}
-
-                    /** Try to get element Text
-                     **/
-                    try {
-                        if (element.textContent && element.textContent.length < 50 && element.textContent == element.innerHTML && $$GetText$$) {
-                            var uiElementText = element.textContent;
-                            try {
-                                uiElementText = uiElementText.trim();
-                            } catch (err) {
-                                uiElementText = uiElementText.replace(/^\\s+|\\s+$/g, '');
-                            }
-                            if (nodeXpath != '')
-                                nodeXpath += ' and ';
-                            if (element.textContent == uiElementText && element.textContent.length > 0)
-                                nodeXpath += 'text()=\\"' + element.textContent + '\\"';
-                            else
-                                nodeXpath += 'normalize-space() = \\"' + uiElementText + '\\"';
-                        } else if (element.text && element.text.length < 50 && element.text == element.innerHTML && $$GetText$$) {
-                            var uiElementText = element.text;
-                            try {
-                                uiElementText = uiElementText.trim();
-                            } catch (err) {
-                                uiElementText = uiElementText.replace(/^\\s+|\\s+$/g, '');
-                            }
-                            if (uiElementText.length > 0) {
-                                if (nodeXpath != '')
-                                    nodeXpath += ' and ';
-                                if (element.text == uiElementText)
-                                    nodeXpath += 'contains(text(),\\'' + uiElementText + '\\')';
-                                else
-                                    nodeXpath += 'contains(normalize-space(),\\'' + uiElementText + '\\')';
-                            }
-                        } else if (element.innerText && element.innerText.length < 50 && element.innerText == element.innerHTML && $$GetText$$) {
-
-                            var uiElementText = element.innerText;
-                            try {
-                                uiElementText = uiElementText.trim();
-                            } catch (err) {
-                                uiElementText = uiElementText.replace(/^\\s+|\\s+$/g, '');
-                            }
-                            if (uiElementText.length > 0) {
-                                if (nodeXpath != '')
-                                    nodeXpath += ' and ';
-                                if (element.innerText == uiElementText)
-                                    nodeXpath += 'contains(text(),\\'' + uiElementText + '\\')';
-                                else
-                                    nodeXpath += 'contains(normalize-space(),\\'' + uiElementText + '\\')';
-                            }
-                        } else if (element.nodeName.toLocaleLowerCase() == "a" || count == 0) {
-                            var uiElementText = element.textContent;
-                            try {
-                                uiElementText = uiElementText.trim().substring(0, 10);
-                                uiElementText = uiElementText.replace("'", "') and contains (.,'");
-                            } catch (err) {
-                                uiElementText = uiElementText.replace(/^\\s+|\\s+$/g, '');
-                                uiElementText = uiElementText.replace("'", "') and contains (.,'");
-                            }
-                            if (uiElementText.length > 0) {
-                                if (nodeXpath != '')
-                                    nodeXpath += ' and ';
-                                if (element.textContent == uiElementText)
-                                    nodeXpath += 'contains(normalize-space(),\\'' + uiElementText + '\\')';
-                                else
-                                    nodeXpath += 'contains(.,\\'' + uiElementText + '\\')';
+                        Promise.resolve(response).then(finished, finished);
+                        return response;
+                    };
+                }
+                if (window.XMLHttpRequest) {
+                    var originalSend = XMLHttpRequest.prototype.send;
+                    XMLHttpRequest.prototype.send = function () {
+                        var done = false;
+                        var onDone = function () {
+                            if (!done) {
+                                done = true;
+                                finished();
                             }
+                        };
+                        started();
+                        this.addEventListener('loadend', onDone);
+                        try {
+                            return originalSend.apply(this, arguments);
+                        } catch (err) {
+                            onDone();
+                            throw err;
                         }
-                    } catch (err) {}
-
-                    /** Getting the Element's Tag Name
-                     **/
-                    var currentElementTagName = element.nodeName.toLocaleLowerCase();
-
-                    /** Building Xpath for the current Element Node
-                     **/
-                    if (nodeXpath == '') {
-                        xpath = '/' + currentElementTagName + pathIndex + xpath;
-                    } else {
-                        xpath = '/' + currentElementTagName + pathIndex + '[' + nodeXpath + ']' + xpath;
+                    };
+                }
+                /** Timers that are due within the quiet window are pending work, longer ones are background polling
+                 **/
+                var pendingTimers = {};
+                window.setTimeout = function (handler) {
+                    var delay = Number(arguments[1]) || 0;
+                    if (typeof handler !== 'function' || delay > tracker.quietWindow)
+                        return tracker.setTimeout.apply(window, arguments);
+                    var timerArguments = Array.prototype.slice.call(arguments);
+                    var timerId;
+                    timerArguments[0] = function () {
+                        if (pendingTimers[timerId]) {
+                            delete pendingTimers[timerId];
+                            tracker.timers--;
+                            tracker.lastActivity = Date.now();
+                        }
+                        return handler.apply(this, arguments);
+                    };
+                    timerId = tracker.setTimeout.apply(window, timerArguments);
+                    pendingTimers[timerId] = true;
+                    tracker.timers++;
+                    return timerId;
+                };
+                window.clearTimeout = function (timerId) {
+                    if (pendingTimers[timerId]) {
+                        delete pendingTimers[timerId];
+                        tracker.timers--;
                     }
-
-                    /** Switching focus to parent node
-                     **/
-                    element = element.parentElement;
-
-                    /** Incrementing the element counter and breaking the loop in case we reach the maximum number of elements defined by the user
-                     **/
-                    count++;
-                    if (count >= $$MaxCount$$)
-                        break;
+                    return tracker.clearTimeout.apply(window, arguments);
+                };
+            }
+            tracker.quietWindow = quietWindow;
+            var frameworksAreIdle = function () {
+                try {
+                    if (typeof jQuery != 'undefined' && typeof jQuery.active == 'number' && jQuery.active > 0)
+                        return false;
+                } catch (err) {}
+                try {
+                    if (window.angular !== undefined && angular.element(document).injector() !== undefined
+                            && angular.element(document).injector().get('$http').pendingRequests.length > 0)
+                        return false;
+                } catch (err) {}
+                try {
+                    if (typeof window.getAllAngularTestabilities === 'function')
+                        return window.getAllAngularTestabilities().every(function (testability) {
+                            return testability.isStable();
+                        });
+                } catch (err) {}
+                return true;
+            };
+            var check = function () {
+                var now = Date.now();
+                var isIdle = document.readyState === 'complete' && tracker.requests === 0 && tracker.timers === 0 && frameworksAreIdle();
+                if (!isIdle) {
+                    tracker.lastActivity = now;
+                }
+                var quietTime = now - tracker.lastActivity;
+                if (isIdle && quietTime >= quietWindow) {
+                    callback(true);
+                } else if (now - startTime >= timeout) {
+                    callback(false);
+                } else {
+                    tracker.setTimeout.call(window, check, isIdle ? quietWindow - quietTime : 25);
                 }
-
-                return '/' + xpath;
             };
-
-            if (arguments[0] && !window.lastelem) {
-                return getXPath(arguments[0]);
-            } else if (!arguments[0] && window.lastelem) {
-                window.lastelem.style.outline = currentoutlineStyle;
-                window.lastelem.style.backgroundColor = currentbackgroundColorStyle;
-                return getXPath(window.lastelem);
-            }"""),
-    ELEMENT_SCROLL_TO_VIEWPORT(
-            "(function(){'use strict';var api;api=function(x,y){var elm,scrollX,scrollY,newX,newY;scrollX=window.pageXOffset;scrollY=window.pageYOffset;window.scrollTo(x,y);newX=x-window.pageXOffset;newY=y-window.pageYOffset;elm=this.elementFromPoint(newX,newY);window.scrollTo(scrollX,scrollY);return elm;};this.document.elementFromAbsolutePoint=api;}).call(this);return document.elementFromAbsolutePoint(arguments[0], arguments[1]);"),
+            check();"""),
+    ELEMENT_WAIT_FOR_PRESENCE("""
+            var callback = arguments[arguments.length - 1];
+            var selectorType = arguments[0], selector = arguments[1], timeout = arguments[2];
+            var findElements = function () {
+                if (selectorType === 'xpath') {
+                    var matches = document.evaluate(selector, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                    var elements = [];
+                    for (var i = 0; i < matches.snapshotLength; i++) {
+                        if (matches.snapshotItem(i).nodeType === Node.ELEMENT_NODE)
+                            elements.push(matches.snapshotItem(i));
+                    }
+                    return elements;
+                }
+                return Array.prototype.slice.call(document.querySelectorAll(selector));
+            };
+            var elements = findElements();
+            if (elements.length > 0) {
+                callback(elements);
+                return;
+            }
+            if (!window.MutationObserver) {
+                // the caller falls back to polling
+                callback(null);
+                return;
+            }
+            var timer;
+            var observer = new MutationObserver(function () {
+                var matches = findElements();
+                if (matches.length > 0) {
+                    observer.disconnect();
+                    clearTimeout(timer);
+                    callback(matches);
+                }
+            });
+            observer.observe(document, {childList: true, subtree: true, attributes: true});
+            timer = setTimeout(function () {
+                observer.disconnect();
+                callback([]);
+            }, timeout);"""),
     WINDOW_FOCUS("window.focus();"), WINDOW_RESET_LOCATION("window.moveTo(0,0);"),
     WINDOW_RESIZE("window.resizeTo($WIDTH,$HEIGHT);"), NAVIGATION_STOP("return window.stop;"),
     DOCUMENT_READYSTATE("return document.readyState");
@@ -777,7 +777,7 @@ public class Assertions {
      * @param driver                 the current instance of Selenium webdriver
      * @param elementLocator         the locator of the webElement under test (By xpath,
      *                               id, selector, name ...etc)
-     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES
+     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES, STRICT_SSIM, LAYOUT_PHASH
      * @param customLogMessage       a custom message that will appended to this step in
      *                               *                         the execution report
      */
@@ -793,7 +793,7 @@ public class Assertions {
      * @param driver                 the current instance of Selenium webdriver
      * @param elementLocator         the locator of the webElement under test (By xpath,
      *                               id, selector, name ...etc)
-     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES
+     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES, STRICT_SSIM, LAYOUT_PHASH
      * @param assertionType          AssertionType.POSITIVE, NEGATIVE
      * @param customLogMessage       a custom message that will appended to this step in
      *                               *                         the execution report
@@ -879,7 +879,7 @@ public class Assertions {
      * @param page           the current instance of Playwright
      * @param elementLocator         the locator of the webElement under test (By xpath,
      *                               id, selector, name ...etc)
-     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES
+     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES, STRICT_SSIM, LAYOUT_PHASH
      * @param customLogMessage       a custom message that will appended to this step in
      *                               *                         the execution report
      */
@@ -895,7 +895,7 @@ public class Assertions {
      * @param page           the current instance of Playwright
      * @param elementLocator         the locator of the webElement under test (By xpath,
      *                               id, selector, name ...etc)
-     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES
+     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES, STRICT_SSIM, LAYOUT_PHASH
      * @param assertionType          AssertionType.POSITIVE, NEGATIVE
      * @param customLogMessage       a custom message that will appended to this step in
      *                               *                         the execution report
@@ -952,7 +952,9 @@ public class Assertions {
         EXACT_EYES,
         STRICT_EYES,
         CONTENT_EYES,
-        LAYOUT_EYES
+        LAYOUT_EYES,
+        STRICT_SSIM,
+        LAYOUT_PHASH
     }
 
     public enum ElementAttributeType {
@@ -35,7 +35,9 @@ public class ValidationEnums {
         EXACT_EYES,
         STRICT_EYES,
         CONTENT_EYES,
-        LAYOUT_EYES
+        LAYOUT_EYES,
+        STRICT_SSIM,
+        LAYOUT_PHASH
     }
 
     protected enum ValidationCategory {
@@ -7,7 +7,9 @@ import com.shaft.gui.browser.BrowserActions;
 import com.shaft.gui.element.ElementActions;
 import com.shaft.gui.image.ImageProcessingActions;
 import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.tools.io.ActionContext;
 import com.shaft.tools.io.ReportManagerHelper;
+import com.shaft.tools.support.ExecutionScope;
 import com.shaft.tools.support.JavaActions;
 import com.shaft.validation.ValidationEnums.*;
 import io.restassured.response.Response;
@@ -23,27 +25,23 @@ class ValidationHelper {
     //TODO: implement element attribute and element exists validations for sikuli actions
     private static final int ATTEMPTS_ELEMENTNOTFOUNDEXCEPTION = Integer
             .parseInt(System.getProperty("attemptsBeforeThrowingElementNotFoundException").trim());
-    private static final int ATTEMPTS_ELEMENTNOTFOUNDEXCEPTION_ELEMENTSHOULDNOTEXIST = 1;
-    private static WebDriver lastUsedDriver = null;
-    private static By lastUsedElementLocator = null;
-
-    private static Page lastUsedPage = null;
-    private static String lastUsedElementLocatorString = null;
     private static Boolean discreetLoggingState = Boolean.valueOf(System.getProperty("alwaysLogDiscreetly"));
-    private static List<String> verificationFailuresList = new ArrayList<>();
-    private static AssertionError verificationError = null;
 
     private ValidationHelper() {
         throw new IllegalStateException("Utility class");
     }
 
     protected static AssertionError getVerificationErrorToForceFail() {
-        return verificationError;
+        return state().verificationError;
     }
 
     protected static void resetVerificationStateAfterFailing() {
-        verificationFailuresList = new ArrayList<>();
-        verificationError = null;
+        state().verificationFailuresList = new ArrayList<>();
+        state().verificationError = null;
+    }
+
+    private static ValidationScopeState state() {
+        return ExecutionScope.current().getState(ValidationScopeState.class, ValidationScopeState::new);
     }
 
     static ArrayList<String> optionalCustomLogMessage = new ArrayList<>();
@@ -97,8 +95,8 @@ class ValidationHelper {
                 "Element Exists but is not unique"};
         String locatorSeparator = ", locator '";
 
-        lastUsedPage = page;
-        lastUsedElementLocatorString = elementLocator;
+        state().lastUsedPage = page;
+        state().lastUsedElementLocatorString = elementLocator;
         int elementsCount = ElementActions.performElementAction(page).getElementsCount(elementLocator);
 
         if (validationType.getValue()) {
@@ -130,19 +128,17 @@ class ValidationHelper {
                                                 String... optionalCustomLogMessage) {
 
         processCustomLogMessage(optionalCustomLogMessage);
-        int customAttempts = ATTEMPTS_ELEMENTNOTFOUNDEXCEPTION;
-        if (!validationType.getValue()) {
-            customAttempts = ATTEMPTS_ELEMENTNOTFOUNDEXCEPTION_ELEMENTSHOULDNOTEXIST;
-        }
 
         String[] expectedElementStates = {"Element Should Exist", "Element Should not Exist"};
         String[] actualElementStates = {"Element Exists", "Element Doesn't Exists",
                 "Element Exists but is not unique"};
         String locatorSeparator = ", locator '";
 
-        lastUsedDriver = driver;
-        lastUsedElementLocator = elementLocator;
-        int elementsCount = ElementActions.getElementsCount(driver, elementLocator, customAttempts);
+        state().lastUsedDriver = driver;
+        state().lastUsedElementLocator = elementLocator;
+        int elementsCount = validationType.getValue()
+                ? ElementActions.getElementsCount(driver, elementLocator, ATTEMPTS_ELEMENTNOTFOUNDEXCEPTION)
+                : ElementActions.getElementsCountExpectingAbsence(driver, elementLocator);
 
         if (validationType.getValue()) {
             // expecting a unique element to be present
@@ -206,8 +202,8 @@ class ValidationHelper {
             return;
         }
 
-        lastUsedPage = page;
-        lastUsedElementLocatorString = elementLocator;
+        state().lastUsedPage = page;
+        state().lastUsedElementLocatorString = elementLocator;
         int comparisonResult = JavaActions.compareTwoObjects(expectedValue, actualValue,
                 validationComparisonType.getValue(), validationType.getValue());
 
@@ -251,8 +247,8 @@ class ValidationHelper {
             return;
         }
 
-        lastUsedDriver = driver;
-        lastUsedElementLocator = elementLocator;
+        state().lastUsedDriver = driver;
+        state().lastUsedElementLocator = elementLocator;
         int comparisonResult = JavaActions.compareTwoObjects(expectedValue, actualValue,
                 validationComparisonType.getValue(), validationType.getValue());
 
@@ -275,8 +271,8 @@ class ValidationHelper {
         String actualValue = ElementActions.getCSSProperty(driver, elementLocator, propertyName);
         ReportManagerHelper.setDiscreteLogging(discreetLoggingState);
 
-        lastUsedDriver = driver;
-        lastUsedElementLocator = elementLocator;
+        state().lastUsedDriver = driver;
+        state().lastUsedElementLocator = elementLocator;
         int comparisonResult = JavaActions.compareTwoObjects(expectedValue, actualValue,
                 validationComparisonType.getValue(), validationType.getValue());
 
@@ -323,7 +319,7 @@ class ValidationHelper {
             return;
         }
 
-        lastUsedDriver = driver;
+        state().lastUsedDriver = driver;
         int comparisonResult = JavaActions.compareTwoObjects(expectedValue, actualValue,
                 validationComparisonType.getValue(), validationType.getValue());
 
@@ -367,7 +363,7 @@ class ValidationHelper {
             return;
         }
 
-        lastUsedPage = page;
+        state().lastUsedPage = page;
         int comparisonResult = JavaActions.compareTwoObjects(expectedValue, actualValue,
                 validationComparisonType.getValue(), validationType.getValue());
 
@@ -695,15 +691,9 @@ class ValidationHelper {
             attachments.addAll(externalAttachments);
         }
 
-        var stacktrace = (new Throwable()).getStackTrace();
         // get validation method name
-        String validationMethodName = stacktrace[2].getMethodName();
-//        String callingAssertionOrVerificationMethodName = stacktrace[3].getMethodName();
-
-        if (validationMethodName.contains("reportValidationResult")) {
-            validationMethodName = stacktrace[3].getMethodName();
-//            validationMethodName = callingAssertionOrVerificationMethodName;
-        }
+        String validationMethodName = ActionContext.getCallerMethodName("pass", "fail",
+                "reportValidationResultOfElementAttribute", "reportValidationResultOfBrowserAttribute");
 
         String validationTypeString = "Assertion";
         if (validationCategory.equals(ValidationCategory.SOFT_ASSERT)) {
@@ -750,30 +740,31 @@ class ValidationHelper {
             }
         }
 
+        var state = state();
         // create a screenshot attachment if needed for webdriver
         //if (expectedValue != null && expectedValue.toLowerCase().contains("locator")) {
-        if (lastUsedDriver != null && lastUsedElementLocator != null) {
-            attachments.add(ScreenshotManager.captureScreenShot(lastUsedDriver, lastUsedElementLocator,
+        if (state.lastUsedDriver != null && state.lastUsedElementLocator != null) {
+            attachments.add(ScreenshotManager.captureScreenShot(state.lastUsedDriver, state.lastUsedElementLocator,
                     validationMethodName, validationState.getValue()));
-        } else if (lastUsedDriver != null) {
-            attachments.add(ScreenshotManager.captureScreenShot(lastUsedDriver, validationMethodName,
+        } else if (state.lastUsedDriver != null) {
+            attachments.add(ScreenshotManager.captureScreenShot(state.lastUsedDriver, validationMethodName,
                     validationState.getValue()));
         }
         // reset lastUsed variables
-        lastUsedDriver = null;
-        lastUsedElementLocator = null;
+        state.lastUsedDriver = null;
+        state.lastUsedElementLocator = null;
         //}
 
         // create a screenshot attachment if needed for Playwright
         if (expectedValue != null && expectedValue.toLowerCase().contains("locator")) {
-            if (lastUsedPage != null && lastUsedElementLocatorString != null) {
-                attachments.add(ScreenshotManager.captureScreenShot(lastUsedPage, lastUsedElementLocatorString, validationMethodName, validationState.getValue()));
-            } else if (lastUsedPage != null) {
-                attachments.add(ScreenshotManager.captureScreenShot(lastUsedPage, "", validationMethodName, validationState.getValue()));
+            if (state.lastUsedPage != null && state.lastUsedElementLocatorString != null) {
+                attachments.add(ScreenshotManager.captureScreenShot(state.lastUsedPage, state.lastUsedElementLocatorString, validationMethodName, validationState.getValue()));
+            } else if (state.lastUsedPage != null) {
+                attachments.add(ScreenshotManager.captureScreenShot(state.lastUsedPage, "", validationMethodName, validationState.getValue()));
             }
             // reset lastUsed variables
-            lastUsedPage = null;
-            lastUsedElementLocatorString = null;
+            state.lastUsedPage = null;
+            state.lastUsedElementLocatorString = null;
         }
 
 
@@ -817,8 +808,8 @@ class ValidationHelper {
 
                 // set test state in case of failure
                 if (!validationState.getValue()) {
-                    verificationFailuresList.add(message.toString());
-                    verificationError = new AssertionError(String.join("\nAND ", verificationFailuresList));
+                    state().verificationFailuresList.add(message.toString());
+                    state().verificationError = new AssertionError(String.join("\nAND ", state().verificationFailuresList));
                 }
                 break;
             default:
@@ -835,4 +826,16 @@ class ValidationHelper {
             }
         }
     }
+
+    /**
+     * The validation targets and soft assertion failures of the test that is running on the current thread
+     */
+    private static class ValidationScopeState {
+        private WebDriver lastUsedDriver = null;
+        private By lastUsedElementLocator = null;
+        private Page lastUsedPage = null;
+        private String lastUsedElementLocatorString = null;
+        private List<String> verificationFailuresList = new ArrayList<>();
+        private AssertionError verificationError = null;
+    }
 }
@@ -783,7 +783,7 @@ public class Verifications {
      * @param driver                 the current instance of Selenium webdriver
      * @param elementLocator         the locator of the webElement under test (By xpath,
      *                               id, selector, name ...etc)
-     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES
+     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES, STRICT_SSIM, LAYOUT_PHASH
      * @param customLogMessage       a custom message that will appended to this step in
      *                               *                         the execution report
      */
@@ -799,7 +799,7 @@ public class Verifications {
      * @param driver                 the current instance of Selenium webdriver
      * @param elementLocator         the locator of the webElement under test (By xpath,
      *                               id, selector, name ...etc)
-     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES
+     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES, STRICT_SSIM, LAYOUT_PHASH
      * @param verificationType       verificationType.POSITIVE, NEGATIVE
      * @param customLogMessage       a custom message that will appended to this step in
      *                               *                         the execution report
@@ -887,7 +887,7 @@ public class Verifications {
      * @param page           the current instance of Playwright
      * @param elementLocator         the locator of the webElement under test (By xpath,
      *                               id, selector, name ...etc)
-     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES
+     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES, STRICT_SSIM, LAYOUT_PHASH
      * @param customLogMessage       a custom message that will appended to this step in
      *                               *                         the execution report
      */
@@ -903,7 +903,7 @@ public class Verifications {
      * @param page           the current instance of Playwright
      * @param elementLocator         the locator of the webElement under test (By xpath,
      *                               id, selector, name ...etc)
-     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES
+     * @param visualValidationEngine VisualValidationEngine.EXACT_OPENCV, EXACT_EYES, STRICT_EYES, CONTENT_EYES, LAYOUT_EYES, STRICT_SSIM, LAYOUT_PHASH
      * @param verificationType       verificationType.POSITIVE, NEGATIVE
      * @param customLogMessage       a custom message that will appended to this step in
      *                               *                         the execution report
@@ -960,7 +960,9 @@ public class Verifications {
         EXACT_EYES,
         STRICT_EYES,
         CONTENT_EYES,
-        LAYOUT_EYES
+        LAYOUT_EYES,
+        STRICT_SSIM,
+        LAYOUT_PHASH
     }
 
     public enum ElementAttributeType {
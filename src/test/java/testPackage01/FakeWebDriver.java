@@ -0,0 +1,430 @@
+package testPackage01;
+
+import com.shaft.tools.support.JavaScriptHelper;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.*;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.interactions.internal.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * An in-memory WebDriver that serves a single element and counts every command it receives, used to measure how many
+ * round trips an action would cost against a real (remote) browser.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot, Interactive {
+    private final Map<String, Integer> commands = new LinkedHashMap<>();
+    private final FakeWebElement element = new FakeWebElement();
+    private final String presentElementLocator;
+    private int staleReferencesToThrow = 0;
+    private int screenshotWidth = 64;
+    private int screenshotHeight = 48;
+    private String screenshot;
+    private String typedText = "";
+    private int busyReadinessChecks = 0;
+    private boolean renderElementLate = false;
+    private List<Object> lastScriptArguments = Collections.emptyList();
+
+    public FakeWebDriver(By presentElementLocator) {
+        this.presentElementLocator = presentElementLocator.toString();
+    }
+
+    public int getCommandsCount() {
+        return commands.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public int getCommandsCount(String commandName) {
+        return commands.getOrDefault(commandName, 0);
+    }
+
+    public int getElementLookupsCount() {
+        return getCommandsCount("findElement") + getCommandsCount("findElements");
+    }
+
+    public void resetCommandsCount() {
+        commands.clear();
+    }
+
+    public List<Object> getLastScriptArguments() {
+        return lastScriptArguments;
+    }
+
+    /**
+     * Makes the next element commands fail with a StaleElementReferenceException until the element is located again
+     *
+     * @param staleReferencesToThrow the number of commands that should fail
+     */
+    public void makeElementStale(int staleReferencesToThrow) {
+        this.staleReferencesToThrow = staleReferencesToThrow;
+    }
+
+    /**
+     * Changes the size of the screenshots that this driver returns, they are filled with text and shapes so that
+     * they compress like a real page would
+     *
+     * @param width  the screenshot width
+     * @param height the screenshot height
+     */
+    public void setScreenshotSize(int width, int height) {
+        this.screenshotWidth = width;
+        this.screenshotHeight = height;
+        this.screenshot = null;
+    }
+
+    /**
+     * Changes the text that the screenshots show in their input box, the rest of the page stays the same
+     *
+     * @param typedText the text in the input box
+     */
+    public void setTypedText(String typedText) {
+        this.typedText = typedText;
+        this.screenshot = null;
+    }
+
+    /**
+     * Makes the element absent from the page until the page reports that it was attached, through the asynchronous
+     * script that waits for it
+     */
+    public void renderElementLate() {
+        this.renderElementLate = true;
+    }
+
+    /**
+     * Makes the page report that it's still loading for a number of readiness checks
+     *
+     * @param busyReadinessChecks the number of readiness checks that should find the page busy
+     */
+    public void makePageBusy(int busyReadinessChecks) {
+        this.busyReadinessChecks = busyReadinessChecks;
+    }
+
+    private void count(String commandName) {
+        commands.merge(commandName, 1, Integer::sum);
+    }
+
+    @Override
+    public void get(String url) {
+        count("get");
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        count("getCurrentUrl");
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        count("getTitle");
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        count("findElements");
+        if (presentElementLocator.equals(by.toString()) && !renderElementLate) {
+            return Collections.singletonList(element.relocate());
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        count("findElement");
+        if (presentElementLocator.equals(by.toString())) {
+            return element.relocate();
+        }
+        throw new NoSuchElementException("Fake element not found: " + by);
+    }
+
+    @Override
+    public String getPageSource() {
+        count("getPageSource");
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+        count("close");
+    }
+
+    @Override
+    public void quit() {
+        count("quit");
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        count("getWindowHandles");
+        return new HashSet<>(Collections.singletonList("fake"));
+    }
+
+    @Override
+    public String getWindowHandle() {
+        count("getWindowHandle");
+        return "fake";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        count("executeScript");
+        lastScriptArguments = Arrays.asList(args);
+        if (script.equals(JavaScriptHelper.ELEMENT_SNAPSHOT.getValue())) {
+            count("elementSnapshot");
+            return element.snapshot((List<?>) args[1], (List<?>) args[2]);
+        } else if (script.equals(JavaScriptHelper.ELEMENT_SUGGEST_XPATH.getValue())) {
+            count("xpathSuggestion");
+            return args[0] == element ? "//button[@id=\"fakeButton\"]" : null;
+        } else if (script.equals(JavaScriptHelper.PAGE_READINESS.getValue())) {
+            count("pageReadiness");
+            return Map.of("ready", busyReadinessChecks-- <= 0);
+        } else if (script.contains("readyState")) {
+            return "complete";
+        } else if (script.contains("jQuery") || script.contains("angular")) {
+            return script.contains("=== undefined");
+        }
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        count("executeAsyncScript");
+        if (script.equals(JavaScriptHelper.ELEMENT_WAIT_FOR_PRESENCE.getValue()) && renderElementLate) {
+            count("elementPresenceObserver");
+            renderElementLate = false;
+            return Collections.singletonList(element.relocate());
+        }
+        return null;
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        count("getScreenshotAs");
+        if (screenshot == null) {
+            screenshot = Base64.getEncoder().encodeToString(drawScreenshot());
+        }
+        return target.convertFromBase64Png(screenshot);
+    }
+
+    private byte[] drawScreenshot() {
+        var image = new BufferedImage(screenshotWidth, screenshotHeight, BufferedImage.TYPE_INT_RGB);
+        var graphics = image.createGraphics();
+        graphics.setColor(java.awt.Color.WHITE);
+        graphics.fillRect(0, 0, screenshotWidth, screenshotHeight);
+        var random = new Random(screenshotWidth * 31L + screenshotHeight);
+        for (int y = 0; y < screenshotHeight; y += 24) {
+            graphics.setColor(new java.awt.Color(random.nextInt(0xFFFFFF)));
+            graphics.fillRect(random.nextInt(Math.max(1, screenshotWidth / 2)), y, random.nextInt(Math.max(1, screenshotWidth / 2)), 8);
+            graphics.setColor(java.awt.Color.BLACK);
+            graphics.drawString("Fake page line " + y + " " + Long.toHexString(random.nextLong()), 4, y + 20);
+        }
+        graphics.setColor(java.awt.Color.WHITE);
+        graphics.fillRect(8, 8, 200, 20);
+        graphics.setColor(java.awt.Color.GRAY);
+        graphics.drawRect(8, 8, 200, 20);
+        graphics.setColor(java.awt.Color.BLACK);
+        graphics.drawString(typedText, 12, 22);
+        graphics.dispose();
+        try {
+            var encodedScreenshot = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", encodedScreenshot);
+            return encodedScreenshot.toByteArray();
+        } catch (IOException e) {
+            throw new WebDriverException(e);
+        }
+    }
+
+    @Override
+    public void perform(Collection<Sequence> actions) {
+        count("performActions");
+    }
+
+    @Override
+    public void resetInputState() {
+        count("releaseActions");
+    }
+
+    private class FakeWebElement implements WebElement, Locatable {
+        private boolean isStale = false;
+
+        private FakeWebElement relocate() {
+            isStale = false;
+            return this;
+        }
+
+        private void command(String commandName) {
+            count(commandName);
+            if (staleReferencesToThrow > 0 && !isStale) {
+                isStale = true;
+            }
+            if (isStale) {
+                staleReferencesToThrow--;
+                throw new StaleElementReferenceException("Fake element is stale");
+            }
+        }
+
+        private Map<String, Object> snapshot(List<?> attributeNames, List<?> cssPropertyNames) {
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("tagName", "button");
+            snapshot.put("text", "Fake Button");
+            snapshot.put("textContent", "Fake Button");
+            snapshot.put("value", null);
+            snapshot.put("rect", Map.of("x", 0L, "y", 0L, "width", 10L, "height", 10L));
+            snapshot.put("displayed", true);
+            snapshot.put("enabled", true);
+            snapshot.put("selected", false);
+            Map<String, Object> attributes = new HashMap<>();
+            attributeNames.forEach(name -> attributes.put(String.valueOf(name), ""));
+            snapshot.put("attributes", attributes);
+            Map<String, Object> css = new HashMap<>();
+            cssPropertyNames.forEach(name -> css.put(String.valueOf(name), "rgb(0, 0, 0)"));
+            snapshot.put("css", css);
+            return snapshot;
+        }
+
+        @Override
+        public void click() {
+            command("click");
+        }
+
+        @Override
+        public void submit() {
+            command("submit");
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+            command("sendKeys");
+        }
+
+        @Override
+        public void clear() {
+            command("clear");
+        }
+
+        @Override
+        public String getTagName() {
+            command("getTagName");
+            return "button";
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            command("getAttribute");
+            return "";
+        }
+
+        @Override
+        public boolean isSelected() {
+            command("isSelected");
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            command("isEnabled");
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            command("getText");
+            return "Fake Button";
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return FakeWebDriver.this.findElements(by);
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return FakeWebDriver.this.findElement(by);
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            command("isDisplayed");
+            return true;
+        }
+
+        @Override
+        public Point getLocation() {
+            command("getLocation");
+            return new Point(0, 0);
+        }
+
+        @Override
+        public Dimension getSize() {
+            command("getSize");
+            return new Dimension(10, 10);
+        }
+
+        @Override
+        public Rectangle getRect() {
+            command("getRect");
+            return new Rectangle(0, 0, 10, 10);
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            command("getCssValue");
+            return "";
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            command("takeElementScreenshot");
+            return FakeWebDriver.this.getScreenshotAs(target);
+        }
+
+        @Override
+        public Coordinates getCoordinates() {
+            return new Coordinates() {
+                @Override
+                public Point onScreen() {
+                    return new Point(0, 0);
+                }
+
+                @Override
+                public Point inViewPort() {
+                    command("getElementLocationOnceScrolledIntoView");
+                    return new Point(0, 0);
+                }
+
+                @Override
+                public Point onPage() {
+                    return new Point(0, 0);
+                }
+
+                @Override
+                public Object getAuxiliary() {
+                    return "fake";
+                }
+            };
+        }
+    }
+}
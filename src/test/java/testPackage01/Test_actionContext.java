@@ -0,0 +1,117 @@
+package testPackage01;
+
+import com.shaft.gui.element.ElementActions;
+import com.shaft.tools.io.ActionContext;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class Test_actionContext {
+    private static final int BENCHMARK_ITERATIONS = 100_000;
+
+    @Test
+    public void elementActionIsNamedAndTimedByItsContext() {
+        By button = By.id("fakeButton");
+        ElementActions.click(new FakeWebDriver(button), button);
+        ActionContext lastAction = ActionContext.getLastClosed();
+        Assertions.assertEquals("click", lastAction.getActionName());
+        Assertions.assertEquals(button, lastAction.getTarget());
+        Assertions.assertTrue(lastAction.getPhaseTimings().keySet().containsAll(List.of("identify", "perform", "report")),
+                "Recorded phases " + lastAction.getPhaseTimings().keySet());
+        Assertions.assertEquals(null, ActionContext.current(), "Open context after the action was reported");
+    }
+
+    @Test
+    public void typingActionsAreNamedAfterThePublicAction() {
+        By field = By.id("fakeButton");
+        var driver = new FakeWebDriver(field);
+        // the fake element doesn't keep the typed text
+        String forceCheckTextWasTypedCorrectly = System.getProperty("forceCheckTextWasTypedCorrectly");
+        System.setProperty("forceCheckTextWasTypedCorrectly", "false");
+        try {
+            ElementActions.type(driver, field, "hello");
+            Assertions.assertEquals("type", ActionContext.getLastClosed().getActionName());
+            ElementActions.typeSecure(driver, field, "secret");
+            Assertions.assertEquals("typeSecure", ActionContext.getLastClosed().getActionName());
+        } finally {
+            if (forceCheckTextWasTypedCorrectly == null) {
+                System.clearProperty("forceCheckTextWasTypedCorrectly");
+            } else {
+                System.setProperty("forceCheckTextWasTypedCorrectly", forceCheckTextWasTypedCorrectly);
+            }
+        }
+    }
+
+    @Test
+    public void nestedContextsAreClosedWithTheirParent() {
+        ActionContext outer = ActionContext.open("hoverAndClick", null);
+        ActionContext.open("hover", null);
+        Assertions.assertEquals("hover", ActionContext.current().getActionName());
+        outer.close();
+        Assertions.assertEquals(null, ActionContext.current());
+    }
+
+    @Test
+    public void contextOfAnActionThatThrowsIsClosed() {
+        By button = By.id("fakeButton");
+        var driver = new FakeWebDriver(button) {
+            @Override
+            public Object executeScript(String script, Object... args) {
+                // errors aren't handled by the action, like a nested assertion that failed
+                throw new AssertionError("Fake script failure");
+            }
+        };
+        try {
+            ElementActions.click(driver, button);
+            Assertions.assertTrue(false, "The action should have thrown the script failure");
+        } catch (AssertionError e) {
+            Assertions.assertEquals("Fake script failure", e.getMessage());
+        }
+        Assertions.assertEquals(null, ActionContext.current(), "Open context after the action threw");
+    }
+
+    @Test
+    public void callingMethodIsResolvedOutsideTheEngine() {
+        Assertions.assertEquals(getClass().getName() + ".callingMethodIsResolvedOutsideTheEngine",
+                ActionContext.getCallingMethodFullName());
+    }
+
+    @Test
+    public void actionNamingMicrobenchmark() {
+        // warm up both paths before measuring
+        long blackHole = measureStackTraceNaming(BENCHMARK_ITERATIONS) + measureActionContextNaming(BENCHMARK_ITERATIONS);
+
+        long stackTraceNanos = System.nanoTime();
+        blackHole += measureStackTraceNaming(BENCHMARK_ITERATIONS);
+        stackTraceNanos = System.nanoTime() - stackTraceNanos;
+
+        long actionContextNanos = System.nanoTime();
+        blackHole += measureActionContextNaming(BENCHMARK_ITERATIONS);
+        actionContextNanos = System.nanoTime() - actionContextNanos;
+
+        ReportManager.log("Action naming cost per action: stack trace [" + stackTraceNanos / BENCHMARK_ITERATIONS
+                + "] nanoseconds, action context [" + actionContextNanos / BENCHMARK_ITERATIONS + "] nanoseconds. (" + blackHole + ")");
+    }
+
+    private long measureStackTraceNaming(int iterations) {
+        long length = 0;
+        for (int i = 0; i < iterations; i++) {
+            length += Thread.currentThread().getStackTrace()[2].getMethodName().length();
+        }
+        return length;
+    }
+
+    private long measureActionContextNaming(int iterations) {
+        long length = 0;
+        for (int i = 0; i < iterations; i++) {
+            try (var context = ActionContext.open("click", null)) {
+                context.markPhase("perform");
+                length += ActionContext.getCurrentActionName().length();
+            }
+        }
+        return length;
+    }
+}
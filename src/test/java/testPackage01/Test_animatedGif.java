@@ -0,0 +1,76 @@
+package testPackage01;
+
+import com.shaft.gui.image.AnimatedGifManager;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+
+import javax.imageio.ImageIO;
+import javax.imageio.metadata.IIOMetadata;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+public class Test_animatedGif {
+
+    @Test
+    public void onlyTheChangedRectangleIsWrittenAndTheGifCanBeDecoded() throws IOException {
+        var gifFile = File.createTempFile("animatedGif", ".gif");
+        gifFile.deleteOnExit();
+        try (var gifWriter = new AnimatedGifManager(gifFile, 2560, 1600, 1280, 500, null)) {
+            Assertions.assertEquals(1280, gifWriter.getWidth(), "Frames are scaled down to the maximum width");
+            gifWriter.writeToSequence(page(Color.GRAY));
+            gifWriter.writeToSequence(page(Color.BLUE));
+            gifWriter.writeToSequence(page(Color.BLUE));
+            Assertions.assertEquals(3, gifWriter.getFramesCount(), "Frames written");
+        }
+
+        var reader = ImageIO.getImageReadersByFormatName("gif").next();
+        try (var input = ImageIO.createImageInputStream(gifFile)) {
+            reader.setInput(input);
+            Assertions.assertEquals(3, reader.getNumImages(true), "Frames decoded");
+            Assertions.assertEquals("1280", imageDescriptor(reader.getImageMetadata(0)).getAttribute("imageWidth"), "First frame width");
+            // the button is 200x100 pixels in the screenshot, and 100x50 pixels in the GIF
+            var changedFrame = imageDescriptor(reader.getImageMetadata(1));
+            Assertions.assertEquals("100", changedFrame.getAttribute("imageWidth"), "Changed rectangle width");
+            Assertions.assertEquals("50", changedFrame.getAttribute("imageHeight"), "Changed rectangle height");
+            Assertions.assertEquals("200", changedFrame.getAttribute("imageLeftPosition"), "Changed rectangle left position");
+            Assertions.assertEquals("1", imageDescriptor(reader.getImageMetadata(2)).getAttribute("imageWidth"), "Unchanged frame width");
+            Assertions.assertEquals(new Color(0, 0, 255).getRGB(), reader.read(1).getRGB(50, 25), "Changed rectangle color");
+        } finally {
+            reader.dispose();
+        }
+
+        var firstFrameOnlyGifFile = File.createTempFile("animatedGif", ".gif");
+        firstFrameOnlyGifFile.deleteOnExit();
+        try (var gifWriter = new AnimatedGifManager(firstFrameOnlyGifFile, 2560, 1600, 1280, 500, null)) {
+            gifWriter.writeToSequence(page(Color.GRAY));
+        }
+        long followingFramesSize = Files.size(gifFile.toPath()) - Files.size(firstFrameOnlyGifFile.toPath());
+        Assertions.assertTrue(followingFramesSize < 1024, "The following frames add [" + followingFramesSize + "] bytes");
+    }
+
+    private static BufferedImage page(Color buttonColor) {
+        var image = new BufferedImage(2560, 1600, BufferedImage.TYPE_INT_RGB);
+        var graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 2560, 1600);
+        graphics.setColor(Color.DARK_GRAY);
+        graphics.fillRect(0, 0, 2560, 160);
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 48));
+        for (int line = 0; line < 20; line++) {
+            graphics.drawString("Lorem ipsum dolor sit amet, consectetur adipiscing elit " + line, 80, 320 + line * 60);
+        }
+        graphics.setColor(buttonColor);
+        graphics.fillRect(400, 200, 200, 100);
+        graphics.dispose();
+        return image;
+    }
+
+    private static Element imageDescriptor(IIOMetadata metadata) {
+        var root = (Element) metadata.getAsTree("javax_imageio_gif_image_1.0");
+        return (Element) root.getElementsByTagName("ImageDescriptor").item(0);
+    }
+}
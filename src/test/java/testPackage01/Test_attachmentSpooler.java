@@ -0,0 +1,66 @@
+package testPackage01;
+
+import com.shaft.gui.image.ScreenshotEncoder;
+import com.shaft.tools.io.ReportManagerHelper;
+import com.shaft.validation.Assertions;
+import io.qameta.allure.util.PropertiesUtils;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class Test_attachmentSpooler {
+    private static final Path RESULTS_DIRECTORY = Path.of(PropertiesUtils.loadAllureProperties()
+            .getProperty("allure.results.directory", "allure-results"));
+
+    @Test
+    public void attachmentsAreWrittenInTheBackgroundAndFilesAreMoved() throws IOException {
+        byte[] recordingContent = ("recording " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        byte[] logContent = ("log " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        var recording = Files.createTempFile("Test_attachmentSpooler", ".mp4");
+        Files.write(recording, recordingContent);
+
+        ReportManagerHelper.attach("Video Recording", "Test_attachmentSpooler", recording.toFile());
+        ReportManagerHelper.attach("SHAFT Engine Logs", "Test_attachmentSpooler", new ByteArrayInputStream(logContent));
+        ReportManagerHelper.flushAttachments();
+
+        Assertions.assertTrue(!Files.exists(recording), "Recording is moved into the results directory");
+        Assertions.assertTrue(isWritten(".mp4", recordingContent), "Recording attachment is written");
+        Assertions.assertTrue(isWritten(".txt", logContent), "Log attachment is written");
+    }
+
+    @Test
+    public void screenshotsThatAreStillProcessedAreWaitedFor() throws IOException {
+        byte[] screenshotContent = ("screenshot " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        var processedScreenshot = new CompletableFuture<byte[]>();
+        ReportManagerHelper.log("Screenshot that is still processed",
+                Collections.singletonList(Arrays.asList("Screenshot", "Test_attachmentSpooler", processedScreenshot)));
+        CompletableFuture.runAsync(() -> processedScreenshot.complete(screenshotContent),
+                CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+        ReportManagerHelper.flushAttachments();
+
+        Assertions.assertTrue(isWritten(ScreenshotEncoder.getFileExtension(), screenshotContent),
+                "Screenshot attachment is written once it's processed");
+    }
+
+    private static boolean isWritten(String fileExtension, byte[] content) throws IOException {
+        try (var attachments = Files.list(RESULTS_DIRECTORY)) {
+            return attachments.filter(attachment -> attachment.toString().endsWith("-attachment" + fileExtension))
+                    .anyMatch(attachment -> {
+                        try {
+                            return Arrays.equals(content, Files.readAllBytes(attachment));
+                        } catch (IOException e) {
+                            return false;
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package testPackage01;
+
+import com.shaft.gui.image.BaselineStore;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class Test_baselineStore {
+    @Test
+    public void baselinesAreImportedDeduplicatedAndWrittenConcurrently() throws IOException {
+        var baselinesFolder = Files.createTempDirectory("baselines");
+        byte[] buttonImage = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+        Files.write(baselinesFolder.resolve("Test_login_By_id_button.png"), buttonImage);
+        Files.write(baselinesFolder.resolve("Test_checkout_By_id_button.png"), buttonImage);
+
+        var baselines = BaselineStore.getInstance(baselinesFolder.toString());
+        Assertions.assertTrue(baselines.contains("Test_login_By_id_button") && baselines.contains("Test_checkout_By_id_button"),
+                "Loose baselines are imported");
+        Assertions.assertEquals(baselines.getPath("Test_login_By_id_button"), baselines.getPath("Test_checkout_By_id_button"),
+                "Identical images share a blob");
+        Assertions.assertTrue(Arrays.equals(buttonImage, baselines.get("Test_login_By_id_button")), "Imported image");
+        Assertions.assertTrue(!baselines.contains("Test_missing_By_id_button")
+                && baselines.get("Test_missing_By_id_button").length == 0, "Missing baseline");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture.allOf(IntStream.range(0, 40)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> baselines.put("Test_list_By_id_item" + i, new byte[]{(byte) (i % 10)}), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+        var manifest = new Properties();
+        manifest.load(new StringReader(Files.readString(baselinesFolder.resolve("baselines.index"))));
+        Assertions.assertEquals(42, manifest.size(), "Baselines in the manifest");
+        Assertions.assertEquals(11, (int) Files.walk(baselinesFolder.resolve("baselines"))
+                .filter(Files::isRegularFile).count(), "Stored blobs");
+        Assertions.assertEquals(0, (int) Files.walk(baselinesFolder).filter(file -> file.toString().endsWith(".tmp")).count(),
+                "Temporary files left behind");
+        Assertions.assertEquals(0, (int) Files.walk(baselinesFolder).filter(file -> file.toString().endsWith(".lock")).count(),
+                "Lock files left in the baselines folder");
+        Assertions.assertTrue(manifest.stringPropertyNames().stream().map(manifest::getProperty).collect(Collectors.toSet())
+                        .stream().allMatch(hash -> Files.exists(Path.of(baselines.getPath("Test_list_By_id_item0")).getParent().getParent()
+                                .resolve(hash.substring(0, 2)).resolve(hash + ".png"))),
+                "Every manifest entry refers to a sharded blob");
+    }
+
+    @Test
+    public void baselineThatCannotBeWrittenIsReportedWithoutThrowing() throws IOException {
+        var baselinesFolder = Files.createTempDirectory("baselines");
+        // a file where the blobs folder should be
+        Files.write(baselinesFolder.resolve("baselines"), new byte[]{1});
+        var baselines = BaselineStore.getInstance(baselinesFolder.toString());
+
+        Assertions.assertTrue(!baselines.put("Test_login_By_id_button", new byte[]{(byte) 0x89, 'P', 'N', 'G'}),
+                "The failure to store the baseline is returned");
+        Assertions.assertTrue(!baselines.contains("Test_login_By_id_button"), "The baseline isn't added");
+    }
+
+    @Test
+    public void unchangedBaselinesAreNotRewritten() throws IOException {
+        var baselinesFolder = Files.createTempDirectory("baselines");
+        var baselines = BaselineStore.getInstance(baselinesFolder.toString());
+        baselines.put("Test_login_By_id_button", new byte[]{1, 2, 3});
+        var manifestFile = baselinesFolder.resolve("baselines.index");
+        var manifestVersion = Files.readAttributes(manifestFile, BasicFileAttributes.class).fileKey();
+        Files.setLastModifiedTime(manifestFile, FileTime.fromMillis(0));
+
+        baselines.put("Test_login_By_id_button", new byte[]{1, 2, 3});
+        Assertions.assertEquals(0L, Files.getLastModifiedTime(manifestFile).toMillis(), "Manifest isn't rewritten for an unchanged image");
+        Assertions.assertEquals(manifestVersion, Files.readAttributes(manifestFile, BasicFileAttributes.class).fileKey(),
+                "Manifest isn't replaced for an unchanged image");
+
+        baselines.put("Test_login_By_id_button", new byte[]{4, 5, 6});
+        Assertions.assertTrue(Arrays.equals(new byte[]{4, 5, 6}, baselines.get("Test_login_By_id_button")), "Changed image is stored");
+    }
+}
@@ -0,0 +1,41 @@
+package testPackage01;
+
+import com.shaft.gui.element.ElementActions;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class Test_elementAbsence {
+    private final By button = By.id("fakeButton");
+    private final By missingButton = By.id("missingButton");
+    private FakeWebDriver driver;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        driver = new FakeWebDriver(button);
+    }
+
+    @Test
+    public void absentElementIsConfirmedWithoutWaitingForIt() {
+        long startTime = System.currentTimeMillis();
+        Assertions.assertElementExists(driver, missingButton, Assertions.AssertionType.NEGATIVE);
+        long checkTime = System.currentTimeMillis() - startTime;
+        Assertions.assertTrue(checkTime < 2000, "Absence was confirmed in [" + checkTime + "] ms");
+        Assertions.assertEquals(2, driver.getElementLookupsCount(), "Looks at the page, before and after the stability window");
+    }
+
+    @Test
+    public void presentElementIsCountedFromOneLook() {
+        Assertions.assertEquals(1, ElementActions.getElementsCountExpectingAbsence(driver, button), "Elements count");
+        Assertions.assertEquals(1, driver.getElementLookupsCount(), "Looks at the page");
+    }
+
+    @Test
+    public void waitingForAbsenceDoesNotWaitForTheElement() {
+        long startTime = System.currentTimeMillis();
+        ElementActions.waitForElementToBePresent(driver, missingButton, 5, false);
+        long waitingTime = System.currentTimeMillis() - startTime;
+        Assertions.assertTrue(waitingTime < 2000, "Absence was confirmed in [" + waitingTime + "] ms");
+    }
+}
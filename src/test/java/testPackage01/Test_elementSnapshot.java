@@ -0,0 +1,38 @@
+package testPackage01;
+
+import com.shaft.gui.element.ElementActions;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class Test_elementSnapshot {
+    private final By button = By.id("fakeButton");
+    private FakeWebDriver driver;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        driver = new FakeWebDriver(button);
+    }
+
+    @Test
+    public void getTextReadsTheElementInOneRoundTrip() {
+        Assertions.assertEquals("Fake Button", ElementActions.getText(driver, button));
+        Assertions.assertEquals(1, driver.getCommandsCount("elementSnapshot"), "Element snapshots per getText");
+        Assertions.assertEquals(0, driver.getCommandsCount("getText") + driver.getCommandsCount("getAttribute"),
+                "Element reads that bypassed the snapshot");
+    }
+
+    @Test
+    public void cssColorsAreReturnedAsRgba() {
+        Assertions.assertEquals("rgba(0, 0, 0, 1)", ElementActions.getCSSProperty(driver, button, "color"));
+        Assertions.assertEquals(0, driver.getCommandsCount("getCssValue"), "CSS reads that bypassed the snapshot");
+    }
+
+    @Test
+    public void elementStateIsReadFromTheSnapshot() {
+        Assertions.assertTrue(ElementActions.isElementDisplayed(driver, button));
+        Assertions.assertTrue(ElementActions.isElementClickable(driver, button));
+        Assertions.assertEquals("(10, 10)", ElementActions.getSize(driver, button));
+    }
+}
@@ -0,0 +1,36 @@
+package testPackage01;
+
+import com.shaft.tools.io.ExecutionLog;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class Test_executionLog {
+    @Test
+    public void logIsWrittenToFileAndOnlyItsTailIsKeptInMemory() throws IOException {
+        for (var i = 0; i < 5000; i++) {
+            ExecutionLog.append("Test_executionLog entry #" + i);
+        }
+        Assertions.assertTrue(!ExecutionLog.isEmpty(), "Entries were appended");
+
+        List<String> tail = Arrays.asList(ExecutionLog.getTail().split(System.lineSeparator()));
+        Assertions.assertEquals(200, tail.size(), "Entries kept in the tail");
+        Assertions.assertEquals("Test_executionLog entry #4999", tail.get(tail.size() - 1), "Latest entry in the tail");
+        Assertions.assertTrue(!tail.contains("Test_executionLog entry #0"), "Oldest entry is dropped from the tail");
+
+        String writtenLog;
+        try (var executionLog = ExecutionLog.openInputStream()) {
+            writtenLog = new String(executionLog.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        var writtenEntries = Arrays.stream(writtenLog.split(System.lineSeparator()))
+                .filter(entry -> entry.startsWith("Test_executionLog entry #")).collect(Collectors.toList());
+        Assertions.assertEquals(5000, writtenEntries.size(), "Entries written to the log file");
+        Assertions.assertEquals("Test_executionLog entry #0", writtenEntries.get(0), "Entries are written in order");
+        Assertions.assertEquals("Test_executionLog entry #4999", writtenEntries.get(4999), "Entries are written in order");
+    }
+}
@@ -0,0 +1,160 @@
+package testPackage01;
+
+import com.shaft.gui.element.ElementActions;
+import com.shaft.gui.image.AnimatedGifManager;
+import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.tools.support.ExecutionScope;
+import com.shaft.validation.Assertions;
+import com.shaft.validation.Verifications;
+import org.openqa.selenium.By;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+public class Test_executionScope {
+    private static final int CONCURRENT_TESTS = 32;
+    private final By button = By.id("fakeButton");
+
+    @Test
+    public void testScopeIsDiscardedWhenItEnds() {
+        ExecutionScope.begin("outerTest");
+        var testScope = ExecutionScope.current();
+        ExecutionScope.end();
+        Assertions.assertTrue(testScope.isTestScope() && !ExecutionScope.current().isTestScope()
+                && ExecutionScope.current() != testScope, "The thread is back to its root scope");
+    }
+
+    @Test
+    public void concurrentTestsDoNotShareGuiActionState() throws InterruptedException, ExecutionException {
+        var executor = Executors.newFixedThreadPool(CONCURRENT_TESTS);
+        var allTestsStarted = new CyclicBarrier(CONCURRENT_TESTS);
+        Map<String, AnimatedGifManager> gifWriters = new ConcurrentHashMap<>();
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_TESTS; i++) {
+            int testNumber = i;
+            results.add(executor.submit(() -> runSimulatedTest(testNumber, allTestsStarted, gifWriters)));
+        }
+        executor.shutdown();
+        List<String> leaks = new ArrayList<>();
+        for (var result : results) {
+            var leak = result.get();
+            if (!leak.isEmpty()) {
+                leaks.add(leak);
+            }
+        }
+        Assertions.assertTrue(leaks.isEmpty(), "State leaked between concurrent tests: " + leaks);
+
+        Set<AnimatedGifManager> distinctGifWriters = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinctGifWriters.addAll(gifWriters.values());
+        Assertions.assertEquals(CONCURRENT_TESTS, distinctGifWriters.size(), "Animated GIF writers of the concurrent tests");
+        Assertions.assertEquals(1L, gifWriters.values().stream().mapToInt(AnimatedGifManager::getFramesCount).distinct().count(),
+                "Every test wrote the same number of frames to its own animated GIF");
+    }
+
+    /**
+     * Acts like a test method running on its own thread: sets its driver, fails a soft assertion (every other test)
+     * and takes a screenshot of its own size, waiting for all the other tests to do the same before checking its own
+     * state
+     *
+     * @return a description of the state that leaked from other tests, or an empty string
+     */
+    private String runSimulatedTest(int testNumber, CyclicBarrier allTestsStarted,
+                                    Map<String, AnimatedGifManager> gifWriters) throws Exception {
+        String testName = "simulatedTest" + testNumber;
+        Reporter.setCurrentTestResult(simulatedTestResult(testName));
+        ExecutionScope.begin(testName);
+        try {
+            var driver = new FakeWebDriver(button);
+            driver.setScreenshotSize(64 + testNumber, 48);
+            var elementActions = new ElementActions(driver);
+            boolean failsVerification = testNumber % 2 == 0;
+            Verifications.verifyEquals("expected" + testNumber, failsVerification ? "actual" + testNumber : "expected" + testNumber);
+            allTestsStarted.await(30, TimeUnit.SECONDS);
+
+            StringBuilder leaks = new StringBuilder();
+            elementActions.click(button);
+            if (driver.getCommandsCount("click") != 1) {
+                leaks.append(testName).append(" clicked using another test's driver. ");
+            }
+            var screenshot = ScreenshotManager.captureScreenShot(driver, "verifyScope", true);
+            if (screenshot != null && !String.valueOf(screenshot.get(1)).contains("_" + testName + "_")) {
+                leaks.append(testName).append(" took screenshot [").append(screenshot.get(1)).append("]. ");
+            }
+            if (screenshot != null) {
+                ((CompletableFuture<?>) screenshot.get(2)).join();
+            }
+            var gifPath = (String) getAnimatedGifState("gifRelativePathWithFileName");
+            var gifWriter = (AnimatedGifManager) getAnimatedGifState("gifWriter");
+            if (!gifPath.endsWith("_" + testName + ".gif") || gifWriter == null || gifWriter.getWidth() != 64 + testNumber) {
+                leaks.append(testName).append(" appended to the animated GIF [").append(gifPath).append("] of width [")
+                        .append(gifWriter == null ? null : gifWriter.getWidth()).append("]. ");
+            } else {
+                gifWriters.put(testName, gifWriter);
+            }
+            ScreenshotManager.attachAnimatedGif();
+            var verificationError = Verifications.getVerificationErrorToForceFail();
+            if (failsVerification != (verificationError != null)
+                    || (verificationError != null && !verificationError.getMessage().equals(verificationError.getMessage().split("\nAND ")[0]))
+                    || (verificationError != null && !verificationError.getMessage().contains("actual" + testNumber))) {
+                leaks.append(testName).append(" has the soft assertion failures [").append(verificationError).append("]. ");
+            }
+            return leaks.toString();
+        } finally {
+            ExecutionScope.end();
+            Reporter.setCurrentTestResult(null);
+        }
+    }
+
+    /**
+     * @return a field of the screenshot state of the test that is running on the current thread
+     */
+    private static Object getAnimatedGifState(String fieldName) throws ReflectiveOperationException {
+        Method state = ScreenshotManager.class.getDeclaredMethod("state");
+        state.setAccessible(true);
+        var screenshotState = state.invoke(null);
+        Field field = screenshotState.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return field.get(screenshotState);
+    }
+
+    private static ITestResult simulatedTestResult(String testName) {
+        var method = (ITestNGMethod) Proxy.newProxyInstance(ITestNGMethod.class.getClassLoader(), new Class<?>[]{ITestNGMethod.class},
+                (proxy, invokedMethod, args) -> simulatedValue(proxy, invokedMethod, args, testName));
+        return (ITestResult) Proxy.newProxyInstance(ITestResult.class.getClassLoader(), new Class<?>[]{ITestResult.class},
+                (proxy, invokedMethod, args) -> "getMethod".equals(invokedMethod.getName())
+                        ? method : simulatedValue(proxy, invokedMethod, args, testName));
+    }
+
+    private static Object simulatedValue(Object proxy, java.lang.reflect.Method invokedMethod, Object[] args, String testName) {
+        switch (invokedMethod.getName()) {
+            case "getMethodName":
+            case "getName":
+            case "toString":
+                return testName;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                var returnType = invokedMethod.getReturnType();
+                if (returnType == boolean.class) {
+                    return false;
+                } else if (returnType.isPrimitive() && returnType != void.class) {
+                    return 0;
+                }
+                return null;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package testPackage01;
+
+import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.validation.Assertions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+public class Test_fullPageScreenshot {
+    private static final int PAGE_WIDTH = 120;
+    private static final int PAGE_HEIGHT = 450;
+    private static final int VIEWPORT_HEIGHT = 100;
+    private static final int DEVICE_PIXEL_RATIO = 2;
+
+    @Test
+    public void viewportsAreStitchedWhenTheDriverHasNoNativeFullPageScreenshot() throws IOException {
+        var driver = new TiledPageDriver();
+        var fullPageScreenshot = ImageIO.read(new ByteArrayInputStream(ScreenshotManager.takeFullPageScreenshot(driver)));
+
+        Assertions.assertEquals(PAGE_WIDTH * DEVICE_PIXEL_RATIO, fullPageScreenshot.getWidth(), "Full page screenshot width");
+        Assertions.assertEquals(PAGE_HEIGHT * DEVICE_PIXEL_RATIO, fullPageScreenshot.getHeight(), "Full page screenshot height");
+        int misplacedRows = 0;
+        for (int y = 0; y < fullPageScreenshot.getHeight(); y++) {
+            if (fullPageScreenshot.getRGB(10, y) != pageRowColor(y).getRGB()) {
+                misplacedRows++;
+            }
+        }
+        Assertions.assertEquals(0, misplacedRows, "Rows that don't match the page");
+        // one screenshot for every viewport, the last one overlaps the previous viewport
+        Assertions.assertEquals(5, driver.getCommandsCount("getScreenshotAs"), "Viewport screenshots");
+        Assertions.assertEquals(0, driver.scrollPosition, "Scroll position after the screenshot");
+    }
+
+    @Test
+    public void firefoxFullPageScreenshotIsCapturedNatively() throws IOException {
+        assertCapturedNatively("firefox", "/session/fake-session/moz/screenshot/full");
+    }
+
+    @Test
+    public void chromeFullPageScreenshotIsCapturedBeyondTheViewport() throws IOException {
+        assertCapturedNatively("chrome", "/session/fake-session/goog/cdp/execute");
+    }
+
+    private static void assertCapturedNatively(String browserName, String fullPageScreenshotCommand) throws IOException {
+        var driverServer = new SimulatedDriverServer(browserName);
+        try {
+            var capabilities = new DesiredCapabilities();
+            capabilities.setBrowserName(browserName);
+            var driver = new RemoteWebDriver(new URL("http://localhost:" + driverServer.getPort()), capabilities);
+            var fullPageScreenshot = ImageIO.read(new ByteArrayInputStream(ScreenshotManager.takeFullPageScreenshot(driver)));
+
+            Assertions.assertEquals(PAGE_HEIGHT * DEVICE_PIXEL_RATIO, fullPageScreenshot.getHeight(), "Full page screenshot height");
+            Assertions.assertEquals(1, driverServer.getRequestsCount(fullPageScreenshotCommand), "Native full page screenshot commands");
+            Assertions.assertEquals(0, driverServer.getRequestsCount("/session/fake-session/screenshot"), "Viewport screenshots");
+            if ("chrome".equals(browserName)) {
+                Assertions.assertTrue(driverServer.lastCommand.contains("\"captureBeyondViewport\": true"), "Captured beyond the viewport");
+            }
+        } finally {
+            driverServer.stop();
+        }
+    }
+
+    private static Color pageRowColor(int y) {
+        return new Color(y % 256, (y / 256) * 60, 100);
+    }
+
+    private static byte[] drawPage(int firstRow, int height) {
+        var image = new BufferedImage(PAGE_WIDTH * DEVICE_PIXEL_RATIO, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            int rgb = pageRowColor(firstRow + y).getRGB();
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        try {
+            var encodedImage = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", encodedImage);
+            return encodedImage.toByteArray();
+        } catch (IOException e) {
+            throw new WebDriverException(e);
+        }
+    }
+
+    /**
+     * A driver that can't take native full page screenshots, and serves a fixed screenshot for every scroll position
+     */
+    private static class TiledPageDriver extends FakeWebDriver {
+        private static final Pattern SCROLL_TO = Pattern.compile("window\\.scrollTo\\(0, (\\d+)\\)");
+        private final Map<Integer, String> tiles = new HashMap<>();
+        private int scrollPosition = 0;
+
+        private TiledPageDriver() {
+            super(By.id("fakeButton"));
+        }
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            super.executeScript(script, args);
+            var scrollTo = SCROLL_TO.matcher(script);
+            if (scrollTo.find()) {
+                scrollPosition = Math.max(0, Math.min(Integer.parseInt(scrollTo.group(1)), PAGE_HEIGHT - VIEWPORT_HEIGHT));
+            } else if (script.contains("pageYOffset")) {
+                return (long) scrollPosition;
+            } else if (script.contains("devicePixelRatio")) {
+                return (double) DEVICE_PIXEL_RATIO;
+            } else if (script.contains("scrollHeight")) {
+                return (long) PAGE_HEIGHT;
+            }
+            return null;
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            super.getScreenshotAs(target);
+            var tile = tiles.computeIfAbsent(scrollPosition, position -> Base64.getEncoder().encodeToString(
+                    drawPage(position * DEVICE_PIXEL_RATIO, VIEWPORT_HEIGHT * DEVICE_PIXEL_RATIO)));
+            return target.convertFromBase64Png(tile);
+        }
+    }
+
+    /**
+     * A browser driver server that supports a single session and the vendor specific full page screenshot commands
+     */
+    private static class SimulatedDriverServer {
+        private final HttpServer server;
+        private final Map<String, Integer> requests = Collections.synchronizedMap(new HashMap<>());
+        private volatile String lastCommand = "";
+
+        private SimulatedDriverServer(String browserName) throws IOException {
+            var fullPageScreenshot = Base64.getEncoder().encodeToString(drawPage(0, PAGE_HEIGHT * DEVICE_PIXEL_RATIO));
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                var path = exchange.getRequestURI().getPath();
+                requests.merge(path, 1, Integer::sum);
+                lastCommand = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                if ("/session".equals(path)) {
+                    respond(exchange, 200, "{\"value\": {\"sessionId\": \"fake-session\", \"capabilities\": {\"browserName\": \""
+                            + browserName + "\"}}}");
+                } else if (path.endsWith("/moz/screenshot/full") && "firefox".equals(browserName)) {
+                    respond(exchange, 200, "{\"value\": \"" + fullPageScreenshot + "\"}");
+                } else if (path.endsWith("/goog/cdp/execute") && "chrome".equals(browserName)) {
+                    respond(exchange, 200, "{\"value\": {\"data\": \"" + fullPageScreenshot + "\"}}");
+                } else if (path.endsWith("/execute/sync")) {
+                    respond(exchange, 200, "{\"value\": [" + PAGE_WIDTH + ", " + PAGE_HEIGHT + "]}");
+                } else {
+                    respond(exchange, 404, "{\"value\": {\"error\": \"unknown command\", \"message\": \"" + path + "\"}}");
+                }
+            });
+            server.start();
+        }
+
+        private int getPort() {
+            return server.getAddress().getPort();
+        }
+
+        private int getRequestsCount(String path) {
+            return requests.getOrDefault(path, 0);
+        }
+
+        private void stop() {
+            server.stop(0);
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+            var bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package testPackage01;
+
+import com.shaft.gui.image.ImageFolderComparator;
+import com.shaft.gui.image.ImageProcessingActions;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+public class Test_imageFolderComparison {
+    private static final int IMAGE_PAIRS = 12;
+    private File referenceFolder;
+    private File testFolder;
+
+    @BeforeClass
+    public void createImageFolders() throws IOException {
+        referenceFolder = Files.createTempDirectory("referenceImages").toFile();
+        testFolder = Files.createTempDirectory("testImages").toFile();
+        for (int i = 0; i < IMAGE_PAIRS; i++) {
+            var image = page(i);
+            ImageIO.write(image, "png", new File(referenceFolder, "screenshot" + i + ".png"));
+            // a few changed pixels, well within the threshold
+            image.setRGB(10, 10, Color.RED.getRGB());
+            ImageIO.write(image, "png", new File(testFolder, "screenshot" + i + ".png"));
+        }
+    }
+
+    @Test
+    public void matchingFoldersAreComparedInParallel() throws IOException {
+        ImageProcessingActions.compareImageFolders(referenceFolder.getPath(), testFolder.getPath(), 98);
+
+        File[] referenceFiles = referenceFolder.listFiles(File::isFile);
+        File[] testFiles = testFolder.listFiles(File::isFile);
+        Arrays.sort(referenceFiles);
+        Arrays.sort(testFiles);
+        var results = ImageFolderComparator.compare(referenceFiles, testFiles, 98, null);
+
+        Assertions.assertTrue(!new File(testFolder, "failedImagesDirectory").exists(), "No failed images");
+        Assertions.assertTrue(results.stream().allMatch(result -> result.getPercentage() > 99.99), "All images match");
+    }
+
+    @Test
+    public void differentImagesStopEarlyOrProduceAHeatMap() throws IOException {
+        var differentFolder = Files.createTempDirectory("differentImages").toFile();
+        var image = page(0);
+        var graphics = image.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 0, 960, 540);
+        graphics.dispose();
+        ImageIO.write(image, "png", new File(differentFolder, "screenshot0.png"));
+        File[] referenceFiles = {new File(referenceFolder, "screenshot0.png")};
+        File[] testFiles = {new File(differentFolder, "screenshot0.png")};
+
+        var result = ImageFolderComparator.compare(referenceFiles, testFiles, 98, null).get(0);
+        Assertions.assertTrue(result.isStoppedEarly(), "Comparison stopped once the images could no longer match");
+        Assertions.assertTrue(result.getPercentage() < 98, "Match percentage is below the threshold");
+
+        var heatMapsFolder = new File(differentFolder, "heatMaps");
+        result = ImageFolderComparator.compare(referenceFiles, testFiles, 98, heatMapsFolder).get(0);
+        Assertions.assertTrue(!result.isStoppedEarly() && result.getHeatMap().exists(), "Heat-map is written");
+        Assertions.assertTrue(result.getPercentage() > 74 && result.getPercentage() < 76, "Exact match percentage is ["
+                + result.getPercentage() + "]");
+        var heatMap = ImageIO.read(result.getHeatMap());
+        Assertions.assertEquals(Arrays.asList(1920, 1080), Arrays.asList(heatMap.getWidth(), heatMap.getHeight()), "Heat-map size");
+        Assertions.assertTrue(heatMap.getRGB(100, 100) != heatMap.getRGB(1500, 900), "Different pixels are highlighted");
+    }
+
+    private static BufferedImage page(int seed) {
+        var image = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+        var graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 1920, 1080);
+        var random = new Random(seed);
+        for (int y = 0; y < 1080; y += 30) {
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            graphics.fillRect(random.nextInt(960), y, random.nextInt(960), 12);
+            graphics.setColor(Color.BLACK);
+            graphics.drawString("Page " + seed + " line " + y + " " + Long.toHexString(random.nextLong()), 20, y + 26);
+        }
+        graphics.dispose();
+        return image;
+    }
+}
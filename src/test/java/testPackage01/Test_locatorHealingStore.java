@@ -0,0 +1,87 @@
+package testPackage01;
+
+import com.shaft.gui.element.LocatorHealingStore;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+public class Test_locatorHealingStore {
+    @Test
+    public void healedLocatorsAreJournaledInBatchesAndCompacted() throws IOException {
+        var referenceFolder = Files.createTempDirectory("aiAidedElementIdentification");
+        // older versions appended every healed locator to the reference file, the last one wins
+        Files.writeString(referenceFolder.resolve(LocatorHealingStore.getReferenceFileName()),
+                "Test_login_By_id_button=//button[1]\nTest_login_By_id_button=//button[@id\\='login']\n");
+
+        var locators = LocatorHealingStore.getInstance(referenceFolder.toString());
+        Assertions.assertEquals("//button[@id='login']", locators.get("Test_login_By_id_button"), "Legacy reference file is read");
+        Assertions.assertEquals(null, locators.get("Test_missing_By_id_button"), "Missing locator");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture.allOf(IntStream.range(0, 40)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                        locators.put("Test_list_By_id_item" + i, "//li[" + i + "]");
+                        locators.get("Test_login_By_id_button");
+                    }, executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals("//li[7]", locators.get("Test_list_By_id_item7"), "Healed locator is looked up");
+        Assertions.assertEquals(41L, locators.getHits("Test_login_By_id_button"), "Lookups are counted");
+
+        var journal = referenceFolder.resolve("aiAidedElementIdentificationReferenceDB.journal");
+        Assertions.assertTrue(read(journal).size() >= 16, "Full batches are appended to the journal");
+
+        LocatorHealingStore.flushAll();
+        var referenceFile = read(referenceFolder.resolve(LocatorHealingStore.getReferenceFileName()));
+        Assertions.assertEquals(41, referenceFile.size(), "Locators in the compacted reference file");
+        Assertions.assertEquals("//button[@id='login']", referenceFile.getProperty("Test_login_By_id_button"), "Legacy locator is kept");
+        Assertions.assertTrue(!Files.exists(journal), "Journal is emptied once compacted");
+        Assertions.assertEquals("41", read(referenceFolder.resolve("aiAidedElementIdentificationReferenceDB.hits"))
+                .getProperty("Test_login_By_id_button"), "Lookup counts are saved");
+        Assertions.assertEquals(0, countFiles(referenceFolder, ".tmp"), "Temporary files left behind");
+        Assertions.assertEquals(0, countFiles(referenceFolder, ".lock"), "Lock files left in the reference folder");
+    }
+
+    @Test
+    public void locatorsStayPendingWhileTheJournalCannotBeWritten() throws IOException {
+        var referenceFolder = Files.createTempDirectory("aiAidedElementIdentification");
+        // a folder where the journal should be
+        var journal = Files.createDirectory(referenceFolder.resolve("aiAidedElementIdentificationReferenceDB.journal"));
+        var locators = LocatorHealingStore.getInstance(referenceFolder.toString());
+
+        locators.put("Test_login_By_id_button", "//button[@id='login']");
+        locators.flush();
+        Assertions.assertEquals("//button[@id='login']", locators.get("Test_login_By_id_button"), "Healed locator is kept");
+
+        Files.delete(journal);
+        locators.flush();
+        Assertions.assertEquals("//button[@id='login']", read(journal).getProperty("Test_login_By_id_button"),
+                "Pending locator is appended once the journal can be written");
+    }
+
+    private static int countFiles(Path folder, String extension) throws IOException {
+        try (var files = Files.list(folder)) {
+            return (int) files.filter(file -> file.toString().endsWith(extension)).count();
+        }
+    }
+
+    private static Properties read(Path file) throws IOException {
+        var properties = new Properties();
+        if (Files.exists(file)) {
+            properties.load(new StringReader(Files.readString(file)));
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,113 @@
+package testPackage01;
+
+import com.shaft.gui.browser.BrowserActions;
+import com.shaft.gui.browser.BrowserFactory;
+import com.shaft.gui.element.JavaScriptWaitManager;
+import com.shaft.validation.Assertions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+public class Test_networkIdle {
+    private static final int RESPONSE_DELAY = 1500;
+    private static final int RENDER_DELAY = 200;
+    private static final int QUIET_WINDOW = 500;
+    private static final String FIXTURE_PAGE = """
+            <html><body>
+            <div id="result">waiting</div>
+            <script>
+                function loadWithFetch() {
+                    fetch('/slow').then(function (response) { return response.text(); }).then(function (text) {
+                        setTimeout(function () { document.getElementById('result').textContent = text; }, %d);
+                    });
+                }
+                function loadWithXmlHttpRequest() {
+                    var request = new XMLHttpRequest();
+                    request.onload = function () { document.getElementById('result').textContent = request.responseText; };
+                    request.open('GET', '/slow');
+                    request.send();
+                }
+            </script>
+            </body></html>""".formatted(RENDER_DELAY);
+    private HttpServer server;
+    private String fixtureUrl;
+    private WebDriver driver;
+
+    @BeforeClass
+    public void startFixtureServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> respond(exchange, FIXTURE_PAGE));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(RESPONSE_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "loaded");
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        fixtureUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+        System.setProperty("waitForNetworkIdle", "true");
+        System.setProperty("networkIdleQuietWindow", String.valueOf(QUIET_WINDOW));
+    }
+
+    @BeforeMethod
+    public void beforeMethod() {
+        driver = BrowserFactory.getBrowser();
+        BrowserActions.navigateToURL(driver, fixtureUrl);
+    }
+
+    @Test
+    public void waitEndsOnceFetchAndTimersAreIdle() {
+        assertWaitEndsOnceIdle("loadWithFetch()", RESPONSE_DELAY + RENDER_DELAY);
+    }
+
+    @Test
+    public void waitEndsOnceXmlHttpRequestsAreIdle() {
+        assertWaitEndsOnceIdle("loadWithXmlHttpRequest()", RESPONSE_DELAY);
+    }
+
+    @AfterMethod
+    public void afterMethod() {
+        BrowserActions.closeCurrentWindow(driver);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixtureServer() {
+        System.setProperty("waitForNetworkIdle", "false");
+        server.stop(0);
+    }
+
+    private void assertWaitEndsOnceIdle(String loadingScript, long busyTime) {
+        ((JavascriptExecutor) driver).executeScript(loadingScript);
+        long startTime = System.currentTimeMillis();
+        JavaScriptWaitManager.waitForLazyLoading();
+        long waitingTime = System.currentTimeMillis() - startTime;
+        Assertions.assertEquals("loaded", ((JavascriptExecutor) driver)
+                .executeScript("return document.getElementById('result').textContent"), "Content rendered before the wait ended");
+        // the page is idle once its busy time is over, and the wait ends once the quiet window that follows is over
+        Assertions.assertTrue(waitingTime >= busyTime + QUIET_WINDOW - 100 && waitingTime < busyTime + QUIET_WINDOW + 1000,
+                "Waited for [" + waitingTime + "] ms, the page was busy for [" + busyTime + "] ms");
+    }
+
+    private static void respond(HttpExchange exchange, String content) throws IOException {
+        byte[] body = content.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (var responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+}
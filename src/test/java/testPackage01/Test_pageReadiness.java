@@ -0,0 +1,64 @@
+package testPackage01;
+
+import com.shaft.gui.element.JavaScriptWaitManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class Test_pageReadiness {
+    private FakeWebDriver driver;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        driver = new FakeWebDriver(By.id("fakeButton"));
+        JavaScriptWaitManager.setDriver(driver);
+    }
+
+    @Test
+    public void readyPageIsConfirmedInOneCall() {
+        JavaScriptWaitManager.waitForLazyLoading();
+        JavaScriptWaitManager.waitForLazyLoading();
+        Assertions.assertEquals(2, driver.getCommandsCount("executeScript"), "Scripts executed for two readiness waits");
+    }
+
+    @Test
+    public void pendingRequestIsWaitedForAfterThePageWasReady() {
+        JavaScriptWaitManager.waitForLazyLoading();
+        // a click starts a jQuery request, the page doesn't change until its response arrives
+        driver.makePageBusy(2);
+        JavaScriptWaitManager.waitForLazyLoading();
+        Assertions.assertEquals(4, driver.getCommandsCount("pageReadiness"), "Readiness checks until the request completed");
+    }
+
+    @Test
+    public void busyPageIsPolledUntilReady() {
+        driver.makePageBusy(3);
+        JavaScriptWaitManager.waitForLazyLoading();
+        Assertions.assertEquals(4, driver.getCommandsCount("pageReadiness"), "Readiness checks until the page was ready");
+        Assertions.assertEquals(4, driver.getCommandsCount("executeScript"), "Scripts executed while waiting");
+    }
+
+    @Test
+    public void busyPageIsPolledIfTheNetworkIdleScriptTimesOut() {
+        var timingOutDriver = new FakeWebDriver(By.id("fakeButton")) {
+            @Override
+            public Object executeAsyncScript(String script, Object... args) {
+                super.executeAsyncScript(script, args);
+                throw new ScriptTimeoutException("Fake script timeout");
+            }
+        };
+        JavaScriptWaitManager.setDriver(timingOutDriver);
+        timingOutDriver.makePageBusy(2);
+        String waitForNetworkIdle = System.getProperty("waitForNetworkIdle");
+        System.setProperty("waitForNetworkIdle", "true");
+        try {
+            JavaScriptWaitManager.waitForLazyLoading();
+        } finally {
+            System.setProperty("waitForNetworkIdle", waitForNetworkIdle);
+        }
+        Assertions.assertEquals(1, timingOutDriver.getCommandsCount("executeAsyncScript"), "Network idle waits");
+        Assertions.assertEquals(3, timingOutDriver.getCommandsCount("pageReadiness"), "Readiness checks after the script timed out");
+    }
+}
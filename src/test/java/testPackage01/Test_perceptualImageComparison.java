@@ -0,0 +1,110 @@
+package testPackage01;
+
+import com.shaft.gui.image.PerceptualImageComparator;
+import com.shaft.gui.image.PerceptualImageComparator.Method;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class Test_perceptualImageComparison {
+    private final BufferedImage reference = page(0, 0, "Sign in", 0);
+
+    @Test
+    public void renderingNoiseIsTolerated() {
+        var brighterPage = page(0, 0, "Sign in", 4);
+        long startTime = System.nanoTime();
+        var strictResult = PerceptualImageComparator.compare(reference, brighterPage, Method.SSIM, 0.95);
+        long time = (System.nanoTime() - startTime) / 1_000_000;
+        ReportManager.logDiscrete("Compared a [" + reference.getWidth() + "x" + reference.getHeight() + "] page in [" + time + "] ms, " + strictResult);
+        Assertions.assertTrue(strictResult.isMatch() && strictResult.getDifferencesImage() == null, "Slightly brighter page matches using SSIM");
+        Assertions.assertTrue(PerceptualImageComparator.compare(reference, brighterPage, Method.PERCEPTUAL_HASH, 0.85).isMatch(),
+                "Slightly brighter page matches using perceptual hashes");
+        Assertions.assertTrue(PerceptualImageComparator.compare(reference, page(0, 0, "Sign up", 0), Method.PERCEPTUAL_HASH, 0.85).isMatch(),
+                "Different text in the same layout matches using perceptual hashes");
+    }
+
+    @Test
+    public void layoutChangesAreHighlighted() throws IOException {
+        var movedButtonPage = page(300, 200, "Sign in", 0);
+        var strictResult = PerceptualImageComparator.compare(reference, movedButtonPage, Method.SSIM, 0.95);
+        var layoutResult = PerceptualImageComparator.compare(reference, movedButtonPage, Method.PERCEPTUAL_HASH, 0.85);
+        Assertions.assertTrue(!strictResult.isMatch() && !layoutResult.isMatch(), "Moved button doesn't match");
+        Assertions.assertTrue(strictResult.getDifferentTilesCount() < strictResult.getTilesCount() / 4, "Only the tiles around the button are different");
+
+        var differencesImage = ImageIO.read(new ByteArrayInputStream(strictResult.getDifferencesImage()));
+        Assertions.assertEquals(reference.getWidth(), differencesImage.getWidth(), "Differences image width");
+        var buttonPixel = new Color(differencesImage.getRGB(420, 320));
+        var untouchedPixel = new Color(differencesImage.getRGB(1800, 1000));
+        Assertions.assertTrue(buttonPixel.getRed() > buttonPixel.getBlue() + 40, "Moved button is highlighted");
+        Assertions.assertEquals(new Color(movedButtonPage.getRGB(1800, 1000)), untouchedPixel, "Untouched areas are not highlighted");
+    }
+
+    @Test
+    public void imagesThatAreSlightlySmallerAreResampled() {
+        var smallReference = smallPage();
+        for (int width : new int[]{299, 297}) {
+            var result = PerceptualImageComparator.compare(smallReference, scaled(smallReference, width, 100), Method.SSIM, 0.95);
+            Assertions.assertTrue(result.isMatch(), "The same page, [" + width + "] pixels wide, matches: " + result);
+        }
+        var result = PerceptualImageComparator.compare(scaled(smallReference, 299, 100), smallReference, Method.SSIM, 0.95);
+        Assertions.assertTrue(result.isMatch(), "The same page, 1 pixel wider, matches: " + result);
+    }
+
+    private static BufferedImage scaled(BufferedImage image, int width, int height) {
+        var scaledImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        var graphics = scaledImage.createGraphics();
+        graphics.drawImage(image.getScaledInstance(width, height, Image.SCALE_AREA_AVERAGING), 0, 0, null);
+        graphics.dispose();
+        return scaledImage;
+    }
+
+    private static BufferedImage smallPage() {
+        var image = new BufferedImage(300, 100, BufferedImage.TYPE_INT_RGB);
+        var graphics = image.createGraphics();
+        graphics.setColor(new Color(240, 240, 245));
+        graphics.fillRect(0, 0, 300, 100);
+        graphics.setColor(new Color(40, 60, 90));
+        graphics.fillRect(0, 0, 300, 16);
+        graphics.setColor(new Color(20, 110, 220));
+        graphics.fillRoundRect(180, 60, 80, 24, 8, 8);
+        graphics.setColor(Color.DARK_GRAY);
+        graphics.fillRect(20, 30, 120, 6);
+        graphics.fillRect(20, 44, 140, 6);
+        graphics.fillRect(20, 58, 100, 6);
+        graphics.dispose();
+        // soften the edges, which are never pixel sharp once a page is rendered at another size
+        float[] boxBlur = new float[9];
+        Arrays.fill(boxBlur, 1f / 9);
+        return new ConvolveOp(new Kernel(3, 3, boxBlur), ConvolveOp.EDGE_NO_OP, null).filter(image, null);
+    }
+
+    private static BufferedImage page(int buttonOffsetX, int buttonOffsetY, String buttonText, int brightness) {
+        var image = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+        var graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setColor(new Color(240 + brightness, 240 + brightness, 245 + brightness));
+        graphics.fillRect(0, 0, 1920, 1080);
+        graphics.setColor(new Color(40 + brightness, 60 + brightness, 90 + brightness));
+        graphics.fillRect(0, 0, 1920, 80);
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 18));
+        for (int line = 0; line < 12; line++) {
+            graphics.drawString("Paragraph " + line + " of the page content, which does not change", 1000, 200 + line * 40);
+        }
+        graphics.setColor(new Color(20, 110 + brightness, 220));
+        graphics.fillRoundRect(120 + buttonOffsetX, 120 + buttonOffsetY, 260, 70, 16, 16);
+        graphics.setColor(Color.WHITE);
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 24));
+        graphics.drawString(buttonText, 200 + buttonOffsetX, 165 + buttonOffsetY);
+        graphics.dispose();
+        return image;
+    }
+}
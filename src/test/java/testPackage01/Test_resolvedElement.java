@@ -0,0 +1,56 @@
+package testPackage01;
+
+import com.shaft.gui.element.ElementActions;
+import com.shaft.gui.element.ResolvedElement;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class Test_resolvedElement {
+    private final By button = By.id("fakeButton");
+    private FakeWebDriver driver;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        driver = new FakeWebDriver(button);
+    }
+
+    @Test
+    public void clickLocatesTheElementOnlyOnce() {
+        ElementActions.click(driver, button);
+        Assertions.assertEquals(1, driver.getElementLookupsCount(), "Element lookups per click");
+        Assertions.assertEquals(1, driver.getCommandsCount("click"), "Clicks sent to the driver");
+    }
+
+    @Test
+    public void getTextLocatesTheElementOnlyOnce() {
+        ElementActions.getText(driver, button);
+        Assertions.assertEquals(1, driver.getElementLookupsCount(), "Element lookups per getText");
+    }
+
+    @Test
+    public void staleElementIsLocatedAgainAndTheCommandIsRetried() {
+        driver.makeElementStale(1);
+        ElementActions.click(driver, button);
+        Assertions.assertEquals(2, driver.getElementLookupsCount(), "Element lookups for a stale click");
+        Assertions.assertEquals(1, driver.getCommandsCount("click"), "Clicks sent to the driver");
+    }
+
+    @Test
+    public void lateElementIsReportedByThePageInsteadOfPolledFor() {
+        driver.renderElementLate();
+        ElementActions.click(driver, button);
+        Assertions.assertEquals(1, driver.getCommandsCount("elementPresenceObserver"), "Asynchronous waits for the element");
+        Assertions.assertEquals(1, driver.getElementLookupsCount(), "Element lookups before waiting for the element");
+        Assertions.assertEquals(1, driver.getCommandsCount("click"), "Clicks sent to the driver");
+    }
+
+    @Test
+    public void lastActionWebDriverCommandsAreCounted() {
+        ElementActions.click(driver, button);
+        int actionCommandsCount = ResolvedElement.getLastActionWebDriverCommandsCount();
+        Assertions.assertTrue(actionCommandsCount > 0 && actionCommandsCount <= driver.getCommandsCount(),
+                "Counted commands [" + actionCommandsCount + "] out of [" + driver.getCommandsCount() + "]");
+    }
+}
@@ -0,0 +1,82 @@
+package testPackage01;
+
+import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.tools.io.ReportManagerHelper;
+import com.shaft.validation.Assertions;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.StepResult;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+public class Test_screenshotDeduplication {
+    private final FakeWebDriver driver = new FakeWebDriver(By.id("fakeButton"));
+
+    @Test
+    public void consecutiveDuplicateScreenshotsReferenceTheFirstAttachment() {
+        driver.setScreenshotSize(640, 400);
+        List<CompletableFuture<?>> processedScreenshots = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            if (i == 3) {
+                // a different page
+                driver.setScreenshotSize(640, 480);
+            }
+            var screenshot = ScreenshotManager.captureScreenShot(driver, "verifyDeduplication" + i, true);
+            processedScreenshots.add((CompletableFuture<?>) screenshot.get(2));
+            ReportManagerHelper.log("Deduplication step " + i, Collections.singletonList(screenshot));
+        }
+        ScreenshotManager.attachAnimatedGif();
+
+        var firstScreenshot = processedScreenshots.get(0).join();
+        Assertions.assertTrue(firstScreenshot == processedScreenshots.get(1).join() && firstScreenshot == processedScreenshots.get(2).join(),
+                "Duplicate screenshots complete with the content of the first screenshot");
+        Assertions.assertTrue(firstScreenshot != processedScreenshots.get(3).join(), "A different screenshot is processed");
+
+        var sources = screenshotAttachments().stream()
+                .filter(attachment -> attachment.getName().contains("verifyDeduplication"))
+                .map(Attachment::getSource).collect(Collectors.toList());
+        Assertions.assertEquals(4, sources.size(), "Screenshot attachments");
+        Assertions.assertEquals(2, (int) sources.stream().distinct().count(), "Screenshot attachment files");
+        Assertions.assertEquals(sources.get(0), sources.get(2), "Duplicate screenshot attachment source");
+        Assertions.assertTrue(sources.stream().distinct().allMatch(source -> Files.exists(Path.of(System.getProperty("allureResultsFolderPath").trim(), source))),
+                "Referenced attachment files are written");
+    }
+
+    @Test
+    public void screenshotsWithDifferentTypedTextAreNotDuplicates() {
+        driver.setScreenshotSize(1280, 800);
+        List<CompletableFuture<?>> processedScreenshots = new ArrayList<>();
+        for (var typedText : new String[]{"", "hello", "john.doe@example.com", "Invalid password"}) {
+            driver.setTypedText(typedText);
+            var screenshot = ScreenshotManager.captureScreenShot(driver, "verifyTypedText", true);
+            processedScreenshots.add((CompletableFuture<?>) screenshot.get(2));
+            ReportManagerHelper.log("Typed text [" + typedText + "]", Collections.singletonList(screenshot));
+        }
+        ScreenshotManager.attachAnimatedGif();
+
+        Assertions.assertEquals(4, (int) processedScreenshots.stream().map(CompletableFuture::join).distinct().count(),
+                "Screenshots that only differ in their typed text are all kept");
+    }
+
+    private static List<Attachment> screenshotAttachments() {
+        List<Attachment> attachments = new ArrayList<>();
+        Allure.getLifecycle().updateTestCase(testResult -> {
+            attachments.addAll(testResult.getAttachments());
+            testResult.getSteps().forEach(step -> collectAttachments(step, attachments));
+        });
+        return attachments;
+    }
+
+    private static void collectAttachments(StepResult step, List<Attachment> attachments) {
+        attachments.addAll(step.getAttachments());
+        step.getSteps().forEach(nestedStep -> collectAttachments(nestedStep, attachments));
+    }
+}
@@ -0,0 +1,125 @@
+package testPackage01;
+
+import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.OutputType;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.spi.IIORegistry;
+import javax.imageio.spi.ImageReaderSpi;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Test_screenshotEncoding {
+    private final FakeWebDriver driver = new FakeWebDriver(By.id("fakeButton"));
+
+    @Test
+    public void everyScreenshotIsDecodedOnceAndTheWatermarkIsNotReadAgain() {
+        // the first screenshot reads the watermark and scales it to the screenshot width
+        driver.setScreenshotSize(640, 400);
+        ((CompletableFuture<?>) ScreenshotManager.captureScreenShot(driver, "verifyEncoding", true).get(2)).join();
+
+        var decodes = CountingPngReaderSpi.register();
+        try {
+            List<CompletableFuture<?>> processedScreenshots = new ArrayList<>();
+            // different pages, so that none of them is a duplicate of the previous one
+            for (int height : new int[]{480, 560, 640}) {
+                driver.setScreenshotSize(640, height);
+                processedScreenshots.add((CompletableFuture<?>) ScreenshotManager.captureScreenShot(driver, "verifyEncoding", true).get(2));
+            }
+            processedScreenshots.forEach(CompletableFuture::join);
+            Assertions.assertEquals(3, decodes.getCount(), "Images decoded while processing three screenshots");
+        } finally {
+            decodes.deregister();
+        }
+        ScreenshotManager.attachAnimatedGif();
+    }
+
+    @Test
+    public void watermarkIsScaledToTheScreenshotWidth() throws IOException {
+        for (int width : new int[]{640, 1280}) {
+            driver.setScreenshotSize(width, 400);
+            var capturedScreenshot = decode(driver.getScreenshotAs(OutputType.BYTES));
+            var processedScreenshot = decode((byte[]) ((CompletableFuture<?>) ScreenshotManager
+                    .captureScreenShot(driver, "verifyWatermark" + width, true).get(2)).join());
+
+            int watermarkedPixels = 0;
+            int leftmostWatermarkedPixel = width;
+            for (int y = 0; y < 400; y++) {
+                for (int x = 0; x < width; x++) {
+                    if (capturedScreenshot.getRGB(x, y) != processedScreenshot.getRGB(x, y)) {
+                        watermarkedPixels++;
+                        leftmostWatermarkedPixel = Math.min(leftmostWatermarkedPixel, x);
+                    }
+                }
+            }
+            Assertions.assertTrue(watermarkedPixels > 0, "The [" + width + "] pixels wide screenshot is watermarked");
+            Assertions.assertTrue(leftmostWatermarkedPixel >= width - width / 8,
+                    "The watermark is an eighth of the [" + width + "] pixels wide screenshot, in its bottom right corner");
+        }
+        ScreenshotManager.attachAnimatedGif();
+    }
+
+    private static BufferedImage decode(byte[] image) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(image));
+    }
+
+    /**
+     * Decodes PNG images using the default PNG reader, and counts how many images it decodes
+     */
+    private static class CountingPngReaderSpi extends ImageReaderSpi {
+        private final ImageReaderSpi pngReaderSpi;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private CountingPngReaderSpi(ImageReaderSpi pngReaderSpi) {
+            super(pngReaderSpi.getVendorName(), pngReaderSpi.getVersion(), pngReaderSpi.getFormatNames(),
+                    pngReaderSpi.getFileSuffixes(), pngReaderSpi.getMIMETypes(), CountingPngReaderSpi.class.getName(),
+                    pngReaderSpi.getInputTypes(), null, false, null, null, null, null, false, null, null, null, null);
+            this.pngReaderSpi = pngReaderSpi;
+        }
+
+        private static CountingPngReaderSpi register() {
+            var registry = IIORegistry.getDefaultInstance();
+            var pngReaderSpi = registry.getServiceProviders(ImageReaderSpi.class,
+                    spi -> Arrays.asList(((ImageReaderSpi) spi).getFormatNames()).contains("png"), true).next();
+            var countingSpi = new CountingPngReaderSpi(pngReaderSpi);
+            registry.registerServiceProvider(countingSpi, ImageReaderSpi.class);
+            registry.setOrdering(ImageReaderSpi.class, countingSpi, pngReaderSpi);
+            return countingSpi;
+        }
+
+        private void deregister() {
+            IIORegistry.getDefaultInstance().deregisterServiceProvider(this, ImageReaderSpi.class);
+        }
+
+        private int getCount() {
+            return count.get();
+        }
+
+        @Override
+        public boolean canDecodeInput(Object source) throws IOException {
+            return pngReaderSpi.canDecodeInput(source);
+        }
+
+        @Override
+        public ImageReader createReaderInstance(Object extension) throws IOException {
+            count.incrementAndGet();
+            return pngReaderSpi.createReaderInstance(extension);
+        }
+
+        @Override
+        public String getDescription(Locale locale) {
+            return "Counting " + pngReaderSpi.getDescription(locale);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package testPackage01;
+
+import com.shaft.gui.image.ScreenshotManager;
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class Test_screenshotProcessing {
+    private final FakeWebDriver driver = new FakeWebDriver(By.id("fakeButton"));
+
+    @Test
+    public void screenshotsAreProcessedInTheBackgroundAndFlushedWithTheAnimatedGif() throws IOException {
+        List<CompletableFuture<?>> processedScreenshots = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            var screenshot = ScreenshotManager.captureScreenShot(driver, "verifyProcessing" + i, true);
+            processedScreenshots.add((CompletableFuture<?>) screenshot.get(2));
+        }
+        Assertions.assertEquals(5, driver.getCommandsCount("getScreenshotAs"), "Screenshots captured on the test thread");
+
+        ScreenshotManager.attachAnimatedGif();
+        Assertions.assertTrue(processedScreenshots.stream().allMatch(CompletableFuture::isDone),
+                "All screenshots are processed once the animated GIF is attached");
+        var processedScreenshot = (byte[]) processedScreenshots.get(4).join();
+        Assertions.assertEquals(64, ImageIO.read(new ByteArrayInputStream(processedScreenshot)).getWidth(),
+                "Processed screenshot width");
+    }
+}
@@ -0,0 +1,88 @@
+package testPackage01;
+
+import com.shaft.gui.image.ImageProcessingActions;
+import com.shaft.gui.image.TemplateMatcher;
+import com.shaft.validation.Assertions;
+import org.opencv.imgproc.Imgproc;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class Test_templateMatcher {
+    @Test
+    public void templateIsFoundAndReloadedOnceItChanges() throws IOException {
+        var page = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        var graphics = page.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 800, 600);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(100, 200, 60, 30);
+        graphics.setColor(Color.RED);
+        graphics.fillOval(500, 400, 50, 50);
+        graphics.dispose();
+        var encodedPage = new ByteArrayOutputStream();
+        ImageIO.write(page, "png", encodedPage);
+        byte[] screenshot = encodedPage.toByteArray();
+
+        var template = Files.createTempFile("template", ".png").toFile();
+        ImageIO.write(page.getSubimage(90, 190, 80, 50), "png", template);
+        var match = TemplateMatcher.find(template.getPath(), screenshot, Imgproc.TM_CCORR_NORMED);
+        Assertions.assertEquals(Arrays.asList(90, 190, 80, 50), Arrays.asList(match.getX(), match.getY(), match.getWidth(), match.getHeight()),
+                "First match");
+        Assertions.assertTrue(match.getScore() > 0.99 && match.getMatchTime() >= 0, "Match " + match);
+
+        for (int i = 0; i < 20; i++) {
+            match = TemplateMatcher.find(template.getPath(), screenshot, Imgproc.TM_SQDIFF_NORMED);
+        }
+        Assertions.assertEquals(Arrays.asList(90, 190), Arrays.asList(match.getX(), match.getY()), "Match of the cached template");
+
+        // an updated reference image is decoded again
+        ImageIO.write(page.getSubimage(490, 390, 70, 70), "png", template);
+        template.setLastModified(template.lastModified() + 2000);
+        Assertions.assertEquals(Arrays.asList(491, 391), ImageProcessingActions.findImageWithinCurrentPage(template.getPath(), screenshot, Imgproc.TM_CCORR_NORMED),
+                "Updated reference image location");
+
+        Assertions.assertTrue(TemplateMatcher.find(new File(template.getParent(), "missing.png").getPath(), screenshot, Imgproc.TM_CCORR_NORMED) == null,
+                "Missing reference image");
+        TemplateMatcher.clearCache();
+    }
+
+    @Test
+    public void movedElementIsNotFoundAtItsPreviousLocationUsingCorrelation() throws IOException {
+        var template = Files.createTempFile("lightButton", ".png").toFile();
+        ImageIO.write(pageWithLightButton(300, 200).getSubimage(290, 190, 120, 50), "png", template);
+        var match = TemplateMatcher.find(template.getPath(), encode(pageWithLightButton(300, 200)), Imgproc.TM_CCORR_NORMED);
+        Assertions.assertEquals(Arrays.asList(290, 190), Arrays.asList(match.getX(), match.getY()), "Initial location");
+
+        // the previous location is now blank, which still correlates closely with the light button
+        match = TemplateMatcher.find(template.getPath(), encode(pageWithLightButton(600, 450)), Imgproc.TM_CCORR_NORMED);
+        Assertions.assertEquals(Arrays.asList(590, 440), Arrays.asList(match.getX(), match.getY()), "Location after the button moved");
+        TemplateMatcher.clearCache();
+    }
+
+    private static BufferedImage pageWithLightButton(int x, int y) {
+        var page = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        var graphics = page.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 800, 600);
+        graphics.setColor(new Color(225, 228, 235));
+        graphics.fillRoundRect(x, y, 100, 30, 8, 8);
+        graphics.setColor(Color.GRAY);
+        graphics.drawString("Submit", x + 30, y + 20);
+        graphics.dispose();
+        return page;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        var encodedImage = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", encodedImage);
+        return encodedImage.toByteArray();
+    }
+}
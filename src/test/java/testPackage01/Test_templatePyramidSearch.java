@@ -0,0 +1,97 @@
+package testPackage01;
+
+import com.shaft.gui.image.TemplateMatcher;
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Assertions;
+import org.opencv.imgproc.Imgproc;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class Test_templatePyramidSearch {
+    private static final int PAGES = 6;
+
+    @Test
+    public void pyramidSearchFindsTheSameElementsAsTheFullSearch() throws IOException {
+        var corpusFolder = Files.createTempDirectory("templateCorpus").toFile();
+        List<byte[]> screenshots = new ArrayList<>();
+        List<String> templates = new ArrayList<>();
+        List<List<Integer>> expectedLocations = new ArrayList<>();
+        for (int i = 0; i < PAGES; i++) {
+            var random = new Random(i);
+            List<Rectangle> elements = new ArrayList<>();
+            var page = tallPage(random, elements);
+            // an element and its surroundings, blank areas would match any template perfectly using TM_CCOEFF_NORMED
+            var element = elements.get(random.nextInt(elements.size()));
+            int x = element.x - 10;
+            int y = element.y - 10;
+            var template = new File(corpusFolder, "element" + i + ".png");
+            ImageIO.write(page.getSubimage(x, y, element.width + 20, element.height + 20), "png", template);
+            templates.add(template.getPath());
+            expectedLocations.add(Arrays.asList(x, y));
+            var encodedPage = new ByteArrayOutputStream();
+            ImageIO.write(page, "png", encodedPage);
+            screenshots.add(encodedPage.toByteArray());
+        }
+        // loads OpenCV and warms up
+        TemplateMatcher.find(templates.get(0), screenshots.get(0), Imgproc.TM_CCOEFF_NORMED);
+
+        System.setProperty("templateMatcher_pyramidSearch", "false");
+        long fullSearchTime = 0;
+        try {
+            for (int i = 0; i < PAGES; i++) {
+                var match = TemplateMatcher.find(templates.get(i), screenshots.get(i), Imgproc.TM_CCOEFF_NORMED);
+                Assertions.assertEquals(expectedLocations.get(i), Arrays.asList(match.getX(), match.getY()), "Full search location");
+                fullSearchTime += match.getMatchTime();
+            }
+        } finally {
+            System.setProperty("templateMatcher_pyramidSearch", "true");
+        }
+        TemplateMatcher.clearCache();
+
+        long pyramidSearchTime = 0;
+        for (int i = 0; i < PAGES; i++) {
+            var match = TemplateMatcher.find(templates.get(i), screenshots.get(i), Imgproc.TM_CCOEFF_NORMED);
+            Assertions.assertEquals(expectedLocations.get(i), Arrays.asList(match.getX(), match.getY()), "Pyramid search location");
+            pyramidSearchTime += match.getMatchTime();
+        }
+
+        long lastKnownLocationTime = 0;
+        for (int i = 0; i < PAGES; i++) {
+            var match = TemplateMatcher.find(templates.get(i), screenshots.get(i), Imgproc.TM_CCOEFF_NORMED);
+            Assertions.assertEquals(expectedLocations.get(i), Arrays.asList(match.getX(), match.getY()), "Last known location");
+            lastKnownLocationTime += match.getMatchTime();
+        }
+        ReportManager.logDiscrete("Searched [" + PAGES + "] tall pages in [" + fullSearchTime + "] ms at full resolution, ["
+                + pyramidSearchTime + "] ms using the pyramid, and [" + lastKnownLocationTime + "] ms around the last known locations.");
+        TemplateMatcher.clearCache();
+    }
+
+    private static BufferedImage tallPage(Random random, List<Rectangle> elements) {
+        var page = new BufferedImage(1280, 4000, BufferedImage.TYPE_INT_RGB);
+        var graphics = page.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, page.getWidth(), page.getHeight());
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+        for (int y = 0; y < page.getHeight() - 60; y += 50) {
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            var element = new Rectangle(10 + random.nextInt(1080), y + 14, 40 + random.nextInt(140), 28);
+            graphics.fillRoundRect(element.x, element.y, element.width, element.height, 8, 8);
+            elements.add(element);
+            graphics.setColor(Color.DARK_GRAY);
+            graphics.drawString("Item " + y + " " + Long.toHexString(random.nextLong()), 20 + random.nextInt(600), y + 34);
+        }
+        graphics.dispose();
+        return page;
+    }
+}
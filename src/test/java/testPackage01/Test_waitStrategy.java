@@ -0,0 +1,46 @@
+package testPackage01;
+
+import com.shaft.gui.element.ExponentialBackoffWaitStrategy;
+import com.shaft.gui.element.JitteredWaitStrategy;
+import com.shaft.gui.element.WaitManager;
+import com.shaft.validation.Assertions;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+public class Test_waitStrategy {
+    private final Duration initialPollingInterval = Duration.ofMillis(50);
+    private final Duration maximumPollingInterval = Duration.ofSeconds(1);
+
+    @Test
+    public void exponentialBackoffDoublesUntilTheMaximumInterval() {
+        var strategy = new ExponentialBackoffWaitStrategy(initialPollingInterval, maximumPollingInterval);
+        long[] expectedIntervals = {50, 100, 200, 400, 800, 1000, 1000};
+        for (int attempt = 1; attempt <= expectedIntervals.length; attempt++) {
+            Assertions.assertEquals(expectedIntervals[attempt - 1], strategy.getPollingInterval(attempt).toMillis(),
+                    "Polling interval for attempt [" + attempt + "]");
+        }
+        Assertions.assertEquals(1000L, strategy.getPollingInterval(Integer.MAX_VALUE).toMillis());
+    }
+
+    @Test
+    public void jitteredIntervalsStayWithinTheBackoffBounds() {
+        var strategy = new JitteredWaitStrategy(initialPollingInterval, maximumPollingInterval);
+        var backoff = new ExponentialBackoffWaitStrategy(initialPollingInterval, maximumPollingInterval);
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long interval = strategy.getPollingInterval(attempt).toMillis();
+            Assertions.assertTrue(interval >= 50 && interval <= backoff.getPollingInterval(attempt).toMillis(),
+                    "Jittered interval [" + interval + "] for attempt [" + attempt + "]");
+        }
+    }
+
+    @Test
+    public void lateConditionIsDetectedWithoutWholeSecondQuantization() {
+        WaitManager.resetWaitingTime();
+        long conditionIsMetAt = System.currentTimeMillis() + 120;
+        WaitManager.createWait(new Object(), Duration.ofSeconds(5))
+                .until(input -> System.currentTimeMillis() >= conditionIsMetAt);
+        long waitingTime = WaitManager.getWaitingTime().toMillis();
+        Assertions.assertTrue(waitingTime >= 100 && waitingTime < 1000, "Waited for [" + waitingTime + "] milliseconds");
+    }
+}
@@ -0,0 +1,46 @@
+package testPackage01;
+
+import com.shaft.validation.Assertions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+
+public class Test_xpathSuggestion {
+    private static final String ELEMENT_ACTIONS_HELPER = "com.shaft.gui.element.ElementActionsHelper";
+
+    @Test
+    public void xpathIsSuggestedInOneScriptCall() throws ReflectiveOperationException {
+        By button = By.id("fakeButton");
+        var driver = new FakeWebDriver(button);
+        WebElement targetElement = driver.findElement(button);
+        driver.resetCommandsCount();
+
+        Object newXpath = getSuggestNewXpathUsingJavascript().invoke(null, driver, targetElement, By.id("oldButton"));
+
+        Assertions.assertEquals("//button[@id=\"fakeButton\"]", newXpath);
+        Assertions.assertEquals(1, driver.getCommandsCount("executeScript"), "Scripts executed to suggest the xpath");
+        Assertions.assertEquals(1, driver.getCommandsCount("xpathSuggestion"), "Suggestion scripts executed");
+        Assertions.assertEquals(0, driver.getElementLookupsCount(), "Element lookups to check the suggested xpath");
+        Assertions.assertEquals(targetElement, driver.getLastScriptArguments().get(0), "Target element passed to the script");
+        Assertions.assertEquals(getXpathSuggestionStrategies(), driver.getLastScriptArguments().get(1),
+                "Strategies passed to the script");
+    }
+
+    private static Method getSuggestNewXpathUsingJavascript() throws ReflectiveOperationException {
+        Method suggestNewXpathUsingJavascript = Class.forName(ELEMENT_ACTIONS_HELPER)
+                .getDeclaredMethod("suggestNewXpathUsingJavascript", WebDriver.class, WebElement.class, By.class);
+        suggestNewXpathUsingJavascript.setAccessible(true);
+        return suggestNewXpathUsingJavascript;
+    }
+
+    private static List<?> getXpathSuggestionStrategies() throws ReflectiveOperationException {
+        Field xpathSuggestionStrategies = Class.forName(ELEMENT_ACTIONS_HELPER).getDeclaredField("XPATH_SUGGESTION_STRATEGIES");
+        xpathSuggestionStrategies.setAccessible(true);
+        return (List<?>) xpathSuggestionStrategies.get(null);
+    }
+}